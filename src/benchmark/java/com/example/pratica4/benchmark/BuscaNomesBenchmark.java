@@ -0,0 +1,74 @@
+package com.example.pratica4.benchmark;
+
+import com.example.pratica4.service.TrieNomes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/alunos/busca sem o banco: top 10 da TrieNomes com 1 milhão de nomes sintéticos
+ * (nome + dois sobrenomes) para prefixos curtos, médios e sem resultado, e a troca de nome
+ * de um aluno (remover + adicionar). O tamanho estimado do índice sai no log do setUp.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BuscaNomesBenchmark {
+
+    private static final String[] NOMES = {"Ana", "Antônio", "Beatriz", "Bruno", "Camila", "Carlos", "Débora",
+            "Eduardo", "Fernanda", "Gabriel", "Helena", "Igor", "Joana", "João", "Larissa", "Lucas", "Márcia",
+            "Mariana", "Mateus", "Natália", "Otávio", "Patrícia", "Rafael", "Sofia", "Thiago", "Vitória"};
+    private static final String[] SOBRENOMES = {"Almeida", "Araújo", "Barbosa", "Cardoso", "Carvalho", "Costa",
+            "Dias", "Fernandes", "Gomes", "Lima", "Martins", "Melo", "Moraes", "Oliveira", "Pereira", "Ribeiro",
+            "Rocha", "Santos", "Silva", "Souza", "Teixeira", "Vieira"};
+
+    @Param({"1000000"})
+    private int alunos;
+
+    @Param({"m", "mar", "mariana sil", "zz"})
+    private String prefixo;
+
+    private TrieNomes trie;
+    private String[] nomes;
+    private long proximo;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        trie = new TrieNomes();
+        nomes = new String[alunos];
+        for (int aluno = 0; aluno < alunos; aluno++) {
+            nomes[aluno] = NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                    + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)] + " " + (aluno % 1000);
+            trie.adicionar(nomes[aluno], aluno);
+        }
+        System.out.println("Índice: " + trie.estatisticas());
+    }
+
+    @Benchmark
+    public List<Long> buscarTop10() {
+        return trie.buscar(prefixo, 10);
+    }
+
+    @Benchmark
+    public void renomear() {
+        int aluno = (int) (proximo++ % alunos);
+        trie.remover(nomes[aluno], aluno);
+        trie.adicionar(nomes[aluno], aluno);
+    }
+}
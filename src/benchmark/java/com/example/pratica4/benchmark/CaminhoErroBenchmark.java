@@ -0,0 +1,83 @@
+package com.example.pratica4.benchmark;
+
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.exception.ErrorResponse;
+import com.example.pratica4.exception.GlobalExceptionHandler;
+import jakarta.persistence.EntityNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.function.LongFunction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão do caminho de 404 (ID inexistente): exceção lançada a uma profundidade de pilha
+ * parecida com a de uma requisição no Spring MVC, capturada e convertida em ErrorResponse.
+ *
+ * comPilha reproduz a implementação anterior (EntityNotFoundException com pilha e mensagem
+ * concatenada, builder e LocalDateTime.now() no handler); semPilha usa AlunoNaoEncontradoException
+ * e o GlobalExceptionHandler atual. Com -prof gc (padrão do profile) gc.alloc.rate.norm mostra
+ * a alocação por erro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaminhoErroBenchmark {
+
+    /**
+     * Quadros entre o controller e o ponto do throw (filtros, proxies, DispatcherServlet...)
+     */
+    @Param({"20", "120"})
+    private int profundidade;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private long id = 999L;
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> comPilha() {
+        try {
+            lancar(profundidade, valor -> new EntityNotFoundException("Aluno não encontrado com ID: " + valor));
+            return null;
+        } catch (EntityNotFoundException ex) {
+            ErrorResponse errorResponse = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.NOT_FOUND.value())
+                    .error("Recurso não encontrado")
+                    .message(ex.getMessage())
+                    .build();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> semPilha() {
+        try {
+            lancar(profundidade, AlunoNaoEncontradoException::new);
+            return null;
+        } catch (EntityNotFoundException ex) {
+            return handler.handleEntityNotFound(ex);
+        }
+    }
+
+    private int lancar(int restante, LongFunction<EntityNotFoundException> excecao) {
+        if (restante == 0) {
+            throw excecao.apply(id);
+        }
+        return lancar(restante - 1, excecao) + 1;
+    }
+}
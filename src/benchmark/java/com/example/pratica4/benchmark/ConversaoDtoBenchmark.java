@@ -0,0 +1,77 @@
+package com.example.pratica4.benchmark;
+
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.ProgressoDTO;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões feitas a cada resposta de GET /api/alunos/{id} e /progresso: AlunoDTO.fromEntity
+ * e ProgressoDTO.fromAluno para um aluno com 10 ou 100 cursos, e CPF.getFormatado.
+ * Com -prof gc (padrão do profile benchmark) gc.alloc.rate.norm mostra a alocação por conversão.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoDtoBenchmark {
+
+    @Param({"10", "100"})
+    private int cursos;
+
+    private Aluno aluno;
+    private CPF cpf;
+
+    @Setup
+    public void setUp() {
+        cpf = new CPF("52998224725");
+        aluno = Aluno.builder()
+                .id(1L)
+                .nome("João Silva")
+                .cpf(cpf)
+                .email(new Email("joao.silva@teste.com"))
+                .plano(Plano.BASICO)
+                .dataCadastro(LocalDate.of(2025, 3, 10))
+                .build();
+        for (int i = 0; i < cursos; i++) {
+            boolean concluido = i % 3 != 0;
+            aluno.adicionarCurso(new Curso((long) i + 1, "Curso de Programação " + (i + 1),
+                    concluido ? (50 + i % 51) / 10.0 : 0.0, concluido));
+        }
+        aluno.atualizarPlano();
+    }
+
+    @Benchmark
+    public AlunoDTO alunoDtoFromEntity() {
+        return AlunoDTO.fromEntity(aluno);
+    }
+
+    @Benchmark
+    public ProgressoDTO progressoFromAluno() {
+        return ProgressoDTO.fromAluno(aluno);
+    }
+
+    @Benchmark
+    public String cpfFormatado() {
+        return cpf.getFormatado();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.pratica4.benchmark;
+
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regras de plano do Aluno: contagem de cursos aprovados e atualizarPlano para um aluno
+ * com 10, 100 ou 10 mil cursos (um terço em andamento, notas de 5.0 a 10.0).
+ * O plano já está atualizado no setup, então atualizarPlano não gera evento de mudança e mede
+ * só a contagem e a avaliação da faixa (o caso de toda conclusão de curso sem troca de plano).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DominioAlunoBenchmark {
+
+    @Param({"10", "100", "10000"})
+    private int cursos;
+
+    private Aluno aluno;
+
+    @Setup
+    public void setUp() {
+        aluno = Aluno.builder()
+                .id(1L)
+                .nome("João Silva")
+                .cpf(new CPF("52998224725"))
+                .email(new Email("joao.silva@teste.com"))
+                .plano(Plano.BASICO)
+                .dataCadastro(LocalDate.of(2025, 3, 10))
+                .build();
+        for (int i = 0; i < cursos; i++) {
+            boolean concluido = i % 3 != 0;
+            aluno.adicionarCurso(new Curso((long) i + 1, "Curso " + (i + 1),
+                    concluido ? (50 + i % 51) / 10.0 : 0.0, concluido));
+        }
+        aluno.atualizarPlano();
+    }
+
+    @Benchmark
+    public long cursosConcluidosComMediaSete() {
+        return aluno.getCursosConcluidosComMediaSete();
+    }
+
+    @Benchmark
+    public Plano atualizarPlano() {
+        aluno.atualizarPlano();
+        return aluno.getPlano();
+    }
+}
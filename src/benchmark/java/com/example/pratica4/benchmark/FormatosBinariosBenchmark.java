@@ -0,0 +1,114 @@
+package com.example.pratica4.benchmark;
+
+import com.example.pratica4.config.SchemasProtobuf;
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.CursoDTO;
+import com.example.pratica4.model.Plano;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara JSON, CBOR, Smile e protobuf ao enviar um AlunoDTO: tempo de escrita e leitura
+ * para alunos com 10, 100 e 300 cursos. O tamanho de cada payload é impresso no início
+ * de cada combinação (linha "bytes").
+ *
+ * Os mappers são montados como na aplicação (Jackson2ObjectMapperBuilder do Spring, datas em texto).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatosBinariosBenchmark {
+
+    @Param({"10", "100", "300"})
+    private int cursos;
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String formato;
+
+    private AlunoDTO aluno;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        aluno = alunoCom(cursos);
+
+        switch (formato) {
+            case "json" -> usar(construtor(Jackson2ObjectMapperBuilder.json()).build());
+            case "cbor" -> usar(construtor(Jackson2ObjectMapperBuilder.cbor()).build());
+            case "smile" -> usar(construtor(Jackson2ObjectMapperBuilder.smile()).build());
+            case "protobuf" -> {
+                SchemasProtobuf schemas = new SchemasProtobuf(construtor(Jackson2ObjectMapperBuilder.json()));
+                var schema = schemas.schemaPara(AlunoDTO.class).orElseThrow();
+                writer = schemas.getMapper().writerFor(AlunoDTO.class).with(schema);
+                reader = schemas.getMapper().readerFor(AlunoDTO.class).with(schema);
+            }
+            default -> throw new IllegalArgumentException("Formato desconhecido: " + formato);
+        }
+
+        payload = writer.writeValueAsBytes(aluno);
+        System.out.printf("%n[%s, %d cursos] bytes = %d%n", formato, cursos, payload.length);
+    }
+
+    @Benchmark
+    public byte[] escrever() throws Exception {
+        return writer.writeValueAsBytes(aluno);
+    }
+
+    @Benchmark
+    public AlunoDTO ler() throws Exception {
+        return reader.readValue(payload);
+    }
+
+    private void usar(ObjectMapper mapper) {
+        writer = mapper.writerFor(AlunoDTO.class);
+        reader = mapper.readerFor(AlunoDTO.class);
+    }
+
+    private static Jackson2ObjectMapperBuilder construtor(Jackson2ObjectMapperBuilder builder) {
+        return builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static AlunoDTO alunoCom(int quantidade) {
+        List<CursoDTO> lista = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            boolean concluido = i % 3 != 0;
+            double media = concluido ? 5.0 + (i % 50) / 10.0 : 0.0;
+            lista.add(new CursoDTO((long) i + 1, "Curso de Programação " + (i + 1), media, concluido, media >= 7.0));
+        }
+        return AlunoDTO.builder()
+                .id(1L)
+                .nome("João Silva")
+                .cpf("123.456.789-09")
+                .email("joao.silva@teste.com")
+                .plano(Plano.PREMIUM)
+                .dataCadastro(LocalDate.of(2025, 3, 10))
+                .beneficiosPremiumAtivos(true)
+                .quantidadeCursosAprovados((int) lista.stream().filter(CursoDTO::isAprovado).count())
+                .cursos(lista)
+                .build();
+    }
+}
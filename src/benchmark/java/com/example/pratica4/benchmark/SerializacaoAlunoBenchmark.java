@@ -0,0 +1,115 @@
+package com.example.pratica4.benchmark;
+
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.EntidadesJson;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Resposta JSON de GET /api/alunos: AlunoDTO.fromEntity + Jackson contra os serializadores
+ * diretos de EntidadesJson, para uma lista de 50 alunos com 10, 100 ou 300 cursos cada.
+ * soJackson serializa os AlunoDTO já convertidos, para separar o custo do Jackson do da conversão.
+ * A saída vai para um OutputStream que descarta os bytes, para medir só a alocação da
+ * conversão; os resultados são por aluno (gc.alloc.rate.norm com -prof gc, padrão do profile).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(SerializacaoAlunoBenchmark.ALUNOS)
+public class SerializacaoAlunoBenchmark {
+
+    static final int ALUNOS = 50;
+
+    @Param({"10", "100", "300"})
+    private int cursos;
+
+    // OutputStream.nullOutputStream() não serve: o Jackson fecha o stream a cada escrita
+    private final OutputStream descarte = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private ObjectMapper mapper;
+    private List<Aluno> alunos;
+    private List<AlunoDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        SimpleModule modulo = new SimpleModule()
+                .addSerializer(new EntidadesJson.AlunoSerializer())
+                .addSerializer(new EntidadesJson.CursoSerializer());
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(modulo)
+                .build();
+
+        alunos = new ArrayList<>(ALUNOS);
+        for (int a = 0; a < ALUNOS; a++) {
+            Aluno aluno = Aluno.builder()
+                    .id((long) a + 1)
+                    .nome("João Silva " + a)
+                    .cpf(new CPF(String.format("%011d", 12345678909L + a)))
+                    .email(new Email("joao.silva" + a + "@teste.com"))
+                    .plano(Plano.PREMIUM)
+                    .dataCadastro(LocalDate.of(2025, 3, 10))
+                    .beneficiosPremiumAtivos(true)
+                    .build();
+            for (int i = 0; i < cursos; i++) {
+                boolean concluido = i % 3 != 0;
+                aluno.adicionarCurso(new Curso((long) i + 1, "Curso de Programação " + (i + 1),
+                        concluido ? (50 + i % 51) / 10.0 : 0.0, concluido));
+            }
+            alunos.add(aluno);
+        }
+        dtos = alunos.stream().map(AlunoDTO::fromEntity).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void viaDTO() throws Exception {
+        mapper.writeValue(descarte, alunos.stream().map(AlunoDTO::fromEntity).collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public void soJackson() throws Exception {
+        mapper.writeValue(descarte, dtos);
+    }
+
+    @Benchmark
+    public void direto() throws Exception {
+        mapper.writeValue(descarte, alunos);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.pratica4.benchmark;
+
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
+import com.example.pratica4.service.SnapshotNotas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POST /api/simulacoes sem o banco: avaliação de uma política candidata (média 6.5, Premium
+ * a partir de 10) sobre um SnapshotNotas sintético de 1 ou 5 milhões de alunos com 0 a 30
+ * cursos concluídos cada, com 1 thread e com todos os processadores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SimulacaoPlanosBenchmark {
+
+    @Param({"1000000", "5000000"})
+    private int alunos;
+
+    @Param({"1", "0"})
+    private int paralelismo;
+
+    private SnapshotNotas snapshot;
+    private PoliticaPlanos atual;
+    private PoliticaPlanos candidata;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        SnapshotNotas.Construtor construtor = SnapshotNotas.construtor();
+        for (int aluno = 0; aluno < alunos; aluno++) {
+            construtor.novoAluno(aluno % 10 == 0 ? Plano.PREMIUM : Plano.BASICO);
+            int cursos = random.nextInt(31);
+            for (int i = 0; i < cursos; i++) {
+                construtor.cursoConcluido(random.nextInt(101) / 10.0);
+            }
+        }
+        snapshot = construtor.build();
+        atual = PoliticaPlanos.padrao();
+        candidata = PoliticaPlanos.builder().mediaAprovacao(6.5)
+                .faixa(Plano.BASICO, 0, false).faixa(Plano.PREMIUM, 10, true).mensagem(0, "").build();
+        pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public SnapshotNotas.Contagem simular() {
+        return snapshot.simular(atual, candidata, pool, 8192);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.pratica4.benchmark;
+
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.ValidadorCPF;
+import com.example.pratica4.model.valueobject.ValidadorEmail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Validação e formatação de CPF/e-mail: regex e String.format (implementação anterior,
+ * reproduzida aqui como o @Pattern do Hibernate Validator a executa) contra ValidadorCPF,
+ * ValidadorEmail e CPF.formatar.
+ * Com -prof gc (padrão do profile benchmark) gc.alloc.rate.norm mostra a alocação por chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoCpfEmailBenchmark {
+
+    private static final Pattern REGEX_CPF = Pattern.compile("^\\d{11}$");
+    private static final Pattern REGEX_EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    private String cpf = "52998224725";
+    private String email = "joao.silva+cursos@alunos.exemplo.com.br";
+
+    @Benchmark
+    public boolean cpfRegex() {
+        return REGEX_CPF.matcher(cpf).matches();
+    }
+
+    @Benchmark
+    public boolean cpfValidador() {
+        return ValidadorCPF.isValido(cpf);
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return REGEX_EMAIL.matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean emailValidador() {
+        return ValidadorEmail.isValido(email);
+    }
+
+    @Benchmark
+    public String formatarStringFormat() {
+        return String.format("%s.%s.%s-%s",
+                cpf.substring(0, 3),
+                cpf.substring(3, 6),
+                cpf.substring(6, 9),
+                cpf.substring(9, 11));
+    }
+
+    @Benchmark
+    public String formatarCharArray() {
+        return CPF.formatar(cpf);
+    }
+}
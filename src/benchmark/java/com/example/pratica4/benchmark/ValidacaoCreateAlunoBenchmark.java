@@ -0,0 +1,63 @@
+package com.example.pratica4.benchmark;
+
+import com.example.pratica4.dto.CreateAlunoDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation do corpo de POST /api/alunos (@Valid CreateAlunoDTO), com o Validator
+ * padrão do Hibernate Validator: DTO válido e DTO com os três campos inválidos (o caminho de
+ * erro inclui a interpolação das mensagens).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoCreateAlunoBenchmark {
+
+    private ValidatorFactory fabrica;
+    private Validator validator;
+    private CreateAlunoDTO valido;
+    private CreateAlunoDTO invalido;
+
+    @Setup
+    public void setUp() {
+        fabrica = Validation.buildDefaultValidatorFactory();
+        validator = fabrica.getValidator();
+        valido = new CreateAlunoDTO("João Silva", "52998224725", "joao.silva@teste.com");
+        invalido = new CreateAlunoDTO(" ", "12345678900", "joao.silva@");
+    }
+
+    @TearDown
+    public void tearDown() {
+        fabrica.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateAlunoDTO>> valido() {
+        return validator.validate(valido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateAlunoDTO>> invalido() {
+        return validator.validate(invalido);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.pratica4.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gera requisições em modelo aberto: uma chegada a cada 1/taxa segundos, em horários fixos,
+ * sem esperar as respostas anteriores (como usuários independentes).
+ *
+ * A latência é medida a partir do horário previsto da chegada, não do envio: se o gerador ou
+ * o servidor atrasam, o atraso entra na medida (sem coordinated omission).
+ * Requisições previstas durante o aquecimento são enviadas mas não medidas.
+ */
+class GeradorCarga {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI base;
+    private final MassaDados massa;
+    private final ResultadoCarga resultado;
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final Random random = new Random(42);
+    private final AtomicInteger pendentes = new AtomicInteger();
+
+    GeradorCarga(URI base, MassaDados massa, ResultadoCarga resultado) {
+        this.base = base;
+        this.massa = massa;
+        this.resultado = resultado;
+    }
+
+    /**
+     * Envia requisições à taxa fixa durante aquecimento + duração e espera as pendentes
+     * @param taxa chegadas por segundo
+     */
+    void executar(int taxa, Duration aquecimento, Duration duracao) throws InterruptedException {
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + aquecimento.toNanos();
+        long fim = inicioMedicao + duracao.toNanos();
+        int somaPesos = Rota.somaPesos();
+
+        for (long chegada = 0; ; chegada++) {
+            long previsto = inicio + chegada * intervalo;
+            if (previsto - fim >= 0) {
+                break;
+            }
+            esperarAte(previsto);
+            Rota rota = Rota.sortear(random.nextInt(somaPesos));
+            boolean medir = previsto - inicioMedicao >= 0;
+            pendentes.incrementAndGet();
+            cliente.sendAsync(requisicao(rota), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        long latencia = System.nanoTime() - previsto;
+                        if (medir) {
+                            resultado.registrar(rota, latencia, erro == null && resposta.statusCode() < 400);
+                        }
+                        pendentes.decrementAndGet();
+                    });
+        }
+
+        long limite = System.nanoTime() + TIMEOUT.toNanos();
+        while (pendentes.get() > 0 && System.nanoTime() - limite < 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private HttpRequest requisicao(Rota rota) {
+        int indice = random.nextInt(massa.getAlunos());
+        long alunoId = massa.alunoId(indice);
+        return switch (rota) {
+            case CRIAR -> {
+                long numero = massa.proximoNumero();
+                yield post("/api/alunos", "{\"nome\":\"Aluno Carga " + numero + "\",\"cpf\":\""
+                        + MassaDados.cpf(numero) + "\",\"email\":\"" + MassaDados.email(numero) + "\"}");
+            }
+            case ADICIONAR_CURSO -> post("/api/alunos/" + alunoId + "/cursos",
+                    "{\"nome\":\"Curso Extra " + random.nextInt(1000) + "\"}");
+            case CONCLUIR -> {
+                long[] cursos = massa.cursoIds(indice);
+                long cursoId = cursos[random.nextInt(cursos.length)];
+                yield novo("/api/alunos/" + alunoId + "/cursos/" + cursoId + "/concluir")
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"media\":" + (5 + random.nextInt(51) / 10.0) + "}"))
+                        .build();
+            }
+            case BUSCAR -> novo("/api/alunos/" + alunoId).GET().build();
+            case PROGRESSO -> novo("/api/alunos/" + alunoId + "/progresso").GET().build();
+            case LISTAR -> novo("/api/alunos?fields=id,nome,plano").GET().build();
+        };
+    }
+
+    private HttpRequest post(String caminho, String corpo) {
+        return novo(caminho)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private HttpRequest.Builder novo(String caminho) {
+        return HttpRequest.newBuilder(base.resolve(caminho)).timeout(TIMEOUT);
+    }
+
+    private static void esperarAte(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+}
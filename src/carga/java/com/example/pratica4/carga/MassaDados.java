@@ -0,0 +1,96 @@
+package com.example.pratica4.carga;
+
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.service.AlunoService;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Alunos e cursos gravados antes da carga, sorteados pelas requisições, e CPFs/e-mails
+ * ainda não usados para os cadastros feitos durante a carga.
+ */
+class MassaDados {
+
+    private static final long PRIMEIRO_CPF = 100_000_001L;
+
+    private final long[] alunoIds;
+    private final long[][] cursoIds;
+    private final AtomicLong proximoNumero;
+
+    private MassaDados(long[] alunoIds, long[][] cursoIds) {
+        this.alunoIds = alunoIds;
+        this.cursoIds = cursoIds;
+        this.proximoNumero = new AtomicLong(alunoIds.length);
+    }
+
+    /**
+     * Grava os alunos pelo AlunoService (mesmo caminho do POST, sem HTTP), cada um com cursos
+     * em andamento
+     */
+    static MassaDados gravar(AlunoService alunoService, int alunos, int cursosPorAluno) {
+        long[] alunoIds = new long[alunos];
+        long[][] cursoIds = new long[alunos][];
+        for (int i = 0; i < alunos; i++) {
+            Aluno aluno = Aluno.builder()
+                    .nome("Aluno Carga " + i)
+                    .cpf(new CPF(cpf(i)))
+                    .email(new Email(email(i)))
+                    .build();
+            for (int c = 0; c < cursosPorAluno; c++) {
+                aluno.adicionarCurso(new Curso("Curso " + c));
+            }
+            Aluno salvo = alunoService.criarAluno(aluno);
+            alunoIds[i] = salvo.getId();
+            cursoIds[i] = salvo.getCursos().stream().mapToLong(Curso::getId).toArray();
+        }
+        return new MassaDados(alunoIds, cursoIds);
+    }
+
+    int getAlunos() {
+        return alunoIds.length;
+    }
+
+    long alunoId(int indice) {
+        return alunoIds[indice];
+    }
+
+    long[] cursoIds(int indice) {
+        return cursoIds[indice];
+    }
+
+    /**
+     * Número ainda não usado para CPF e e-mail de um aluno novo
+     */
+    long proximoNumero() {
+        return proximoNumero.getAndIncrement();
+    }
+
+    /**
+     * CPF válido (dígitos verificadores calculados) e diferente para cada número
+     */
+    static String cpf(long numero) {
+        String base = String.valueOf(PRIMEIRO_CPF + numero);
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 0; i < 9; i++) {
+            int digito = base.charAt(i) - '0';
+            soma1 += digito * (10 - i);
+            soma2 += digito * (11 - i);
+        }
+        int dv1 = digitoVerificador(soma1);
+        int dv2 = digitoVerificador(soma2 + dv1 * 2);
+        return base + dv1 + dv2;
+    }
+
+    static String email(long numero) {
+        return "carga" + numero + "@teste.com";
+    }
+
+    private static int digitoVerificador(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
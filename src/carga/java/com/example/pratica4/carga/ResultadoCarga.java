@@ -0,0 +1,147 @@
+package com.example.pratica4.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências (HdrHistogram, em nanossegundos, 3 dígitos significativos) e erros por rota.
+ *
+ * O resultado sai no mesmo formato do baseline (rota.p99-ms, ...): para atualizar o baseline
+ * basta copiar o arquivo gerado. Na comparação, cada percentil pode chegar a
+ * baseline x tolerância + folga; a folga evita falhas por ruído em latências de poucos ms.
+ */
+class ResultadoCarga {
+
+    private static final long LATENCIA_MAXIMA = TimeUnit.MINUTES.toNanos(1);
+    private static final double[] PERCENTIS = {50, 99, 99.9};
+    private static final String[] NOMES_PERCENTIS = {"p50", "p99", "p999"};
+
+    private final Map<Rota, Histogram> latencias = new EnumMap<>(Rota.class);
+    private final Map<Rota, LongAdder> erros = new EnumMap<>(Rota.class);
+
+    ResultadoCarga() {
+        for (Rota rota : Rota.values()) {
+            latencias.put(rota, new ConcurrentHistogram(LATENCIA_MAXIMA, 3));
+            erros.put(rota, new LongAdder());
+        }
+    }
+
+    /**
+     * Registra uma resposta (ou falha) da rota; chamado pelas threads do HttpClient
+     */
+    void registrar(Rota rota, long latenciaNanos, boolean sucesso) {
+        latencias.get(rota).recordValue(Math.min(latenciaNanos, LATENCIA_MAXIMA));
+        if (!sucesso) {
+            erros.get(rota).increment();
+        }
+    }
+
+    /**
+     * Tabela com requisições, vazão, erros e percentis (ms) de cada rota e do total
+     */
+    String relatorio(Duration duracao) {
+        StringBuilder texto = new StringBuilder(String.format(Locale.ROOT, "%-50s %8s %8s %6s %9s %9s %9s %9s%n",
+                "Rota", "Req", "Req/s", "Erros", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        Histogram total = new Histogram(LATENCIA_MAXIMA, 3);
+        long errosTotal = 0;
+        for (Rota rota : Rota.values()) {
+            Histogram histograma = latencias.get(rota);
+            total.add(histograma);
+            errosTotal += erros.get(rota).sum();
+            linha(texto, rota.getDescricao(), histograma, erros.get(rota).sum(), duracao);
+        }
+        linha(texto, "Total", total, errosTotal, duracao);
+        return texto.toString();
+    }
+
+    /**
+     * Percentis (ms), vazão (req/s) e fração de erros de cada rota, no formato do baseline
+     */
+    Properties comoPropriedades(Duration duracao) {
+        Properties propriedades = new Properties();
+        for (Rota rota : Rota.values()) {
+            Histogram histograma = latencias.get(rota);
+            if (histograma.getTotalCount() == 0) {
+                continue;
+            }
+            for (int i = 0; i < PERCENTIS.length; i++) {
+                propriedades.setProperty(rota.getChave() + "." + NOMES_PERCENTIS[i] + "-ms",
+                        formatar(ms(histograma.getValueAtPercentile(PERCENTIS[i]))));
+            }
+            propriedades.setProperty(rota.getChave() + ".vazao", formatar(vazao(histograma, duracao)));
+            propriedades.setProperty(rota.getChave() + ".erros", formatar(fracaoErros(rota)));
+        }
+        return propriedades;
+    }
+
+    /**
+     * Regressões em relação ao baseline (vazio se nenhuma)
+     * @param tolerancia multiplicador aceito sobre cada percentil do baseline
+     * @param folgaMs acréscimo aceito em ms, além da tolerância
+     * @param errosMaximo fração máxima de respostas com erro por rota
+     */
+    List<String> comparar(Properties baseline, double tolerancia, double folgaMs, double errosMaximo) {
+        List<String> regressoes = new ArrayList<>();
+        for (Rota rota : Rota.values()) {
+            Histogram histograma = latencias.get(rota);
+            if (histograma.getTotalCount() == 0) {
+                continue;
+            }
+            double fracaoErros = fracaoErros(rota);
+            if (fracaoErros > errosMaximo) {
+                regressoes.add(String.format(Locale.ROOT, "%s: %.2f%% de erros (máximo %.2f%%)",
+                        rota.getDescricao(), fracaoErros * 100, errosMaximo * 100));
+            }
+            for (int i = 0; i < PERCENTIS.length; i++) {
+                String chave = rota.getChave() + "." + NOMES_PERCENTIS[i] + "-ms";
+                String referencia = baseline.getProperty(chave);
+                if (referencia == null) {
+                    continue;
+                }
+                double limite = Double.parseDouble(referencia) * tolerancia + folgaMs;
+                double medido = ms(histograma.getValueAtPercentile(PERCENTIS[i]));
+                if (medido > limite) {
+                    regressoes.add(String.format(Locale.ROOT, "%s: %s %.2f ms (baseline %s ms, limite %.2f ms)",
+                            rota.getDescricao(), NOMES_PERCENTIS[i], medido, referencia, limite));
+                }
+            }
+        }
+        return regressoes;
+    }
+
+    private double fracaoErros(Rota rota) {
+        long requisicoes = latencias.get(rota).getTotalCount();
+        return requisicoes == 0 ? 0 : erros.get(rota).sum() / (double) requisicoes;
+    }
+
+    private static void linha(StringBuilder texto, String nome, Histogram histograma, long erros, Duration duracao) {
+        texto.append(String.format(Locale.ROOT, "%-50s %8d %8.1f %6d %9.2f %9.2f %9.2f %9.2f%n",
+                nome, histograma.getTotalCount(), vazao(histograma, duracao), erros,
+                ms(histograma.getValueAtPercentile(50)),
+                ms(histograma.getValueAtPercentile(99)),
+                ms(histograma.getValueAtPercentile(99.9)),
+                ms(histograma.getMaxValue())));
+    }
+
+    private static double vazao(Histogram histograma, Duration duracao) {
+        return histograma.getTotalCount() / (duracao.toMillis() / 1000.0);
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String formatar(double valor) {
+        return String.format(Locale.ROOT, "%.3f", valor);
+    }
+}
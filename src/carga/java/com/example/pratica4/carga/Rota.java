@@ -0,0 +1,58 @@
+package com.example.pratica4.carga;
+
+import java.util.Locale;
+
+/**
+ * Rotas exercitadas pelo teste de carga e o peso de cada uma no sorteio (mistura de tráfego:
+ * leituras de um aluno predominam, listagem e escritas completam).
+ */
+enum Rota {
+
+    CRIAR("POST /api/alunos", 10),
+    ADICIONAR_CURSO("POST /api/alunos/{id}/cursos", 10),
+    CONCLUIR("PUT /api/alunos/{id}/cursos/{cursoId}/concluir", 15),
+    BUSCAR("GET /api/alunos/{id}", 35),
+    PROGRESSO("GET /api/alunos/{id}/progresso", 20),
+    LISTAR("GET /api/alunos?fields=id,nome,plano", 10);
+
+    private final String descricao;
+    private final int peso;
+
+    Rota(String descricao, int peso) {
+        this.descricao = descricao;
+        this.peso = peso;
+    }
+
+    String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Nome usado nas chaves do baseline e do resultado (ex: adicionar-curso)
+     */
+    String getChave() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Rota sorteada pelos pesos, a partir de um número entre 0 e a soma dos pesos
+     */
+    static Rota sortear(int numero) {
+        int acumulado = 0;
+        for (Rota rota : values()) {
+            acumulado += rota.peso;
+            if (numero < acumulado) {
+                return rota;
+            }
+        }
+        throw new IllegalArgumentException("Número fora da soma dos pesos: " + numero);
+    }
+
+    static int somaPesos() {
+        int soma = 0;
+        for (Rota rota : values()) {
+            soma += rota.peso;
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.pratica4.carga;
+
+import com.example.pratica4.Pratica4Application;
+import com.example.pratica4.service.AlunoService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação (profile carga, H2 em memória, porta
+ * livre), grava a massa de dados, aplica a carga em modelo aberto (GeradorCarga) e mostra
+ * vazão e percentis por rota.
+ *
+ * mvn -Pcarga -DskipTests test (parâmetros em pom.xml, profile carga). Com baseline definido,
+ * termina com código 1 se alguma rota regrediu além da tolerância, o que falha o build.
+ *
+ * Propriedades (-Dcarga.*): alunos, cursos (por aluno), taxa (req/s), aquecimento e duracao
+ * (segundos), baseline (arquivo; vazio = sem comparação), tolerancia, folga-ms, erros-maximo
+ * e resultado (arquivo gerado, no formato do baseline).
+ */
+public final class TesteCarga {
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int alunos = Integer.getInteger("carga.alunos", 1000);
+        int cursos = Integer.getInteger("carga.cursos", 5);
+        int taxa = Integer.getInteger("carga.taxa", 50);
+        Duration aquecimento = Duration.ofSeconds(Long.getLong("carga.aquecimento", 10));
+        Duration duracao = Duration.ofSeconds(Long.getLong("carga.duracao", 30));
+        String baseline = System.getProperty("carga.baseline", "");
+        double tolerancia = Double.parseDouble(System.getProperty("carga.tolerancia", "2.0"));
+        double folgaMs = Double.parseDouble(System.getProperty("carga.folga-ms", "5"));
+        double errosMaximo = Double.parseDouble(System.getProperty("carga.erros-maximo", "0.01"));
+        Path resultadoArquivo = Path.of(System.getProperty("carga.resultado", "target/carga-resultado.properties"));
+
+        List<String> regressoes;
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(Pratica4Application.class)
+                .run("--spring.profiles.active=carga", "--server.port=0")) {
+            long inicio = System.nanoTime();
+            MassaDados massa = MassaDados.gravar(contexto.getBean(AlunoService.class), alunos, cursos);
+            System.out.printf("Massa: %d alunos com %d cursos em %d ms%n", alunos, cursos,
+                    (System.nanoTime() - inicio) / 1_000_000);
+
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            System.out.printf("Carga: %d req/s, aquecimento %d s, medição %d s%n",
+                    taxa, aquecimento.toSeconds(), duracao.toSeconds());
+            ResultadoCarga resultado = new ResultadoCarga();
+            new GeradorCarga(URI.create("http://localhost:" + porta), massa, resultado)
+                    .executar(taxa, aquecimento, duracao);
+
+            System.out.println();
+            System.out.print(resultado.relatorio(duracao));
+            salvar(resultado.comoPropriedades(duracao), resultadoArquivo, taxa);
+            System.out.println("Resultado salvo em " + resultadoArquivo.toAbsolutePath());
+
+            regressoes = baseline.isBlank()
+                    ? List.of()
+                    : resultado.comparar(carregar(Path.of(baseline)), tolerancia, folgaMs, errosMaximo);
+        }
+
+        if (!regressoes.isEmpty()) {
+            System.out.println("Regressões em relação a " + baseline + ":");
+            regressoes.forEach(regressao -> System.out.println("  " + regressao));
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static Properties carregar(Path arquivo) throws IOException {
+        Properties propriedades = new Properties();
+        try (InputStream entrada = Files.newInputStream(arquivo)) {
+            propriedades.load(entrada);
+        }
+        return propriedades;
+    }
+
+    private static void salvar(Properties propriedades, Path arquivo, int taxa) throws IOException {
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        try (OutputStream saida = Files.newOutputStream(arquivo)) {
+            propriedades.store(saida, "Teste de carga a " + taxa + " req/s (percentis em ms, vazao em req/s, erros em fracao)");
+        }
+    }
+}
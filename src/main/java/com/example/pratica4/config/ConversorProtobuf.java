@@ -0,0 +1,96 @@
+package com.example.pratica4.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Conversor HTTP para Protocol Buffers (application/x-protobuf) usando o Jackson.
+ *
+ * Aceita qualquer DTO para o qual SchemasProtobuf consiga gerar um schema; o schema pode ser
+ * baixado em GET /api/schemas/{tipo}.proto para gerar clientes.
+ * Tipos sem schema (ex: mapas de ?fields=) não são aceitos: a negociação escolhe outro
+ * formato ou responde 406.
+ */
+public class ConversorProtobuf extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    private final SchemasProtobuf schemas;
+    private final ObjectMapper mapper;
+
+    public ConversorProtobuf(SchemasProtobuf schemas) {
+        super(APPLICATION_PROTOBUF, MediaType.parseMediaType("application/protobuf"));
+        this.schemas = schemas;
+        this.mapper = schemas.getMapper();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return canRead(mediaType) && schemas.schemaPara(mapper.constructType(type)).isPresent();
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        // Listas sem tipo declarado (ResponseEntity<?>) são conferidas pelo primeiro elemento na escrita
+        if (Collection.class.isAssignableFrom(clazz)) {
+            return true;
+        }
+        return schemas.schemaPara(clazz).isPresent();
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        JavaType javaType = mapper.constructType(type);
+        ProtobufSchema schema = schemas.schemaPara(javaType).orElseThrow(() -> new HttpMessageNotReadableException(
+                "Tipo sem schema protobuf: " + javaType, inputMessage));
+        try {
+            return mapper.readerFor(javaType).with(schema).readValue(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Mensagem protobuf inválida: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object valor, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Object mensagem = valor;
+        JavaType javaType;
+        if (valor instanceof Collection<?> colecao) {
+            if (colecao.isEmpty()) {
+                return; // Lista vazia = mensagem sem campos = zero bytes
+            }
+            mensagem = new SchemasProtobuf.Lista<>(new ArrayList<>(colecao));
+            javaType = schemas.tipoLista(colecao.iterator().next().getClass());
+        } else {
+            javaType = mapper.constructType(valor.getClass());
+        }
+
+        ProtobufSchema schema = schemas.schemaPara(javaType).orElseThrow(() -> new HttpMessageNotWritableException(
+                "Resposta sem schema protobuf (" + javaType + "); use JSON, CBOR ou Smile"));
+        mapper.writerFor(javaType).with(schema).writeValue(outputMessage.getBody(), mensagem);
+    }
+}
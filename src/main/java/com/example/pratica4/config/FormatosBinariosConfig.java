@@ -0,0 +1,77 @@
+package com.example.pratica4.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Negociação de conteúdo com formatos binários, além do JSON.
+ *
+ * Pelo cabeçalho Accept (resposta) e Content-Type (corpo da requisição):
+ * - application/json          - padrão
+ * - application/cbor          - CBOR (RFC 8949)
+ * - application/x-jackson-smile - Smile
+ * - application/x-protobuf    - Protocol Buffers, com schema gerado dos DTOs (ver SchemasProtobuf)
+ *
+ * Os três usam o mesmo ObjectMapper configurado pelo Spring Boot (datas, fuso, módulos),
+ * então os campos e valores são os mesmos da resposta JSON.
+ * Os conversores binários são adicionados depois do JSON, para que Accept: *&#47;* e
+ * requisições sem Accept continuem recebendo JSON.
+ *
+ * Como a mesma URL (e o mesmo ETag, a versão do aluno) serve vários formatos, as respostas
+ * de /api/** levam Vary: Accept, inclusive os 304: um cache compartilhado guarda uma cópia por
+ * formato e não entrega CBOR a quem pediu JSON ao revalidar.
+ */
+@Configuration
+@Profile("!reactive")
+public class FormatosBinariosConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public FormatosBinariosConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Bean
+    public SchemasProtobuf schemasProtobuf() {
+        return new SchemasProtobuf(builders.getObject());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Substitui os conversores CBOR/Smile padrão do Spring, que não usam a configuração do Boot
+        converters.removeIf(conversor -> conversor instanceof MappingJackson2CborHttpMessageConverter
+                || conversor instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                builders.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                builders.getObject().factory(new SmileFactory()).build()));
+        converters.add(new ConversorProtobuf(schemasProtobuf()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.pratica4.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de requisições simultâneas que se ajusta pela latência observada (algoritmo de gradiente).
+ *
+ * A cada requisição concluída:
+ * - latenciaLonga: média móvel lenta, representa a latência "normal" do sistema
+ * - gradiente = tolerância * latenciaLonga / latência da requisição, entre 0.5 e 1.0
+ * - novo limite = limite * gradiente + fila, suavizado e preso entre mínimo e máximo
+ *
+ * Se o banco fica lento, a latência sobe, o gradiente cai abaixo de 1 e o limite diminui:
+ * o excesso é rejeitado na hora em vez de esperar pelo pool de conexões. Com latência
+ * normal o limite cresce de "fila" em "fila", mas só se o limite atual estiver sendo usado.
+ */
+public class LimiteAdaptativo {
+
+    private static final double TOLERANCIA = 1.5;
+    private static final double SUAVIZACAO = 0.2;
+    private static final double PESO_LATENCIA_LONGA = 2.0 / (600 + 1);
+
+    private final String nome;
+    private final int minimo;
+    private final int maximo;
+    private final double fila;
+    private final AtomicInteger emUso = new AtomicInteger();
+    private final AtomicLong rejeicoes = new AtomicLong();
+
+    private volatile double limite;
+    private double latenciaLonga;
+
+    public LimiteAdaptativo(String nome, int inicial, int minimo, int maximo) {
+        if (minimo < 1 || inicial < minimo || maximo < inicial) {
+            throw new IllegalArgumentException("Limites inválidos para " + nome + ": exige 1 <= mínimo <= inicial <= máximo");
+        }
+        this.nome = nome;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.limite = inicial;
+        this.fila = Math.max(1.0, Math.sqrt(inicial));
+    }
+
+    /**
+     * Tenta ocupar uma vaga
+     * @return true se a requisição pode seguir; false se deve ser rejeitada
+     */
+    public boolean tentarAdquirir() {
+        while (true) {
+            int atual = emUso.get();
+            if (atual >= (int) limite) {
+                rejeicoes.incrementAndGet();
+                return false;
+            }
+            if (emUso.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga e usa a latência da requisição para recalcular o limite
+     * @param latenciaNanos duração da requisição
+     * @param emUsoNoInicio requisições simultâneas quando esta começou (incluindo ela)
+     */
+    public void liberar(long latenciaNanos, int emUsoNoInicio) {
+        emUso.decrementAndGet();
+        registrarAmostra(Math.max(1L, latenciaNanos), emUsoNoInicio);
+    }
+
+    private synchronized void registrarAmostra(long latencia, int emUsoNoInicio) {
+        if (latenciaLonga == 0) {
+            latenciaLonga = latencia;
+            return;
+        }
+        latenciaLonga = latenciaLonga * (1 - PESO_LATENCIA_LONGA) + latencia * PESO_LATENCIA_LONGA;
+
+        double gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * latenciaLonga / latencia));
+
+        // Sem pressão (menos da metade do limite em uso) não há evidência para crescer
+        if (gradiente >= 1.0 && emUsoNoInicio < limite / 2) {
+            return;
+        }
+
+        double novoLimite = limite * gradiente + fila;
+        novoLimite = limite * (1 - SUAVIZACAO) + novoLimite * SUAVIZACAO;
+        limite = Math.max(minimo, Math.min(maximo, novoLimite));
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    public int getEmUso() {
+        return emUso.get();
+    }
+
+    public long getRejeicoes() {
+        return rejeicoes.get();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.pratica4.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuração do limite adaptativo de concorrência das rotas /api/alunos e /api/batch.
+ *
+ * Leitura e escrita têm limites separados (pratica4.concorrencia.leitura.* e
+ * pratica4.concorrencia.escrita.*). Requisições acima do limite recebem 503 com
+ * Retry-After em vez de aguardar o pool de conexões do banco.
+ *
+ * Métricas (em /actuator/metrics), com a tag grupo=leitura|escrita:
+ * - pratica4.concorrencia.limite - limite atual
+ * - pratica4.concorrencia.em.uso - requisições em andamento
+ * - pratica4.concorrencia.rejeicoes - total de requisições rejeitadas
+ */
+@Configuration
+@Profile("!reactive")
+public class LimiteConcorrenciaConfig implements WebMvcConfigurer {
+
+    private final LimiteAdaptativo leitura;
+    private final LimiteAdaptativo escrita;
+    private final long retryAfterSegundos;
+
+    public LimiteConcorrenciaConfig(
+            @Value("${pratica4.concorrencia.leitura.inicial:50}") int leituraInicial,
+            @Value("${pratica4.concorrencia.leitura.minimo:5}") int leituraMinimo,
+            @Value("${pratica4.concorrencia.leitura.maximo:200}") int leituraMaximo,
+            @Value("${pratica4.concorrencia.escrita.inicial:20}") int escritaInicial,
+            @Value("${pratica4.concorrencia.escrita.minimo:2}") int escritaMinimo,
+            @Value("${pratica4.concorrencia.escrita.maximo:100}") int escritaMaximo,
+            @Value("${pratica4.concorrencia.retry-after-segundos:1}") long retryAfterSegundos) {
+        this.leitura = new LimiteAdaptativo("leitura", leituraInicial, leituraMinimo, leituraMaximo);
+        this.escrita = new LimiteAdaptativo("escrita", escritaInicial, escritaMinimo, escritaMaximo);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LimiteConcorrenciaInterceptor(leitura, escrita, retryAfterSegundos))
+                .addPathPatterns("/api/alunos", "/api/alunos/**", "/api/batch")
+                // O stream SSE fica aberto por minutos: ocuparia uma vaga de leitura o tempo todo
+                .excludePathPatterns("/api/alunos/eventos");
+    }
+
+    /**
+     * Publica as métricas dos limites no MeterRegistry do Actuator
+     */
+    @Bean
+    public MeterBinder metricasLimiteConcorrencia() {
+        return registry -> {
+            for (LimiteAdaptativo limite : new LimiteAdaptativo[]{leitura, escrita}) {
+                Gauge.builder("pratica4.concorrencia.limite", limite, LimiteAdaptativo::getLimite)
+                        .tag("grupo", limite.getNome())
+                        .description("Limite atual de requisições simultâneas")
+                        .register(registry);
+                Gauge.builder("pratica4.concorrencia.em.uso", limite, LimiteAdaptativo::getEmUso)
+                        .tag("grupo", limite.getNome())
+                        .description("Requisições em andamento")
+                        .register(registry);
+                FunctionCounter.builder("pratica4.concorrencia.rejeicoes", limite, LimiteAdaptativo::getRejeicoes)
+                        .tag("grupo", limite.getNome())
+                        .description("Total de requisições rejeitadas por sobrecarga")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.pratica4.config;
+
+import com.example.pratica4.exception.SobrecargaException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Aplica os limites de concorrência antes do controller.
+ *
+ * GET/HEAD usam o limite de leitura; os demais métodos, o de escrita. Assim uma
+ * rajada de escritas lentas não impede as leituras, e vice-versa.
+ * A exceção lançada em preHandle é tratada pelo GlobalExceptionHandler (503).
+ */
+public class LimiteConcorrenciaInterceptor implements HandlerInterceptor {
+
+    private static final String ATRIBUTO = LimiteConcorrenciaInterceptor.class.getName() + ".vaga";
+
+    private final LimiteAdaptativo leitura;
+    private final LimiteAdaptativo escrita;
+    private final long retryAfterSegundos;
+
+    public LimiteConcorrenciaInterceptor(LimiteAdaptativo leitura, LimiteAdaptativo escrita, long retryAfterSegundos) {
+        this.leitura = leitura;
+        this.escrita = escrita;
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        LimiteAdaptativo limite = limitePara(request.getMethod());
+        if (!limite.tentarAdquirir()) {
+            throw new SobrecargaException(limite.getNome(), limite.getLimite(), retryAfterSegundos);
+        }
+        request.setAttribute(ATRIBUTO, new Vaga(limite, System.nanoTime(), limite.getEmUso()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object vaga = request.getAttribute(ATRIBUTO);
+        if (vaga instanceof Vaga) {
+            request.removeAttribute(ATRIBUTO);
+            ((Vaga) vaga).liberar();
+        }
+    }
+
+    private LimiteAdaptativo limitePara(String metodo) {
+        return "GET".equals(metodo) || "HEAD".equals(metodo) ? leitura : escrita;
+    }
+
+    private static final class Vaga {
+        private final LimiteAdaptativo limite;
+        private final long inicio;
+        private final int emUsoNoInicio;
+
+        private Vaga(LimiteAdaptativo limite, long inicio, int emUsoNoInicio) {
+            this.limite = limite;
+            this.inicio = inicio;
+            this.emUsoNoInicio = emUsoNoInicio;
+        }
+
+        private void liberar() {
+            limite.liberar(System.nanoTime() - inicio, emUsoNoInicio);
+        }
+    }
+}
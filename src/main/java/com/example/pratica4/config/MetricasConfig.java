@@ -0,0 +1,38 @@
+package com.example.pratica4.config;
+
+import com.example.pratica4.service.ContadorPlanos;
+import com.example.pratica4.service.EstatisticasNotas;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas de domínio (em /actuator/metrics e /actuator/prometheus):
+ * - pratica4.planos.alteracoes{tipo=upgrade|downgrade} - mudanças de plano confirmadas
+ * - pratica4.notas.registradas - notas de conclusão de curso confirmadas (síncronas e da fila)
+ *
+ * As demais vêm do Actuator, configuradas em application.properties: http.server.requests
+ * (por rota), spring.data.repository.invocations (por repositório e método), hibernate.*
+ * (estatísticas do Hibernate) e hikaricp.* (pool de conexões).
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public MeterBinder metricasDominio(ContadorPlanos contadorPlanos, EstatisticasNotas estatisticasNotas) {
+        return registry -> {
+            FunctionCounter.builder("pratica4.planos.alteracoes", contadorPlanos, ContadorPlanos::getUpgrades)
+                    .description("Mudanças de plano confirmadas")
+                    .tag("tipo", "upgrade")
+                    .register(registry);
+            FunctionCounter.builder("pratica4.planos.alteracoes", contadorPlanos, ContadorPlanos::getDowngrades)
+                    .description("Mudanças de plano confirmadas")
+                    .tag("tipo", "downgrade")
+                    .register(registry);
+            FunctionCounter.builder("pratica4.notas.registradas", estatisticasNotas, EstatisticasNotas::getNotasRegistradas)
+                    .description("Notas de conclusão de curso confirmadas")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.pratica4.config;
+
+import com.example.pratica4.service.DespachanteOutbox;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Métricas do despacho da outbox (em /actuator/metrics):
+ * - pratica4.outbox.entregues - total de eventos entregues (a taxa é a vazão)
+ * - pratica4.outbox.lotes - total de lotes processados
+ * - pratica4.outbox.falhas - total de lotes com falha na entrega
+ * - pratica4.outbox.atraso - segundos entre a criação do evento mais antigo do último lote e a entrega
+ */
+@Configuration
+@Profile("!reactive")
+public class OutboxConfig {
+
+    @Bean
+    public MeterBinder metricasOutbox(DespachanteOutbox despachante) {
+        return registry -> {
+            FunctionCounter.builder("pratica4.outbox.entregues", despachante, DespachanteOutbox::getEntregues)
+                    .description("Total de eventos da outbox entregues ao destino")
+                    .register(registry);
+            FunctionCounter.builder("pratica4.outbox.lotes", despachante, DespachanteOutbox::getLotes)
+                    .description("Total de lotes da outbox processados")
+                    .register(registry);
+            FunctionCounter.builder("pratica4.outbox.falhas", despachante, DespachanteOutbox::getFalhas)
+                    .description("Total de lotes da outbox com falha na entrega")
+                    .register(registry);
+            Gauge.builder("pratica4.outbox.atraso", despachante, DespachanteOutbox::getAtrasoSegundos)
+                    .description("Atraso de entrega do evento mais antigo do último lote")
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.pratica4.config;
+
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carrega a PoliticaPlanos das propriedades pratica4.politica.* e a recarrega a quente.
+ *
+ * Com pratica4.politica.arquivo definido, o arquivo .properties é verificado a cada
+ * pratica4.politica.verificar-ms; quando muda, suas chaves pratica4.politica.* sobrepõem as
+ * da aplicação e a política é recompilada e trocada. Política inválida é rejeitada com um
+ * aviso no log e a anterior continua valendo.
+ *
+ * Partes ausentes (média, faixas ou mensagens) usam as da PoliticaPlanos.padrao().
+ */
+@Slf4j
+@Configuration
+public class PoliticaPlanosConfig {
+
+    static final String PREFIXO = "pratica4.politica";
+
+    private final Environment environment;
+    private final Path arquivo;
+    private final long intervaloMillis;
+    private ScheduledExecutorService verificador;
+    private FileTime ultimaModificacao;
+
+    public PoliticaPlanosConfig(Environment environment,
+                                @Value("${pratica4.politica.arquivo:}") String arquivo,
+                                @Value("${pratica4.politica.verificar-ms:5000}") long intervaloMillis) {
+        this.environment = environment;
+        this.arquivo = arquivo.isBlank() ? null : Path.of(arquivo);
+        this.intervaloMillis = intervaloMillis;
+        // Falha na inicialização se a configuração da aplicação for inválida
+        PoliticaPlanos.definir(compilar(carregarArquivo()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (arquivo == null) {
+            return;
+        }
+        verificador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "politica-planos");
+            thread.setDaemon(true);
+            return thread;
+        });
+        verificador.scheduleWithFixedDelay(this::recarregar, intervaloMillis, intervaloMillis, TimeUnit.MILLISECONDS);
+        log.info("Política de planos será recarregada de {} (verificação a cada {} ms)", arquivo, intervaloMillis);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (verificador != null) {
+            verificador.shutdownNow();
+        }
+    }
+
+    /**
+     * Recompila a política se o arquivo mudou desde a última leitura
+     * @return true se uma nova política passou a valer
+     */
+    public synchronized boolean recarregar() {
+        if (arquivo == null) {
+            return false;
+        }
+        try {
+            FileTime modificacao = Files.exists(arquivo) ? Files.getLastModifiedTime(arquivo) : null;
+            if (modificacao == null || modificacao.equals(ultimaModificacao)) {
+                return false;
+            }
+            PoliticaPlanos politica = compilar(carregarArquivo());
+            PoliticaPlanos.definir(politica);
+            log.info("Política de planos recarregada de {} (média de aprovação {})", arquivo, politica.getMediaAprovacao());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Política de planos em {} rejeitada; a anterior continua valendo: {}", arquivo, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Lê as chaves do arquivo (vazio se não houver arquivo) e guarda a data de modificação lida
+     */
+    private Properties carregarArquivo() {
+        Properties propriedades = new Properties();
+        if (arquivo == null || !Files.exists(arquivo)) {
+            return propriedades;
+        }
+        try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            ultimaModificacao = Files.getLastModifiedTime(arquivo);
+            propriedades.load(leitor);
+            return propriedades;
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler a política de planos em " + arquivo, e);
+        }
+    }
+
+    private PoliticaPlanos compilar(Properties doArquivo) {
+        List<ConfigurationPropertySource> fontes = new ArrayList<>();
+        fontes.add(new MapConfigurationPropertySource(doArquivo));
+        ConfigurationPropertySources.get(environment).forEach(fontes::add);
+
+        Definicao definicao = new Binder(fontes).bind(PREFIXO, Definicao.class).orElseGet(Definicao::new);
+        return definicao.compilar();
+    }
+
+    /**
+     * Forma das propriedades pratica4.politica.* (ver application.properties)
+     */
+    @Data
+    public static class Definicao {
+        private Double mediaAprovacao;
+        private List<Faixa> faixas = new ArrayList<>();
+        private List<Mensagem> mensagens = new ArrayList<>();
+
+        PoliticaPlanos compilar() {
+            PoliticaPlanos.Builder builder = PoliticaPlanos.builder();
+            if (mediaAprovacao != null) {
+                builder.mediaAprovacao(mediaAprovacao);
+            }
+            if (faixas.isEmpty()) {
+                builder.faixasPadrao();
+            }
+            faixas.forEach(faixa -> builder.faixa(faixa.getPlano(), faixa.getCursos(), faixa.isBeneficiosPremium()));
+            if (mensagens.isEmpty()) {
+                builder.mensagensPadrao();
+            }
+            mensagens.forEach(mensagem -> builder.mensagem(mensagem.getCursos(), mensagem.getTexto()));
+            return builder.build();
+        }
+    }
+
+    @Data
+    public static class Faixa {
+        private Plano plano;
+        private int cursos;
+        private boolean beneficiosPremium;
+    }
+
+    @Data
+    public static class Mensagem {
+        private int cursos;
+        private String texto;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.pratica4.config;
+
+import com.example.pratica4.dto.ProgressoDTO;
+import com.example.pratica4.exception.ErrorResponse;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.StdConverter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schemagen.ProtobufSchemaGenerator;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Schemas Protocol Buffers gerados a partir das classes dos DTOs.
+ *
+ * O schema de cada tipo é gerado pelo Jackson na primeira vez em que é usado e fica em
+ * cache; os números dos campos seguem a ordem das propriedades do DTO.
+ * O mesmo ObjectMapper (configuração do Spring Boot + fábrica protobuf) é usado para
+ * gerar o schema e para ler/escrever as mensagens.
+ *
+ * - Listas usam o envelope Lista { repeated T itens = 1; }
+ * - Mapas não têm schema (ex: respostas de ?fields=)
+ */
+public class SchemasProtobuf {
+
+    private final ObjectMapper mapper;
+    private final Map<JavaType, Optional<ProtobufSchema>> schemas = new ConcurrentHashMap<>();
+
+    public SchemasProtobuf(Jackson2ObjectMapperBuilder builder) {
+        this.mapper = builder
+                .factory(new ProtobufFactory())
+                .mixIn(ProgressoDTO.class, ProgressoProtobuf.class)
+                .mixIn(ErrorResponse.class, ErrorResponseProtobuf.class)
+                .build();
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Schema gerado para o tipo, ou vazio se o tipo não pode ser representado em protobuf
+     */
+    public Optional<ProtobufSchema> schemaPara(Class<?> tipo) {
+        return schemaPara(mapper.constructType(tipo));
+    }
+
+    public Optional<ProtobufSchema> schemaPara(JavaType tipo) {
+        return schemas.computeIfAbsent(tipo, this::gerarSchema);
+    }
+
+    /**
+     * Tipo do envelope usado para enviar uma lista de elementos
+     */
+    public JavaType tipoLista(Class<?> elemento) {
+        return mapper.getTypeFactory().constructParametricType(Lista.class, elemento);
+    }
+
+    private Optional<ProtobufSchema> gerarSchema(JavaType tipo) {
+        if (!tipo.isConcrete() || tipo.isContainerType() || tipo.isEnumType()
+                || tipo.isPrimitive() || tipo.getRawClass().getName().startsWith("java.")) {
+            return Optional.empty();
+        }
+        try {
+            ProtobufSchemaGenerator gerador = new ProtobufSchemaGenerator();
+            mapper.acceptJsonFormatVisitor(tipo, gerador);
+            return Optional.of(gerador.getGeneratedSchema());
+        } catch (JsonMappingException | UnsupportedOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Envelope das listas: protobuf não tem mensagem raiz do tipo array
+     */
+    public static class Lista<T> {
+        private final List<T> itens;
+
+        public Lista(@JsonProperty("itens") List<T> itens) {
+            this.itens = itens;
+        }
+
+        public List<T> getItens() {
+            return itens;
+        }
+    }
+
+    /**
+     * Nome de campo do protobuf precisa ser ASCII
+     */
+    abstract static class ProgressoProtobuf {
+        @JsonProperty("elegivelParaUpgrade")
+        abstract boolean isElegívelParaUpgrade();
+
+        @JsonProperty("elegivelParaUpgrade")
+        abstract void setElegívelParaUpgrade(boolean elegivel);
+    }
+
+    /**
+     * O gerador de schema só olha o tipo declarado de cada propriedade, então ErrorResponse é
+     * enviado como ErroProtobuf: timestamp em texto (ISO-8601, como no JSON) e details como
+     * repeated Detalhe, já que o módulo protobuf do Jackson não suporta Map.
+     */
+    @JsonSerialize(converter = ErroParaProtobuf.class)
+    @JsonDeserialize(converter = ProtobufParaErro.class)
+    abstract static class ErrorResponseProtobuf {
+    }
+
+    public static class ErroProtobuf {
+        public String timestamp;
+        public int status;
+        public String error;
+        public String message;
+        public List<Detalhe> details;
+    }
+
+    public static class Detalhe {
+        public String campo;
+        public String mensagem;
+    }
+
+    static class ErroParaProtobuf extends StdConverter<ErrorResponse, ErroProtobuf> {
+        @Override
+        public ErroProtobuf convert(ErrorResponse erro) {
+            ErroProtobuf mensagem = new ErroProtobuf();
+            mensagem.timestamp = erro.getTimestamp() == null ? null
+                    : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(erro.getTimestamp());
+            mensagem.status = erro.getStatus();
+            mensagem.error = erro.getError();
+            mensagem.message = erro.getMessage();
+            if (erro.getDetails() != null) {
+                mensagem.details = new ArrayList<>();
+                erro.getDetails().forEach((campo, texto) -> {
+                    Detalhe detalhe = new Detalhe();
+                    detalhe.campo = campo;
+                    detalhe.mensagem = texto;
+                    mensagem.details.add(detalhe);
+                });
+            }
+            return mensagem;
+        }
+    }
+
+    static class ProtobufParaErro extends StdConverter<ErroProtobuf, ErrorResponse> {
+        @Override
+        public ErrorResponse convert(ErroProtobuf mensagem) {
+            Map<String, String> detalhes = null;
+            if (mensagem.details != null) {
+                detalhes = new LinkedHashMap<>();
+                for (Detalhe detalhe : mensagem.details) {
+                    detalhes.put(detalhe.campo, detalhe.mensagem);
+                }
+            }
+            return ErrorResponse.builder()
+                    .timestamp(mensagem.timestamp == null ? null : LocalDateTime.parse(mensagem.timestamp))
+                    .status(mensagem.status)
+                    .error(mensagem.error)
+                    .message(mensagem.message)
+                    .details(detalhes)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.pratica4.consultas;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+
+/**
+ * Orçamento de consultas SQL (pratica4.consultas.habilitado=true; ligado nos profiles dev e test).
+ *
+ * - InspetorConsultas registrado no Hibernate (hibernate.session_factory.statement_inspector)
+ * - FiltroConsultas nas requisições HTTP, menos o stream SSE (escopo "MÉTODO /rota")
+ * - MedicaoConsultas nos métodos @Transactional de classes @Service (escopo "Classe.metodo"),
+ *   depois do roteamento de shards e antes da transação
+ * - OrcamentoConsultas com modo, limites e repetições (pratica4.consultas.*)
+ *
+ * Em testes, ContadorConsultas.medir conta o SQL de um trecho para asserções diretas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "pratica4.consultas.habilitado", havingValue = "true")
+public class ConsultasConfig {
+
+    @Bean
+    @ConfigurationProperties("pratica4.consultas")
+    public OrcamentoConsultas orcamentoConsultas() {
+        return new OrcamentoConsultas();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer inspetorConsultas() {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, new InspetorConsultas());
+    }
+
+    @Bean
+    public FilterRegistrationBean<FiltroConsultas> filtroConsultas(OrcamentoConsultas orcamento) {
+        // O stream SSE fica aberto por minutos: a resposta não pode ser retida até o fim
+        FilterRegistrationBean<FiltroConsultas> registro = new FilterRegistrationBean<>(
+                new FiltroConsultas(orcamento, Set.of("/api/alunos/eventos")));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor medicaoConsultas(ObjectProvider<OrcamentoConsultas> orcamento) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Service.class, Transactional.class, false), new MedicaoConsultas(orcamento));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.pratica4.consultas;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Contagens de SQL abertas na thread atual (alimentadas pelo InspetorConsultas).
+ *
+ * As contagens se aninham: uma requisição HTTP (FiltroConsultas) e, dentro dela, cada método
+ * @Transactional de service (MedicaoConsultas) têm a sua, e cada comando conta em todas as
+ * abertas. Só conta o SQL gerado pelo Hibernate na própria thread (consultas espalhadas entre
+ * shards, em outras threads, e JdbcTemplate ficam de fora).
+ */
+public final class ContadorConsultas {
+
+    private static final ThreadLocal<Deque<ContagemConsultas>> ABERTAS = new ThreadLocal<>();
+
+    private static final Pattern TEXTOS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMEROS = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTAS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private ContadorConsultas() {
+    }
+
+    /**
+     * Abre uma contagem na thread atual (fechar com fechar, num finally)
+     */
+    public static ContagemConsultas abrir() {
+        Deque<ContagemConsultas> abertas = ABERTAS.get();
+        if (abertas == null) {
+            abertas = new ArrayDeque<>();
+            ABERTAS.set(abertas);
+        }
+        ContagemConsultas contagem = new ContagemConsultas();
+        abertas.push(contagem);
+        return contagem;
+    }
+
+    public static void fechar(ContagemConsultas contagem) {
+        Deque<ContagemConsultas> abertas = ABERTAS.get();
+        if (abertas == null) {
+            return;
+        }
+        abertas.removeFirstOccurrence(contagem);
+        if (abertas.isEmpty()) {
+            ABERTAS.remove();
+        }
+    }
+
+    /**
+     * Conta a ação e devolve o SQL que ela executou (para testes)
+     */
+    public static ContagemConsultas medir(Runnable acao) {
+        return medir(() -> {
+            acao.run();
+            return null;
+        }).contagem();
+    }
+
+    /**
+     * Conta a ação e devolve o resultado dela junto com o SQL executado
+     */
+    public static <T> Medida<T> medir(Supplier<T> acao) {
+        ContagemConsultas contagem = abrir();
+        try {
+            return new Medida<>(acao.get(), contagem);
+        } finally {
+            fechar(contagem);
+        }
+    }
+
+    /**
+     * Registra um comando em todas as contagens abertas (chamado pelo InspetorConsultas)
+     */
+    static void registrar(String sql) {
+        Deque<ContagemConsultas> abertas = ABERTAS.get();
+        if (abertas == null || abertas.isEmpty()) {
+            return;
+        }
+        String forma = forma(sql);
+        for (ContagemConsultas contagem : abertas) {
+            contagem.registrar(forma);
+        }
+    }
+
+    /**
+     * Forma do comando: literais e listas de parâmetros trocadas por ?, espaços simples e
+     * minúsculas; comandos que só diferem nos valores têm a mesma forma
+     */
+    static String forma(String sql) {
+        String semTextos = TEXTOS.matcher(sql).replaceAll("?");
+        String semNumeros = NUMEROS.matcher(semTextos).replaceAll("?");
+        String semListas = LISTAS.matcher(semNumeros).replaceAll("(?)");
+        return ESPACOS.matcher(semListas).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resultado de uma ação medida e o SQL que ela executou
+     */
+    public record Medida<T>(T resultado, ContagemConsultas contagem) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.pratica4.consultas;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL executado num escopo (requisição, método ou trecho medido em teste): total de comandos
+ * e quantas vezes cada forma de comando apareceu. Usada só pela thread que a abriu.
+ */
+public class ContagemConsultas {
+
+    private final Map<String, Integer> porForma = new LinkedHashMap<>();
+    private int total;
+
+    void registrar(String forma) {
+        total++;
+        porForma.merge(forma, 1, Integer::sum);
+    }
+
+    /**
+     * Total de comandos SQL
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Quantidade de comandos por forma, na ordem da primeira execução
+     */
+    public Map<String, Integer> getPorForma() {
+        return Collections.unmodifiableMap(porForma);
+    }
+
+    /**
+     * SELECTs de mesma forma executados ao menos "minimo" vezes (N+1 provável)
+     */
+    public Map<String, Integer> selectsRepetidos(int minimo) {
+        Map<String, Integer> repetidos = new LinkedHashMap<>();
+        porForma.forEach((forma, vezes) -> {
+            if (vezes >= minimo && forma.startsWith("select")) {
+                repetidos.put(forma, vezes);
+            }
+        });
+        return repetidos;
+    }
+
+    @Override
+    public String toString() {
+        return total + " comandos " + porForma;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.pratica4.consultas;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Conta o SQL de cada requisição HTTP, inclusive o da serialização da resposta (cargas lazy
+ * com open-in-view), e verifica o orçamento da rota ("GET /api/alunos/{id}": método e padrão
+ * do mapeamento; sem mapeamento, o caminho da requisição).
+ *
+ * A resposta fica retida em memória até a verificação: no modo FALHAR o cliente recebe o erro
+ * (500), não um 200 já enviado. Streams (SSE) ficam de fora: seriam retidos até o fim.
+ * Requisições que terminam em exceção não são verificadas.
+ */
+public class FiltroConsultas extends OncePerRequestFilter {
+
+    private final OrcamentoConsultas orcamento;
+    private final Set<String> ignorados;
+
+    public FiltroConsultas(OrcamentoConsultas orcamento, Set<String> ignorados) {
+        this.orcamento = orcamento;
+        this.ignorados = ignorados;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return ignorados.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper retida = new ContentCachingResponseWrapper(response);
+        ContagemConsultas contagem = ContadorConsultas.abrir();
+        try {
+            chain.doFilter(request, retida);
+        } finally {
+            ContadorConsultas.fechar(contagem);
+        }
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String rota = padrao != null ? padrao.toString() : request.getRequestURI();
+        orcamento.verificar(request.getMethod() + " " + rota, contagem);
+        retida.copyBodyToResponse();
+    }
+}
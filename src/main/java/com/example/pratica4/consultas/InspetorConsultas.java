@@ -0,0 +1,16 @@
+package com.example.pratica4.consultas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Recebe do Hibernate cada comando SQL antes da execução e o registra nas contagens abertas
+ * (ContadorConsultas); o comando segue sem alteração.
+ */
+public class InspetorConsultas implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        ContadorConsultas.registrar(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.pratica4.consultas;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Conta o SQL de cada chamada a um método @Transactional de service, inclusive o flush do
+ * commit (roda por fora da transação), e verifica o orçamento do escopo "Classe.metodo".
+ * Chamadas que terminam em exceção não são verificadas.
+ */
+public class MedicaoConsultas implements MethodInterceptor {
+
+    // Resolvido na primeira chamada: o Advisor é criado antes dos beans comuns
+    private final ObjectProvider<OrcamentoConsultas> orcamento;
+
+    public MedicaoConsultas(ObjectProvider<OrcamentoConsultas> orcamento) {
+        this.orcamento = orcamento;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocacao) throws Throwable {
+        ContagemConsultas contagem = ContadorConsultas.abrir();
+        Object resultado;
+        try {
+            resultado = invocacao.proceed();
+        } finally {
+            ContadorConsultas.fechar(contagem);
+        }
+        String escopo = AopUtils.getTargetClass(invocacao.getThis()).getSimpleName() + "." + invocacao.getMethod().getName();
+        orcamento.getObject().verificar(escopo, contagem);
+        return resultado;
+    }
+}
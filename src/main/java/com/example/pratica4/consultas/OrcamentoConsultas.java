@@ -0,0 +1,78 @@
+package com.example.pratica4.consultas;
+
+import com.example.pratica4.exception.OrcamentoConsultasExcedidoException;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orçamento de SQL por escopo (propriedades pratica4.consultas.*, ver ConsultasConfig).
+ *
+ * Escopos: rota HTTP ("GET /api/alunos/{id}") ou método de service ("AlunoService.buscarPorId").
+ * Um escopo estoura o orçamento se executar mais comandos que o seu limite (orcamentos[escopo],
+ * ou orcamento-padrao) ou repetir um SELECT de mesma forma "repeticoes" vezes ou mais (N+1).
+ * No modo LOG o problema vira um aviso no log; no modo FALHAR, uma exceção.
+ */
+@Slf4j
+@Getter
+@Setter
+public class OrcamentoConsultas {
+
+    private static final int TAMANHO_MAXIMO_FORMA = 200;
+
+    public enum Modo {
+        LOG, FALHAR
+    }
+
+    private Modo modo = Modo.LOG;
+    private int repeticoes = 3;
+    private int orcamentoPadrao = 10;
+    private Map<String, Integer> orcamentos = new HashMap<>();
+
+    /**
+     * Máximo de comandos do escopo
+     */
+    public int limite(String escopo) {
+        return orcamentos.getOrDefault(escopo, orcamentoPadrao);
+    }
+
+    /**
+     * Descrição de cada problema da contagem (vazio se estiver dentro do orçamento)
+     */
+    public List<String> problemas(String escopo, ContagemConsultas contagem) {
+        List<String> problemas = new ArrayList<>();
+        int limite = limite(escopo);
+        if (contagem.getTotal() > limite) {
+            problemas.add(contagem.getTotal() + " comandos SQL (orçamento " + limite + ")");
+        }
+        contagem.selectsRepetidos(repeticoes).forEach((forma, vezes) ->
+                problemas.add("N+1 provável, " + vezes + "x: " + resumir(forma)));
+        return problemas;
+    }
+
+    /**
+     * Avisa no log ou falha se a contagem do escopo tiver problemas
+     * @throws OrcamentoConsultasExcedidoException no modo FALHAR
+     */
+    public void verificar(String escopo, ContagemConsultas contagem) {
+        List<String> problemas = problemas(escopo, contagem);
+        if (problemas.isEmpty()) {
+            log.debug("{}: {} comandos SQL", escopo, contagem.getTotal());
+            return;
+        }
+        String mensagem = escopo + ": " + String.join("; ", problemas);
+        if (modo == Modo.FALHAR) {
+            throw new OrcamentoConsultasExcedidoException(mensagem);
+        }
+        log.warn(mensagem);
+    }
+
+    private static String resumir(String forma) {
+        return forma.length() <= TAMANHO_MAXIMO_FORMA ? forma : forma.substring(0, TAMANHO_MAXIMO_FORMA) + "...";
+    }
+}
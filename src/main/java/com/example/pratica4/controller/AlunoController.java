@@ -3,7 +3,13 @@ package com.example.pratica4.controller;
 import com.example.pratica4.dto.*;
 import com.example.pratica4.model.Aluno;
 import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.NotaPendente;
+import com.example.pratica4.model.PoliticaPlanos;
+import com.example.pratica4.repository.AlunoResumo;
 import com.example.pratica4.service.AlunoService;
+import com.example.pratica4.service.EventosPlano;
+import com.example.pratica4.service.IndiceNomes;
+import com.example.pratica4.service.ProcessadorNotas;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,10 +17,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,15 +36,30 @@ import java.util.stream.Collectors;
  * @RequestMapping - Define prefixo base para todas as rotas (/api/alunos)
  * @CrossOrigin - Permite requisições de qualquer origem (importante para frontend)
  * @Tag - Anotação do Swagger para agrupar endpoints
+ * @Profile - No profile reactive as mesmas rotas são servidas pelo AlunoRouter (WebFlux)
+ *
+ * As rotas de escrita aceitam o cabeçalho Idempotency-Key: uma repetição com a mesma
+ * chave recebe a resposta da primeira execução (ver RegistroIdempotencia).
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/alunos")
 @CrossOrigin(origins = "*")
 @RequiredArgsConstructor
 @Tag(name = "Alunos", description = "API para gerenciamento de alunos e upgrade de planos")
 public class AlunoController {
 
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final int LIMITE_MAXIMO_BUSCA = 50;
+
     private final AlunoService alunoService;
+    private final RegistroIdempotencia registroIdempotencia;
+    private final ProcessadorNotas processadorNotas;
+    private final EventosPlano eventosPlano;
+    private final IndiceNomes indiceNomes;
 
     /**
      * POST /api/alunos - Criar novo aluno
@@ -42,49 +68,164 @@ public class AlunoController {
     @Operation(summary = "Criar novo aluno", description = "Cria um novo aluno no sistema com plano BASICO")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Aluno criado com sucesso"),
-            @ApiResponse(responseCode = "400", description = "Dados inválidos ou CPF/Email já cadastrado")
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou CPF/Email já cadastrado"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key já usada com outro corpo")
     })
     public ResponseEntity<AlunoDTO> criarAluno(
+            @Parameter(description = "Chave que identifica a operação; repetições recebem a primeira resposta")
+            @RequestHeader(value = RegistroIdempotencia.CABECALHO, required = false) String idempotencyKey,
             @Valid @RequestBody CreateAlunoDTO createAlunoDTO) {
 
-        Aluno aluno = createAlunoDTO.toEntity();
-        Aluno alunoSalvo = alunoService.criarAluno(aluno);
-        AlunoDTO alunoDTO = AlunoDTO.fromEntity(alunoSalvo);
+        return registroIdempotencia.executar(idempotencyKey, "POST /api/alunos", createAlunoDTO, () -> {
+            Aluno aluno = createAlunoDTO.toEntity();
+            Aluno alunoSalvo = alunoService.criarAluno(aluno);
+            AlunoDTO alunoDTO = AlunoDTO.fromEntity(alunoSalvo);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(alunoDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).body(alunoDTO);
+        });
     }
 
     /**
      * GET /api/alunos - Listar todos os alunos
+     *
+     * Sem parâmetros retorna a representação completa (com cursos).
+     * Com ?fields= e/ou ?embed=cursos retorna só os campos pedidos; se "cursos"
+     * não for pedido, a lista é montada pela consulta resumida (sem carregar cursos).
      */
     @GetMapping
-    @Operation(summary = "Listar todos os alunos", description = "Retorna lista completa de alunos cadastrados")
-    @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso")
-    public ResponseEntity<List<AlunoDTO>> listarTodos() {
-        List<Aluno> alunos = alunoService.listarTodos();
-        List<AlunoDTO> alunosDTO = alunos.stream()
-                .map(AlunoDTO::fromEntity)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(alunosDTO);
+    @Operation(summary = "Listar todos os alunos", description = "Retorna lista de alunos cadastrados. "
+            + "Use fields (ex: id,nome,plano) e embed=cursos para escolher os campos retornados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Campo desconhecido em fields ou embed")
+    })
+    public ResponseEntity<?> listarTodos(
+            @Parameter(description = "Campos a retornar, separados por vírgula")
+            @RequestParam(value = "fields", required = false) String fields,
+            @Parameter(description = "Recursos a incorporar (cursos)")
+            @RequestParam(value = "embed", required = false) String embed) {
+
+        if (fields == null && embed == null) {
+            // Entidades escritas direto no JSON (EntidadesJson), no mesmo formato de AlunoDTO
+            List<Aluno> alunos = alunoService.listarTodos();
+
+            return ResponseEntity.ok(alunos);
+        }
+
+        CamposAluno campos = CamposAluno.de(fields, embed);
+        List<AlunoDTO> alunosDTO = campos.incluiCursos()
+                ? alunoService.listarTodos().stream().map(AlunoDTO::fromEntity).collect(Collectors.toList())
+                : alunoService.listarResumos().stream().map(AlunoDTO::fromResumo).collect(Collectors.toList());
+
+        return ResponseEntity.ok(alunosDTO.stream()
+                .map(campos::aplicar)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * GET /api/alunos/eventos - Stream de mudanças de plano (Server-Sent Events)
+     *
+     * Cada evento "plano" traz um PlanoAlterado em JSON e é enviado só depois do commit.
+     * Ao reconectar, o cliente (EventSource) envia Last-Event-ID e recebe os eventos perdidos
+     * que ainda estão no buffer; se não estiverem, recebe um evento "reinicio".
+     */
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar mudanças de plano", description = "Stream SSE com um evento a cada "
+            + "mudança de plano confirmada (upgrade ou downgrade). Substitui a consulta periódica de alunos premium")
+    @ApiResponse(responseCode = "200", description = "Stream aberto")
+    public SseEmitter acompanharEventos(
+            @Parameter(description = "ID do último evento recebido, para reenviar os seguintes")
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+
+        Long ultimoEventoId = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                ultimoEventoId = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // ID desconhecido: tratado como evento que já saiu do buffer ("reinicio")
+                ultimoEventoId = -1L;
+            }
+        }
+        return eventosPlano.assinar(ultimoEventoId);
+    }
+
+    /**
+     * GET /api/alunos/busca?q=mar&limit=10 - Busca por nome enquanto se digita
+     *
+     * Servida pelo índice em memória (IndiceNomes): não consulta o banco.
+     */
+    @GetMapping("/busca")
+    @Operation(summary = "Buscar alunos por nome", description = "Alunos com uma palavra do nome começando "
+            + "pelo texto, sem diferenciar acentos e maiúsculas, em ordem alfabética (ID e nome)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alunos encontrados (lista vazia se nenhum)"),
+            @ApiResponse(responseCode = "400", description = "Texto vazio ou limite inválido")
+    })
+    public ResponseEntity<BuscaAlunosDTO> buscarPorNome(
+            @Parameter(description = "Início de uma palavra do nome (ex: mar, silva)") @RequestParam("q") String q,
+            @Parameter(description = "Quantidade máxima de alunos (1 a 50)")
+            @RequestParam(value = "limit", defaultValue = "10") int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_BUSCA) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + LIMITE_MAXIMO_BUSCA);
+        }
+        return ResponseEntity.ok(indiceNomes.buscar(q, limite));
+    }
+
+    /**
+     * GET /api/alunos/busca/indice - Tamanho e memória do índice de busca por nome
+     */
+    @GetMapping("/busca/indice")
+    @Operation(summary = "Tamanho do índice de nomes", description = "Alunos, chaves, nós e memória estimada "
+            + "do índice usado pela busca por nome")
+    @ApiResponse(responseCode = "200", description = "Estatísticas do índice")
+    public ResponseEntity<IndiceNomesDTO> estatisticasBusca() {
+        return ResponseEntity.ok(indiceNomes.estatisticas());
     }
 
     /**
      * GET /api/alunos/{id} - Buscar aluno por ID
+     *
+     * Aceita os mesmos parâmetros fields/embed da listagem.
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Buscar aluno por ID", description = "Retorna dados completos de um aluno específico")
+    @Operation(summary = "Buscar aluno por ID", description = "Retorna dados de um aluno específico. "
+            + "Use fields (ex: id,nome,plano) e embed=cursos para escolher os campos retornados")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Aluno encontrado"),
+            @ApiResponse(responseCode = "304", description = "Aluno não mudou desde o ETag informado em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Campo desconhecido em fields ou embed"),
             @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
     })
-    public ResponseEntity<AlunoDTO> buscarPorId(
-            @Parameter(description = "ID do aluno") @PathVariable Long id) {
+    public ResponseEntity<?> buscarPorId(
+            @Parameter(description = "ID do aluno") @PathVariable Long id,
+            @Parameter(description = "ETag de uma leitura anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(description = "Campos a retornar, separados por vírgula")
+            @RequestParam(value = "fields", required = false) String fields,
+            @Parameter(description = "Recursos a incorporar (cursos)")
+            @RequestParam(value = "embed", required = false) String embed) {
+
+        CamposAluno campos = fields == null && embed == null ? null : CamposAluno.de(fields, embed);
+
+        ResponseEntity<AlunoDTO> naoModificado = verificarNaoModificado(id, ifNoneMatch);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+
+        // Lida antes de carregar: o ETag nunca anuncia uma política mais nova que a do corpo
+        PoliticaPlanos politica = PoliticaPlanos.atual();
+        if (campos != null && !campos.incluiCursos()) {
+            AlunoResumo resumo = alunoService.buscarResumoPorId(id);
+            return ResponseEntity.ok()
+                    .eTag(ETags.deVersao(resumo.getVersao(), politica))
+                    .body(campos.aplicar(AlunoDTO.fromResumo(resumo)));
+        }
 
-        Aluno aluno = alunoService.buscarPorId(id);
-        AlunoDTO alunoDTO = AlunoDTO.fromEntity(aluno);
+        Versionado<AlunoDTO> alunoDTO = alunoService.buscarDTOPorId(id);
 
-        return ResponseEntity.ok(alunoDTO);
+        return ResponseEntity.ok()
+                .eTag(ETags.deVersao(alunoDTO.getVersao(), politica))
+                .body(campos == null ? alunoDTO.getConteudo() : campos.aplicar(alunoDTO.getConteudo()));
     }
 
     /**
@@ -94,17 +235,28 @@ public class AlunoController {
     @Operation(summary = "Atualizar aluno", description = "Atualiza dados de um aluno existente")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Aluno atualizado com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
+            @ApiResponse(responseCode = "404", description = "Aluno não encontrado"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do aluno"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key já usada com outro corpo")
     })
     public ResponseEntity<AlunoDTO> atualizarAluno(
             @Parameter(description = "ID do aluno") @PathVariable Long id,
+            @Parameter(description = "ETag da última leitura (controle de concorrência otimista)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Chave que identifica a operação; repetições recebem a primeira resposta")
+            @RequestHeader(value = RegistroIdempotencia.CABECALHO, required = false) String idempotencyKey,
             @Valid @RequestBody CreateAlunoDTO updateDTO) {
 
-        Aluno alunoAtualizado = updateDTO.toEntity();
-        Aluno aluno = alunoService.atualizarAluno(id, alunoAtualizado);
-        AlunoDTO alunoDTO = AlunoDTO.fromEntity(aluno);
+        return registroIdempotencia.executar(idempotencyKey, "PUT /api/alunos/" + id, updateDTO, () -> {
+            Aluno alunoAtualizado = updateDTO.toEntity();
+            Long versaoEsperada = ETags.versaoDeIfMatch(ifMatch);
+            Aluno aluno = versaoEsperada == null
+                    ? alunoService.atualizarAluno(id, alunoAtualizado)
+                    : alunoService.atualizarAluno(id, alunoAtualizado, versaoEsperada);
+            AlunoDTO alunoDTO = AlunoDTO.fromEntity(aluno);
 
-        return ResponseEntity.ok(alunoDTO);
+            return ResponseEntity.ok().eTag(ETags.deVersao(aluno.getVersao())).body(alunoDTO);
+        });
     }
 
     /**
@@ -117,10 +269,14 @@ public class AlunoController {
             @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
     })
     public ResponseEntity<Void> deletarAluno(
-            @Parameter(description = "ID do aluno") @PathVariable Long id) {
+            @Parameter(description = "ID do aluno") @PathVariable Long id,
+            @Parameter(description = "Chave que identifica a operação; repetições recebem a primeira resposta")
+            @RequestHeader(value = RegistroIdempotencia.CABECALHO, required = false) String idempotencyKey) {
 
-        alunoService.deletarAluno(id);
-        return ResponseEntity.noContent().build();
+        return registroIdempotencia.executar(idempotencyKey, "DELETE /api/alunos/" + id, null, () -> {
+            alunoService.deletarAluno(id);
+            return ResponseEntity.noContent().build();
+        });
     }
 
     /**
@@ -130,41 +286,115 @@ public class AlunoController {
     @Operation(summary = "Adicionar curso", description = "Adiciona um novo curso à lista de cursos do aluno")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Curso adicionado com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
+            @ApiResponse(responseCode = "404", description = "Aluno não encontrado"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key já usada com outro corpo")
     })
     public ResponseEntity<AlunoDTO> adicionarCurso(
             @Parameter(description = "ID do aluno") @PathVariable Long id,
+            @Parameter(description = "Chave que identifica a operação; repetições recebem a primeira resposta")
+            @RequestHeader(value = RegistroIdempotencia.CABECALHO, required = false) String idempotencyKey,
             @Valid @RequestBody CreateCursoDTO createCursoDTO) {
 
-        Curso curso = createCursoDTO.toEntity();
-        Aluno aluno = alunoService.adicionarCurso(id, curso);
-        AlunoDTO alunoDTO = AlunoDTO.fromEntity(aluno);
+        return registroIdempotencia.executar(idempotencyKey, "POST /api/alunos/" + id + "/cursos", createCursoDTO, () -> {
+            Curso curso = createCursoDTO.toEntity();
+            Aluno aluno = alunoService.adicionarCurso(id, curso);
+            AlunoDTO alunoDTO = AlunoDTO.fromEntity(aluno);
+
+            return ResponseEntity.ok(alunoDTO);
+        });
+    }
+
+    /**
+     * GET /api/alunos/{id}/cursos - Listar cursos do aluno (paginado)
+     *
+     * Paginação por cursor: a resposta traz proximoCursor, que deve ser enviado
+     * em ?cursor= para obter a página seguinte com os mesmos filtros e ordenação.
+     */
+    @GetMapping("/{id}/cursos")
+    @Operation(summary = "Listar cursos do aluno", description = "Retorna uma página dos cursos do aluno, "
+            + "com filtros (concluido, aprovado, prefixo do nome) e ordenação por id, nome ou media")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Ordenação, direção, cursor ou limite inválido"),
+            @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
+    })
+    public ResponseEntity<PaginaCursosDTO> listarCursos(
+            @Parameter(description = "ID do aluno") @PathVariable Long id,
+            @Parameter(description = "Filtra cursos concluídos (true) ou em andamento (false)")
+            @RequestParam(value = "concluido", required = false) Boolean concluido,
+            @Parameter(description = "Filtra cursos aprovados (concluídos com média >= 7.0)")
+            @RequestParam(value = "aprovado", required = false) Boolean aprovado,
+            @Parameter(description = "Início do nome do curso")
+            @RequestParam(value = "prefixo", required = false) String prefixo,
+            @Parameter(description = "Campo de ordenação: id, nome ou media")
+            @RequestParam(value = "ordenarPor", required = false) String ordenarPor,
+            @Parameter(description = "Direção da ordenação: asc ou desc")
+            @RequestParam(value = "direcao", required = false) String direcao,
+            @Parameter(description = "proximoCursor da página anterior")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Tamanho da página (1 a 100, padrão 20)")
+            @RequestParam(value = "limite", required = false) Integer limite) {
+
+        ConsultaCursos consulta = ConsultaCursos.de(concluido, aprovado, prefixo, ordenarPor, direcao, cursor, limite);
 
-        return ResponseEntity.ok(alunoDTO);
+        return ResponseEntity.ok(alunoService.listarCursos(id, consulta));
     }
 
     /**
      * PUT /api/alunos/{alunoId}/cursos/{cursoId}/concluir - Concluir curso com média
+     *
+     * Com "Prefer: respond-async" a nota é gravada na fila de notas e a resposta é 202,
+     * com Location apontando para GET /api/notas/{sequencia}; o curso e o plano são
+     * atualizados logo depois pelo ProcessadorNotas.
      */
     @PutMapping("/{alunoId}/cursos/{cursoId}/concluir")
     @Operation(
             summary = "Concluir curso",
-            description = "Marca um curso como concluído, registra a média e verifica upgrade automático de plano"
+            description = "Marca um curso como concluído, registra a média e verifica upgrade automático de plano. "
+                    + "Com Prefer: respond-async a nota é enfileirada e aplicada em seguida (202)"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Curso concluído com sucesso"),
+            @ApiResponse(responseCode = "202", description = "Nota aceita para aplicação assíncrona"),
             @ApiResponse(responseCode = "404", description = "Aluno ou curso não encontrado"),
-            @ApiResponse(responseCode = "400", description = "Média inválida (deve estar entre 0.0 e 10.0)")
+            @ApiResponse(responseCode = "400", description = "Média inválida (deve estar entre 0.0 e 10.0)"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do aluno"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key já usada com outro corpo"),
+            @ApiResponse(responseCode = "503", description = "Fila de notas cheia")
     })
-    public ResponseEntity<AlunoDTO> concluirCurso(
+    public ResponseEntity<?> concluirCurso(
             @Parameter(description = "ID do aluno") @PathVariable Long alunoId,
             @Parameter(description = "ID do curso") @PathVariable Long cursoId,
+            @Parameter(description = "ETag da última leitura (controle de concorrência otimista)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Chave que identifica a operação; repetições recebem a primeira resposta")
+            @RequestHeader(value = RegistroIdempotencia.CABECALHO, required = false) String idempotencyKey,
+            @Parameter(description = "respond-async para enfileirar a nota e responder 202")
+            @RequestHeader(value = PREFER, required = false) String prefer,
             @Valid @RequestBody ConcluirCursoDTO concluirDTO) {
 
-        Aluno aluno = alunoService.concluirCurso(alunoId, cursoId, concluirDTO.getMedia());
-        AlunoDTO alunoDTO = AlunoDTO.fromEntity(aluno);
+        String operacao = "PUT /api/alunos/" + alunoId + "/cursos/" + cursoId + "/concluir";
+        return registroIdempotencia.<Object>executar(idempotencyKey, operacao, concluirDTO, () -> {
+            Long versaoEsperada = ETags.versaoDeIfMatch(ifMatch);
 
-        return ResponseEntity.ok(alunoDTO);
+            if (prefereAssincrono(prefer)) {
+                if (versaoEsperada != null) {
+                    throw new IllegalArgumentException("If-Match não é aceito no modo assíncrono");
+                }
+                NotaPendente nota = processadorNotas.enviar(alunoId, cursoId, concluirDTO.getMedia());
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/notas/" + nota.getSequencia()))
+                        .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                        .body(NotaPendenteDTO.fromNota(nota, null));
+            }
+
+            Aluno aluno = versaoEsperada == null
+                    ? alunoService.concluirCurso(alunoId, cursoId, concluirDTO.getMedia())
+                    : alunoService.concluirCurso(alunoId, cursoId, concluirDTO.getMedia(), versaoEsperada);
+            AlunoDTO alunoDTO = AlunoDTO.fromEntity(aluno);
+
+            return ResponseEntity.ok().eTag(ETags.deVersao(aluno.getVersao())).body(alunoDTO);
+        });
     }
 
     /**
@@ -177,14 +407,54 @@ public class AlunoController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Progresso consultado com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Progresso não mudou desde o ETag informado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
     })
     public ResponseEntity<ProgressoDTO> consultarProgresso(
-            @Parameter(description = "ID do aluno") @PathVariable Long id) {
+            @Parameter(description = "ID do aluno") @PathVariable Long id,
+            @Parameter(description = "ETag de uma leitura anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        ResponseEntity<ProgressoDTO> naoModificado = verificarNaoModificado(id, ifNoneMatch);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
 
-        Aluno aluno = alunoService.buscarPorId(id);
-        ProgressoDTO progressoDTO = ProgressoDTO.fromAluno(aluno);
+        PoliticaPlanos politica = PoliticaPlanos.atual();
+        Versionado<ProgressoDTO> progressoDTO = alunoService.buscarProgresso(id);
 
-        return ResponseEntity.ok(progressoDTO);
+        return ResponseEntity.ok().eTag(ETags.deVersao(progressoDTO.getVersao(), politica)).body(progressoDTO.getConteudo());
+    }
+
+    /**
+     * GET condicional: se o If-None-Match corresponde à versão atual (com a política em vigor), responde 304
+     * consultando apenas a versão (sem carregar nem serializar o aluno)
+     * @return resposta 304, ou null se o recurso deve ser carregado normalmente
+     */
+    private <T> ResponseEntity<T> verificarNaoModificado(Long id, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+
+        String etagAtual = ETags.deVersao(alunoService.buscarVersao(id));
+        if (ETags.correspondeIfNoneMatch(ifNoneMatch, etagAtual)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etagAtual).build();
+        }
+        return null;
+    }
+
+    /**
+     * Verifica se o cabeçalho Prefer pede resposta assíncrona (RFC 7240)
+     */
+    private static boolean prefereAssincrono(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preferencia : prefer.split(",")) {
+            if (preferencia.trim().toLowerCase().startsWith(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,82 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.model.PoliticaPlanos;
+
+/**
+ * Utilitário para ETags baseados na versão do aluno e na política de planos.
+ *
+ * Formato do ETag forte: "7-1a2b3c4d" (versão e impressão da política entre aspas). Plano,
+ * aprovação dos cursos e progresso dependem da política, que pode ser recarregada com a
+ * aplicação no ar: com outra política o ETag muda e If-None-Match não devolve 304 antigo.
+ * - If-None-Match usa comparação fraca (W/"7-..." também corresponde a "7-...")
+ * - If-Match usa comparação forte e precisa de um ETag forte; só a versão é comparada
+ *   (a política não muda o que está gravado), então "7" também é aceito
+ * - O ETag é o mesmo em JSON, CBOR, Smile e protobuf: as respostas levam Vary: Accept
+ *   (FormatosBinariosConfig) para os caches separarem os formatos
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Gera o ETag forte para uma versão com a política em vigor; null se a versão for desconhecida
+     */
+    public static String deVersao(Long versao) {
+        return deVersao(versao, PoliticaPlanos.atual());
+    }
+
+    /**
+     * Gera o ETag forte para uma versão com a política usada para montar a resposta
+     * Quem monta a resposta lê a política antes de carregar o aluno: se ela for trocada no
+     * meio, o ETag fica com a antiga e a próxima leitura condicional recebe 200, não 304.
+     */
+    public static String deVersao(Long versao, PoliticaPlanos politica) {
+        return versao == null ? null : "\"" + versao + "-" + politica.getImpressao() + "\"";
+    }
+
+    /**
+     * Verifica se o cabeçalho If-None-Match corresponde ao ETag atual
+     * Aceita lista separada por vírgulas e o curinga "*"
+     */
+    public static boolean correspondeIfNoneMatch(String ifNoneMatch, String etagAtual) {
+        if (ifNoneMatch == null || etagAtual == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*")) {
+                return true;
+            }
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals(etagAtual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extrai a versão de um cabeçalho If-Match
+     * @return versão esperada, ou null se o cabeçalho estiver ausente ou for "*"
+     * @throws IllegalArgumentException se o valor não for um ETag forte desta API
+     */
+    public static Long versaoDeIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.length() < 3 || valor.charAt(0) != '"' || valor.charAt(valor.length() - 1) != '"') {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+        }
+        String conteudo = valor.substring(1, valor.length() - 1);
+        int separador = conteudo.indexOf('-');
+        try {
+            return Long.valueOf(separador < 0 ? conteudo : conteudo.substring(0, separador));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+        }
+    }
+}
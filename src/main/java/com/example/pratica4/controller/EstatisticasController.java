@@ -0,0 +1,43 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.dto.EstatisticasNotasDTO;
+import com.example.pratica4.service.EstatisticasNotas;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST das estatísticas de notas (histogramas mantidos em memória pelo EstatisticasNotas).
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/estatisticas")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Tag(name = "Estatísticas", description = "Distribuição e percentis das notas")
+public class EstatisticasController {
+
+    private final EstatisticasNotas estatisticasNotas;
+
+    /**
+     * GET /api/estatisticas/notas?curso=Java&alunoId=1 - Percentis das notas
+     */
+    @GetMapping("/notas")
+    @Operation(summary = "Distribuição das notas", description = "p10/p50/p90, média e distribuição das notas "
+            + "dos cursos concluídos (de um curso ou de todos) e, com alunoId, o percentil do aluno")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas"),
+            @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
+    })
+    public ResponseEntity<EstatisticasNotasDTO> notas(
+            @Parameter(description = "Nome do curso (vazio = todos)") @RequestParam(required = false) String curso,
+            @Parameter(description = "Aluno cujo percentil deve ser calculado") @RequestParam(required = false) Long alunoId) {
+        return ResponseEntity.ok(estatisticasNotas.consultar(curso == null || curso.isBlank() ? null : curso, alunoId));
+    }
+}
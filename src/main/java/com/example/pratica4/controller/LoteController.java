@@ -0,0 +1,54 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.dto.LoteDTO;
+import com.example.pratica4.dto.ResultadoLoteDTO;
+import com.example.pratica4.service.ProcessadorLote;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para executar várias operações de alunos em uma única requisição.
+ *
+ * Cada operação corresponde a uma rota de /api/alunos e recebe no resultado o status
+ * que aquela rota retornaria. A resposta do lote é sempre 200; o sucesso de cada
+ * operação deve ser conferido em resultados[i].status.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/batch")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Tag(name = "Lote", description = "Execução de várias operações de alunos em uma requisição")
+public class LoteController {
+
+    private final ProcessadorLote processadorLote;
+    private final RegistroIdempotencia registroIdempotencia;
+
+    /**
+     * POST /api/batch - Executar lote de operações
+     */
+    @PostMapping
+    @Operation(summary = "Executar lote", description = "Executa em ordem operações de criar, buscar, atualizar e "
+            + "deletar alunos, adicionar e concluir cursos. Com transacional=true o lote é tudo ou nada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; veja o status de cada operação"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou com operações demais"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key já usada com outro corpo")
+    })
+    public ResponseEntity<ResultadoLoteDTO> executar(
+            @Parameter(description = "Chave que identifica a operação; repetições recebem a primeira resposta")
+            @RequestHeader(value = RegistroIdempotencia.CABECALHO, required = false) String idempotencyKey,
+            @Valid @RequestBody LoteDTO lote) {
+
+        return registroIdempotencia.executar(idempotencyKey, "POST /api/batch", lote,
+                () -> ResponseEntity.ok(processadorLote.executar(lote)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.dto.FilaNotasDTO;
+import com.example.pratica4.dto.NotaPendenteDTO;
+import com.example.pratica4.model.NotaPendente;
+import com.example.pratica4.service.ProcessadorNotas;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para consultar notas enviadas no modo assíncrono.
+ *
+ * Uma nota é enviada com PUT /api/alunos/{alunoId}/cursos/{cursoId}/concluir e o
+ * cabeçalho "Prefer: respond-async"; a resposta 202 traz em Location a rota desta consulta.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/notas")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Tag(name = "Notas", description = "Situação das notas enviadas no modo assíncrono")
+public class NotaController {
+
+    private final ProcessadorNotas processadorNotas;
+
+    /**
+     * GET /api/notas/{sequencia} - Situação de uma nota
+     */
+    @GetMapping("/{sequencia}")
+    @Operation(summary = "Consultar nota", description = "Retorna a situação (PENDENTE, APLICADA ou FALHOU) de uma nota enviada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Nota encontrada"),
+            @ApiResponse(responseCode = "404", description = "Nota não encontrada ou já descartada da fila")
+    })
+    public ResponseEntity<NotaPendenteDTO> consultar(
+            @Parameter(description = "Sequência retornada no envio") @PathVariable long sequencia) {
+
+        NotaPendente nota = processadorNotas.consultar(sequencia);
+        String mensagem = processadorNotas.motivoFalha(sequencia).orElse(null);
+
+        return ResponseEntity.ok(NotaPendenteDTO.fromNota(nota, mensagem));
+    }
+
+    /**
+     * GET /api/notas/fila - Estado da fila
+     */
+    @GetMapping("/fila")
+    @Operation(summary = "Consultar fila", description = "Retorna quantas notas aguardam aplicação e a capacidade da fila")
+    @ApiResponse(responseCode = "200", description = "Estado da fila")
+    public ResponseEntity<FilaNotasDTO> consultarFila() {
+        return ResponseEntity.ok(FilaNotasDTO.builder()
+                .pendentes(processadorNotas.getPendentes())
+                .ultimaSequencia(processadorNotas.getUltimaSequencia())
+                .capacidade(processadorNotas.getCapacidade())
+                .build());
+    }
+}
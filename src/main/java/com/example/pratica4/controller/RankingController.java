@@ -0,0 +1,66 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.dto.RankingDTO;
+import com.example.pratica4.service.Ranking;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST do ranking de alunos (mantido em memória pelo Ranking).
+ *
+ * Critérios (by): aprovados, media e premium (menor tempo até o Premium).
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/ranking")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Tag(name = "Ranking", description = "Melhores alunos por aprovações, média e tempo até o Premium")
+public class RankingController {
+
+    static final int LIMITE_MAXIMO = 100;
+
+    private final Ranking ranking;
+
+    /**
+     * GET /api/ranking?by=aprovados&limit=10 - Primeiros colocados
+     */
+    @GetMapping
+    @Operation(summary = "Primeiros colocados", description = "Lista os primeiros alunos pelo critério")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranking retornado"),
+            @ApiResponse(responseCode = "400", description = "Critério ou limite inválido")
+    })
+    public ResponseEntity<RankingDTO> listar(
+            @Parameter(description = "aprovados, media ou premium") @RequestParam(name = "by", defaultValue = "aprovados") String criterio,
+            @Parameter(description = "Quantidade de alunos (1 a 100)") @RequestParam(name = "limit", defaultValue = "10") int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        return ResponseEntity.ok(ranking.listar(Ranking.Criterio.de(criterio), limite));
+    }
+
+    /**
+     * GET /api/ranking/{alunoId}?by=aprovados - Posição de um aluno
+     */
+    @GetMapping("/{alunoId}")
+    @Operation(summary = "Posição do aluno", description = "Posição do aluno pelo critério "
+            + "(posicao null se ele não se classifica, ex: ainda não chegou ao Premium)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posição retornada"),
+            @ApiResponse(responseCode = "400", description = "Critério inválido"),
+            @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
+    })
+    public ResponseEntity<RankingDTO.Posicao> posicao(
+            @PathVariable Long alunoId,
+            @Parameter(description = "aprovados, media ou premium") @RequestParam(name = "by", defaultValue = "aprovados") String criterio) {
+        return ResponseEntity.ok(ranking.posicao(Ranking.Criterio.de(criterio), alunoId));
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.exception.ChaveIdempotenciaReutilizadaException;
+import com.example.pratica4.exception.SobrecargaException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Guarda as respostas de operações enviadas com o cabeçalho Idempotency-Key.
+ *
+ * - A primeira requisição com uma chave executa a operação e guarda a resposta
+ * - Repetições com a mesma chave recebem a resposta guardada, sem chamar o service
+ * - Repetições que chegam enquanto a primeira ainda executa aguardam o mesmo resultado,
+ *   por no máximo espera-maxima (depois recebem 503 com Retry-After)
+ * - Se a operação falhar, nada é guardado e a chave pode ser usada de novo
+ * - O corpo da primeira requisição fica guardado e é comparado (equals) com o das repetições
+ *
+ * O registro é limitado em quantidade (as chaves concluídas mais antigas saem primeiro; as
+ * em execução nunca saem, para a operação não executar duas vezes) e cada resposta expira
+ * após o TTL. Fica em memória: vale para uma única instância.
+ */
+@Component
+public class RegistroIdempotencia {
+
+    public static final String CABECALHO = "Idempotency-Key";
+    public static final String CABECALHO_REPETICAO = "Idempotency-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+    private static final long RETRY_AFTER_SEGUNDOS = 1;
+
+    private final Duration ttl;
+    private final int maximoEntradas;
+    private final Duration esperaMaxima;
+    private final Clock relogio;
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>();
+
+    @Autowired
+    public RegistroIdempotencia(@Value("${pratica4.idempotencia.ttl:PT24H}") Duration ttl,
+                                @Value("${pratica4.idempotencia.maximo-entradas:10000}") int maximoEntradas,
+                                @Value("${pratica4.idempotencia.espera-maxima:PT30S}") Duration esperaMaxima) {
+        this(ttl, maximoEntradas, esperaMaxima, Clock.systemUTC());
+    }
+
+    RegistroIdempotencia(Duration ttl, int maximoEntradas, Duration esperaMaxima, Clock relogio) {
+        this.ttl = ttl;
+        this.maximoEntradas = maximoEntradas;
+        this.esperaMaxima = esperaMaxima;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Executa a operação uma única vez por chave
+     * @param chave valor do cabeçalho Idempotency-Key (null = executa sem registro)
+     * @param operacao método e rota da operação, para que a mesma chave não colida entre rotas
+     * @param corpo corpo da requisição; repetir a chave com outro corpo é rejeitado
+     * @param execucao chamada ao service que produz a resposta
+     * @return resposta da primeira execução
+     * @throws ChaveIdempotenciaReutilizadaException se a chave já foi usada com outro corpo
+     * @throws SobrecargaException se a primeira execução não terminar dentro de espera-maxima
+     */
+    public <T> ResponseEntity<T> executar(String chave, String operacao, Object corpo,
+                                          Supplier<ResponseEntity<T>> execucao) {
+        if (chave == null) {
+            return execucao.get();
+        }
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(
+                    CABECALHO + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+
+        String registro = operacao + " " + chave;
+        Entrada entrada;
+        boolean primeira = false;
+
+        synchronized (entradas) {
+            long agora = relogio.millis();
+            removerExpiradas(agora);
+            entrada = entradas.get(registro);
+            if (entrada == null) {
+                entrada = new Entrada(corpo, agora + ttl.toMillis());
+                entradas.put(registro, entrada);
+                primeira = true;
+                if (entradas.size() > maximoEntradas) {
+                    removerConcluidaMaisAntiga();
+                }
+            }
+        }
+
+        if (!primeira) {
+            if (!Objects.equals(entrada.corpo, corpo)) {
+                throw new ChaveIdempotenciaReutilizadaException(chave);
+            }
+            return repeticao(aguardar(entrada));
+        }
+
+        try {
+            ResponseEntity<T> resposta = execucao.get();
+            entrada.resposta.complete(resposta);
+            return resposta;
+        } catch (RuntimeException e) {
+            synchronized (entradas) {
+                entradas.remove(registro, entrada);
+            }
+            entrada.resposta.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Quantidade de chaves registradas (inclui as em execução)
+     */
+    public int tamanho() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    /**
+     * Remove as entradas vencidas já concluídas; como a ordem é a de inserção, elas ficam no início
+     */
+    private void removerExpiradas(long agora) {
+        Iterator<Map.Entry<String, Entrada>> iterator = entradas.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entrada entrada = iterator.next().getValue();
+            if (entrada.expiraEm > agora) {
+                return;
+            }
+            if (entrada.resposta.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove a entrada concluída mais antiga; com todas em execução o registro passa do limite
+     * até alguma terminar
+     */
+    private void removerConcluidaMaisAntiga() {
+        Iterator<Entrada> iterator = entradas.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().resposta.isDone()) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> aguardar(Entrada entrada) {
+        try {
+            return (ResponseEntity<T>) entrada.resposta.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // A primeira execução falhou: a repetição recebe o mesmo erro
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new SobrecargaException("A primeira requisição com esta " + CABECALHO
+                    + " ainda está em execução. Tente novamente mais tarde.", RETRY_AFTER_SEGUNDOS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera pela primeira requisição interrompida", e);
+        }
+    }
+
+    private static <T> ResponseEntity<T> repeticao(ResponseEntity<T> original) {
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(CABECALHO_REPETICAO, "true")
+                .body(original.getBody());
+    }
+
+    private static final class Entrada {
+        private final Object corpo;
+        private final long expiraEm;
+        private final CompletableFuture<ResponseEntity<?>> resposta = new CompletableFuture<>();
+
+        private Entrada(Object corpo, long expiraEm) {
+            this.corpo = corpo;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.config.SchemasProtobuf;
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.ConcluirCursoDTO;
+import com.example.pratica4.dto.CreateAlunoDTO;
+import com.example.pratica4.dto.CreateCursoDTO;
+import com.example.pratica4.dto.CursoDTO;
+import com.example.pratica4.dto.PaginaCursosDTO;
+import com.example.pratica4.dto.ProgressoDTO;
+import com.example.pratica4.exception.ErrorResponse;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Controller REST que publica os schemas .proto usados em application/x-protobuf.
+ *
+ * Os schemas são gerados dos DTOs em tempo de execução (ver SchemasProtobuf), então
+ * estão sempre de acordo com a API em execução.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/schemas")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Tag(name = "Schemas", description = "Schemas Protocol Buffers dos DTOs da API")
+public class SchemaController {
+
+    private static final Map<String, Class<?>> TIPOS = Stream.of(
+                    AlunoDTO.class, CursoDTO.class, ProgressoDTO.class, PaginaCursosDTO.class, ErrorResponse.class,
+                    CreateAlunoDTO.class, CreateCursoDTO.class, ConcluirCursoDTO.class)
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private final SchemasProtobuf schemasProtobuf;
+
+    /**
+     * GET /api/schemas - Tipos com schema publicado
+     */
+    @GetMapping
+    @Operation(summary = "Listar schemas", description = "Retorna os nomes dos tipos com schema .proto")
+    @ApiResponse(responseCode = "200", description = "Lista de tipos")
+    public ResponseEntity<List<String>> listar() {
+        return ResponseEntity.ok(TIPOS.keySet().stream().sorted().collect(Collectors.toList()));
+    }
+
+    /**
+     * GET /api/schemas/{tipo}.proto - Schema de um tipo
+     */
+    @GetMapping("/{tipo}.proto")
+    @Operation(summary = "Baixar schema", description = "Retorna o schema .proto de um DTO. "
+            + "Com lista=true, retorna o envelope usado nas respostas em lista")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schema .proto"),
+            @ApiResponse(responseCode = "404", description = "Tipo sem schema publicado")
+    })
+    public ResponseEntity<String> baixar(
+            @Parameter(description = "Nome do tipo (ex: AlunoDTO)") @PathVariable String tipo,
+            @Parameter(description = "Envelope Lista { repeated tipo itens = 1; }")
+            @RequestParam(value = "lista", defaultValue = "false") boolean lista) {
+
+        Class<?> classe = TIPOS.get(tipo);
+        if (classe == null) {
+            throw new EntityNotFoundException("Schema não encontrado: " + tipo);
+        }
+        ProtobufSchema schema = (lista
+                ? schemasProtobuf.schemaPara(schemasProtobuf.tipoLista(classe))
+                : schemasProtobuf.schemaPara(classe))
+                .orElseThrow(() -> new IllegalStateException("Não foi possível gerar o schema de " + tipo));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(schema.getSource().toString());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.dto.ResultadoSimulacaoDTO;
+import com.example.pratica4.dto.SimulacaoDTO;
+import com.example.pratica4.service.SimuladorPlanos;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para simular mudanças na política de planos sobre a base atual.
+ *
+ * A simulação só lê os dados (snapshot em memória das notas); nenhum aluno muda de plano.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/simulacoes")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Tag(name = "Simulações", description = "Impacto de uma política de planos candidata")
+public class SimulacaoController {
+
+    private final SimuladorPlanos simuladorPlanos;
+
+    /**
+     * POST /api/simulacoes - Simular política candidata
+     */
+    @PostMapping
+    @Operation(summary = "Simular política", description = "Avalia todos os alunos pela média de aprovação e "
+            + "faixas informadas e retorna quantos mudariam de plano, com histogramas de cursos aprovados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Simulação concluída"),
+            @ApiResponse(responseCode = "400", description = "Política candidata inválida")
+    })
+    public ResponseEntity<ResultadoSimulacaoDTO> simular(@Valid @RequestBody SimulacaoDTO simulacao) {
+        return ResponseEntity.ok(simuladorPlanos.simular(simulacao));
+    }
+}
@@ -2,6 +2,8 @@ package com.example.pratica4.dto;
 
 import com.example.pratica4.model.Aluno;
 import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.repository.AlunoResumo;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -60,6 +62,27 @@ public class AlunoDTO {
                 .build();
     }
 
+    /**
+     * Converte Projeção resumida -> DTO (sem a lista de cursos)
+     * Usado quando o cliente não pediu os cursos (?fields= / ?embed=)
+     */
+    public static AlunoDTO fromResumo(AlunoResumo resumo) {
+        if (resumo == null) {
+            return null;
+        }
+
+        return AlunoDTO.builder()
+                .id(resumo.getId())
+                .nome(resumo.getNome())
+                .cpf(CPF.formatar(resumo.getCpf()))
+                .email(resumo.getEmail())
+                .plano(resumo.getPlano())
+                .dataCadastro(resumo.getDataCadastro())
+                .beneficiosPremiumAtivos(resumo.isBeneficiosPremiumAtivos())
+                .quantidadeCursosAprovados((int) resumo.getQuantidadeCursosAprovados())
+                .build();
+    }
+
     /**
      * Converte DTO -> Entidade (para uso no service)
      */
@@ -0,0 +1,33 @@
+package com.example.pratica4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resposta de GET /api/alunos/busca: alunos cujo nome tem uma palavra começando pelo texto
+ * digitado (sem diferenciar acentos e maiúsculas), em ordem alfabética.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BuscaAlunosDTO {
+
+    private String q;
+    private List<Item> alunos;
+
+    /**
+     * Projeção leve do aluno (sem cursos, sem consultar o banco)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private String nome;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.pratica4.dto;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Seleção de campos de AlunoDTO pedida pelo cliente (?fields= e ?embed=).
+ *
+ * Exemplos:
+ * - ?fields=id,nome,plano      -> só esses três campos, sem cursos
+ * - ?embed=cursos              -> todos os campos, incluindo a lista de cursos
+ * - ?fields=id,nome&embed=cursos -> id, nome e cursos
+ *
+ * Quando a seleção não inclui "cursos", o controller usa a consulta resumida
+ * (AlunoResumo) e a coleção de cursos nem é carregada.
+ */
+public final class CamposAluno {
+
+    /**
+     * Campos de AlunoDTO, na ordem em que são serializados
+     */
+    public static final List<String> CAMPOS = List.of(
+            "id", "nome", "cpf", "email", "plano", "dataCadastro",
+            "beneficiosPremiumAtivos", "quantidadeCursosAprovados", "cursos");
+
+    private static final String CURSOS = "cursos";
+
+    private final Set<String> selecionados;
+
+    private CamposAluno(Set<String> selecionados) {
+        this.selecionados = selecionados;
+    }
+
+    /**
+     * Interpreta os parâmetros da requisição
+     * @param fields lista separada por vírgulas (null = todos os campos, exceto cursos)
+     * @param embed recursos a incorporar; hoje apenas "cursos"
+     * @throws IllegalArgumentException se algum campo ou recurso for desconhecido
+     */
+    public static CamposAluno de(String fields, String embed) {
+        Set<String> selecionados = new LinkedHashSet<>();
+
+        if (fields == null || fields.isBlank()) {
+            selecionados.addAll(CAMPOS.subList(0, CAMPOS.size() - 1));
+        } else {
+            for (String campo : fields.split(",")) {
+                String nome = campo.trim();
+                if (!CAMPOS.contains(nome)) {
+                    throw new IllegalArgumentException("Campo desconhecido em fields: " + nome);
+                }
+                selecionados.add(nome);
+            }
+        }
+
+        if (embed != null && !embed.isBlank()) {
+            for (String recurso : embed.split(",")) {
+                String nome = recurso.trim();
+                if (!CURSOS.equals(nome)) {
+                    throw new IllegalArgumentException("Recurso desconhecido em embed: " + nome);
+                }
+                selecionados.add(CURSOS);
+            }
+        }
+
+        return new CamposAluno(selecionados);
+    }
+
+    /**
+     * Indica se a lista de cursos precisa ser carregada
+     */
+    public boolean incluiCursos() {
+        return selecionados.contains(CURSOS);
+    }
+
+    /**
+     * Monta a representação parcial do aluno com apenas os campos selecionados
+     */
+    public Map<String, Object> aplicar(AlunoDTO aluno) {
+        Map<String, Object> representacao = new LinkedHashMap<>();
+        for (String campo : CAMPOS) {
+            if (selecionados.contains(campo)) {
+                representacao.put(campo, valor(aluno, campo));
+            }
+        }
+        return representacao;
+    }
+
+    private static Object valor(AlunoDTO aluno, String campo) {
+        switch (campo) {
+            case "id":
+                return aluno.getId();
+            case "nome":
+                return aluno.getNome();
+            case "cpf":
+                return aluno.getCpf();
+            case "email":
+                return aluno.getEmail();
+            case "plano":
+                return aluno.getPlano();
+            case "dataCadastro":
+                return aluno.getDataCadastro();
+            case "beneficiosPremiumAtivos":
+                return aluno.isBeneficiosPremiumAtivos();
+            case "quantidadeCursosAprovados":
+                return aluno.getQuantidadeCursosAprovados();
+            default:
+                return aluno.getCursos();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.pratica4.dto;
+
+import com.example.pratica4.model.Curso;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Parâmetros de GET /api/alunos/{id}/cursos: filtros, ordenação e paginação por chave.
+ *
+ * A paginação não usa offset: o cursor guarda o valor do campo de ordenação e o ID
+ * do último curso retornado, e a próxima página começa logo depois dele
+ * (WHERE (campo, id) > (valor, idCursor)). Assim o custo de cada página não cresce
+ * com a quantidade de páginas já lidas.
+ *
+ * O cursor é opaco para o cliente (Base64 de "campo|id|valor") e só vale para a
+ * mesma ordenação em que foi gerado.
+ */
+public final class ConsultaCursos {
+
+    public static final int LIMITE_PADRAO = 20;
+    public static final int LIMITE_MAXIMO = 100;
+
+    /**
+     * Campos aceitos em ordenarPor; o ID é sempre o critério de desempate
+     */
+    public static final List<String> ORDENACOES = List.of("id", "nome", "media");
+
+    private static final String SEPARADOR = "|";
+
+    private final Boolean concluido;
+    private final Boolean aprovado;
+    private final String prefixo;
+    private final String ordenarPor;
+    private final boolean decrescente;
+    private final Long cursorId;
+    private final String cursorValor;
+    private final int limite;
+
+    private ConsultaCursos(Boolean concluido, Boolean aprovado, String prefixo, String ordenarPor,
+                           boolean decrescente, Long cursorId, String cursorValor, int limite) {
+        this.concluido = concluido;
+        this.aprovado = aprovado;
+        this.prefixo = prefixo;
+        this.ordenarPor = ordenarPor;
+        this.decrescente = decrescente;
+        this.cursorId = cursorId;
+        this.cursorValor = cursorValor;
+        this.limite = limite;
+    }
+
+    /**
+     * Consulta sem filtros: primeira página ordenada por ID
+     */
+    public static ConsultaCursos padrao() {
+        return de(null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Interpreta os parâmetros da requisição
+     * @param concluido filtra por cursos concluídos (null = todos)
+     * @param aprovado filtra por cursos aprovados, ou seja concluídos com média >= 7.0 (null = todos)
+     * @param prefixo início do nome do curso, sem diferenciar maiúsculas (null = todos)
+     * @param ordenarPor id, nome ou media (null = id)
+     * @param direcao asc ou desc (null = asc)
+     * @param cursor proximoCursor da página anterior (null = primeira página)
+     * @param limite tamanho da página, de 1 a 100 (null = 20)
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public static ConsultaCursos de(Boolean concluido, Boolean aprovado, String prefixo, String ordenarPor,
+                                    String direcao, String cursor, Integer limite) {
+        String campo = ordenarPor == null || ordenarPor.isBlank() ? "id" : ordenarPor.trim();
+        if (!ORDENACOES.contains(campo)) {
+            throw new IllegalArgumentException("Ordenação desconhecida: " + campo);
+        }
+
+        boolean decrescente = false;
+        if (direcao != null && !direcao.isBlank()) {
+            if ("desc".equalsIgnoreCase(direcao.trim())) {
+                decrescente = true;
+            } else if (!"asc".equalsIgnoreCase(direcao.trim())) {
+                throw new IllegalArgumentException("Direção deve ser asc ou desc: " + direcao);
+            }
+        }
+
+        int tamanho = limite == null ? LIMITE_PADRAO : limite;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+
+        Long cursorId = null;
+        String cursorValor = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = decodificar(cursor).split("\\" + SEPARADOR, 3);
+            if (partes.length != 3 || !partes[0].equals(campo)) {
+                throw new IllegalArgumentException("Cursor inválido para a ordenação " + campo);
+            }
+            try {
+                cursorId = Long.valueOf(partes[1]);
+                if ("media".equals(campo)) {
+                    Double.valueOf(partes[2]);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido", e);
+            }
+            cursorValor = partes[2];
+        }
+
+        String inicioNome = prefixo == null || prefixo.isBlank() ? null : prefixo.trim();
+
+        return new ConsultaCursos(concluido, aprovado, inicioNome, campo, decrescente, cursorId, cursorValor, tamanho);
+    }
+
+    /**
+     * Ordenação da consulta: campo escolhido e ID como desempate, na mesma direção
+     */
+    public Sort ordenacao() {
+        Sort.Direction direction = decrescente ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if ("id".equals(ordenarPor)) {
+            return Sort.by(direction, "id");
+        }
+        return Sort.by(direction, ordenarPor).and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Gera o cursor que continua a listagem logo após o curso informado
+     */
+    public String cursorApos(Curso curso) {
+        String valor;
+        switch (ordenarPor) {
+            case "nome":
+                valor = curso.getNome();
+                break;
+            case "media":
+                valor = Double.toString(curso.getMedia());
+                break;
+            default:
+                valor = "";
+                break;
+        }
+        String conteudo = ordenarPor + SEPARADOR + curso.getId() + SEPARADOR + valor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodificar(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    public Boolean getConcluido() {
+        return concluido;
+    }
+
+    public Boolean getAprovado() {
+        return aprovado;
+    }
+
+    public String getPrefixo() {
+        return prefixo;
+    }
+
+    public String getOrdenarPor() {
+        return ordenarPor;
+    }
+
+    public boolean isDecrescente() {
+        return decrescente;
+    }
+
+    public boolean possuiCursor() {
+        return cursorId != null;
+    }
+
+    public Long getCursorId() {
+        return cursorId;
+    }
+
+    public String getCursorValor() {
+        return cursorValor;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+}
@@ -3,9 +3,10 @@ package com.example.pratica4.dto;
 import com.example.pratica4.model.Aluno;
 import com.example.pratica4.model.Plano;
 import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.CPFValido;
 import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.model.valueobject.EmailValido;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,11 +30,11 @@ public class CreateAlunoDTO {
     private String nome;
 
     @NotBlank(message = "CPF é obrigatório")
-    @Pattern(regexp = "^\\d{11}$", message = "CPF deve conter exatamente 11 dígitos numéricos")
+    @CPFValido
     private String cpf;
 
     @NotBlank(message = "Email é obrigatório")
-    @jakarta.validation.constraints.Email(message = "Formato de e-mail inválido")
+    @EmailValido
     private String email;
 
     /**
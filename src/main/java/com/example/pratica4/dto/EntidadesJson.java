@@ -0,0 +1,245 @@
+package com.example.pratica4.dto;
+
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.valueobject.CPF;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Serializadores que escrevem Aluno e Curso direto no JsonGenerator, sem montar AlunoDTO/CursoDTO.
+ *
+ * O JSON gerado é idêntico ao de AlunoDTO.fromEntity (mesmos campos, ordem e formatos),
+ * mas sem builder, DTO, lista nova nem String do CPF formatado por aluno.
+ * Os nomes dos campos e os valores do enum Plano já ficam codificados (SerializedString).
+ *
+ * Para formatos com schema (protobuf) os campos do schema são os do DTO correspondente.
+ * Registrados no ObjectMapper do Spring Boot por @JsonComponent.
+ */
+@JsonComponent
+public class EntidadesJson {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NOME = new SerializedString("nome");
+    private static final SerializedString CAMPO_CPF = new SerializedString("cpf");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString PLANO = new SerializedString("plano");
+    private static final SerializedString DATA_CADASTRO = new SerializedString("dataCadastro");
+    private static final SerializedString BENEFICIOS_PREMIUM_ATIVOS = new SerializedString("beneficiosPremiumAtivos");
+    private static final SerializedString QUANTIDADE_CURSOS_APROVADOS = new SerializedString("quantidadeCursosAprovados");
+    private static final SerializedString CURSOS = new SerializedString("cursos");
+    private static final SerializedString MEDIA = new SerializedString("media");
+    private static final SerializedString CONCLUIDO = new SerializedString("concluido");
+    private static final SerializedString APROVADO = new SerializedString("aprovado");
+
+    private static final SerializedString[] PLANOS = new SerializedString[Plano.values().length];
+
+    /**
+     * Texto das médias 0.0, 0.1, ..., 10.0 (Double.toString, como o Jackson escreve um double)
+     */
+    private static final String[] MEDIAS = new String[101];
+
+    static {
+        for (Plano plano : Plano.values()) {
+            PLANOS[plano.ordinal()] = new SerializedString(plano.name());
+        }
+        for (int i = 0; i < MEDIAS.length; i++) {
+            MEDIAS[i] = Double.toString(i / 10.0);
+        }
+    }
+
+    /**
+     * Aluno no mesmo formato de AlunoDTO.fromEntity
+     */
+    public static class AlunoSerializer extends StdSerializer<Aluno> {
+
+        private final CursoSerializer cursoSerializer = new CursoSerializer();
+
+        public AlunoSerializer() {
+            super(Aluno.class);
+        }
+
+        @Override
+        public void serialize(Aluno aluno, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(aluno);
+
+            gen.writeFieldName(ID);
+            escreverLong(aluno.getId(), gen);
+
+            gen.writeFieldName(NOME);
+            gen.writeString(aluno.getNome());
+
+            gen.writeFieldName(CAMPO_CPF);
+            escreverCpf(aluno.getCpf() != null ? aluno.getCpf().getNumero() : null, gen);
+
+            gen.writeFieldName(EMAIL);
+            gen.writeString(aluno.getEmail() != null ? aluno.getEmail().getEndereco() : null);
+
+            gen.writeFieldName(PLANO);
+            if (aluno.getPlano() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(PLANOS[aluno.getPlano().ordinal()]);
+            }
+
+            gen.writeFieldName(DATA_CADASTRO);
+            escreverData(aluno.getDataCadastro(), gen, provider);
+
+            gen.writeFieldName(BENEFICIOS_PREMIUM_ATIVOS);
+            gen.writeBoolean(aluno.isBeneficiosPremiumAtivos());
+
+            List<Curso> cursos = aluno.getCursos();
+
+            // Mesma regra de Aluno.getCursosConcluidosComMediaSete, sem stream
+            int aprovados = 0;
+            for (Curso curso : cursos) {
+                if (curso.isConcluido() && curso.isAprovado()) {
+                    aprovados++;
+                }
+            }
+            gen.writeFieldName(QUANTIDADE_CURSOS_APROVADOS);
+            gen.writeNumber(aprovados);
+
+            gen.writeFieldName(CURSOS);
+            gen.writeStartArray(cursos, cursos.size());
+            for (Curso curso : cursos) {
+                if (curso == null) {
+                    gen.writeNull();
+                } else {
+                    cursoSerializer.serialize(curso, gen, provider);
+                }
+            }
+            gen.writeEndArray();
+
+            gen.writeEndObject();
+        }
+
+        @Override
+        public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType typeHint)
+                throws JsonMappingException {
+            visitarComoDTO(visitor, AlunoDTO.class, typeHint);
+        }
+    }
+
+    /**
+     * Curso no mesmo formato de CursoDTO.fromEntity
+     */
+    public static class CursoSerializer extends StdSerializer<Curso> {
+
+        public CursoSerializer() {
+            super(Curso.class);
+        }
+
+        @Override
+        public void serialize(Curso curso, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(curso);
+
+            gen.writeFieldName(ID);
+            escreverLong(curso.getId(), gen);
+
+            gen.writeFieldName(NOME);
+            gen.writeString(curso.getNome());
+
+            gen.writeFieldName(MEDIA);
+            escreverMedia(curso.getMedia(), gen);
+
+            gen.writeFieldName(CONCLUIDO);
+            gen.writeBoolean(curso.isConcluido());
+
+            gen.writeFieldName(APROVADO);
+            gen.writeBoolean(curso.isAprovado());
+
+            gen.writeEndObject();
+        }
+
+        @Override
+        public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType typeHint)
+                throws JsonMappingException {
+            visitarComoDTO(visitor, CursoDTO.class, typeHint);
+        }
+    }
+
+    /**
+     * Campos do DTO com o nome da entidade: a mensagem protobuf se chama Aluno/Curso, mas os
+     * campos (e números) são os mesmos de AlunoDTO/CursoDTO
+     */
+    private static void visitarComoDTO(JsonFormatVisitorWrapper visitor, Class<?> dto, JavaType tipo)
+            throws JsonMappingException {
+        visitor.getProvider().findValueSerializer(dto).acceptJsonFormatVisitor(visitor, tipo);
+    }
+
+    private static void escreverLong(Long valor, JsonGenerator gen) throws IOException {
+        if (valor == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(valor);
+        }
+    }
+
+    /**
+     * Médias com uma casa decimal saem do texto já pronto; as demais (e formatos binários,
+     * que gravam o double direto) usam writeNumber(double)
+     */
+    private static void escreverMedia(double media, JsonGenerator gen) throws IOException {
+        long indice = Math.round(media * 10);
+        if (!gen.canWriteBinaryNatively() && indice >= 0 && indice < MEDIAS.length && indice / 10.0 == media) {
+            gen.writeNumber(MEDIAS[(int) indice]);
+        } else {
+            gen.writeNumber(media);
+        }
+    }
+
+    /**
+     * Mesmo resultado de CPF.getFormatado (123.456.789-09), montado num char[] sem criar String
+     */
+    private static void escreverCpf(String numero, JsonGenerator gen) throws IOException {
+        if (numero == null || numero.length() != 11) {
+            gen.writeString(numero);
+            return;
+        }
+        char[] formatado = new char[CPF.TAMANHO_FORMATADO];
+        CPF.formatarEm(numero, formatado);
+        gen.writeString(formatado, 0, formatado.length);
+    }
+
+    /**
+     * Data ISO (2025-03-10), como o LocalDateSerializer do Jackson com WRITE_DATES_AS_TIMESTAMPS desligado.
+     * Com a opção ligada (ou ano fora de 0..9999) usa o serializador padrão.
+     */
+    private static void escreverData(LocalDate data, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (data == null) {
+            gen.writeNull();
+            return;
+        }
+        int ano = data.getYear();
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS) || ano < 0 || ano > 9999) {
+            provider.defaultSerializeValue(data, gen);
+            return;
+        }
+        char[] texto = new char[10];
+        doisDigitos(ano / 100, texto, 0);
+        doisDigitos(ano % 100, texto, 2);
+        texto[4] = '-';
+        doisDigitos(data.getMonthValue(), texto, 5);
+        texto[7] = '-';
+        doisDigitos(data.getDayOfMonth(), texto, 8);
+        gen.writeString(texto, 0, texto.length);
+    }
+
+    private static void doisDigitos(int valor, char[] destino, int posicao) {
+        destino[posicao] = (char) ('0' + valor / 10);
+        destino[posicao + 1] = (char) ('0' + valor % 10);
+    }
+}
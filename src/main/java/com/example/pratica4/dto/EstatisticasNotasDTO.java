@@ -0,0 +1,34 @@
+package com.example.pratica4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resposta de GET /api/estatisticas/notas: distribuição das notas dos cursos concluídos.
+ *
+ * curso é null na distribuição global. Média e percentis são null sem notas.
+ * distribuicao: quantidade de notas por faixa de um ponto ([0, 1), [1, 2) ... [9, 10]).
+ * Com alunoId: notaAluno é a nota dele no curso (ou a média dos seus cursos concluídos, na
+ * distribuição global) e percentilAluno a posição dessa nota na distribuição (0 a 100).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstatisticasNotasDTO {
+
+    private String curso;
+    private long total;
+    private Double media;
+    private Double p10;
+    private Double p50;
+    private Double p90;
+    private List<Long> distribuicao;
+    private Long alunoId;
+    private Double notaAluno;
+    private Double percentilAluno;
+}
@@ -0,0 +1,20 @@
+package com.example.pratica4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com o estado geral da fila de notas do modo assíncrono.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FilaNotasDTO {
+
+    private int pendentes;
+    private long ultimaSequencia;
+    private int capacidade;
+}
@@ -0,0 +1,26 @@
+package com.example.pratica4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resposta de GET /api/alunos/busca/indice: tamanho do índice de busca por nome.
+ *
+ * Memória estimada para uma JVM 64 bits com compressed oops: memoriaTrieBytes cobre nós,
+ * rótulos e arrays da trie; memoriaNomesBytes o mapa ID -> nome usado nas respostas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IndiceNomesDTO {
+
+    private long alunos;
+    private long chaves;
+    private long nos;
+    private long memoriaTrieBytes;
+    private long memoriaNomesBytes;
+    private long memoriaTotalBytes;
+}
@@ -0,0 +1,28 @@
+package com.example.pratica4.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de POST /api/batch: operações executadas em ordem em uma única requisição.
+ *
+ * Com transacional=true o lote é tudo ou nada: a primeira falha desfaz as
+ * operações anteriores e as seguintes não são executadas.
+ * Com transacional=false (padrão) cada operação é confirmada separadamente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoteDTO {
+
+    private boolean transacional;
+
+    @NotEmpty(message = "O lote deve ter ao menos uma operação")
+    private List<OperacaoLoteDTO> operacoes;
+}
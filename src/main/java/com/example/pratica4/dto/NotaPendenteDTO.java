@@ -0,0 +1,39 @@
+package com.example.pratica4.dto;
+
+import com.example.pratica4.model.NotaPendente;
+import com.example.pratica4.model.SituacaoNota;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO da situação de uma nota enviada no modo assíncrono.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotaPendenteDTO {
+
+    private long sequencia;
+    private Long alunoId;
+    private Long cursoId;
+    private double media;
+    private SituacaoNota situacao;
+    private String mensagem; // Motivo da falha, quando situacao = FALHOU
+
+    /**
+     * Converte NotaPendente -> DTO
+     */
+    public static NotaPendenteDTO fromNota(NotaPendente nota, String mensagem) {
+        return NotaPendenteDTO.builder()
+                .sequencia(nota.getSequencia())
+                .alunoId(nota.getAlunoId())
+                .cursoId(nota.getCursoId())
+                .media(nota.getMedia())
+                .situacao(nota.getSituacao())
+                .mensagem(mensagem)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.pratica4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Uma operação de POST /api/batch.
+ *
+ * Os campos usados dependem do tipo:
+ * - CRIAR_ALUNO: aluno
+ * - BUSCAR_ALUNO, DELETAR_ALUNO: alunoId ou alunoRef
+ * - ATUALIZAR_ALUNO: alunoId ou alunoRef, aluno e opcionalmente versao
+ * - ADICIONAR_CURSO: alunoId ou alunoRef, curso
+ * - CONCLUIR_CURSO: alunoId ou alunoRef, cursoId, nota e opcionalmente versao
+ *
+ * alunoRef aponta para o "ref" de uma operação anterior do mesmo lote, para usar
+ * um aluno criado no próprio lote (ex: criar aluno e em seguida adicionar cursos).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OperacaoLoteDTO {
+
+    public enum Tipo {
+        CRIAR_ALUNO,
+        BUSCAR_ALUNO,
+        ATUALIZAR_ALUNO,
+        DELETAR_ALUNO,
+        ADICIONAR_CURSO,
+        CONCLUIR_CURSO
+    }
+
+    private Tipo tipo;
+    private String ref;
+    private Long alunoId;
+    private String alunoRef;
+    private Long cursoId;
+    private Long versao; // Mesmo papel do If-Match nas rotas individuais
+    private CreateAlunoDTO aluno;
+    private CreateCursoDTO curso;
+    private ConcluirCursoDTO nota;
+}
@@ -0,0 +1,41 @@
+package com.example.pratica4.dto;
+
+import com.example.pratica4.model.Curso;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * DTO de uma página de cursos de um aluno (paginação por cursor).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaCursosDTO {
+
+    private List<CursoDTO> cursos;
+    private String proximoCursor; // null na última página
+    private boolean possuiMais;
+
+    /**
+     * Monta a página a partir de uma consulta que buscou limite + 1 cursos:
+     * o curso excedente só indica que existe uma próxima página
+     */
+    public static PaginaCursosDTO de(List<Curso> cursos, ConsultaCursos consulta) {
+        boolean possuiMais = cursos.size() > consulta.getLimite();
+        List<Curso> pagina = possuiMais ? cursos.subList(0, consulta.getLimite()) : cursos;
+
+        return PaginaCursosDTO.builder()
+                .cursos(pagina.stream()
+                        .map(CursoDTO::fromEntity)
+                        .collect(Collectors.toList()))
+                .proximoCursor(possuiMais ? consulta.cursorApos(pagina.get(pagina.size() - 1)) : null)
+                .possuiMais(possuiMais)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.pratica4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resposta de GET /api/ranking: os primeiros alunos pelo critério pedido.
+ *
+ * total é a quantidade de alunos classificados no critério (em "media" só quem tem curso
+ * concluído; em "premium" só quem já chegou ao Premium).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RankingDTO {
+
+    private String criterio;
+    private int total;
+    private List<Posicao> alunos;
+
+    /**
+     * Um aluno no ranking; posicao começa em 1 e é null se o aluno não está classificado
+     * no critério. diasAtePremium: dias entre o cadastro e a chegada ao Premium.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Posicao {
+        private Integer posicao;
+        private Long alunoId;
+        private String nome;
+        private long cursosAprovados;
+        private Double media;
+        private Long diasAtePremium;
+    }
+}
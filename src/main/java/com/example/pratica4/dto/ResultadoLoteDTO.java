@@ -0,0 +1,23 @@
+package com.example.pratica4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resposta de POST /api/batch, com um resultado por operação na ordem do pedido.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoLoteDTO {
+
+    private boolean transacional;
+    private int sucessos;
+    private int falhas;
+    private List<ResultadoOperacaoDTO> resultados;
+}
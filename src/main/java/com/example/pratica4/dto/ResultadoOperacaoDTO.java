@@ -0,0 +1,29 @@
+package com.example.pratica4.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de uma operação do lote.
+ *
+ * status segue o código HTTP que a rota individual retornaria (201, 200, 204, 400,
+ * 404, 409, 412...). 424 indica que a operação não foi executada (ou foi desfeita)
+ * por causa da falha de outra operação.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoOperacaoDTO {
+
+    private int indice;
+    private String ref;
+    private int status;
+    private Long versao;
+    private AlunoDTO corpo;
+    private String erro;
+}
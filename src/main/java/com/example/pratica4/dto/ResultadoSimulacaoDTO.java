@@ -0,0 +1,46 @@
+package com.example.pratica4.dto;
+
+import com.example.pratica4.model.Plano;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resposta de POST /api/simulacoes.
+ *
+ * transicoes compara o plano gravado de cada aluno com o plano pela política candidata
+ * (só pares com alunos). Upgrade/downgrade: a faixa de destino começa acima/abaixo da de
+ * origem. Histogramas: posição n = alunos com n cursos aprovados; a última acumula os que
+ * têm essa quantidade ou mais.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoSimulacaoDTO {
+
+    private long alunos;
+    private double mediaAprovacao;
+    private List<SimulacaoDTO.Faixa> faixas;
+    private long upgrades;
+    private long downgrades;
+    private long inalterados;
+    private List<Transicao> transicoes;
+    private List<Long> histogramaAtual;
+    private List<Long> histogramaSimulado;
+    private LocalDateTime snapshotGeradoEm;
+    private long duracaoMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Transicao {
+        private Plano de;
+        private Plano para;
+        private long alunos;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.pratica4.dto;
+
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de POST /api/simulacoes: política candidata a ser comparada com a atual.
+ *
+ * Campos ausentes (ou faixas vazias) repetem os da política em vigor; assim
+ * {"mediaAprovacao": 6.5} simula só a mudança da média de aprovação.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulacaoDTO {
+
+    @DecimalMin(value = "0.0", message = "Média de aprovação não pode ser menor que 0.0")
+    @DecimalMax(value = "10.0", message = "Média de aprovação não pode ser maior que 10.0")
+    private Double mediaAprovacao;
+
+    @Valid
+    private List<Faixa> faixas;
+
+    /**
+     * Faixa candidata: plano a partir de "cursos" cursos aprovados
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Faixa {
+
+        @NotNull(message = "Plano da faixa é obrigatório")
+        private Plano plano;
+
+        @Min(value = 0, message = "Cursos da faixa não pode ser negativo")
+        @Max(value = PoliticaPlanos.MAXIMO_CURSOS, message = "Cursos da faixa acima do máximo permitido")
+        private int cursos;
+
+        private boolean beneficiosPremium;
+    }
+}
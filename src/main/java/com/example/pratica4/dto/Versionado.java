@@ -0,0 +1,18 @@
+package com.example.pratica4.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Representação de leitura acompanhada da versão do aluno em que foi gerada (base do ETag).
+ *
+ * Instâncias podem ser compartilhadas entre requisições simultâneas (ver
+ * AlunoService.buscarDTOPorId), por isso o conteúdo não deve ser alterado.
+ */
+@Data
+@AllArgsConstructor
+public class Versionado<T> {
+
+    private final T conteudo;
+    private final Long versao;
+}
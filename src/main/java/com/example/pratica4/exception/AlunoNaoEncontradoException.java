@@ -0,0 +1,36 @@
+package com.example.pratica4.exception;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Lançada quando o aluno pedido não existe.
+ *
+ * É um caso esperado (IDs inexistentes chegam em alto volume, ex: scrapers), então a exceção
+ * não captura a pilha de chamadas e só monta a mensagem quando ela é lida.
+ * Subclasse de EntityNotFoundException: tratada como 404 NOT FOUND pelo GlobalExceptionHandler.
+ */
+public class AlunoNaoEncontradoException extends EntityNotFoundException {
+
+    private final Long alunoId;
+
+    public AlunoNaoEncontradoException(Long alunoId) {
+        this.alunoId = alunoId;
+    }
+
+    public Long getAlunoId() {
+        return alunoId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Aluno não encontrado com ID: " + alunoId;
+    }
+
+    /**
+     * Sem pilha: o erro é de negócio, a pilha não ajuda a diagnosticar e custa mais que a consulta
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.pratica4.exception;
+
+/**
+ * Lançada quando o CPF ou o e-mail de um novo aluno já está cadastrado.
+ *
+ * Sem pilha de chamadas e com a mensagem montada só quando lida (ex: "CPF já cadastrado: 123.456.789-09").
+ * Subclasse de IllegalArgumentException: tratada como 400 BAD REQUEST.
+ */
+public class CadastroDuplicadoException extends IllegalArgumentException {
+
+    private final String campo;
+    private final transient Object valor;
+
+    /**
+     * @param campo nome do campo na mensagem (ex: "CPF", "Email")
+     * @param valor valor repetido; a mensagem usa o seu toString
+     */
+    public CadastroDuplicadoException(String campo, Object valor) {
+        this.campo = campo;
+        this.valor = valor;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    @Override
+    public String getMessage() {
+        return campo + " já cadastrado: " + valor;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.pratica4.exception;
+
+/**
+ * Lançada quando uma Idempotency-Key já usada é enviada com um corpo diferente.
+ *
+ * A chave identifica uma única operação; reaproveitá-la para outra requisição é erro
+ * do cliente. Tratada como 422 UNPROCESSABLE ENTITY.
+ */
+public class ChaveIdempotenciaReutilizadaException extends RuntimeException {
+
+    public ChaveIdempotenciaReutilizadaException(String chave) {
+        super("Idempotency-Key " + chave + " já foi usada com outro corpo de requisição");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.pratica4.exception;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Lançada quando o curso pedido não existe para o aluno informado.
+ *
+ * Como AlunoNaoEncontradoException, não captura a pilha e monta a mensagem só quando lida.
+ * Tratada como 404 NOT FOUND.
+ */
+public class CursoNaoEncontradoException extends EntityNotFoundException {
+
+    private final Long cursoId;
+    private final Long alunoId;
+
+    public CursoNaoEncontradoException(Long cursoId, Long alunoId) {
+        this.cursoId = cursoId;
+        this.alunoId = alunoId;
+    }
+
+    public Long getCursoId() {
+        return cursoId;
+    }
+
+    public Long getAlunoId() {
+        return alunoId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Curso com ID " + cursoId + " não encontrado para o aluno " + alunoId;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
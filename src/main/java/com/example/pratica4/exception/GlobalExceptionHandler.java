@@ -1,9 +1,12 @@
 package com.example.pratica4.exception;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -55,33 +58,104 @@ public class GlobalExceptionHandler {
     /**
      * Trata exceções de entidade não encontrada
      * Retorna 404 NOT FOUND
+     *
+     * Caminho de alto volume (IDs inexistentes): usa o modelo pronto de ModeloErro
      */
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleEntityNotFound(EntityNotFoundException ex) {
+        return new ResponseEntity<>(ModeloErro.NAO_ENCONTRADO.resposta(ex.getMessage()), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Trata exceções de argumentos inválidos (ex: CPF duplicado)
+     * Retorna 400 BAD REQUEST, também pelo modelo pronto
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return new ResponseEntity<>(ModeloErro.ARGUMENTO_INVALIDO.resposta(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Trata If-Match que não corresponde à versão atual do aluno
+     * Retorna 412 PRECONDITION FAILED
+     */
+    @ExceptionHandler(VersaoDivergenteException.class)
+    public ResponseEntity<ErrorResponse> handleVersaoDivergente(VersaoDivergenteException ex) {
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
-                .status(HttpStatus.NOT_FOUND.value())
-                .error("Recurso não encontrado")
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error("Versão desatualizada")
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
     }
 
     /**
-     * Trata exceções de argumentos inválidos (ex: CPF duplicado)
-     * Retorna 400 BAD REQUEST
+     * Trata alterações concorrentes detectadas pelo @Version no momento do commit
+     * Retorna 409 CONFLICT
      */
-    @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLocking(OptimisticLockingFailureException ex) {
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Argumento inválido")
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflito de atualização")
+                .message("O aluno foi alterado por outra requisição. Consulte novamente e repita a operação.")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Trata Idempotency-Key reaproveitada com outro corpo de requisição
+     * Retorna 422 UNPROCESSABLE ENTITY
+     */
+    @ExceptionHandler(ChaveIdempotenciaReutilizadaException.class)
+    public ResponseEntity<ErrorResponse> handleChaveIdempotenciaReutilizada(ChaveIdempotenciaReutilizadaException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNPROCESSABLE_ENTITY.value())
+                .error("Chave de idempotência reutilizada")
                 .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
+    /**
+     * Trata requisições rejeitadas pelo limite de concorrência
+     * Retorna 503 SERVICE UNAVAILABLE com Retry-After
+     */
+    @ExceptionHandler(SobrecargaException.class)
+    public ResponseEntity<ErrorResponse> handleSobrecarga(SobrecargaException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Servidor sobrecarregado")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSegundos()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Trata respostas que não podem ser geradas no formato pedido em Accept
+     * (ex: ?fields= em application/x-protobuf)
+     * Retorna 406 NOT ACCEPTABLE
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<ErrorResponse> handleFormatoNaoAceitavel(HttpMediaTypeNotAcceptableException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_ACCEPTABLE.value())
+                .error("Formato não aceitável")
+                .message("A resposta não pode ser gerada em nenhum dos formatos pedidos: " + ex.getSupportedMediaTypes())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(errorResponse);
     }
 
     /**
@@ -0,0 +1,64 @@
+package com.example.pratica4.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Respostas de erro frequentes com status e título já definidos.
+ *
+ * Usado nos caminhos de erro de alto volume (404 de ID inexistente, 400 de argumento inválido):
+ * a resposta é criada direto pelo construtor, sem builder, e o timestamp é reaproveitado
+ * entre os erros do mesmo milissegundo em vez de chamar LocalDateTime.now() a cada erro.
+ */
+public enum ModeloErro {
+
+    NAO_ENCONTRADO(HttpStatus.NOT_FOUND, "Recurso não encontrado"),
+    ARGUMENTO_INVALIDO(HttpStatus.BAD_REQUEST, "Argumento inválido");
+
+    private static final Clock RELOGIO = Clock.systemDefaultZone();
+
+    private static volatile Carimbo ultimoCarimbo = new Carimbo(Long.MIN_VALUE, null);
+
+    private final HttpStatus status;
+    private final String titulo;
+
+    ModeloErro(HttpStatus status, String titulo) {
+        this.status = status;
+        this.titulo = titulo;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    /**
+     * Corpo da resposta com a mensagem informada
+     */
+    public ErrorResponse resposta(String mensagem) {
+        return new ErrorResponse(agora(), status.value(), titulo, mensagem, null);
+    }
+
+    /**
+     * Data/hora atual com precisão de milissegundos, reaproveitada dentro do mesmo milissegundo
+     */
+    static LocalDateTime agora() {
+        long milis = RELOGIO.millis();
+        Carimbo carimbo = ultimoCarimbo;
+        if (carimbo.milis() == milis) {
+            return carimbo.dataHora();
+        }
+        LocalDateTime dataHora = LocalDateTime.ofInstant(Instant.ofEpochMilli(milis), RELOGIO.getZone());
+        ultimoCarimbo = new Carimbo(milis, dataHora);
+        return dataHora;
+    }
+
+    private record Carimbo(long milis, LocalDateTime dataHora) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.pratica4.exception;
+
+/**
+ * Lançada quando um escopo (rota HTTP ou método de service) executa mais SQL que o seu
+ * orçamento ou repete a mesma consulta (N+1), com pratica4.consultas.modo=falhar.
+ *
+ * Serve para quebrar testes em regressões de acesso ao banco; não é tratada pela API.
+ */
+public class OrcamentoConsultasExcedidoException extends IllegalStateException {
+
+    public OrcamentoConsultasExcedidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.pratica4.exception;
+
+/**
+ * Lançada quando o limite de requisições simultâneas de um grupo de rotas foi atingido,
+ * ou quando uma fila interna (ex: fila de notas) está cheia.
+ *
+ * A requisição é recusada antes de chegar ao service, para que o cliente receba a
+ * resposta imediatamente em vez de esperar por uma conexão do banco.
+ * Tratada como 503 SERVICE UNAVAILABLE com o cabeçalho Retry-After.
+ */
+public class SobrecargaException extends RuntimeException {
+
+    private final long retryAfterSegundos;
+
+    public SobrecargaException(String grupo, int limite, long retryAfterSegundos) {
+        super("Servidor sobrecarregado: limite de " + limite + " requisições simultâneas de "
+                + grupo + " atingido. Tente novamente em " + retryAfterSegundos + "s.");
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public SobrecargaException(String mensagem, long retryAfterSegundos) {
+        super(mensagem);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.pratica4.exception;
+
+/**
+ * Lançada quando o If-Match enviado pelo cliente não corresponde à versão atual do aluno.
+ *
+ * Significa que o cliente está tentando alterar uma representação desatualizada
+ * (outra requisição alterou o aluno depois da leitura). Tratada como 412 PRECONDITION FAILED.
+ */
+public class VersaoDivergenteException extends RuntimeException {
+
+    public VersaoDivergenteException(Long alunoId, Long versaoEsperada, Long versaoAtual) {
+        super("Aluno " + alunoId + " foi alterado: versão esperada " + versaoEsperada
+                + ", versão atual " + versaoAtual);
+    }
+}
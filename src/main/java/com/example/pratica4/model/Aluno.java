@@ -5,12 +5,22 @@ import com.example.pratica4.model.valueobject.Email;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -59,8 +69,13 @@ public class Aluno {
     @AttributeOverride(name = "endereco", column = @Column(name = "email", unique = true, nullable = false))
     private Email email;
 
+    /**
+     * Gravado como texto (VARCHAR) em todos os bancos: o tipo ENUM nativo que o
+     * Hibernate gera no H2 não aceita os parâmetros enviados pelo driver R2DBC
+     */
     @NotNull(message = "Plano é obrigatório")
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(nullable = false)
     @Builder.Default
     private Plano plano = Plano.BASICO;
@@ -73,6 +88,31 @@ public class Aluno {
     @Builder.Default
     private boolean beneficiosPremiumAtivos = false;
 
+    /**
+     * Versão do agregado (controle otimista do JPA)
+     * Incrementada a cada alteração do aluno ou da sua lista de cursos; quando só um Curso
+     * muda, o aluno é lido com OPTIMISTIC_FORCE_INCREMENT (AlunoRepository.findParaAlterarById).
+     * Também é a base do ETag das respostas de /api/alunos/{id}.
+     * Nunca nula no banco: linhas anteriores à coluna são preenchidas com 0 (ColunasLegadas).
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    /**
+     * Data/hora da última gravação da linha do aluno (preenchida ao inserir e atualizar)
+     */
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
+    /**
+     * Data/hora em que o aluno chegou ao plano PREMIUM pela primeira vez (null se nunca chegou)
+     * Não é apagada num downgrade; é a base do ranking de "mais rápido ao Premium".
+     */
+    @Column(name = "premium_em")
+    private LocalDateTime premiumEm;
+
     /**
      * Relacionamento One-to-Many com Curso
      * cascade = CascadeType.ALL - Operações em Aluno afetam Cursos
@@ -84,6 +124,17 @@ public class Aluno {
     @Builder.Default
     private List<Curso> cursos = new ArrayList<>();
 
+    /**
+     * Mudanças de plano ainda não publicadas (não persistidas)
+     * O Spring Data as publica ao salvar o aluno (@DomainEvents) e EventosPlano as envia
+     * aos assinantes de /api/alunos/eventos depois do commit.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final List<PlanoAlterado> alteracoesPlano = new ArrayList<>();
+
     /**
      * Construtor para manter compatibilidade com testes BDD existentes
      */
@@ -95,6 +146,15 @@ public class Aluno {
         this.dataCadastro = LocalDate.now();
     }
 
+    /**
+     * Construtor com os campos de negócio (sem versão/auditoria)
+     * Mantém a assinatura usada antes da inclusão do controle de versão
+     */
+    public Aluno(Long id, String nome, CPF cpf, Email email, Plano plano, LocalDate dataCadastro,
+                 boolean beneficiosPremiumAtivos, List<Curso> cursos) {
+        this(id, nome, cpf, email, plano, dataCadastro, beneficiosPremiumAtivos, null, null, null, cursos);
+    }
+
     /**
      * Adiciona um curso à lista de cursos do aluno
      */
@@ -102,28 +162,59 @@ public class Aluno {
         this.cursos.add(curso);
     }
 
+    @PrePersist
+    @PreUpdate
+    void marcarAtualizacao() {
+        this.atualizadoEm = LocalDateTime.now();
+    }
+
     /**
-     * Conta cursos concluídos com média >= 7.0 (aprovados)
+     * Conta cursos aprovados pela política em vigor (padrão: concluídos com média >= 7.0)
      * @return quantidade de cursos aprovados
      */
     public long getCursosConcluidosComMediaSete() {
+        return contarAprovados(PoliticaPlanos.atual());
+    }
+
+    /**
+     * Conta cursos aprovados segundo a política informada
+     */
+    public long contarAprovados(PoliticaPlanos politica) {
         return this.cursos.stream()
-                .filter(c -> c.isConcluido() && c.isAprovado())
+                .filter(c -> politica.isAprovado(c.isConcluido(), c.getMedia()))
                 .count();
     }
 
     /**
      * Atualiza o plano do aluno baseado na quantidade de cursos aprovados
-     * Regra de negócio: 12+ cursos aprovados = upgrade para Premium
+     * Regra de negócio: faixa da PoliticaPlanos em vigor (padrão: 12+ cursos aprovados = Premium)
      */
     public void atualizarPlano() {
-        long aprovados = getCursosConcluidosComMediaSete();
-        if (aprovados >= 12) {
-            this.plano = Plano.PREMIUM;
-            this.beneficiosPremiumAtivos = true;
-        } else {
-            this.plano = Plano.BASICO;
-            this.beneficiosPremiumAtivos = false;
+        Plano anterior = this.plano;
+        PoliticaPlanos politica = PoliticaPlanos.atual();
+        PoliticaPlanos.Nivel nivel = politica.avaliar(contarAprovados(politica));
+        this.plano = nivel.getPlano();
+        this.beneficiosPremiumAtivos = nivel.isBeneficiosPremium();
+
+        if (anterior != this.plano) {
+            LocalDateTime agora = LocalDateTime.now();
+            if (this.plano == Plano.PREMIUM && this.premiumEm == null) {
+                this.premiumEm = agora;
+            }
+            alteracoesPlano.add(new PlanoAlterado(id, anterior, plano, beneficiosPremiumAtivos, agora));
         }
     }
+
+    /**
+     * Eventos publicados pelo Spring Data no save() do repositório
+     */
+    @DomainEvents
+    protected List<PlanoAlterado> alteracoesPlano() {
+        return alteracoesPlano;
+    }
+
+    @AfterDomainEventPublication
+    protected void limparAlteracoesPlano() {
+        alteracoesPlano.clear();
+    }
 }
@@ -9,15 +9,26 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+import java.util.Locale;
+
 /**
  * Entidade JPA que representa um Curso.
  *
  * @Entity - Marca como entidade JPA
  * @Data - Lombok: gera getters, setters, equals, hashCode, toString
  * @Builder - Lombok: permite construção fluente de objetos
+ * @Index - Índices por aluno_id para consultar os cursos de um aluno
+ *          (paginação por chave) sem carregar o Aluno; o filtro por prefixo
+ *          usa o índice de nome_busca
  */
 @Entity
-@Table(name = "cursos")
+@Table(name = "cursos", indexes = {
+        @Index(name = "idx_cursos_aluno_id", columnList = "aluno_id, id"),
+        @Index(name = "idx_cursos_aluno_nome", columnList = "aluno_id, nome, id"),
+        @Index(name = "idx_cursos_aluno_nome_busca", columnList = "aluno_id, nome_busca, id"),
+        @Index(name = "idx_cursos_aluno_media", columnList = "aluno_id, media, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -45,6 +56,29 @@ public class Curso {
     @Builder.Default
     private boolean concluido = false;
 
+    /**
+     * ID do aluno dono do curso (somente leitura)
+     * A coluna é gravada pelo @JoinColumn de Aluno.cursos; este campo só
+     * permite filtrar cursos por aluno sem passar pela entidade Aluno.
+     * Em cursos recém-adicionados fica nulo até o curso ser recarregado.
+     */
+    @Column(name = "aluno_id", insertable = false, updatable = false)
+    private Long alunoId;
+
+    /**
+     * Data/hora da última conclusão (ou troca de nota); null se não concluído
+     * Usada para saber se houve notas novas depois do checkpoint das estatísticas.
+     */
+    @Column(name = "concluido_em")
+    private LocalDateTime concluidoEm;
+
+    /**
+     * Nome normalizado (normalizarNome), gravado a cada insert/update
+     * LIKE sobre LOWER(nome) não usa índice; o filtro por prefixo compara esta coluna.
+     */
+    @Column(name = "nome_busca")
+    private String nomeBusca;
+
     /**
      * Construtor para manter compatibilidade com testes BDD existentes
      */
@@ -54,6 +88,26 @@ public class Curso {
         this.media = 0.0;
     }
 
+    /**
+     * Construtor com os campos de negócio (sem o aluno_id somente leitura)
+     */
+    public Curso(Long id, String nome, double media, boolean concluido) {
+        this(id, nome, media, concluido, null, null, null);
+    }
+
+    /**
+     * Forma do nome usada nas buscas por prefixo (minúsculas, sem depender do locale)
+     */
+    public static String normalizarNome(String nome) {
+        return nome == null ? null : nome.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void atualizarNomeBusca() {
+        this.nomeBusca = normalizarNome(this.nome);
+    }
+
     /**
      * Marca o curso como concluído e registra a média
      * @param media nota final do aluno (0.0 a 10.0)
@@ -61,14 +115,15 @@ public class Curso {
     public void concluir(double media) {
         this.media = media;
         this.concluido = true;
+        this.concluidoEm = LocalDateTime.now();
     }
 
     /**
      * Verifica se o aluno foi aprovado no curso
-     * Critério: curso concluído E média >= 7.0
+     * Critério: curso concluído E média >= média de aprovação da política em vigor (padrão 7.0)
      * @return true se aprovado, false caso contrário
      */
     public boolean isAprovado() {
-        return this.concluido && this.media >= 7.0;
+        return PoliticaPlanos.atual().isAprovado(this.concluido, this.media);
     }
 }
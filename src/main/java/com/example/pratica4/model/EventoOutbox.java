@@ -0,0 +1,51 @@
+package com.example.pratica4.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento pendente de entrega (padrão transactional outbox).
+ *
+ * Gravado na mesma transação da alteração que o originou, então o evento existe se e
+ * somente se a alteração foi confirmada. O DespachanteOutbox lê os eventos em lotes,
+ * entrega ao DestinoOutbox e apaga as linhas entregues.
+ *
+ * O id é crescente e identifica o evento para o destino (entrega "pelo menos uma vez":
+ * o destino deve ignorar ids já recebidos).
+ */
+@Entity
+@Table(name = "outbox_eventos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 30)
+    private TipoEventoOutbox tipo;
+
+    @Column(name = "aluno_id")
+    private Long alunoId;
+
+    /**
+     * Dados do evento em JSON
+     */
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+}
@@ -0,0 +1,24 @@
+package com.example.pratica4.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Nota enviada no modo assíncrono, registrada na fila antes de ser aplicada ao curso.
+ *
+ * A sequência é atribuída pela fila e identifica a nota na consulta de situação.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotaPendente {
+
+    private long sequencia;
+    private Long alunoId;
+    private Long cursoId;
+    private double media;
+    private SituacaoNota situacao;
+}
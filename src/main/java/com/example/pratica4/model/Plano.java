@@ -1,8 +1,14 @@
 package com.example.pratica4.model;
 
+/**
+ * Planos disponíveis para as faixas da PoliticaPlanos
+ * A ordem entre os planos vem da política (cursos aprovados de cada faixa), não da
+ * ordem das constantes; novas constantes são acrescentadas no fim.
+ */
 public enum Plano {
     BASICO("Básico"),
-    PREMIUM("Premium");
+    PREMIUM("Premium"),
+    INTERMEDIARIO("Intermediário");
     
     private final String nome;
     
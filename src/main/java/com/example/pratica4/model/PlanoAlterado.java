@@ -0,0 +1,27 @@
+package com.example.pratica4.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mudança de plano de um aluno, registrada por Aluno.atualizarPlano().
+ *
+ * Publicada como evento de domínio quando o aluno é salvo e enviada aos assinantes de
+ * GET /api/alunos/eventos só depois do commit da transação (ver EventosPlano).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlanoAlterado {
+
+    private Long alunoId;
+    private Plano planoAnterior;
+    private Plano planoAtual;
+    private boolean beneficiosPremiumAtivos;
+    private LocalDateTime alteradoEm;
+}
@@ -0,0 +1,310 @@
+package com.example.pratica4.model;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Política de planos: média mínima de aprovação, faixas de plano por quantidade de cursos
+ * aprovados e mensagens de progresso.
+ *
+ * - Imutável: ao ser construída, é compilada numa tabela indexada pela quantidade de cursos
+ *   aprovados (plano, próximo plano, cursos restantes e mensagem já montada), então avaliar
+ *   um aluno é uma leitura de array, qualquer que seja o número de faixas
+ * - A política em vigor fica em atual() e pode ser trocada em tempo de execução (recarga da
+ *   configuração, ver PoliticaPlanosConfig); Aluno, Curso e ProgressoDTO a consultam a cada uso
+ * - O critério de aprovação também é gerado como predicado JPQL/SQL (com o parâmetro
+ *   :mediaAprovacao) e Criteria, para que o banco aplique exatamente a mesma regra do Java
+ *
+ * A política padrão é a regra original: aprovado com média >= 7.0, BASICO até 11 cursos
+ * aprovados e PREMIUM (com benefícios) a partir de 12.
+ */
+public final class PoliticaPlanos {
+
+    /**
+     * Nome do parâmetro das consultas abaixo; o valor é getMediaAprovacao() da política em vigor
+     */
+    public static final String PARAMETRO_MEDIA = "mediaAprovacao";
+
+    /**
+     * Cursos aprovados/reprovados em JPQL (alias c)
+     */
+    public static final String JPQL_CURSO_APROVADO = "c.concluido = true AND c.media >= :" + PARAMETRO_MEDIA;
+    public static final String JPQL_CURSO_REPROVADO = "c.concluido = true AND c.media < :" + PARAMETRO_MEDIA;
+
+    /**
+     * Cursos aprovados/reprovados em SQL (colunas da tabela cursos, usado pelo R2DBC)
+     */
+    public static final String SQL_CURSO_APROVADO = "concluido = true AND media >= :" + PARAMETRO_MEDIA;
+    public static final String SQL_CURSO_REPROVADO = "concluido = true AND media < :" + PARAMETRO_MEDIA;
+
+    /**
+     * Maior início de faixa aceito (a tabela tem uma posição por quantidade até a última faixa)
+     */
+    public static final int MAXIMO_CURSOS = 10_000;
+
+    private static volatile PoliticaPlanos atual = padrao();
+
+    @Getter
+    private final double mediaAprovacao;
+
+    /**
+     * Faixas em ordem crescente de cursos aprovados
+     */
+    @Getter
+    private final List<Faixa> faixas;
+
+    /**
+     * tabela[n] = nível de quem tem n cursos aprovados; a última posição vale para n >= topo
+     */
+    private final Nivel[] tabela;
+
+    /**
+     * Resumo (CRC32 em hexadecimal) da média, das faixas e das mensagens: políticas iguais têm
+     * a mesma impressão em qualquer instância. Entra nos ETags (ver ETags), porque plano,
+     * aprovação e progresso mudam com a política mesmo sem o aluno mudar.
+     */
+    @Getter
+    private final String impressao;
+
+    private PoliticaPlanos(double mediaAprovacao, List<Faixa> faixas, Nivel[] tabela) {
+        this.mediaAprovacao = mediaAprovacao;
+        this.faixas = faixas;
+        this.tabela = tabela;
+        this.impressao = calcularImpressao(mediaAprovacao, faixas, tabela);
+    }
+
+    private static String calcularImpressao(double mediaAprovacao, List<Faixa> faixas, Nivel[] tabela) {
+        StringBuilder descricao = new StringBuilder().append(mediaAprovacao);
+        for (Faixa faixa : faixas) {
+            descricao.append('|').append(faixa.plano()).append(':').append(faixa.cursos())
+                    .append(':').append(faixa.beneficiosPremium());
+        }
+        for (Nivel nivel : tabela) {
+            descricao.append('|').append(nivel.getMensagem());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(descricao.toString().getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * Política em vigor
+     */
+    public static PoliticaPlanos atual() {
+        return atual;
+    }
+
+    /**
+     * Troca a política em vigor (as próximas avaliações já usam a nova)
+     * Alunos já gravados mantêm o plano até a próxima alteração que os reavalie.
+     */
+    public static void definir(PoliticaPlanos politica) {
+        if (politica == null) {
+            throw new IllegalArgumentException("Política de planos é obrigatória");
+        }
+        atual = politica;
+    }
+
+    /**
+     * Regra original: média 7.0, BASICO e PREMIUM a partir de 12 cursos aprovados
+     */
+    public static PoliticaPlanos padrao() {
+        return builder().faixasPadrao().mensagensPadrao().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Verifica se um curso está aprovado (concluído e média >= média de aprovação)
+     */
+    public boolean isAprovado(boolean concluido, double media) {
+        return concluido && media >= mediaAprovacao;
+    }
+
+    /**
+     * Nível de quem tem a quantidade informada de cursos aprovados (consulta à tabela)
+     */
+    public Nivel avaliar(long aprovados) {
+        if (aprovados < 0) {
+            throw new IllegalArgumentException("Quantidade de cursos aprovados não pode ser negativa");
+        }
+        return tabela[(int) Math.min(aprovados, tabela.length - 1)];
+    }
+
+    /**
+     * Critério de aprovação para a Criteria API (ver CursoSpecifications)
+     */
+    public Predicate aprovado(CriteriaBuilder cb, Expression<Boolean> concluido, Expression<Double> media) {
+        return cb.and(cb.isTrue(concluido), cb.greaterThanOrEqualTo(media, mediaAprovacao));
+    }
+
+    /**
+     * Resultado da avaliação de uma quantidade de cursos aprovados
+     * proximoPlano é null na última faixa; cursosNecessarios é o início da próxima faixa
+     * (na última, o início dela mesma).
+     */
+    @Getter
+    public static final class Nivel {
+        private final Plano plano;
+        private final boolean beneficiosPremium;
+        private final Plano proximoPlano;
+        private final int cursosNecessarios;
+        private final int cursosRestantes;
+        private final String mensagem;
+
+        private Nivel(Plano plano, boolean beneficiosPremium, Plano proximoPlano,
+                      int cursosNecessarios, int cursosRestantes, String mensagem) {
+            this.plano = plano;
+            this.beneficiosPremium = beneficiosPremium;
+            this.proximoPlano = proximoPlano;
+            this.cursosNecessarios = cursosNecessarios;
+            this.cursosRestantes = cursosRestantes;
+            this.mensagem = mensagem;
+        }
+
+        /**
+         * true na última faixa (não há upgrade possível)
+         */
+        public boolean isUltimaFaixa() {
+            return proximoPlano == null;
+        }
+    }
+
+    /**
+     * Monta e valida uma política
+     *
+     * Modelos de mensagem aceitam {plano} (plano atual), {proximo} (próximo plano, ou o atual
+     * na última faixa) e {restantes} (cursos que faltam para o próximo plano).
+     */
+    public static final class Builder {
+
+        private double mediaAprovacao = 7.0;
+        private final List<Faixa> faixas = new ArrayList<>();
+        private final TreeMap<Integer, String> mensagens = new TreeMap<>();
+
+        private Builder() {
+        }
+
+        public Builder mediaAprovacao(double mediaAprovacao) {
+            this.mediaAprovacao = mediaAprovacao;
+            return this;
+        }
+
+        /**
+         * Faixa que começa em "cursos" cursos aprovados
+         */
+        public Builder faixa(Plano plano, int cursos, boolean beneficiosPremium) {
+            faixas.add(new Faixa(plano, cursos, beneficiosPremium));
+            return this;
+        }
+
+        /**
+         * Faixas da regra original: BASICO a partir de 0 e PREMIUM (com benefícios) a partir de 12
+         */
+        public Builder faixasPadrao() {
+            return faixa(Plano.BASICO, 0, false).faixa(Plano.PREMIUM, 12, true);
+        }
+
+        /**
+         * Mensagens da regra original (a partir de 0, 6, 10 e 12 cursos aprovados)
+         */
+        public Builder mensagensPadrao() {
+            return mensagem(0, "Continue estudando! Faltam {restantes} cursos para o {proximo}.")
+                    .mensagem(6, "Continue assim! Você já completou metade do caminho!")
+                    .mensagem(10, "Você está quase lá! Faltam apenas {restantes} cursos!")
+                    .mensagem(12, "Parabéns! Você atingiu o plano {plano}!");
+        }
+
+        /**
+         * Mensagem usada a partir de "cursos" cursos aprovados (até a próxima mensagem)
+         */
+        public Builder mensagem(int cursos, String modelo) {
+            mensagens.put(cursos, modelo);
+            return this;
+        }
+
+        /**
+         * Valida e compila a política
+         * @throws IllegalArgumentException se a média, as faixas ou as mensagens forem inválidas
+         */
+        public PoliticaPlanos build() {
+            if (!(mediaAprovacao >= 0.0 && mediaAprovacao <= 10.0)) {
+                throw new IllegalArgumentException("Média de aprovação deve estar entre 0.0 e 10.0");
+            }
+            List<Faixa> ordenadas = validarFaixas();
+            if (mensagens.isEmpty() || mensagens.firstKey() != 0) {
+                throw new IllegalArgumentException("É obrigatória uma mensagem a partir de 0 cursos aprovados");
+            }
+
+            int topo = ordenadas.get(ordenadas.size() - 1).cursos();
+            Nivel[] tabela = new Nivel[topo + 1];
+            int indice = 0;
+            for (int aprovados = 0; aprovados <= topo; aprovados++) {
+                while (indice + 1 < ordenadas.size() && ordenadas.get(indice + 1).cursos() <= aprovados) {
+                    indice++;
+                }
+                Faixa faixa = ordenadas.get(indice);
+                Faixa proxima = indice + 1 < ordenadas.size() ? ordenadas.get(indice + 1) : null;
+                int necessarios = proxima != null ? proxima.cursos() : faixa.cursos();
+                int restantes = Math.max(0, necessarios - aprovados);
+                String mensagem = mensagens.floorEntry(aprovados).getValue()
+                        .replace("{plano}", faixa.plano().getNome())
+                        .replace("{proximo}", (proxima != null ? proxima : faixa).plano().getNome())
+                        .replace("{restantes}", String.valueOf(restantes));
+                tabela[aprovados] = new Nivel(faixa.plano(), faixa.beneficiosPremium(),
+                        proxima != null ? proxima.plano() : null, necessarios, restantes, mensagem);
+            }
+            return new PoliticaPlanos(mediaAprovacao, List.copyOf(ordenadas), tabela);
+        }
+
+        private List<Faixa> validarFaixas() {
+            if (faixas.isEmpty()) {
+                throw new IllegalArgumentException("A política precisa de pelo menos uma faixa de plano");
+            }
+            List<Faixa> ordenadas = new ArrayList<>(faixas);
+            ordenadas.sort(Comparator.comparingInt(Faixa::cursos));
+            if (ordenadas.get(0).cursos() != 0) {
+                throw new IllegalArgumentException("A primeira faixa deve começar em 0 cursos aprovados");
+            }
+            if (ordenadas.get(ordenadas.size() - 1).cursos() > MAXIMO_CURSOS) {
+                throw new IllegalArgumentException("Nenhuma faixa pode começar acima de " + MAXIMO_CURSOS + " cursos aprovados");
+            }
+            Set<Plano> planos = EnumSet.noneOf(Plano.class);
+            for (int i = 0; i < ordenadas.size(); i++) {
+                Faixa faixa = ordenadas.get(i);
+                if (faixa.plano() == null || !planos.add(faixa.plano())) {
+                    throw new IllegalArgumentException("Cada faixa deve ter um plano diferente: " + faixa.plano());
+                }
+                if (i > 0 && faixa.cursos() == ordenadas.get(i - 1).cursos()) {
+                    throw new IllegalArgumentException("Duas faixas começam em " + faixa.cursos() + " cursos aprovados");
+                }
+            }
+            for (Map.Entry<Integer, String> mensagem : mensagens.entrySet()) {
+                if (mensagem.getKey() < 0 || mensagem.getValue() == null) {
+                    throw new IllegalArgumentException("Mensagem inválida a partir de " + mensagem.getKey() + " cursos");
+                }
+            }
+            return ordenadas;
+        }
+    }
+
+    /**
+     * Faixa de plano: vale a partir de "cursos" cursos aprovados
+     */
+    public record Faixa(Plano plano, int cursos, boolean beneficiosPremium) {
+    }
+}
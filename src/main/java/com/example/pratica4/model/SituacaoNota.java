@@ -0,0 +1,31 @@
+package com.example.pratica4.model;
+
+/**
+ * Situação de uma nota enviada no modo assíncrono (fila de notas).
+ *
+ * O código é o byte gravado no arquivo da fila; não deve ser alterado.
+ */
+public enum SituacaoNota {
+    PENDENTE((byte) 0),
+    APLICADA((byte) 1),
+    FALHOU((byte) 2);
+
+    private final byte codigo;
+
+    SituacaoNota(byte codigo) {
+        this.codigo = codigo;
+    }
+
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    public static SituacaoNota deCodigo(byte codigo) {
+        for (SituacaoNota situacao : values()) {
+            if (situacao.codigo == codigo) {
+                return situacao;
+            }
+        }
+        throw new IllegalArgumentException("Código de situação desconhecido: " + codigo);
+    }
+}
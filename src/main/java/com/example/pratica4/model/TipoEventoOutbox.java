@@ -0,0 +1,10 @@
+package com.example.pratica4.model;
+
+/**
+ * Tipos de evento gravados na tabela de outbox e entregues aos sistemas externos.
+ */
+public enum TipoEventoOutbox {
+    ALUNO_CRIADO,
+    CURSO_CONCLUIDO,
+    PLANO_ALTERADO
+}
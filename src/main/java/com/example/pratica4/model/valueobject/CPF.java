@@ -2,7 +2,6 @@ package com.example.pratica4.model.valueobject;
 
 import jakarta.persistence.Embeddable;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,8 +11,8 @@ import java.io.Serializable;
 /**
  * Value Object que representa um CPF válido.
  *
- * Valida o formato do CPF (apenas números, 11 dígitos).
- * Para simplificação, não valida dígitos verificadores nesta versão.
+ * Valida o formato do CPF (apenas números, 11 dígitos) e os dígitos verificadores
+ * (ver @CPFValido / ValidadorCPF).
  *
  * @Embeddable - Este objeto será incorporado na entidade Aluno
  */
@@ -24,29 +23,49 @@ import java.io.Serializable;
 public class CPF implements Serializable {
 
     /**
-     * Regex que aceita CPF com 11 dígitos numéricos
-     * Exemplo válido: 12345678901
+     * Tamanho do CPF formatado: 000.000.000-00
+     */
+    public static final int TAMANHO_FORMATADO = 14;
+
+    /**
+     * CPF com 11 dígitos numéricos e dígitos verificadores válidos
+     * Exemplo válido: 12345678909
      */
     @NotBlank(message = "CPF não pode estar vazio")
-    @Pattern(
-        regexp = "^\\d{11}$",
-        message = "CPF deve conter exatamente 11 dígitos numéricos"
-    )
+    @CPFValido
     private String numero;
 
     /**
-     * Formata o CPF para exibição: 123.456.789-01
+     * Formata o CPF para exibição: 123.456.789-09
      */
     public String getFormatado() {
+        return formatar(numero);
+    }
+
+    /**
+     * Formata um CPF de 11 dígitos (123.456.789-09); outros valores voltam sem alteração
+     */
+    public static String formatar(String numero) {
         if (numero == null || numero.length() != 11) {
             return numero;
         }
-        return String.format("%s.%s.%s-%s",
-            numero.substring(0, 3),
-            numero.substring(3, 6),
-            numero.substring(6, 9),
-            numero.substring(9, 11)
-        );
+        char[] formatado = new char[TAMANHO_FORMATADO];
+        formatarEm(numero, formatado);
+        return new String(formatado);
+    }
+
+    /**
+     * Escreve o CPF formatado nas 14 primeiras posições de destino, sem criar Strings
+     * @param numero CPF com exatamente 11 caracteres
+     */
+    public static void formatarEm(String numero, char[] destino) {
+        numero.getChars(0, 3, destino, 0);
+        destino[3] = '.';
+        numero.getChars(3, 6, destino, 4);
+        destino[7] = '.';
+        numero.getChars(6, 9, destino, 8);
+        destino[11] = '-';
+        numero.getChars(9, 11, destino, 12);
     }
 
     @Override
@@ -0,0 +1,34 @@
+package com.example.pratica4.model.valueobject;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * CPF com 11 dígitos numéricos e dígitos verificadores corretos (módulo 11).
+ *
+ * Valores nulos são aceitos: use junto com @NotBlank quando o CPF for obrigatório.
+ * Validado por ValidadorCPF, sem regex.
+ */
+@Documented
+@Constraint(validatedBy = ValidadorCPF.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.TYPE_USE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CPFValido {
+
+    /**
+     * Mensagem quando o formato está errado; dígitos verificadores errados usam mensagemDigitos
+     */
+    String message() default "CPF deve conter exatamente 11 dígitos numéricos";
+
+    String mensagemDigitos() default "CPF inválido: dígitos verificadores não conferem";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
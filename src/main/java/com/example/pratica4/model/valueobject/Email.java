@@ -2,7 +2,6 @@ package com.example.pratica4.model.valueobject;
 
 import jakarta.persistence.Embeddable;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,14 +23,11 @@ import java.io.Serializable;
 public class Email implements Serializable {
 
     /**
-     * Regex para validar formato de e-mail
+     * Formato de e-mail (ver @EmailValido / ValidadorEmail)
      * Exemplo válido: usuario@exemplo.com
      */
     @NotBlank(message = "Email não pode estar vazio")
-    @Pattern(
-        regexp = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$",
-        message = "Formato de e-mail inválido"
-    )
+    @EmailValido
     private String endereco;
 
     @Override
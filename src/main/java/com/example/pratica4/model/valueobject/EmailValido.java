@@ -0,0 +1,29 @@
+package com.example.pratica4.model.valueobject;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * E-mail no formato usuario@dominio.tld (ex: usuario@exemplo.com).
+ *
+ * Valores nulos são aceitos: use junto com @NotBlank quando o e-mail for obrigatório.
+ * Validado por ValidadorEmail, sem regex.
+ */
+@Documented
+@Constraint(validatedBy = ValidadorEmail.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.TYPE_USE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EmailValido {
+
+    String message() default "Formato de e-mail inválido";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
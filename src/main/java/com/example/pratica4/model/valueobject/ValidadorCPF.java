@@ -0,0 +1,93 @@
+package com.example.pratica4.model.valueobject;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validador de @CPFValido, escrito à mão no lugar do @Pattern: percorre os caracteres
+ * uma vez, sem regex e sem alocar.
+ *
+ * Regras:
+ * 1. Exatamente 11 dígitos (0-9)
+ * 2. Dígitos verificadores pelo módulo 11 da Receita Federal
+ * 3. Sequências repetidas (000.000.000-00, 111.111.111-11, ...) são rejeitadas:
+ *    passam no módulo 11, mas não são CPFs válidos
+ */
+public class ValidadorCPF implements ConstraintValidator<CPFValido, CharSequence> {
+
+    private String mensagemDigitos;
+
+    @Override
+    public void initialize(CPFValido anotacao) {
+        this.mensagemDigitos = anotacao.mensagemDigitos();
+    }
+
+    @Override
+    public boolean isValid(CharSequence cpf, ConstraintValidatorContext context) {
+        if (cpf == null) {
+            return true;
+        }
+        if (!temFormato(cpf)) {
+            return false;
+        }
+        if (!digitosConferem(cpf)) {
+            context.disableDefaultConstraintViolation();
+            context.buildConstraintViolationWithTemplate(mensagemDigitos).addConstraintViolation();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * CPF completo: formato e dígitos verificadores
+     */
+    public static boolean isValido(CharSequence cpf) {
+        return cpf != null && temFormato(cpf) && digitosConferem(cpf);
+    }
+
+    /**
+     * Exatamente 11 dígitos, sem pontuação
+     */
+    public static boolean temFormato(CharSequence cpf) {
+        if (cpf.length() != 11) {
+            return false;
+        }
+        for (int i = 0; i < 11; i++) {
+            char c = cpf.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Confere os dois dígitos verificadores; supõe que temFormato já foi verificado
+     */
+    public static boolean digitosConferem(CharSequence cpf) {
+        boolean repetido = true;
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 0; i < 9; i++) {
+            int digito = cpf.charAt(i) - '0';
+            soma1 += digito * (10 - i);
+            soma2 += digito * (11 - i);
+            repetido &= cpf.charAt(i) == cpf.charAt(0);
+        }
+        if (repetido && cpf.charAt(9) == cpf.charAt(0) && cpf.charAt(10) == cpf.charAt(0)) {
+            return false;
+        }
+
+        int dv1 = digitoVerificador(soma1);
+        if (cpf.charAt(9) - '0' != dv1) {
+            return false;
+        }
+        soma2 += dv1 * 2;
+        return cpf.charAt(10) - '0' == digitoVerificador(soma2);
+    }
+
+    private static int digitoVerificador(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
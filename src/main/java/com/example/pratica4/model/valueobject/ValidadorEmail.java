@@ -0,0 +1,64 @@
+package com.example.pratica4.model.valueobject;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validador de @EmailValido, escrito à mão no lugar da regex
+ * ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$ (mesmas regras, sem alocar).
+ *
+ * - usuário: letras, dígitos e + _ . -
+ * - um único @
+ * - domínio: letras, dígitos, . e -, terminando em .tld com 2+ letras
+ */
+public class ValidadorEmail implements ConstraintValidator<EmailValido, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence email, ConstraintValidatorContext context) {
+        return email == null || isValido(email);
+    }
+
+    public static boolean isValido(CharSequence email) {
+        if (email == null) {
+            return false;
+        }
+        int tamanho = email.length();
+        int arroba = -1;
+        int ultimoPonto = -1;
+
+        for (int i = 0; i < tamanho; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (arroba >= 0) {
+                    return false;
+                }
+                arroba = i;
+            } else if (c == '.') {
+                if (arroba >= 0) {
+                    ultimoPonto = i;
+                }
+            } else if (!letraOuDigito(c) && c != '-' && !(arroba < 0 && (c == '+' || c == '_'))) {
+                return false;
+            }
+        }
+
+        // usuário e parte do domínio antes do último ponto não podem ser vazios; tld com 2+ letras
+        if (arroba < 1 || ultimoPonto < arroba + 2 || tamanho - ultimoPonto - 1 < 2) {
+            return false;
+        }
+        for (int i = ultimoPonto + 1; i < tamanho; i++) {
+            if (!letra(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean letra(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean letraOuDigito(char c) {
+        return letra(c) || (c >= '0' && c <= '9');
+    }
+}
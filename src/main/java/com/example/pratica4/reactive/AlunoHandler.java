@@ -0,0 +1,167 @@
+package com.example.pratica4.reactive;
+
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.ConcluirCursoDTO;
+import com.example.pratica4.dto.CreateAlunoDTO;
+import com.example.pratica4.dto.CreateCursoDTO;
+import com.example.pratica4.dto.ProgressoDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * Handlers dos endpoints funcionais (profile reactive).
+ *
+ * Cada método equivale a uma rota do AlunoController, com os mesmos DTOs
+ * e os mesmos códigos de status.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class AlunoHandler {
+
+    private final AlunoReactiveService alunoService;
+    private final Validator validator;
+
+    /**
+     * POST /api/alunos
+     */
+    public Mono<ServerResponse> criarAluno(ServerRequest request) {
+        return request.bodyToMono(CreateAlunoDTO.class)
+                .map(this::validar)
+                .flatMap(dto -> alunoService.criarAluno(dto.toEntity()))
+                .map(AlunoDTO::fromEntity)
+                .flatMap(dto -> ServerResponse.created(URI.create("/api/alunos/" + dto.getId()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(dto));
+    }
+
+    /**
+     * GET /api/alunos
+     *
+     * Com "Accept: application/x-ndjson" cada aluno é enviado assim que fica pronto;
+     * caso contrário o array JSON também é escrito em streaming.
+     */
+    public Mono<ServerResponse> listarTodos(ServerRequest request) {
+        MediaType tipo = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+
+        return ServerResponse.ok()
+                .contentType(tipo)
+                .body(alunoService.listarTodos().map(AlunoDTO::fromEntity), AlunoDTO.class);
+    }
+
+    /**
+     * GET /api/alunos/{id}
+     */
+    public Mono<ServerResponse> buscarPorId(ServerRequest request) {
+        return alunoService.buscarPorId(idDoPath(request, "id"))
+                .map(AlunoDTO::fromEntity)
+                .flatMap(this::ok);
+    }
+
+    /**
+     * PUT /api/alunos/{id}
+     */
+    public Mono<ServerResponse> atualizarAluno(ServerRequest request) {
+        Long id = idDoPath(request, "id");
+        return request.bodyToMono(CreateAlunoDTO.class)
+                .map(this::validar)
+                .flatMap(dto -> alunoService.atualizarAluno(id, dto.toEntity()))
+                .map(AlunoDTO::fromEntity)
+                .flatMap(this::ok);
+    }
+
+    /**
+     * DELETE /api/alunos/{id}
+     */
+    public Mono<ServerResponse> deletarAluno(ServerRequest request) {
+        return alunoService.deletarAluno(idDoPath(request, "id"))
+                .then(ServerResponse.noContent().build());
+    }
+
+    /**
+     * POST /api/alunos/{id}/cursos
+     */
+    public Mono<ServerResponse> adicionarCurso(ServerRequest request) {
+        Long id = idDoPath(request, "id");
+        return request.bodyToMono(CreateCursoDTO.class)
+                .map(this::validar)
+                .flatMap(dto -> alunoService.adicionarCurso(id, dto.toEntity()))
+                .map(AlunoDTO::fromEntity)
+                .flatMap(this::ok);
+    }
+
+    /**
+     * PUT /api/alunos/{alunoId}/cursos/{cursoId}/concluir
+     */
+    public Mono<ServerResponse> concluirCurso(ServerRequest request) {
+        Long alunoId = idDoPath(request, "alunoId");
+        Long cursoId = idDoPath(request, "cursoId");
+        return request.bodyToMono(ConcluirCursoDTO.class)
+                .map(this::validar)
+                .flatMap(dto -> alunoService.concluirCurso(alunoId, cursoId, dto.getMedia()))
+                .map(AlunoDTO::fromEntity)
+                .flatMap(this::ok);
+    }
+
+    /**
+     * GET /api/alunos/{id}/progresso
+     */
+    public Mono<ServerResponse> consultarProgresso(ServerRequest request) {
+        return alunoService.buscarPorId(idDoPath(request, "id"))
+                .map(ProgressoDTO::fromAluno)
+                .flatMap(this::ok);
+    }
+
+    private Mono<ServerResponse> ok(Object body) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+
+    private Long idDoPath(ServerRequest request, String nome) {
+        String valor = request.pathVariable(nome);
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("ID inválido: " + valor);
+        }
+    }
+
+    /**
+     * Aplica Bean Validation no DTO, como o @Valid faz no AlunoController
+     */
+    private <T> T validar(T dto) {
+        Set<ConstraintViolation<T>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            throw new ValidacaoException(violacoes);
+        }
+        return dto;
+    }
+
+    /**
+     * Erro de validação do corpo da requisição (equivalente ao MethodArgumentNotValidException)
+     */
+    static class ValidacaoException extends RuntimeException {
+
+        private final transient Set<? extends ConstraintViolation<?>> violacoes;
+
+        ValidacaoException(Set<? extends ConstraintViolation<?>> violacoes) {
+            super("Dados inválidos fornecidos");
+            this.violacoes = violacoes;
+        }
+
+        Set<? extends ConstraintViolation<?>> getViolacoes() {
+            return violacoes;
+        }
+    }
+}
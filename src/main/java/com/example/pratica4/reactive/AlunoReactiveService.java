@@ -0,0 +1,258 @@
+package com.example.pratica4.reactive;
+
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.exception.CadastroDuplicadoException;
+import com.example.pratica4.exception.CursoNaoEncontradoException;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.reactive.model.AlunoRecord;
+import com.example.pratica4.reactive.model.CursoRecord;
+import com.example.pratica4.reactive.repository.AlunoReactiveRepository;
+import com.example.pratica4.reactive.repository.CursoReactiveRepository;
+import com.example.pratica4.service.EstatisticasNotas;
+import com.example.pratica4.service.IndiceNomes;
+import com.example.pratica4.service.Ranking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Versão reativa do AlunoService (profile reactive).
+ *
+ * Mesmas regras e mesmas mensagens de erro do AlunoService; o cálculo do plano
+ * continua sendo feito por Aluno.atualizarPlano() sobre o agregado montado a
+ * partir das linhas R2DBC. Operações de escrita rodam dentro do TransactionalOperator.
+ *
+ * Efeitos colaterais das escritas, comparados com o AlunoService:
+ * - atualizadoEm é preenchido em toda gravação do aluno (no JPA, pelo @PrePersist/@PreUpdate)
+ * - Ranking, IndiceNomes e EstatisticasNotas (os mesmos beans do AlunoService) recebem as
+ *   alterações depois do commit da transação reativa. As rotas de consulta deles só existem
+ *   no MVC, mas assim o checkpoint das estatísticas não grava dados desatualizados
+ * - Outbox: não há eventos AlunoCriado, CursoConcluido nem PlanoAlterado. A outbox é gravada
+ *   pelo JPA na transação da alteração, e aqui a alteração vai por outra conexão (R2DBC).
+ *   O DespachanteOutbox também fica desligado neste profile
+ * - PlanoAlterado: não é publicado. No MVC ele sai do save() do Spring Data JPA (@DomainEvents)
+ *   para listeners @TransactionalEventListener, que exigem transação JPA. O SSE
+ *   /api/alunos/eventos (EventosPlano) não existe neste profile, e o ContadorPlanos não conta
+ *   mudanças feitas por aqui
+ */
+@Service
+@Profile("reactive")
+public class AlunoReactiveService {
+
+    private final AlunoReactiveRepository alunoRepository;
+    private final CursoReactiveRepository cursoRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final Ranking ranking;
+    private final IndiceNomes indiceNomes;
+    private final EstatisticasNotas estatisticasNotas;
+    private final int prefetch;
+
+    public AlunoReactiveService(AlunoReactiveRepository alunoRepository,
+                                CursoReactiveRepository cursoRepository,
+                                TransactionalOperator transactionalOperator,
+                                Ranking ranking,
+                                IndiceNomes indiceNomes,
+                                EstatisticasNotas estatisticasNotas,
+                                @Value("${pratica4.reactive.prefetch:32}") int prefetch) {
+        this.alunoRepository = alunoRepository;
+        this.cursoRepository = cursoRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.ranking = ranking;
+        this.indiceNomes = indiceNomes;
+        this.estatisticasNotas = estatisticasNotas;
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Cria um novo aluno validando CPF e email únicos
+     */
+    public Mono<Aluno> criarAluno(Aluno aluno) {
+        AlunoRecord record = AlunoRecord.fromAluno(aluno);
+        record.setAtualizadoEm(LocalDateTime.now());
+
+        Mono<Aluno> criacao = validarUnicidade(aluno)
+                .then(alunoRepository.save(record))
+                .map(salvo -> salvo.toAluno(List.of()))
+                .flatMap(salvo -> depoisDoCommit(() -> {
+                    ranking.registrar(salvo);
+                    indiceNomes.registrar(salvo.getId(), salvo.getNome());
+                }).thenReturn(salvo));
+
+        return criacao.as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Busca aluno por ID (com cursos)
+     */
+    public Mono<Aluno> buscarPorId(Long id) {
+        return buscarRecord(id).flatMap(this::carregarCursos);
+    }
+
+    /**
+     * Lista todos os alunos em streaming.
+     *
+     * Os alunos são lidos sob demanda do cliente (backpressure) em janelas de
+     * "prefetch" alunos; os cursos de cada janela vêm numa única consulta
+     * (aluno_id IN ...), e não uma por aluno. concatMap mantém a ordem e só
+     * busca a próxima janela depois de emitir a atual.
+     */
+    public Flux<Aluno> listarTodos() {
+        return alunoRepository.findAll()
+                .limitRate(prefetch)
+                .buffer(prefetch)
+                .concatMap(this::carregarCursos, 1);
+    }
+
+    /**
+     * Atualiza o nome de um aluno existente (CPF e email não mudam)
+     */
+    public Mono<Aluno> atualizarAluno(Long id, Aluno alunoAtualizado) {
+        Mono<Aluno> atualizacao = buscarRecord(id)
+                .flatMap(record -> {
+                    if (alunoAtualizado.getNome() != null) {
+                        record.setNome(alunoAtualizado.getNome());
+                    }
+                    record.setAtualizadoEm(LocalDateTime.now());
+                    return alunoRepository.save(record);
+                })
+                .flatMap(this::carregarCursos)
+                .flatMap(aluno -> depoisDoCommit(() -> {
+                    ranking.registrar(aluno);
+                    indiceNomes.registrar(aluno.getId(), aluno.getNome());
+                }).thenReturn(aluno));
+
+        return atualizacao.as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Remove o aluno e seus cursos
+     */
+    public Mono<Void> deletarAluno(Long id) {
+        Mono<Void> remocao = buscarRecord(id)
+                .flatMap(this::carregarCursos)
+                .flatMap(aluno -> cursoRepository.deleteByAlunoId(id)
+                        .then(alunoRepository.deleteById(id))
+                        .then(depoisDoCommit(() -> {
+                            estatisticasNotas.removerCursos(aluno.getCursos());
+                            ranking.remover(id);
+                            indiceNomes.remover(id);
+                        })));
+
+        return remocao.as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Adiciona um curso ao aluno
+     */
+    public Mono<Aluno> adicionarCurso(Long alunoId, Curso curso) {
+        Mono<Aluno> adicao = buscarRecord(alunoId)
+                .flatMap(record -> cursoRepository.save(CursoRecord.fromCurso(curso, alunoId))
+                        .then(carregarCursos(record)))
+                .flatMap(this::salvarAlteracao);
+
+        return adicao.as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Conclui um curso e recalcula o plano com a regra da entidade Aluno
+     */
+    public Mono<Aluno> concluirCurso(Long alunoId, Long cursoId, double media) {
+        Mono<Aluno> conclusao = buscarRecord(alunoId)
+                .flatMap(record -> cursoRepository.findByIdAndAlunoId(cursoId, alunoId)
+                        .switchIfEmpty(Mono.error(() -> new CursoNaoEncontradoException(cursoId, alunoId)))
+                        .flatMap(cursoRecord -> {
+                            Curso curso = cursoRecord.toCurso();
+                            // A nota anterior sai das estatísticas, se havia
+                            Double anterior = curso.isConcluido() ? curso.getMedia() : null;
+                            curso.concluir(media);
+                            return cursoRepository.save(CursoRecord.fromCurso(curso, alunoId))
+                                    .then(depoisDoCommit(() ->
+                                            estatisticasNotas.registrarConclusao(curso.getNome(), anterior, media)));
+                        })
+                        .then(carregarCursos(record)))
+                .flatMap(aluno -> {
+                    aluno.atualizarPlano();
+                    return salvarAlteracao(aluno);
+                })
+                .flatMap(aluno -> depoisDoCommit(() -> ranking.registrar(aluno)).thenReturn(aluno));
+
+        return conclusao.as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Regrava a linha do aluno: o Spring Data R2DBC incrementa a versão (ETag) a cada save,
+     * mesmo quando só um curso mudou
+     */
+    private Mono<Aluno> salvarAlteracao(Aluno aluno) {
+        aluno.setAtualizadoEm(LocalDateTime.now());
+        return alunoRepository.save(AlunoRecord.fromAluno(aluno))
+                .map(salvo -> {
+                    aluno.setVersao(salvo.getVersao());
+                    return aluno;
+                });
+    }
+
+    /**
+     * Executa a ação depois do commit da transação reativa atual
+     * (o equivalente ao depoisDoCommit que o Ranking e os índices usam com o JPA)
+     */
+    private static Mono<Void> depoisDoCommit(Runnable acao) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .doOnNext(sincronizacao -> sincronizacao.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCommit() {
+                        return Mono.fromRunnable(acao);
+                    }
+                }))
+                .then();
+    }
+
+    private Mono<AlunoRecord> buscarRecord(Long id) {
+        return alunoRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new AlunoNaoEncontradoException(id)));
+    }
+
+    private Mono<Aluno> carregarCursos(AlunoRecord record) {
+        return cursoRepository.findByAlunoIdOrderById(record.getId())
+                .collectList()
+                .map(record::toAluno);
+    }
+
+    /**
+     * Monta os alunos de uma janela com os cursos carregados numa só consulta
+     */
+    private Flux<Aluno> carregarCursos(List<AlunoRecord> records) {
+        List<Long> ids = records.stream().map(AlunoRecord::getId).toList();
+        return cursoRepository.findByAlunoIdInOrderById(ids)
+                .collectMultimap(CursoRecord::getAlunoId)
+                .flatMapIterable(cursosPorAluno -> records.stream()
+                        .map(record -> record.toAluno(List.copyOf(
+                                cursosPorAluno.getOrDefault(record.getId(), List.of()))))
+                        .toList());
+    }
+
+    private Mono<Void> validarUnicidade(Aluno aluno) {
+        Mono<Void> cpf = aluno.getCpf() == null ? Mono.empty()
+                : alunoRepository.existsByCpf(aluno.getCpf().getNumero())
+                        .flatMap(existe -> existe
+                                ? Mono.error(new CadastroDuplicadoException("CPF", aluno.getCpf()))
+                                : Mono.empty());
+
+        Mono<Void> email = aluno.getEmail() == null ? Mono.empty()
+                : alunoRepository.existsByEmail(aluno.getEmail().getEndereco())
+                        .flatMap(existe -> existe
+                                ? Mono.error(new CadastroDuplicadoException("Email", aluno.getEmail()))
+                                : Mono.empty());
+
+        return cpf.then(email);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.pratica4.reactive;
+
+import com.example.pratica4.exception.ErrorResponse;
+import com.example.pratica4.exception.ModeloErro;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Rotas funcionais do profile reactive.
+ *
+ * Mesmos caminhos do AlunoController. O @RestControllerAdvice não se aplica a
+ * endpoints funcionais, então o filtro abaixo reproduz as respostas do
+ * GlobalExceptionHandler (mesmo ErrorResponse, mesmos status e títulos).
+ */
+@Configuration
+@Profile("reactive")
+public class AlunoRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> alunoRoutes(AlunoHandler handler) {
+        return route()
+                .path("/api/alunos", builder -> builder
+                        .POST("", handler::criarAluno)
+                        .GET("", handler::listarTodos)
+                        .GET("/{id}", handler::buscarPorId)
+                        .PUT("/{id}", handler::atualizarAluno)
+                        .DELETE("/{id}", handler::deletarAluno)
+                        .POST("/{id}/cursos", handler::adicionarCurso)
+                        .PUT("/{alunoId}/cursos/{cursoId}/concluir", handler::concluirCurso)
+                        .GET("/{id}/progresso", handler::consultarProgresso))
+                .onError(AlunoHandler.ValidacaoException.class, (ex, request) ->
+                        erro(HttpStatus.BAD_REQUEST, "Erro de validação", ex.getMessage(),
+                                detalhes((AlunoHandler.ValidacaoException) ex)))
+                .onError(EntityNotFoundException.class, (ex, request) ->
+                        erro(ModeloErro.NAO_ENCONTRADO, ex.getMessage()))
+                .onError(IllegalArgumentException.class, (ex, request) ->
+                        erro(ModeloErro.ARGUMENTO_INVALIDO, ex.getMessage()))
+                .onError(ServerWebInputException.class, (ex, request) ->
+                        erro(HttpStatus.BAD_REQUEST, "Argumento inválido", "Corpo da requisição inválido", null))
+                .onError(ex -> true, (ex, request) ->
+                        erro(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor",
+                                "Ocorreu um erro inesperado. Por favor, contate o suporte.", null))
+                .build();
+    }
+
+    private static Map<String, String> detalhes(AlunoHandler.ValidacaoException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getViolacoes().forEach(violacao ->
+                errors.put(violacao.getPropertyPath().toString(), violacao.getMessage()));
+        return errors;
+    }
+
+    private static Mono<ServerResponse> erro(ModeloErro modelo, String mensagem) {
+        return ServerResponse.status(modelo.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(modelo.resposta(mensagem));
+    }
+
+    private static Mono<ServerResponse> erro(HttpStatus status, String titulo, String mensagem,
+                                             Map<String, String> detalhes) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(titulo)
+                .message(mensagem)
+                .details(detalhes)
+                .build();
+
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(errorResponse);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.pratica4.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Configuração do profile reactive (WebFlux + R2DBC).
+ *
+ * - Netty como servidor: o Tomcat também está no classpath e seria escolhido primeiro
+ * - DataSource JDBC declarado manualmente: o Spring Boot desliga o auto-config do
+ *   DataSource quando existe uma ConnectionFactory R2DBC, mas o JPA continua sendo
+ *   usado pelo restante da aplicação (e pelo Hibernate para criar o schema)
+ * - JDBC e R2DBC precisam apontar para o mesmo banco H2 em memória: as escritas do JPA
+ *   (cargas, outbox, lotes) e as leituras reativas usam as mesmas tabelas. Não há driver
+ *   R2DBC do PostgreSQL no projeto, então com outro banco (ex: prod,reactive) a aplicação
+ *   não sobe, em vez de servir leituras de um H2 vazio
+ * - TransactionalOperator próprio, sem registrar um segundo TransactionManager
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties, @Value("${spring.r2dbc.url}") String r2dbcUrl) {
+        verificarMesmoBanco(properties.determineUrl(), r2dbcUrl);
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * Confere se as URLs JDBC e R2DBC apontam para o mesmo banco H2 em memória
+     * (jdbc:h2:mem:nome e r2dbc:h2:mem:///nome, com ou sem parâmetros depois do ";")
+     * @throws IllegalStateException se o banco não for H2 em memória ou os nomes forem diferentes
+     */
+    static void verificarMesmoBanco(String jdbcUrl, String r2dbcUrl) {
+        String jdbc = nomeDoBanco(jdbcUrl, "jdbc:h2:mem:");
+        String r2dbc = nomeDoBanco(r2dbcUrl, "r2dbc:h2:mem:///");
+        if (jdbc == null || !jdbc.equals(r2dbc)) {
+            throw new IllegalStateException("O profile reactive exige JDBC e R2DBC no mesmo banco H2 em memória "
+                    + "(spring.datasource.url=" + jdbcUrl + ", spring.r2dbc.url=" + r2dbcUrl + ")");
+        }
+    }
+
+    private static String nomeDoBanco(String url, String prefixo) {
+        if (url == null || !url.startsWith(prefixo)) {
+            return null;
+        }
+        int parametros = url.indexOf(';');
+        return url.substring(prefixo.length(), parametros < 0 ? url.length() : parametros);
+    }
+}
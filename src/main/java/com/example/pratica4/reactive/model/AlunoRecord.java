@@ -0,0 +1,91 @@
+package com.example.pratica4.reactive.model;
+
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Linha da tabela "alunos" vista pelo R2DBC.
+ *
+ * O R2DBC não entende @Embedded nem relacionamentos do JPA, por isso CPF e Email
+ * são colunas simples aqui. A regra de negócio continua na entidade Aluno:
+ * use toAluno() para montar o agregado e fromAluno() para gravar o resultado.
+ */
+@Table("alunos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlunoRecord {
+
+    @Id
+    private Long id;
+    private String nome;
+    private String cpf;
+    private String email;
+    private Plano plano;
+    private LocalDate dataCadastro;
+    private boolean beneficiosPremiumAtivos;
+
+    /**
+     * Mesma coluna do @Version do JPA: o Spring Data R2DBC também
+     * incrementa e confere a versão em cada save()
+     */
+    @Version
+    private Long versao;
+    private LocalDateTime atualizadoEm;
+    private LocalDateTime premiumEm;
+
+    /**
+     * Monta o agregado Aluno (com seus cursos) a partir das linhas lidas
+     */
+    public Aluno toAluno(List<CursoRecord> cursos) {
+        Aluno aluno = Aluno.builder()
+                .id(this.id)
+                .nome(this.nome)
+                .cpf(this.cpf != null ? new CPF(this.cpf) : null)
+                .email(this.email != null ? new Email(this.email) : null)
+                .plano(this.plano)
+                .dataCadastro(this.dataCadastro)
+                .beneficiosPremiumAtivos(this.beneficiosPremiumAtivos)
+                .versao(this.versao)
+                .atualizadoEm(this.atualizadoEm)
+                .premiumEm(this.premiumEm)
+                .build();
+
+        for (CursoRecord curso : cursos) {
+            aluno.adicionarCurso(curso.toCurso());
+        }
+        return aluno;
+    }
+
+    /**
+     * Converte a entidade Aluno de volta para a linha (sem os cursos)
+     */
+    public static AlunoRecord fromAluno(Aluno aluno) {
+        return AlunoRecord.builder()
+                .id(aluno.getId())
+                .nome(aluno.getNome())
+                .cpf(aluno.getCpf() != null ? aluno.getCpf().getNumero() : null)
+                .email(aluno.getEmail() != null ? aluno.getEmail().getEndereco() : null)
+                .plano(aluno.getPlano())
+                .dataCadastro(aluno.getDataCadastro())
+                .beneficiosPremiumAtivos(aluno.isBeneficiosPremiumAtivos())
+                .versao(aluno.getVersao())
+                .atualizadoEm(aluno.getAtualizadoEm())
+                .premiumEm(aluno.getPremiumEm())
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.pratica4.reactive.model;
+
+import com.example.pratica4.model.Curso;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha da tabela "cursos" vista pelo R2DBC.
+ *
+ * No JPA a coluna aluno_id é controlada pelo @JoinColumn de Aluno.cursos;
+ * aqui ela é um campo explícito.
+ */
+@Table("cursos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursoRecord {
+
+    @Id
+    private Long id;
+    private String nome;
+    private double media;
+    private boolean concluido;
+    private Long alunoId;
+    private LocalDateTime concluidoEm;
+
+    /**
+     * Sem callbacks JPA no R2DBC: preenchido por fromCurso com Curso.normalizarNome
+     */
+    private String nomeBusca;
+
+    public Curso toCurso() {
+        return Curso.builder()
+                .id(this.id)
+                .nome(this.nome)
+                .media(this.media)
+                .concluido(this.concluido)
+                .concluidoEm(this.concluidoEm)
+                .build();
+    }
+
+    public static CursoRecord fromCurso(Curso curso, Long alunoId) {
+        return CursoRecord.builder()
+                .id(curso.getId())
+                .nome(curso.getNome())
+                .media(curso.getMedia())
+                .concluido(curso.isConcluido())
+                .alunoId(alunoId)
+                .concluidoEm(curso.getConcluidoEm())
+                .nomeBusca(Curso.normalizarNome(curso.getNome()))
+                .build();
+    }
+}
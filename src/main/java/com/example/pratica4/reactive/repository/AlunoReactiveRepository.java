@@ -0,0 +1,30 @@
+package com.example.pratica4.reactive.repository;
+
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.reactive.model.AlunoRecord;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versão reativa (R2DBC) do AlunoRepository.
+ *
+ * Mesmos métodos de consulta, mas retornando Mono/Flux: nenhuma thread
+ * fica bloqueada esperando o banco.
+ */
+@Repository
+public interface AlunoReactiveRepository extends R2dbcRepository<AlunoRecord, Long> {
+
+    Mono<AlunoRecord> findByCpf(String cpf);
+
+    Mono<AlunoRecord> findByEmail(String email);
+
+    Mono<Boolean> existsByCpf(String cpf);
+
+    Mono<Boolean> existsByEmail(String email);
+
+    Flux<AlunoRecord> findByPlano(Plano plano);
+
+    Flux<AlunoRecord> findByBeneficiosPremiumAtivosTrue();
+}
@@ -0,0 +1,63 @@
+package com.example.pratica4.reactive.repository;
+
+import com.example.pratica4.model.PoliticaPlanos;
+import com.example.pratica4.reactive.model.CursoRecord;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Versão reativa (R2DBC) do CursoRepository.
+ *
+ * Como não existe o relacionamento Aluno.cursos do JPA, os cursos de um
+ * aluno são buscados explicitamente pela coluna aluno_id.
+ */
+@Repository
+public interface CursoReactiveRepository extends R2dbcRepository<CursoRecord, Long> {
+
+    Flux<CursoRecord> findByAlunoIdOrderById(Long alunoId);
+
+    /**
+     * Cursos de vários alunos de uma vez (listagem em janelas, sem uma consulta por aluno)
+     */
+    Flux<CursoRecord> findByAlunoIdInOrderById(Collection<Long> alunoIds);
+
+    Mono<CursoRecord> findByIdAndAlunoId(Long id, Long alunoId);
+
+    Mono<Void> deleteByAlunoId(Long alunoId);
+
+    Flux<CursoRecord> findByNomeContainingIgnoreCase(String nome);
+
+    Flux<CursoRecord> findByConcluidoTrue();
+
+    Flux<CursoRecord> findByConcluidoFalse();
+
+    /**
+     * Aprovação pela política em vigor (mesmo predicado das consultas JPA)
+     */
+    default Flux<CursoRecord> findCursosAprovados() {
+        return findCursosAprovados(PoliticaPlanos.atual().getMediaAprovacao());
+    }
+
+    @Query("SELECT * FROM cursos WHERE " + PoliticaPlanos.SQL_CURSO_APROVADO)
+    Flux<CursoRecord> findCursosAprovados(@Param(PoliticaPlanos.PARAMETRO_MEDIA) double mediaAprovacao);
+
+    default Flux<CursoRecord> findCursosReprovados() {
+        return findCursosReprovados(PoliticaPlanos.atual().getMediaAprovacao());
+    }
+
+    @Query("SELECT * FROM cursos WHERE " + PoliticaPlanos.SQL_CURSO_REPROVADO)
+    Flux<CursoRecord> findCursosReprovados(@Param(PoliticaPlanos.PARAMETRO_MEDIA) double mediaAprovacao);
+
+    default Mono<Long> countCursosAprovados() {
+        return countCursosAprovados(PoliticaPlanos.atual().getMediaAprovacao());
+    }
+
+    @Query("SELECT COUNT(*) FROM cursos WHERE " + PoliticaPlanos.SQL_CURSO_APROVADO)
+    Mono<Long> countCursosAprovados(@Param(PoliticaPlanos.PARAMETRO_MEDIA) double mediaAprovacao);
+}
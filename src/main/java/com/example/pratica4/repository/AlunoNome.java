@@ -0,0 +1,11 @@
+package com.example.pratica4.repository;
+
+/**
+ * Projeção com o ID e o nome de um aluno (montagem do índice de busca por nome).
+ */
+public interface AlunoNome {
+
+    Long getId();
+
+    String getNome();
+}
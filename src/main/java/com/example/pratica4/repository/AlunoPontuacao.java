@@ -0,0 +1,25 @@
+package com.example.pratica4.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção com o que o Ranking precisa de cada aluno, calculada no banco.
+ *
+ * Cursos aprovados pela política em vigor (COUNT) e média dos cursos concluídos (AVG, null
+ * se não houver nenhum); os cursos não são carregados.
+ */
+public interface AlunoPontuacao {
+
+    Long getId();
+
+    String getNome();
+
+    LocalDate getDataCadastro();
+
+    LocalDateTime getPremiumEm();
+
+    long getCursosAprovados();
+
+    Double getMedia();
+}
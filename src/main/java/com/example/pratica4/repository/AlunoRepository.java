@@ -2,12 +2,17 @@ package com.example.pratica4.repository;
 
 import com.example.pratica4.model.Aluno;
 import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
 import com.example.pratica4.model.valueobject.CPF;
 import com.example.pratica4.model.valueobject.Email;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +33,16 @@ import java.util.Optional;
 @Repository
 public interface AlunoRepository extends JpaRepository<Aluno, Long> {
 
+    /**
+     * Campos da projeção AlunoResumo (aprovados pela política em vigor, parâmetro :mediaAprovacao)
+     */
+    String SELECT_RESUMO = "SELECT a.id AS id, a.nome AS nome, a.cpf.numero AS cpf, "
+            + "a.email.endereco AS email, a.plano AS plano, a.dataCadastro AS dataCadastro, "
+            + "a.beneficiosPremiumAtivos AS beneficiosPremiumAtivos, a.versao AS versao, "
+            + "(SELECT COUNT(c) FROM a.cursos c WHERE " + PoliticaPlanos.JPQL_CURSO_APROVADO + ") "
+            + "AS quantidadeCursosAprovados "
+            + "FROM Aluno a";
+
     /**
      * Busca aluno por CPF
      * Spring Data JPA gera automaticamente: SELECT * FROM alunos WHERE cpf = ?
@@ -60,9 +75,98 @@ public interface AlunoRepository extends JpaRepository<Aluno, Long> {
     List<Aluno> findByBeneficiosPremiumAtivosTrue();
 
     /**
-     * Query personalizada: Busca alunos próximos do upgrade (10-11 cursos aprovados)
+     * Cursos aprovados que faltam, no máximo, para um aluno ser considerado próximo do upgrade
+     */
+    int MARGEM_UPGRADE = 2;
+
+    /**
+     * Query personalizada: Busca alunos próximos do upgrade (a até MARGEM_UPGRADE cursos aprovados
+     * do início da próxima faixa da política em vigor; na padrão, BASICO com 10 ou mais)
      * @Query permite escrever JPQL (SQL orientado a objetos)
      */
-    @Query("SELECT a FROM Aluno a WHERE SIZE(a.cursos) >= 10 AND a.plano = 'BASICO'")
-    List<Aluno> findAlunosProximosDoUpgrade();
+    default List<Aluno> findAlunosProximosDoUpgrade() {
+        PoliticaPlanos politica = PoliticaPlanos.atual();
+        List<PoliticaPlanos.Faixa> faixas = politica.getFaixas();
+        List<Aluno> alunos = new ArrayList<>();
+        for (int i = 0; i + 1 < faixas.size(); i++) {
+            int minimo = Math.max(0, faixas.get(i + 1).cursos() - MARGEM_UPGRADE);
+            alunos.addAll(findAlunosProximosDoUpgrade(faixas.get(i).plano(), minimo, politica.getMediaAprovacao()));
+        }
+        return alunos;
+    }
+
+    @Query("SELECT a FROM Aluno a WHERE a.plano = :plano "
+            + "AND (SELECT COUNT(c) FROM a.cursos c WHERE " + PoliticaPlanos.JPQL_CURSO_APROVADO + ") >= :minimo")
+    List<Aluno> findAlunosProximosDoUpgrade(@Param("plano") Plano plano, @Param("minimo") long minimo,
+                                            @Param(PoliticaPlanos.PARAMETRO_MEDIA) double mediaAprovacao);
+
+    /**
+     * Lista todos os alunos já com os cursos (JOIN FETCH)
+     * Evita uma consulta extra por aluno ao acessar a lista de cursos
+     */
+    @Query("SELECT DISTINCT a FROM Aluno a LEFT JOIN FETCH a.cursos")
+    List<Aluno> findAllComCursos();
+
+    /**
+     * Busca um aluno já com os cursos carregados (uma única consulta)
+     * Permite mapear para DTO fora da transação sem LazyInitializationException
+     */
+    @Query("SELECT a FROM Aluno a LEFT JOIN FETCH a.cursos WHERE a.id = :id")
+    Optional<Aluno> findComCursosById(@Param("id") Long id);
+
+    /**
+     * Lista os dados resumidos de todos os alunos, sem carregar os cursos
+     * A quantidade de cursos aprovados é calculada por subconsulta (COUNT)
+     */
+    default List<AlunoResumo> findAllResumos() {
+        return findAllResumos(PoliticaPlanos.atual().getMediaAprovacao());
+    }
+
+    @Query(SELECT_RESUMO)
+    List<AlunoResumo> findAllResumos(@Param(PoliticaPlanos.PARAMETRO_MEDIA) double mediaAprovacao);
+
+    /**
+     * Busca os dados resumidos de um aluno, sem carregar os cursos
+     */
+    default Optional<AlunoResumo> findResumoById(Long id) {
+        return findResumoById(id, PoliticaPlanos.atual().getMediaAprovacao());
+    }
+
+    @Query(SELECT_RESUMO + " WHERE a.id = :id")
+    Optional<AlunoResumo> findResumoById(@Param("id") Long id,
+                                         @Param(PoliticaPlanos.PARAMETRO_MEDIA) double mediaAprovacao);
+
+    /**
+     * Pontuação de todos os alunos para o Ranking (aprovados e média calculados por subconsulta)
+     */
+    default List<AlunoPontuacao> findAllPontuacoes() {
+        return findAllPontuacoes(PoliticaPlanos.atual().getMediaAprovacao());
+    }
+
+    @Query("SELECT a.id AS id, a.nome AS nome, a.dataCadastro AS dataCadastro, a.premiumEm AS premiumEm, "
+            + "(SELECT COUNT(c) FROM a.cursos c WHERE " + PoliticaPlanos.JPQL_CURSO_APROVADO + ") AS cursosAprovados, "
+            + "(SELECT AVG(c.media) FROM a.cursos c WHERE c.concluido = true) AS media "
+            + "FROM Aluno a")
+    List<AlunoPontuacao> findAllPontuacoes(@Param(PoliticaPlanos.PARAMETRO_MEDIA) double mediaAprovacao);
+
+    /**
+     * ID e nome de todos os alunos (montagem do IndiceNomes)
+     */
+    @Query("SELECT a.id AS id, a.nome AS nome FROM Aluno a")
+    List<AlunoNome> findAllNomes();
+
+    /**
+     * Busca o aluno para alterar os seus cursos: a versão é incrementada no commit mesmo que
+     * só um Curso mude (o Aluno em si não fica "sujo" para o JPA)
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT a FROM Aluno a WHERE a.id = :id")
+    Optional<Aluno> findParaAlterarById(@Param("id") Long id);
+
+    /**
+     * Busca apenas a versão do aluno (consulta pela chave primária)
+     * Usado nos GETs condicionais (If-None-Match) sem carregar o agregado
+     */
+    @Query("SELECT a.versao FROM Aluno a WHERE a.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
 }
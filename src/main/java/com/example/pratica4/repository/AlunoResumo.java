@@ -0,0 +1,36 @@
+package com.example.pratica4.repository;
+
+import com.example.pratica4.model.Plano;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção com os dados escalares de um aluno, sem a lista de cursos.
+ *
+ * Preenchida direto pela consulta (Spring Data interface projection):
+ * a coleção Aluno.cursos nunca é inicializada e a quantidade de cursos
+ * aprovados vem de um COUNT no banco.
+ */
+public interface AlunoResumo {
+
+    Long getId();
+
+    String getNome();
+
+    /**
+     * CPF sem formatação (apenas dígitos)
+     */
+    String getCpf();
+
+    String getEmail();
+
+    Plano getPlano();
+
+    LocalDate getDataCadastro();
+
+    boolean isBeneficiosPremiumAtivos();
+
+    Long getVersao();
+
+    long getQuantidadeCursosAprovados();
+}
@@ -0,0 +1,69 @@
+package com.example.pratica4.repository;
+
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.shard.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Preenche colunas que o ddl-auto=update acrescentou a tabelas que já tinham linhas.
+ *
+ * O update cria a coluna nova sem valor nas linhas antigas; sem este ajuste, alunos gravados
+ * antes de "versao" carregariam com versão nula (sem ETag, If-Match nunca confere e o Spring
+ * Data trataria o save() como INSERT) e cursos sem "nome_busca" sumiriam do filtro por prefixo.
+ * nome_busca é calculado em Java (Curso.normalizarNome), e não com LOWER do banco, para ficar
+ * igual ao que o JPA grava. Roda em cada shard depois que o EntityManagerFactory
+ * atualizou o schema e antes de o servidor aceitar requisições (e das cargas em
+ * ApplicationReadyEvent). Com create/create-drop ou recriar-schema as tabelas nascem vazias.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.jpa.hibernate.ddl-auto", havingValue = "update")
+public class ColunasLegadas implements SmartInitializingSingleton {
+
+    /**
+     * Cursos normalizados por vez (cada lote é uma consulta e um UPDATE em batch)
+     */
+    static final int LOTE = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final Shards shards;
+
+    public ColunasLegadas(DataSource dataSource, Shards shards) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.shards = shards;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        shards.emCada(this::preencher);
+    }
+
+    /**
+     * Preenche as colunas no banco (shard) atual
+     */
+    void preencher() {
+        int versoes = jdbc.update("UPDATE alunos SET versao = 0 WHERE versao IS NULL");
+        if (versoes > 0) {
+            log.info("Versão 0 atribuída a {} alunos gravados antes da coluna versao", versoes);
+        }
+
+        int nomes = 0;
+        List<Object[]> lote;
+        do {
+            lote = jdbc.query("SELECT id, nome FROM cursos WHERE nome_busca IS NULL FETCH FIRST " + LOTE + " ROWS ONLY",
+                    (linha, numero) -> new Object[]{Curso.normalizarNome(linha.getString("nome")), linha.getLong("id")});
+            jdbc.batchUpdate("UPDATE cursos SET nome_busca = ? WHERE id = ?", lote);
+            nomes += lote.size();
+        } while (lote.size() == LOTE);
+        if (nomes > 0) {
+            log.info("nome_busca preenchido em {} cursos gravados antes da coluna", nomes);
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.example.pratica4.repository;
 
 import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.PoliticaPlanos;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Repository para acesso aos dados de Curso.
  *
  * Fornece métodos automáticos do JpaRepository e métodos customizados.
+ * JpaSpecificationExecutor - Consultas com filtros dinâmicos (ver CursoSpecifications)
  */
 @Repository
-public interface CursoRepository extends JpaRepository<Curso, Long> {
+public interface CursoRepository extends JpaRepository<Curso, Long>, JpaSpecificationExecutor<Curso> {
 
     /**
      * Busca cursos por nome (case insensitive)
@@ -32,20 +37,60 @@ public interface CursoRepository extends JpaRepository<Curso, Long> {
     List<Curso> findByConcluidoFalse();
 
     /**
-     * Lista cursos aprovados (concluído = true E média >= 7.0)
+     * Lista cursos aprovados pela política em vigor (concluído = true E média >= média de aprovação)
      */
-    @Query("SELECT c FROM Curso c WHERE c.concluido = true AND c.media >= 7.0")
-    List<Curso> findCursosAprovados();
+    default List<Curso> findCursosAprovados() {
+        return findCursosAprovados(PoliticaPlanos.atual().getMediaAprovacao());
+    }
+
+    @Query("SELECT c FROM Curso c WHERE " + PoliticaPlanos.JPQL_CURSO_APROVADO)
+    List<Curso> findCursosAprovados(@Param(PoliticaPlanos.PARAMETRO_MEDIA) double mediaAprovacao);
 
     /**
-     * Lista cursos reprovados (concluído = true E média < 7.0)
+     * Lista cursos reprovados (concluído = true E média < média de aprovação)
      */
-    @Query("SELECT c FROM Curso c WHERE c.concluido = true AND c.media < 7.0")
-    List<Curso> findCursosReprovados();
+    default List<Curso> findCursosReprovados() {
+        return findCursosReprovados(PoliticaPlanos.atual().getMediaAprovacao());
+    }
+
+    @Query("SELECT c FROM Curso c WHERE " + PoliticaPlanos.JPQL_CURSO_REPROVADO)
+    List<Curso> findCursosReprovados(@Param(PoliticaPlanos.PARAMETRO_MEDIA) double mediaAprovacao);
 
     /**
      * Conta quantidade de cursos aprovados
      */
-    @Query("SELECT COUNT(c) FROM Curso c WHERE c.concluido = true AND c.media >= 7.0")
-    long countCursosAprovados();
+    default long countCursosAprovados() {
+        return countCursosAprovados(PoliticaPlanos.atual().getMediaAprovacao());
+    }
+
+    @Query("SELECT COUNT(c) FROM Curso c WHERE " + PoliticaPlanos.JPQL_CURSO_APROVADO)
+    long countCursosAprovados(@Param(PoliticaPlanos.PARAMETRO_MEDIA) double mediaAprovacao);
+
+    /**
+     * Verifica se o curso pertence ao aluno, sem carregar o Aluno
+     */
+    boolean existsByIdAndAlunoId(Long id, Long alunoId);
+
+    /**
+     * Cursos concluídos de um aluno (consulta só a tabela de cursos)
+     */
+    List<Curso> findByAlunoIdAndConcluidoTrue(Long alunoId);
+
+    /**
+     * Quantidade de cursos concluídos (validação do checkpoint de EstatisticasNotas)
+     */
+    long countByConcluidoTrue();
+
+    /**
+     * Verifica se algum curso foi concluído (ou teve a nota trocada) depois do instante informado
+     */
+    boolean existsByConcluidoEmAfter(LocalDateTime instante);
+
+    /**
+     * Notas dos cursos concluídos agrupadas por curso e média, para montar os histogramas
+     * de EstatisticasNotas sem trazer uma linha por curso
+     */
+    @Query("SELECT c.nome AS nome, c.media AS media, COUNT(c) AS quantidade FROM Curso c "
+            + "WHERE c.concluido = true GROUP BY c.nome, c.media")
+    List<NotasPorCurso> findNotasPorCurso();
 }
@@ -0,0 +1,117 @@
+package com.example.pratica4.repository;
+
+import com.example.pratica4.dto.ConsultaCursos;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.PoliticaPlanos;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros dinâmicos (Criteria API) para a listagem de cursos de um aluno.
+ *
+ * Todas as condições partem de cursos.aluno_id, coberto pelos índices de Curso,
+ * e nenhuma faz join com a tabela de alunos.
+ */
+public final class CursoSpecifications {
+
+    private CursoSpecifications() {
+    }
+
+    /**
+     * Combina todos os filtros e o cursor de uma consulta
+     */
+    public static Specification<Curso> de(Long alunoId, ConsultaCursos consulta) {
+        return doAluno(alunoId)
+                .and(concluido(consulta.getConcluido()))
+                .and(aprovado(consulta.getAprovado()))
+                .and(nomeComecaCom(consulta.getPrefixo()))
+                .and(aposCursor(consulta));
+    }
+
+    /**
+     * Cursos do aluno informado
+     */
+    public static Specification<Curso> doAluno(Long alunoId) {
+        return (root, query, cb) -> cb.equal(root.get("alunoId"), alunoId);
+    }
+
+    /**
+     * Cursos concluídos (true) ou em andamento (false); null não filtra
+     */
+    public static Specification<Curso> concluido(Boolean concluido) {
+        if (concluido == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("concluido"), concluido);
+    }
+
+    /**
+     * Cursos aprovados pela política em vigor (concluídos com média >= média de aprovação)
+     * ou não aprovados; null não filtra
+     */
+    public static Specification<Curso> aprovado(Boolean aprovado) {
+        if (aprovado == null) {
+            return null;
+        }
+        PoliticaPlanos politica = PoliticaPlanos.atual();
+        return (root, query, cb) -> {
+            Predicate aprovacao = politica.aprovado(cb, root.get("concluido"), root.get("media"));
+            return aprovado ? aprovacao : cb.not(aprovacao);
+        };
+    }
+
+    /**
+     * Cursos cujo nome começa com o prefixo, sem diferenciar maiúsculas; null não filtra
+     * Compara a coluna nome_busca (indexada com aluno_id), não LOWER(nome).
+     */
+    public static Specification<Curso> nomeComecaCom(String prefixo) {
+        if (prefixo == null) {
+            return null;
+        }
+        String padrao = Curso.normalizarNome(prefixo)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("nomeBusca"), padrao, '\\');
+    }
+
+    /**
+     * Cursos posteriores ao cursor na ordenação da consulta; sem cursor não filtra
+     */
+    public static Specification<Curso> aposCursor(ConsultaCursos consulta) {
+        if (!consulta.possuiCursor()) {
+            return null;
+        }
+        boolean decrescente = consulta.isDecrescente();
+        Long id = consulta.getCursorId();
+        String valor = consulta.getCursorValor();
+
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get("id");
+            switch (consulta.getOrdenarPor()) {
+                case "nome":
+                    return apos(cb, root.get("nome"), valor, idPath, id, decrescente);
+                case "media":
+                    return apos(cb, root.get("media"), Double.valueOf(valor), idPath, id, decrescente);
+                default:
+                    return decrescente ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id);
+            }
+        };
+    }
+
+    /**
+     * (campo, id) depois de (valor, idCursor): campo além do valor, ou campo igual e id além do cursor
+     */
+    private static <T extends Comparable<? super T>> Predicate apos(CriteriaBuilder cb, Expression<T> campo, T valor,
+                                                                    Path<Long> idPath, Long id, boolean decrescente) {
+        if (decrescente) {
+            return cb.or(cb.lessThan(campo, valor),
+                    cb.and(cb.equal(campo, valor), cb.lessThan(idPath, id)));
+        }
+        return cb.or(cb.greaterThan(campo, valor),
+                cb.and(cb.equal(campo, valor), cb.greaterThan(idPath, id)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.pratica4.repository;
+
+import com.example.pratica4.model.EventoOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository da tabela de outbox.
+ */
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Reserva os próximos eventos pendentes, do mais antigo para o mais novo
+     *
+     * SELECT ... FOR UPDATE SKIP LOCKED: as linhas ficam travadas até o fim da transação e
+     * as já travadas por outro despachante (ou outro nó da aplicação) são puladas em vez de
+     * esperar. Deve ser chamado dentro de uma transação.
+     *
+     * Consulta nativa porque o H2Dialect do Hibernate ignora o lock timeout -2 (SKIP LOCKED)
+     * e gera um FOR UPDATE simples; a sintaxe abaixo vale para H2 2.x, PostgreSQL e MySQL 8.
+     */
+    @Query(value = "SELECT * FROM outbox_eventos ORDER BY id LIMIT :limite FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<EventoOutbox> reservarPendentes(@Param("limite") int limite);
+}
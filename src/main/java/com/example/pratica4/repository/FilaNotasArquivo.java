@@ -0,0 +1,287 @@
+package com.example.pratica4.repository;
+
+import com.example.pratica4.exception.SobrecargaException;
+import com.example.pratica4.model.NotaPendente;
+import com.example.pratica4.model.SituacaoNota;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Fila durável de notas enviadas no modo assíncrono, gravada em um arquivo mapeado em memória.
+ *
+ * O arquivo é um buffer circular de registros de tamanho fixo (40 bytes):
+ *   [0] situação  [4] CRC32 dos bytes 8..39  [8] sequência  [16] alunoId  [24] cursoId  [32] média
+ *
+ * - Cada nota é acrescentada no próximo registro e a situação começa como PENDENTE
+ * - Depois de aplicada, só o byte de situação é regravado (APLICADA ou FALHOU)
+ * - Um registro só é reaproveitado quando não está mais PENDENTE; se o próximo ainda
+ *   estiver pendente a fila está cheia e a nota é recusada (503)
+ * - A sequência s fica sempre no registro (s - 1) % capacidade
+ * - Ao abrir, o arquivo é percorrido: registros com CRC inválido (gravação interrompida)
+ *   são ignorados e os PENDENTES voltam para a fila (recuperação após queda)
+ * - Se a capacidade aumentou desde a última abertura, os registros válidos são regravados
+ *   nas posições da nova capacidade antes de a fila ser usada
+ *
+ * Com pratica4.notas.fila.sincronizar=true cada gravação é forçada para o disco (msync)
+ * antes da resposta 202.
+ */
+@Repository
+@Profile("!reactive")
+public class FilaNotasArquivo implements Closeable {
+
+    static final int TAMANHO_REGISTRO = 40;
+
+    private static final int POS_SITUACAO = 0;
+    private static final int POS_CRC = 4;
+    private static final int POS_SEQUENCIA = 8;
+    private static final int POS_ALUNO = 16;
+    private static final int POS_CURSO = 24;
+    private static final int POS_MEDIA = 32;
+    private static final int INICIO_CRC = POS_SEQUENCIA;
+    private static final int TAMANHO_CRC = TAMANHO_REGISTRO - INICIO_CRC;
+
+    private final int capacidade;
+    private final boolean sincronizar;
+    private final FileChannel canal;
+    private final MappedByteBuffer buffer;
+
+    private long proximaSequencia = 1;
+    private int proximoSlot;
+    private int pendentes;
+    private List<NotaPendente> recuperadas;
+
+    public FilaNotasArquivo(@Value("${pratica4.notas.fila.arquivo}") String arquivo,
+                            @Value("${pratica4.notas.fila.capacidade:65536}") int capacidade,
+                            @Value("${pratica4.notas.fila.sincronizar:true}") boolean sincronizar) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade da fila de notas deve ser positiva");
+        }
+        this.sincronizar = sincronizar;
+        try {
+            Path caminho = Path.of(arquivo).toAbsolutePath();
+            Files.createDirectories(caminho.getParent());
+            this.canal = FileChannel.open(caminho,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Um arquivo já existente maior que a capacidade configurada é mantido inteiro,
+            // para não perder registros pendentes
+            long registrosExistentes = canal.size() / TAMANHO_REGISTRO;
+            this.capacidade = (int) Math.max(capacidade, registrosExistentes);
+            this.buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) this.capacidade * TAMANHO_REGISTRO);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir a fila de notas em " + arquivo, e);
+        }
+        recuperar();
+    }
+
+    /**
+     * Acrescenta uma nota na fila com situação PENDENTE
+     * @return nota com a sequência atribuída
+     * @throws SobrecargaException se a fila estiver cheia
+     */
+    public synchronized NotaPendente acrescentar(Long alunoId, Long cursoId, double media) {
+        int slot = proximoSlot;
+        int offset = slot * TAMANHO_REGISTRO;
+        if (registroValido(offset) && buffer.get(offset + POS_SITUACAO) == SituacaoNota.PENDENTE.getCodigo()) {
+            throw new SobrecargaException("Fila de notas cheia: " + pendentes + " notas aguardando aplicação.", 1);
+        }
+
+        gravar(offset, NotaPendente.builder()
+                .sequencia(proximaSequencia)
+                .alunoId(alunoId)
+                .cursoId(cursoId)
+                .media(media)
+                .situacao(SituacaoNota.PENDENTE)
+                .build());
+        if (sincronizar) {
+            buffer.force(offset, TAMANHO_REGISTRO);
+        }
+
+        proximaSequencia++;
+        proximoSlot = (slot + 1) % capacidade;
+        pendentes++;
+
+        return ler(offset);
+    }
+
+    /**
+     * Registra o resultado da aplicação de uma nota
+     * @return false se a nota não está mais no arquivo (registro já reaproveitado)
+     */
+    public synchronized boolean marcar(long sequencia, SituacaoNota situacao) {
+        Integer offset = offsetDa(sequencia);
+        if (offset == null) {
+            return false;
+        }
+        if (buffer.get(offset + POS_SITUACAO) == SituacaoNota.PENDENTE.getCodigo()
+                && situacao != SituacaoNota.PENDENTE) {
+            pendentes--;
+        }
+        buffer.put(offset + POS_SITUACAO, situacao.getCodigo());
+        if (sincronizar) {
+            buffer.force(offset + POS_SITUACAO, 1);
+        }
+        return true;
+    }
+
+    /**
+     * Busca uma nota pela sequência
+     * @return vazio se a sequência não existe ou o registro já foi reaproveitado
+     */
+    public synchronized Optional<NotaPendente> buscar(long sequencia) {
+        Integer offset = offsetDa(sequencia);
+        return offset == null ? Optional.empty() : Optional.of(ler(offset));
+    }
+
+    /**
+     * Notas PENDENTES encontradas ao abrir o arquivo, em ordem de sequência
+     * Só podem ser obtidas uma vez (são entregues ao processador na inicialização).
+     */
+    public synchronized List<NotaPendente> retirarRecuperadas() {
+        List<NotaPendente> notas = recuperadas;
+        recuperadas = List.of();
+        return notas;
+    }
+
+    public synchronized int getPendentes() {
+        return pendentes;
+    }
+
+    public synchronized long getUltimaSequencia() {
+        return proximaSequencia - 1;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    @Override
+    @PreDestroy
+    public synchronized void close() {
+        if (!canal.isOpen()) {
+            return;
+        }
+        try {
+            buffer.force();
+            canal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao fechar a fila de notas", e);
+        }
+    }
+
+    /**
+     * Percorre todos os registros: reconstrói a próxima posição de escrita e separa os pendentes
+     */
+    private void recuperar() {
+        long maiorSequencia = 0;
+        boolean foraDoLugar = false;
+        List<NotaPendente> validas = new ArrayList<>();
+
+        for (int slot = 0; slot < capacidade; slot++) {
+            int offset = slot * TAMANHO_REGISTRO;
+            if (!registroValido(offset)) {
+                continue;
+            }
+            NotaPendente nota = ler(offset);
+            maiorSequencia = Math.max(maiorSequencia, nota.getSequencia());
+            foraDoLugar |= slotDa(nota.getSequencia()) != slot;
+            validas.add(nota);
+        }
+        if (foraDoLugar) {
+            realocar(validas);
+        }
+
+        List<NotaPendente> encontradas = new ArrayList<>();
+        for (NotaPendente nota : validas) {
+            if (nota.getSituacao() == SituacaoNota.PENDENTE) {
+                encontradas.add(nota);
+            }
+        }
+        encontradas.sort(Comparator.comparingLong(NotaPendente::getSequencia));
+        proximaSequencia = maiorSequencia + 1;
+        proximoSlot = slotDa(proximaSequencia);
+        pendentes = encontradas.size();
+        recuperadas = encontradas;
+    }
+
+    /**
+     * Regrava os registros nas posições da capacidade atual (arquivo gravado com capacidade
+     * menor que já deu a volta). Cabem todos: os válidos vêm de uma janela de no máximo a
+     * capacidade anterior de sequências consecutivas, e a capacidade só aumenta.
+     */
+    private void realocar(List<NotaPendente> validas) {
+        for (int offset = 0; offset < capacidade * TAMANHO_REGISTRO; offset += TAMANHO_REGISTRO) {
+            buffer.putLong(offset + POS_SEQUENCIA, 0);
+            buffer.putInt(offset + POS_CRC, 0);
+        }
+        for (NotaPendente nota : validas) {
+            gravar(slotDa(nota.getSequencia()) * TAMANHO_REGISTRO, nota);
+        }
+        buffer.force();
+    }
+
+    private int slotDa(long sequencia) {
+        return (int) Math.floorMod(sequencia - 1, (long) capacidade);
+    }
+
+    /**
+     * Posição da sequência no arquivo: as sequências ocupam registros consecutivos,
+     * então a posição é calculada a partir da última gravada
+     */
+    private Integer offsetDa(long sequencia) {
+        long distancia = proximaSequencia - sequencia;
+        if (sequencia < 1 || distancia < 1 || distancia > capacidade) {
+            return null;
+        }
+        int slot = (int) Math.floorMod(proximoSlot - distancia, (long) capacidade);
+        int offset = slot * TAMANHO_REGISTRO;
+        if (!registroValido(offset) || buffer.getLong(offset + POS_SEQUENCIA) != sequencia) {
+            return null;
+        }
+        return offset;
+    }
+
+    private boolean registroValido(int offset) {
+        return buffer.getLong(offset + POS_SEQUENCIA) > 0 && buffer.getInt(offset + POS_CRC) == crc(offset);
+    }
+
+    private int crc(int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset + INICIO_CRC, TAMANHO_CRC));
+        return (int) crc.getValue();
+    }
+
+    private void gravar(int offset, NotaPendente nota) {
+        buffer.put(offset + POS_SITUACAO, nota.getSituacao().getCodigo());
+        buffer.putLong(offset + POS_SEQUENCIA, nota.getSequencia());
+        buffer.putLong(offset + POS_ALUNO, nota.getAlunoId());
+        buffer.putLong(offset + POS_CURSO, nota.getCursoId());
+        buffer.putDouble(offset + POS_MEDIA, nota.getMedia());
+        buffer.putInt(offset + POS_CRC, crc(offset));
+    }
+
+    private NotaPendente ler(int offset) {
+        return NotaPendente.builder()
+                .sequencia(buffer.getLong(offset + POS_SEQUENCIA))
+                .alunoId(buffer.getLong(offset + POS_ALUNO))
+                .cursoId(buffer.getLong(offset + POS_CURSO))
+                .media(buffer.getDouble(offset + POS_MEDIA))
+                .situacao(SituacaoNota.deCodigo(buffer.get(offset + POS_SITUACAO)))
+                .build();
+    }
+}
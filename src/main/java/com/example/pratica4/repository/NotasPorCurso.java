@@ -0,0 +1,13 @@
+package com.example.pratica4.repository;
+
+/**
+ * Projeção agregada das notas: quantos cursos concluídos com este nome têm esta média.
+ */
+public interface NotasPorCurso {
+
+    String getNome();
+
+    double getMedia();
+
+    long getQuantidade();
+}
@@ -1,13 +1,32 @@
 package com.example.pratica4.service;
 
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.ConsultaCursos;
+import com.example.pratica4.dto.PaginaCursosDTO;
+import com.example.pratica4.dto.ProgressoDTO;
+import com.example.pratica4.dto.Versionado;
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.exception.CadastroDuplicadoException;
+import com.example.pratica4.exception.CursoNaoEncontradoException;
+import com.example.pratica4.exception.VersaoDivergenteException;
 import com.example.pratica4.model.Aluno;
 import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.NotaPendente;
 import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.repository.AlunoResumo;
+import com.example.pratica4.repository.CursoRepository;
+import com.example.pratica4.repository.CursoSpecifications;
+import com.example.pratica4.shard.CadastrosUnicos;
+import com.example.pratica4.shard.ShardDoAluno;
+import com.example.pratica4.shard.Shards;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -15,31 +34,60 @@ import java.util.List;
  *
  * @Transactional - Garante que operações sejam atômicas (tudo ou nada)
  * @RequiredArgsConstructor - Lombok gera construtor com campos final (injeção de dependência)
+ *
+ * Criação de aluno, conclusão de curso e mudança de plano gravam um evento na outbox
+ * na mesma transação da alteração (ver Outbox e DespachanteOutbox).
+ * Toda alteração também é repassada ao Ranking, as notas às EstatisticasNotas e os nomes
+ * ao IndiceNomes, que as aplicam depois do commit.
+ *
+ * Profile sharding: os métodos @ShardDoAluno rodam no shard do aluno; listagens e a
+ * verificação de CPF/Email duplicado consultam todos os shards (ver Shards), e a unicidade
+ * entre cadastros simultâneos é garantida pelas reservas do CadastrosUnicos.
  */
 @Service
 @RequiredArgsConstructor
 public class AlunoService {
 
+    private static final Comparator<Aluno> POR_ID = Comparator.comparing(Aluno::getId);
+
     private final AlunoRepository alunoRepository;
+    private final CursoRepository cursoRepository;
+    private final Outbox outbox;
+    private final Ranking ranking;
+    private final EstatisticasNotas estatisticasNotas;
+    private final IndiceNomes indiceNomes;
+    private final Shards shards;
+    private final CadastrosUnicos cadastrosUnicos;
+
+    // Leituras simultâneas do mesmo aluno compartilham a mesma consulta e o mesmo DTO
+    private final CargasEmAndamento<Long, Versionado<AlunoDTO>> leiturasAluno = new CargasEmAndamento<>();
+    private final CargasEmAndamento<Long, Versionado<ProgressoDTO>> leiturasProgresso = new CargasEmAndamento<>();
 
     /**
      * Cria um novo aluno no sistema
      * @param aluno dados do aluno
      * @return aluno salvo com ID
      */
+    @ShardDoAluno
     @Transactional
     public Aluno criarAluno(Aluno aluno) {
-        // Validação: CPF único
-        if (aluno.getCpf() != null && alunoRepository.existsByCpf(aluno.getCpf())) {
-            throw new IllegalArgumentException("CPF já cadastrado: " + aluno.getCpf());
+        // Validação: CPF único (em todos os shards)
+        if (aluno.getCpf() != null && shards.algum(() -> alunoRepository.existsByCpf(aluno.getCpf()))) {
+            throw new CadastroDuplicadoException("CPF", aluno.getCpf());
         }
 
-        // Validação: Email único
-        if (aluno.getEmail() != null && alunoRepository.existsByEmail(aluno.getEmail())) {
-            throw new IllegalArgumentException("Email já cadastrado: " + aluno.getEmail());
+        // Validação: Email único (em todos os shards)
+        if (aluno.getEmail() != null && shards.algum(() -> alunoRepository.existsByEmail(aluno.getEmail()))) {
+            throw new CadastroDuplicadoException("Email", aluno.getEmail());
         }
 
-        return alunoRepository.save(aluno);
+        Aluno salvo = alunoRepository.save(aluno);
+        // Com vários shards, o INSERT acima só é barrado pelas constraints do próprio shard
+        cadastrosUnicos.reservar(salvo);
+        outbox.alunoCriado(salvo);
+        ranking.registrar(salvo);
+        indiceNomes.registrar(salvo.getId(), salvo.getNome());
+        return salvo;
     }
 
     /**
@@ -48,19 +96,111 @@ public class AlunoService {
      * @return aluno encontrado
      * @throws EntityNotFoundException se não encontrar
      */
+    @ShardDoAluno
     @Transactional(readOnly = true)
     public Aluno buscarPorId(Long id) {
         return alunoRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado com ID: " + id));
+                .orElseThrow(() -> new AlunoNaoEncontradoException(id));
+    }
+
+    /**
+     * Busca o aluno já convertido em DTO, junto com a versão (ETag)
+     * Requisições simultâneas para o mesmo ID compartilham uma única consulta e conversão.
+     * Não é @Transactional: quem aguarda não deve ocupar uma conexão; a consulta com
+     * JOIN FETCH já traz os cursos, então a conversão não depende de sessão aberta.
+     * @param id identificador do aluno
+     * @return DTO compartilhado (não deve ser alterado) e versão
+     * @throws EntityNotFoundException se não encontrar
+     */
+    @ShardDoAluno
+    public Versionado<AlunoDTO> buscarDTOPorId(Long id) {
+        return leiturasAluno.carregar(id, () -> {
+            Aluno aluno = buscarComCursos(id);
+            return new Versionado<>(AlunoDTO.fromEntity(aluno), aluno.getVersao());
+        });
     }
 
     /**
-     * Lista todos os alunos
+     * Calcula o progresso do aluno em direção ao Premium, junto com a versão (ETag)
+     * Requisições simultâneas para o mesmo ID compartilham uma única consulta e cálculo.
+     * @param id identificador do aluno
+     * @return DTO compartilhado (não deve ser alterado) e versão
+     * @throws EntityNotFoundException se não encontrar
+     */
+    @ShardDoAluno
+    public Versionado<ProgressoDTO> buscarProgresso(Long id) {
+        return leiturasProgresso.carregar(id, () -> {
+            Aluno aluno = buscarComCursos(id);
+            return new Versionado<>(ProgressoDTO.fromAluno(aluno), aluno.getVersao());
+        });
+    }
+
+    /**
+     * Busca apenas a versão atual do aluno, sem carregar o agregado
+     * @param id identificador do aluno
+     * @return versão atual (base do ETag)
+     * @throws EntityNotFoundException se não encontrar
+     */
+    @ShardDoAluno
+    @Transactional(readOnly = true)
+    public Long buscarVersao(Long id) {
+        return alunoRepository.findVersaoById(id)
+                .orElseThrow(() -> new AlunoNaoEncontradoException(id));
+    }
+
+    /**
+     * Lista todos os alunos (de todos os shards, em ordem de ID)
+     * Os cursos vêm na mesma consulta (JOIN FETCH): a lista é serializada depois da transação,
+     * e carregá-los aluno a aluno seria uma consulta por aluno (N+1).
      * @return lista de alunos
      */
     @Transactional(readOnly = true)
     public List<Aluno> listarTodos() {
-        return alunoRepository.findAll();
+        return shards.emTodos(alunoRepository::findAllComCursos, POR_ID);
+    }
+
+    /**
+     * Lista os dados resumidos de todos os alunos, sem carregar os cursos
+     * @return lista de projeções com a quantidade de cursos aprovados
+     */
+    @Transactional(readOnly = true)
+    public List<AlunoResumo> listarResumos() {
+        return shards.emTodos(alunoRepository::findAllResumos, Comparator.comparing(AlunoResumo::getId));
+    }
+
+    /**
+     * Busca os dados resumidos de um aluno, sem carregar os cursos
+     * @param id identificador do aluno
+     * @return projeção com a quantidade de cursos aprovados
+     * @throws EntityNotFoundException se não encontrar
+     */
+    @ShardDoAluno
+    @Transactional(readOnly = true)
+    public AlunoResumo buscarResumoPorId(Long id) {
+        return alunoRepository.findResumoById(id)
+                .orElseThrow(() -> new AlunoNaoEncontradoException(id));
+    }
+
+    /**
+     * Lista uma página dos cursos de um aluno, com filtros e paginação por cursor
+     * Consulta apenas a tabela de cursos (por aluno_id); o Aluno não é carregado.
+     * @param alunoId ID do aluno
+     * @param consulta filtros, ordenação, cursor e limite
+     * @return página de cursos com o cursor da próxima página
+     * @throws EntityNotFoundException se o aluno não existir
+     */
+    @ShardDoAluno
+    @Transactional(readOnly = true)
+    public PaginaCursosDTO listarCursos(Long alunoId, ConsultaCursos consulta) {
+        if (!alunoRepository.existsById(alunoId)) {
+            throw new AlunoNaoEncontradoException(alunoId);
+        }
+
+        // Busca um curso a mais que o limite só para saber se há próxima página (sem COUNT)
+        List<Curso> cursos = cursoRepository.findBy(CursoSpecifications.de(alunoId, consulta),
+                q -> q.sortBy(consulta.ordenacao()).limit(consulta.getLimite() + 1).all());
+
+        return PaginaCursosDTO.de(cursos, consulta);
     }
 
     /**
@@ -69,6 +209,7 @@ public class AlunoService {
      * @param alunoAtualizado dados atualizados
      * @return aluno atualizado
      */
+    @ShardDoAluno
     @Transactional
     public Aluno atualizarAluno(Long id, Aluno alunoAtualizado) {
         Aluno alunoExistente = buscarPorId(id);
@@ -81,19 +222,39 @@ public class AlunoService {
         // CPF e Email não devem ser alterados após cadastro (regra de negócio)
         // Se precisar alterar, adicionar validações aqui
 
-        return alunoRepository.save(alunoExistente);
+        Aluno salvo = alunoRepository.save(alunoExistente);
+        ranking.registrar(salvo);
+        indiceNomes.registrar(salvo.getId(), salvo.getNome());
+        return salvo;
+    }
+
+    /**
+     * Atualiza dados de um aluno somente se ele ainda estiver na versão esperada (If-Match)
+     * @param versaoEsperada versão que o cliente leu
+     * @throws VersaoDivergenteException se o aluno foi alterado desde a leitura
+     */
+    @ShardDoAluno
+    @Transactional
+    public Aluno atualizarAluno(Long id, Aluno alunoAtualizado, Long versaoEsperada) {
+        verificarVersao(buscarPorId(id), versaoEsperada);
+        return atualizarAluno(id, alunoAtualizado);
     }
 
     /**
      * Remove um aluno do sistema
      * @param id identificador do aluno
      */
+    @ShardDoAluno
     @Transactional
     public void deletarAluno(Long id) {
         if (!alunoRepository.existsById(id)) {
-            throw new EntityNotFoundException("Aluno não encontrado com ID: " + id);
+            throw new AlunoNaoEncontradoException(id);
         }
+        estatisticasNotas.removerCursos(cursoRepository.findByAlunoIdAndConcluidoTrue(id));
         alunoRepository.deleteById(id);
+        cadastrosUnicos.liberar(id);
+        ranking.remover(id);
+        indiceNomes.remover(id);
     }
 
     /**
@@ -102,9 +263,12 @@ public class AlunoService {
      * @param curso curso a ser adicionado
      * @return aluno com curso adicionado
      */
+    @ShardDoAluno
     @Transactional
     public Aluno adicionarCurso(Long alunoId, Curso curso) {
         Aluno aluno = buscarPorId(alunoId);
+        // A resposta lista os cursos: carregados aqui, sem depender de sessão aberta depois da transação
+        Hibernate.initialize(aluno.getCursos());
         aluno.adicionarCurso(curso);
         return alunoRepository.save(aluno);
     }
@@ -127,24 +291,90 @@ public class AlunoService {
      * @param media média obtida (0.0 a 10.0)
      * @return aluno atualizado
      */
+    @ShardDoAluno
     @Transactional
     public Aluno concluirCurso(Long alunoId, Long cursoId, double media) {
-        Aluno aluno = buscarPorId(alunoId);
+        // Só o Curso muda: a leitura com OPTIMISTIC_FORCE_INCREMENT incrementa a versão (ETag)
+        Aluno aluno = buscarParaAlterar(alunoId);
 
         // Busca o curso dentro da lista de cursos do aluno
         Curso curso = aluno.getCursos().stream()
                 .filter(c -> c.getId() != null && c.getId().equals(cursoId))
                 .findFirst()
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Curso com ID " + cursoId + " não encontrado para o aluno " + alunoId));
+                .orElseThrow(() -> new CursoNaoEncontradoException(cursoId, alunoId));
 
-        // Conclui o curso com a média
+        // Conclui o curso com a média (a nota anterior sai das estatísticas, se havia)
+        estatisticasNotas.registrarConclusao(curso.getNome(), curso.isConcluido() ? curso.getMedia() : null, media);
         curso.concluir(media);
 
         // Atualiza o plano do aluno (verifica se atingiu 12 cursos aprovados)
         aluno.atualizarPlano();
 
-        return alunoRepository.save(aluno);
+        outbox.cursoConcluido(alunoId, curso);
+        Aluno salvo = alunoRepository.save(aluno);
+        ranking.registrar(salvo);
+        return salvo;
+    }
+
+    /**
+     * Conclui um curso somente se o aluno ainda estiver na versão esperada (If-Match)
+     * @param versaoEsperada versão que o cliente leu
+     * @throws VersaoDivergenteException se o aluno foi alterado desde a leitura
+     */
+    @ShardDoAluno
+    @Transactional
+    public Aluno concluirCurso(Long alunoId, Long cursoId, double media, Long versaoEsperada) {
+        verificarVersao(buscarParaAlterar(alunoId), versaoEsperada);
+        return concluirCurso(alunoId, cursoId, media);
+    }
+
+    /**
+     * Verifica se o curso pertence ao aluno (consulta só a tabela de cursos)
+     * Usado para validar notas do modo assíncrono antes de enfileirá-las.
+     * @throws EntityNotFoundException se o curso não existir para o aluno
+     */
+    @ShardDoAluno
+    @Transactional(readOnly = true)
+    public void verificarCursoDoAluno(Long alunoId, Long cursoId) {
+        if (!cursoRepository.existsByIdAndAlunoId(cursoId, alunoId)) {
+            throw new CursoNaoEncontradoException(cursoId, alunoId);
+        }
+    }
+
+    /**
+     * Aplica um lote de notas do mesmo aluno em uma única transação
+     * Conclui cada curso, atualiza o plano uma vez e salva o aluno uma vez.
+     * @param alunoId ID do aluno
+     * @param notas notas da fila, em ordem de envio (a última nota de um curso prevalece)
+     * @return notas ignoradas porque o curso não pertence mais ao aluno
+     * @throws EntityNotFoundException se o aluno não existir
+     */
+    @ShardDoAluno
+    @Transactional
+    public List<NotaPendente> aplicarNotas(Long alunoId, List<NotaPendente> notas) {
+        Aluno aluno = buscarParaAlterar(alunoId);
+        List<NotaPendente> ignoradas = new ArrayList<>();
+
+        for (NotaPendente nota : notas) {
+            Curso curso = aluno.getCursos().stream()
+                    .filter(c -> c.getId() != null && c.getId().equals(nota.getCursoId()))
+                    .findFirst()
+                    .orElse(null);
+            if (curso == null) {
+                ignoradas.add(nota);
+            } else {
+                estatisticasNotas.registrarConclusao(curso.getNome(), curso.isConcluido() ? curso.getMedia() : null,
+                        nota.getMedia());
+                curso.concluir(nota.getMedia());
+                outbox.cursoConcluido(alunoId, curso);
+            }
+        }
+
+        if (ignoradas.size() < notas.size()) {
+            aluno.atualizarPlano();
+            ranking.registrar(alunoRepository.save(aluno));
+        }
+        return ignoradas;
     }
 
     /**
@@ -162,10 +392,37 @@ public class AlunoService {
      * @param alunoId ID do aluno
      * @return aluno com plano atualizado
      */
+    @ShardDoAluno
     @Transactional
     public Aluno verificarUpgradePlano(Long alunoId) {
         Aluno aluno = buscarPorId(alunoId);
         aluno.atualizarPlano();
-        return alunoRepository.save(aluno);
+        Aluno salvo = alunoRepository.save(aluno);
+        ranking.registrar(salvo);
+        return salvo;
+    }
+
+    /**
+     * Carrega o aluno com OPTIMISTIC_FORCE_INCREMENT: a versão sobe no commit mesmo quando só
+     * os cursos mudam, invalidando o ETag
+     */
+    private Aluno buscarParaAlterar(Long id) {
+        return alunoRepository.findParaAlterarById(id)
+                .orElseThrow(() -> new AlunoNaoEncontradoException(id));
+    }
+
+    private Aluno buscarComCursos(Long id) {
+        return alunoRepository.findComCursosById(id)
+                .orElseThrow(() -> new AlunoNaoEncontradoException(id));
+    }
+
+    /**
+     * Compara a versão carregada com a informada pelo cliente
+     * Alterações concorrentes após esta verificação são barradas pelo @Version no commit.
+     */
+    private void verificarVersao(Aluno aluno, Long versaoEsperada) {
+        if (!versaoEsperada.equals(aluno.getVersao())) {
+            throw new VersaoDivergenteException(aluno.getId(), versaoEsperada, aluno.getVersao());
+        }
     }
 }
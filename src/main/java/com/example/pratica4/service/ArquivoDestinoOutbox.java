@@ -0,0 +1,81 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.EventoOutbox;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Destino em arquivo: acrescenta cada evento como uma linha JSON em um arquivo local
+ * (ex: {"id":1,"tipo":"ALUNO_CRIADO","alunoId":7,"criadoEm":"...","payload":{...}}).
+ *
+ * Cada lote é escrito com uma única gravação e, com pratica4.outbox.arquivo.sincronizar=true,
+ * confirmado no disco (fsync) antes de os eventos serem removidos da outbox.
+ */
+@Component
+@ConditionalOnProperty(name = "pratica4.outbox.destino", havingValue = "arquivo")
+public class ArquivoDestinoOutbox implements DestinoOutbox {
+
+    private final ObjectMapper objectMapper;
+    private final Path arquivo;
+    private final boolean sincronizar;
+
+    public ArquivoDestinoOutbox(ObjectMapper objectMapper,
+                                @Value("${pratica4.outbox.arquivo.caminho}") String arquivo,
+                                @Value("${pratica4.outbox.arquivo.sincronizar:true}") boolean sincronizar) {
+        this.objectMapper = objectMapper;
+        this.arquivo = Path.of(arquivo);
+        this.sincronizar = sincronizar;
+    }
+
+    @Override
+    public synchronized void entregar(List<EventoOutbox> eventos) throws IOException {
+        ByteArrayOutputStream linhas = new ByteArrayOutputStream(eventos.size() * 256);
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(linhas)) {
+            // Uma linha por evento, sem o espaço que o Jackson põe entre valores da raiz
+            gen.setRootValueSeparator(null);
+            for (EventoOutbox evento : eventos) {
+                gen.writeStartObject();
+                gen.writeNumberField("id", evento.getId());
+                gen.writeStringField("tipo", evento.getTipo().name());
+                if (evento.getAlunoId() != null) {
+                    gen.writeNumberField("alunoId", evento.getAlunoId());
+                }
+                gen.writeStringField("criadoEm", evento.getCriadoEm().toString());
+                gen.writeFieldName("payload");
+                gen.writeRawValue(evento.getPayload());
+                gen.writeEndObject();
+                gen.writeRaw('\n');
+            }
+        }
+
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        try (FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(linhas.toByteArray());
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            if (sincronizar) {
+                canal.force(false);
+            }
+        }
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.pratica4.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Árvore de estatística de ordem (usada pelo Ranking): conjunto ordenado que também
+ * responde "qual a posição deste elemento" e "quais os n primeiros" em O(log n).
+ *
+ * - Treap: árvore binária de busca pelo comparador e heap pelas prioridades sorteadas,
+ *   então a altura esperada é O(log n) sem rebalanceamento explícito
+ * - Cada nó guarda o tamanho da sua subárvore; a posição de um elemento é a soma dos
+ *   tamanhos das subárvores à esquerda no caminho da raiz até ele
+ * - O comparador deve ser total (elementos diferentes nunca empatam), ex: desempate por ID
+ *
+ * Não é thread-safe: quem usa controla o acesso (o Ranking usa um ReadWriteLock).
+ */
+public class ArvoreEstatistica<T> {
+
+    private final Comparator<? super T> comparador;
+    private final SplittableRandom sorteio = new SplittableRandom();
+    private No<T> raiz;
+
+    public ArvoreEstatistica(Comparator<? super T> comparador) {
+        this.comparador = comparador;
+    }
+
+    public int tamanho() {
+        return tamanho(raiz);
+    }
+
+    /**
+     * Insere o elemento
+     * @return false se já havia um elemento igual pelo comparador (nada muda)
+     */
+    public boolean adicionar(T elemento) {
+        int antes = tamanho();
+        raiz = adicionar(raiz, new No<>(elemento, sorteio.nextInt()));
+        return tamanho() > antes;
+    }
+
+    /**
+     * Remove o elemento igual pelo comparador
+     * @return false se não havia
+     */
+    public boolean remover(T elemento) {
+        int antes = tamanho();
+        raiz = remover(raiz, elemento);
+        return tamanho() < antes;
+    }
+
+    /**
+     * Posição do elemento na ordem do comparador (a partir de 0), ou -1 se não estiver na árvore
+     */
+    public int posicao(T elemento) {
+        int anteriores = 0;
+        No<T> no = raiz;
+        while (no != null) {
+            int comparacao = comparador.compare(elemento, no.valor);
+            if (comparacao < 0) {
+                no = no.esquerda;
+            } else {
+                anteriores += tamanho(no.esquerda);
+                if (comparacao == 0) {
+                    return anteriores;
+                }
+                anteriores++;
+                no = no.direita;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Os n primeiros elementos, em ordem (percorre só os nós necessários)
+     */
+    public List<T> primeiros(int n) {
+        List<T> resultado = new ArrayList<>(Math.min(n, tamanho()));
+        Deque<No<T>> pilha = new ArrayDeque<>();
+        No<T> no = raiz;
+        while (resultado.size() < n && (no != null || !pilha.isEmpty())) {
+            while (no != null) {
+                pilha.push(no);
+                no = no.esquerda;
+            }
+            no = pilha.pop();
+            resultado.add(no.valor);
+            no = no.direita;
+        }
+        return resultado;
+    }
+
+    private No<T> adicionar(No<T> no, No<T> novo) {
+        if (no == null) {
+            return novo;
+        }
+        int comparacao = comparador.compare(novo.valor, no.valor);
+        if (comparacao == 0) {
+            return no;
+        }
+        if (comparacao < 0) {
+            no.esquerda = adicionar(no.esquerda, novo);
+            if (no.esquerda.prioridade > no.prioridade) {
+                no = girarDireita(no);
+            }
+        } else {
+            no.direita = adicionar(no.direita, novo);
+            if (no.direita.prioridade > no.prioridade) {
+                no = girarEsquerda(no);
+            }
+        }
+        no.atualizarTamanho();
+        return no;
+    }
+
+    private No<T> remover(No<T> no, T elemento) {
+        if (no == null) {
+            return null;
+        }
+        int comparacao = comparador.compare(elemento, no.valor);
+        if (comparacao < 0) {
+            no.esquerda = remover(no.esquerda, elemento);
+        } else if (comparacao > 0) {
+            no.direita = remover(no.direita, elemento);
+        } else {
+            return juntar(no.esquerda, no.direita);
+        }
+        no.atualizarTamanho();
+        return no;
+    }
+
+    /**
+     * Junta duas subárvores em que todos os elementos de "esquerda" vêm antes dos de "direita"
+     */
+    private No<T> juntar(No<T> esquerda, No<T> direita) {
+        if (esquerda == null) {
+            return direita;
+        }
+        if (direita == null) {
+            return esquerda;
+        }
+        if (esquerda.prioridade > direita.prioridade) {
+            esquerda.direita = juntar(esquerda.direita, direita);
+            esquerda.atualizarTamanho();
+            return esquerda;
+        }
+        direita.esquerda = juntar(esquerda, direita.esquerda);
+        direita.atualizarTamanho();
+        return direita;
+    }
+
+    private static <T> No<T> girarDireita(No<T> no) {
+        No<T> filho = no.esquerda;
+        no.esquerda = filho.direita;
+        filho.direita = no;
+        no.atualizarTamanho();
+        filho.atualizarTamanho();
+        return filho;
+    }
+
+    private static <T> No<T> girarEsquerda(No<T> no) {
+        No<T> filho = no.direita;
+        no.direita = filho.esquerda;
+        filho.esquerda = no;
+        no.atualizarTamanho();
+        filho.atualizarTamanho();
+        return filho;
+    }
+
+    private static int tamanho(No<?> no) {
+        return no == null ? 0 : no.tamanho;
+    }
+
+    private static final class No<T> {
+        private final T valor;
+        private final int prioridade;
+        private No<T> esquerda;
+        private No<T> direita;
+        private int tamanho = 1;
+
+        private No(T valor, int prioridade) {
+            this.valor = valor;
+            this.prioridade = prioridade;
+        }
+
+        private void atualizarTamanho() {
+            tamanho = 1 + ArvoreEstatistica.tamanho(esquerda) + ArvoreEstatistica.tamanho(direita);
+        }
+    }
+}
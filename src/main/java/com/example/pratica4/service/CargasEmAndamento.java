@@ -0,0 +1,66 @@
+package com.example.pratica4.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Compartilha uma mesma carga entre chamadas simultâneas para a mesma chave ("single flight").
+ *
+ * - A primeira chamada para uma chave executa a carga
+ * - Chamadas que chegam enquanto ela executa aguardam e recebem o mesmo resultado
+ * - Se a carga falhar, todas recebem a mesma exceção
+ * - Ao terminar, a chave sai do mapa: não é cache, a próxima chamada carrega de novo
+ *
+ * Como só ficam no mapa as cargas em execução, o consumo de memória é limitado
+ * pela quantidade de requisições simultâneas.
+ */
+public class CargasEmAndamento<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    /**
+     * Executa a carga ou aguarda a que já está em execução para a mesma chave
+     */
+    public V carregar(K chave, Supplier<V> carga) {
+        CompletableFuture<V> nova = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            return aguardar(existente);
+        }
+
+        try {
+            V valor = carga.get();
+            nova.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    /**
+     * Quantidade de cargas em execução
+     */
+    public int emExecucao() {
+        return emAndamento.size();
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw e;
+        }
+    }
+}
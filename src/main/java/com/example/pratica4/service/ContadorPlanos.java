@@ -0,0 +1,55 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PlanoAlterado;
+import com.example.pratica4.model.PoliticaPlanos;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contagem das mudanças de plano confirmadas (upgrades e downgrades), publicada como
+ * métrica por MetricasConfig.
+ *
+ * Cada PlanoAlterado é contado depois do commit. A direção vem da ordem das faixas da
+ * PoliticaPlanos em vigor, não da ordem das constantes de Plano; um plano que não está
+ * nas faixas atuais (política trocada) fica abaixo da primeira faixa.
+ */
+@Service
+public class ContadorPlanos {
+
+    private final LongAdder upgrades = new LongAdder();
+    private final LongAdder downgrades = new LongAdder();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void registrar(PlanoAlterado alteracao) {
+        List<PoliticaPlanos.Faixa> faixas = PoliticaPlanos.atual().getFaixas();
+        int anterior = posicao(faixas, alteracao.getPlanoAnterior());
+        int atual = posicao(faixas, alteracao.getPlanoAtual());
+        if (atual > anterior) {
+            upgrades.increment();
+        } else if (atual < anterior) {
+            downgrades.increment();
+        }
+    }
+
+    public long getUpgrades() {
+        return upgrades.sum();
+    }
+
+    public long getDowngrades() {
+        return downgrades.sum();
+    }
+
+    private static int posicao(List<PoliticaPlanos.Faixa> faixas, Plano plano) {
+        for (int i = 0; i < faixas.size(); i++) {
+            if (faixas.get(i).plano() == plano) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.EventoOutbox;
+import com.example.pratica4.repository.EventoOutboxRepository;
+import com.example.pratica4.shard.Shards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega os eventos da outbox ao DestinoOutbox, em lotes.
+ *
+ * Cada lote é uma transação: reserva até N eventos com FOR UPDATE SKIP LOCKED, entrega ao
+ * destino e apaga as linhas. Como as linhas reservadas ficam travadas só para esta
+ * transação, vários despachantes (threads ou nós da aplicação) esvaziam a outbox em
+ * paralelo sem entregar o mesmo evento duas vezes. Se o destino falhar, a transação é
+ * desfeita e o lote volta a ficar disponível (nova tentativa com espera crescente).
+ *
+ * Lote cheio: o próximo é buscado em seguida; lote parcial ou vazio: espera o intervalo.
+ * A ordem é garantida dentro de cada lote; entre despachantes paralelos, não.
+ *
+ * Métricas (ver OutboxConfig): eventos entregues, lotes com falha e atraso do evento mais
+ * antigo do último lote (tempo entre o commit da alteração e a entrega).
+ *
+ * Profile sharding: cada evento fica no shard do aluno; cada ciclo entrega um lote de cada shard.
+ */
+@Slf4j
+@Service
+@Profile("!reactive")
+public class DespachanteOutbox {
+
+    private final EventoOutboxRepository repository;
+    private final DestinoOutbox destino;
+    private final TransactionTemplate transacao;
+    private final Shards shards;
+    private final int tamanhoLote;
+    private final long intervaloMillis;
+    private final long esperaMaximaMillis;
+    private final List<Thread> despachantes = new ArrayList<>();
+
+    private final AtomicLong entregues = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private volatile double atrasoSegundos;
+
+    private volatile boolean ativo = true;
+
+    public DespachanteOutbox(EventoOutboxRepository repository, DestinoOutbox destino,
+                             PlatformTransactionManager transactionManager, Shards shards,
+                             @Value("${pratica4.outbox.despachantes:1}") int quantidadeDespachantes,
+                             @Value("${pratica4.outbox.lote:100}") int tamanhoLote,
+                             @Value("${pratica4.outbox.intervalo-ms:500}") long intervaloMillis,
+                             @Value("${pratica4.outbox.espera-maxima-ms:30000}") long esperaMaximaMillis) {
+        this.repository = repository;
+        this.destino = destino;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.shards = shards;
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloMillis = intervaloMillis;
+        this.esperaMaximaMillis = esperaMaximaMillis;
+
+        for (int i = 0; i < quantidadeDespachantes; i++) {
+            Thread despachante = new Thread(this::despachar, "outbox-despachante-" + i);
+            despachante.setDaemon(true);
+            despachantes.add(despachante);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        despachantes.forEach(Thread::start);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        ativo = false;
+        despachantes.forEach(Thread::interrupt);
+        for (Thread despachante : despachantes) {
+            try {
+                despachante.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Entrega um lote de cada shard (cada um em uma transação)
+     * @return quantidade de eventos entregues (0 se a outbox estiver vazia ou tudo reservado)
+     * @throws RuntimeException se o destino falhar; nada é removido da outbox do shard que falhou
+     */
+    public int despacharLote() {
+        int[] total = {0};
+        shards.emCada(() -> total[0] += despacharLoteDoShard());
+        return total[0];
+    }
+
+    private int despacharLoteDoShard() {
+        Integer quantidade;
+        try {
+            quantidade = transacao.execute(status -> reservarEntregar());
+        } catch (RuntimeException e) {
+            falhas.incrementAndGet();
+            throw e;
+        }
+
+        int entreguesNoLote = quantidade == null ? 0 : quantidade;
+        entregues.addAndGet(entreguesNoLote);
+        lotes.incrementAndGet();
+        return entreguesNoLote;
+    }
+
+    /**
+     * Reserva, entrega e remove um lote (dentro da transação de despacharLote)
+     */
+    private int reservarEntregar() {
+        List<EventoOutbox> eventos = repository.reservarPendentes(tamanhoLote);
+        if (eventos.isEmpty()) {
+            atrasoSegundos = 0;
+            return 0;
+        }
+        try {
+            destino.entregar(eventos);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao entregar lote da outbox", e);
+        }
+        repository.deleteAllInBatch(eventos);
+
+        atrasoSegundos = Duration.between(eventos.get(0).getCriadoEm(), LocalDateTime.now()).toMillis() / 1000.0;
+        return eventos.size();
+    }
+
+    private void despachar() {
+        long espera = intervaloMillis;
+        while (ativo) {
+            try {
+                if (despacharLote() < tamanhoLote) {
+                    Thread.sleep(intervaloMillis);
+                }
+                espera = intervaloMillis;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Outbox: falha ao entregar lote, nova tentativa em {} ms", espera, e);
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException interrompido) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                espera = Math.min(espera * 2, esperaMaximaMillis);
+            }
+        }
+    }
+
+    public long getEntregues() {
+        return entregues.get();
+    }
+
+    public long getLotes() {
+        return lotes.get();
+    }
+
+    public long getFalhas() {
+        return falhas.get();
+    }
+
+    /**
+     * Segundos entre a criação do evento mais antigo do último lote e a sua entrega
+     */
+    public double getAtrasoSegundos() {
+        return atrasoSegundos;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.EventoOutbox;
+
+import java.util.List;
+
+/**
+ * Para onde o DespachanteOutbox entrega os eventos (broker, webhook, arquivo...).
+ *
+ * Recebe um lote em ordem de id. Se lançar exceção, nenhum evento do lote é removido da
+ * outbox e o lote inteiro é tentado de novo; por isso a entrega é "pelo menos uma vez"
+ * e o destino deve tolerar ids repetidos.
+ *
+ * Implementações incluídas (pratica4.outbox.destino, sem padrão: definido por profile):
+ * arquivo e memoria. Outra implementação pode ser registrada como bean no lugar delas.
+ */
+public interface DestinoOutbox {
+
+    void entregar(List<EventoOutbox> eventos) throws Exception;
+}
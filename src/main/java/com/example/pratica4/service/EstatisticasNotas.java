@@ -0,0 +1,354 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.dto.EstatisticasNotasDTO;
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.repository.CursoRepository;
+import com.example.pratica4.repository.NotasPorCurso;
+import com.example.pratica4.shard.Shards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Distribuição das notas por curso (pelo nome) e global, mantida em memória (GET /api/estatisticas/notas).
+ *
+ * - Um HistogramaNotas por nome de curso e um global: p10/p50/p90 e percentil de uma nota
+ *   custam o mesmo com mil ou com milhões de notas
+ * - O AlunoService informa cada conclusão (com a nota anterior, se o curso já estava concluído)
+ *   e os cursos de alunos excluídos; as mudanças entram depois do commit
+ * - Com pratica4.estatisticas.arquivo definido, os histogramas são gravados nele a cada
+ *   checkpoint-ms e no encerramento. Na subida, o checkpoint só é usado se a quantidade de
+ *   cursos concluídos confere com o banco e nenhum curso foi concluído depois dele (com uma
+ *   margem para commits que ainda não tinham chegado aos histogramas); senão os histogramas
+ *   são remontados de uma consulta agregada por curso e média (reconstruir)
+ *
+ * Alterações feitas fora do AlunoService (ex: perfil reactive) só aparecem após reconstruir().
+ */
+@Slf4j
+@Service
+public class EstatisticasNotas {
+
+    private static final int ASSINATURA = 0x4E4F5441; // "NOTA"
+    private static final int VERSAO_ARQUIVO = 1;
+    private static final long MARGEM_CHECKPOINT_SEGUNDOS = 5;
+    private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 10;
+
+    private final CursoRepository cursoRepository;
+    private final AlunoRepository alunoRepository;
+    private final Shards shards;
+    private final Path arquivo;
+    private final long intervaloMillis;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Um checkpoint por vez: todos gravam o mesmo arquivo temporário
+    private final Object gravacao = new Object();
+    private Map<String, HistogramaNotas> porCurso = new HashMap<>();
+    private HistogramaNotas global = new HistogramaNotas();
+    private ScheduledExecutorService checkpoints;
+    private final LongAdder notasRegistradas = new LongAdder();
+
+    public EstatisticasNotas(CursoRepository cursoRepository, AlunoRepository alunoRepository, Shards shards,
+                             @Value("${pratica4.estatisticas.arquivo:}") String arquivo,
+                             @Value("${pratica4.estatisticas.checkpoint-ms:60000}") long intervaloMillis) {
+        this.cursoRepository = cursoRepository;
+        this.alunoRepository = alunoRepository;
+        this.shards = shards;
+        this.arquivo = arquivo.isBlank() ? null : Path.of(arquivo).toAbsolutePath();
+        this.intervaloMillis = intervaloMillis;
+    }
+
+    /**
+     * Carrega o checkpoint (se válido) ou remonta do banco e agenda os checkpoints
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!carregarCheckpoint()) {
+            reconstruir();
+        }
+        if (arquivo == null) {
+            return;
+        }
+        checkpoints = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "estatisticas-notas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkpoints.scheduleWithFixedDelay(this::checkpoint, intervaloMillis, intervaloMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Aguarda o checkpoint agendado em andamento (se houver) e grava o final
+     */
+    @PreDestroy
+    public void encerrar() {
+        if (checkpoints == null) {
+            return;
+        }
+        checkpoints.shutdown();
+        try {
+            if (!checkpoints.awaitTermination(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS)) {
+                checkpoints.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            checkpoints.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        checkpoint();
+    }
+
+    /**
+     * Remonta todos os histogramas a partir do banco (de todos os shards)
+     */
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        Map<String, HistogramaNotas> novos = new HashMap<>();
+        for (NotasPorCurso notas : shards.emTodos(cursoRepository::findNotasPorCurso)) {
+            novos.computeIfAbsent(notas.getNome(), nome -> new HistogramaNotas())
+                    .adicionar(notas.getMedia(), notas.getQuantidade());
+        }
+        substituir(novos);
+        log.info("Estatísticas de notas montadas do banco: {} cursos, {} notas em {} ms",
+                novos.size(), global.getTotal(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Registra a conclusão de um curso depois do commit da transação atual
+     * @param anterior nota anterior, se o curso já estava concluído (null se não)
+     */
+    public void registrarConclusao(String curso, Double anterior, double nota) {
+        Transacoes.depoisDoCommit(() -> escrever(() -> {
+            notasRegistradas.increment();
+            HistogramaNotas histograma = porCurso.computeIfAbsent(curso, nome -> new HistogramaNotas());
+            if (anterior != null) {
+                histograma.remover(anterior);
+                global.remover(anterior);
+            }
+            histograma.adicionar(nota);
+            global.adicionar(nota);
+        }));
+    }
+
+    /**
+     * Notas registradas (conclusões confirmadas, inclusive troca de nota) desde a subida
+     */
+    public long getNotasRegistradas() {
+        return notasRegistradas.sum();
+    }
+
+    /**
+     * Retira as notas dos cursos concluídos informados depois do commit (ex: aluno excluído)
+     */
+    public void removerCursos(List<Curso> cursos) {
+        // Copia nome e nota agora: as entidades não devem ser lidas depois do commit
+        List<Nota> notas = cursos.stream()
+                .filter(Curso::isConcluido)
+                .map(curso -> new Nota(curso.getNome(), curso.getMedia()))
+                .collect(Collectors.toList());
+        if (notas.isEmpty()) {
+            return;
+        }
+        Transacoes.depoisDoCommit(() -> escrever(() -> notas.forEach(nota -> {
+            HistogramaNotas histograma = porCurso.get(nota.curso());
+            if (histograma != null) {
+                histograma.remover(nota.media());
+                if (histograma.getTotal() == 0) {
+                    porCurso.remove(nota.curso());
+                }
+            }
+            global.remover(nota.media());
+        })));
+    }
+
+    /**
+     * Distribuição das notas de um curso (ou global, com curso null) e, opcionalmente,
+     * o percentil de um aluno nela
+     * @throws AlunoNaoEncontradoException se alunoId for informado e o aluno não existir
+     */
+    public EstatisticasNotasDTO consultar(String curso, Long alunoId) {
+        Double notaAluno = alunoId == null ? null
+                : shards.noShard(shards.doAluno(alunoId), () -> notaDoAluno(alunoId, curso));
+        return ler(() -> {
+            HistogramaNotas histograma = curso == null ? global : porCurso.getOrDefault(curso, new HistogramaNotas());
+            return EstatisticasNotasDTO.builder()
+                    .curso(curso)
+                    .total(histograma.getTotal())
+                    .media(histograma.media())
+                    .p10(histograma.quantil(0.10))
+                    .p50(histograma.quantil(0.50))
+                    .p90(histograma.quantil(0.90))
+                    .distribuicao(Arrays.stream(histograma.distribuicao()).boxed().collect(Collectors.toList()))
+                    .alunoId(alunoId)
+                    .notaAluno(notaAluno)
+                    .percentilAluno(notaAluno == null ? null : histograma.percentil(notaAluno))
+                    .build();
+        });
+    }
+
+    /**
+     * Grava os histogramas no arquivo de checkpoint (troca atômica do arquivo)
+     * Chamadas simultâneas são feitas uma depois da outra.
+     * @return false se não há arquivo configurado ou a gravação falhou
+     */
+    public boolean checkpoint() {
+        if (arquivo == null) {
+            return false;
+        }
+        synchronized (gravacao) {
+            return gravarCheckpoint();
+        }
+    }
+
+    private boolean gravarCheckpoint() {
+        LocalDateTime geradoEm = LocalDateTime.now();
+        Map<String, long[]> contagens = ler(() -> porCurso.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entrada -> entrada.getValue().contagens())));
+        try {
+            Files.createDirectories(arquivo.getParent());
+            Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+            try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporario)))) {
+                saida.writeInt(ASSINATURA);
+                saida.writeInt(VERSAO_ARQUIVO);
+                saida.writeLong(geradoEm.toEpochSecond(ZoneOffset.UTC));
+                saida.writeInt(contagens.size());
+                for (Map.Entry<String, long[]> curso : contagens.entrySet()) {
+                    saida.writeUTF(curso.getKey());
+                    long[] contadores = curso.getValue();
+                    saida.writeShort((int) Arrays.stream(contadores).filter(contagem -> contagem > 0).count());
+                    for (int posicao = 0; posicao < contadores.length; posicao++) {
+                        if (contadores[posicao] > 0) {
+                            saida.writeShort(posicao);
+                            saida.writeLong(contadores[posicao]);
+                        }
+                    }
+                }
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Checkpoint das estatísticas de notas gravado em {}", arquivo);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao gravar o checkpoint das estatísticas de notas em {}: {}", arquivo, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Usa o checkpoint se ele ainda corresponder ao banco
+     * @return true se os histogramas vieram do checkpoint
+     */
+    boolean carregarCheckpoint() {
+        if (arquivo == null || !Files.exists(arquivo)) {
+            return false;
+        }
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo)))) {
+            if (entrada.readInt() != ASSINATURA || entrada.readInt() != VERSAO_ARQUIVO) {
+                log.warn("Checkpoint das estatísticas de notas em {} não reconhecido; remontando do banco", arquivo);
+                return false;
+            }
+            LocalDateTime geradoEm = LocalDateTime.ofEpochSecond(entrada.readLong(), 0, ZoneOffset.UTC);
+            Map<String, HistogramaNotas> lidos = new HashMap<>();
+            int cursos = entrada.readInt();
+            for (int i = 0; i < cursos; i++) {
+                String nome = entrada.readUTF();
+                long[] contadores = new long[HistogramaNotas.POSICOES];
+                int preenchidas = entrada.readUnsignedShort();
+                for (int j = 0; j < preenchidas; j++) {
+                    contadores[entrada.readUnsignedShort()] = entrada.readLong();
+                }
+                lidos.put(nome, HistogramaNotas.deContagens(contadores));
+            }
+
+            long total = lidos.values().stream().mapToLong(HistogramaNotas::getTotal).sum();
+            LocalDateTime limite = geradoEm.minusSeconds(MARGEM_CHECKPOINT_SEGUNDOS);
+            if (total != shards.somar(cursoRepository::countByConcluidoTrue)
+                    || shards.algum(() -> cursoRepository.existsByConcluidoEmAfter(limite))) {
+                log.info("Checkpoint das estatísticas de notas de {} desatualizado; remontando do banco", geradoEm);
+                return false;
+            }
+            substituir(lidos);
+            log.info("Estatísticas de notas carregadas do checkpoint de {}: {} cursos, {} notas", geradoEm, lidos.size(), total);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Checkpoint das estatísticas de notas em {} ilegível; remontando do banco: {}", arquivo, e.getMessage());
+            return false;
+        }
+    }
+
+    private void substituir(Map<String, HistogramaNotas> novos) {
+        HistogramaNotas novoGlobal = new HistogramaNotas();
+        novos.values().forEach(novoGlobal::somar);
+        escrever(() -> {
+            porCurso = novos;
+            global = novoGlobal;
+        });
+    }
+
+    /**
+     * Nota do aluno no curso (a última conclusão com esse nome) ou a média dos seus cursos
+     * concluídos (curso null); null se não houver
+     */
+    private Double notaDoAluno(Long alunoId, String curso) {
+        List<Curso> concluidos = cursoRepository.findByAlunoIdAndConcluidoTrue(alunoId);
+        if (concluidos.isEmpty() && !alunoRepository.existsById(alunoId)) {
+            throw new AlunoNaoEncontradoException(alunoId);
+        }
+        if (curso != null) {
+            return concluidos.stream()
+                    .filter(c -> c.getNome().equals(curso))
+                    .reduce((primeiro, segundo) -> segundo)
+                    .map(Curso::getMedia)
+                    .orElse(null);
+        }
+        OptionalDouble media = concluidos.stream().mapToDouble(Curso::getMedia).average();
+        return media.isPresent() ? media.getAsDouble() : null;
+    }
+
+    private record Nota(String curso, double media) {
+    }
+
+    private <R> R ler(Supplier<R> leitura) {
+        lock.readLock().lock();
+        try {
+            return leitura.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void escrever(Runnable escrita) {
+        lock.writeLock().lock();
+        try {
+            escrita.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.PlanoAlterado;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stream de mudanças de plano (GET /api/alunos/eventos, Server-Sent Events).
+ *
+ * - Cada PlanoAlterado é recebido só depois do commit (@TransactionalEventListener),
+ *   numerado em sequência e guardado num buffer circular com os últimos N eventos
+ * - O evento SSE é montado uma única vez (JSON já serializado) e o mesmo objeto é
+ *   enviado a todos os assinantes
+ * - Cada assinante guarda só a posição do último evento enviado: o buffer circular é o
+ *   seu buffer de pendências, então milhares de assinantes custam pouca memória
+ * - Os envios são feitos por um pool pequeno de threads; um assinante nunca é atendido
+ *   por duas threads ao mesmo tempo, e um cliente lento só ocupa uma delas
+ *
+ * Assinante que fica mais de N eventos atrás (o próximo evento já foi sobrescrito) é
+ * desconectado. Ao reconectar com Last-Event-ID, os eventos ainda no buffer são reenviados;
+ * se já saíram do buffer, o assinante recebe um evento "reinicio" e deve reler o estado
+ * pela API antes de continuar com os eventos novos.
+ */
+@Slf4j
+@Service
+@Profile("!reactive")
+public class EventosPlano {
+
+    public static final String EVENTO_PLANO = "plano";
+    public static final String EVENTO_REINICIO = "reinicio";
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ObjectMapper objectMapper;
+    private final Evento[] historico;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService envio;
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Sequência do último evento publicado (0 = nenhum)
+     * Escrita só dentro de synchronized (historico); lida sem trava pelas threads de envio.
+     */
+    private volatile long ultimaSequencia;
+
+    public EventosPlano(ObjectMapper objectMapper,
+                        @Value("${pratica4.eventos.buffer:1024}") int tamanhoBuffer,
+                        @Value("${pratica4.eventos.threads:4}") int threads,
+                        @Value("${pratica4.eventos.heartbeat-ms:15000}") long heartbeatMillis,
+                        @Value("${pratica4.eventos.timeout-ms:1800000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.historico = new Evento[tamanhoBuffer];
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.envio = Executors.newScheduledThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "eventos-plano-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Comentário periódico: mantém proxies abertos e revela conexões mortas
+        envio.scheduleAtFixedRate(this::agendarHeartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra um novo assinante
+     * @param ultimoEventoId valor de Last-Event-ID enviado pelo cliente ao reconectar (ou null)
+     * @return emitter a ser devolvido pelo controller
+     */
+    public SseEmitter assinar(Long ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        long ultima = ultimaSequencia;
+
+        Assinante assinante;
+        if (ultimoEventoId == null) {
+            assinante = new Assinante(emitter, ultima, false);
+        } else if (ultimoEventoId >= 0 && ultimoEventoId <= ultima && ultima - ultimoEventoId <= historico.length) {
+            assinante = new Assinante(emitter, ultimoEventoId, false);
+        } else {
+            // Eventos perdidos (ou sequência de outra execução da aplicação)
+            assinante = new Assinante(emitter, ultima, true);
+        }
+
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(erro -> assinantes.remove(assinante));
+        assinantes.add(assinante);
+
+        if (assinante.reiniciar || assinante.enviado < ultima) {
+            agendar(assinante);
+        }
+        return emitter;
+    }
+
+    /**
+     * Guarda a mudança de plano no buffer e a envia aos assinantes
+     * Chamado pelo Spring depois do commit da transação que salvou o aluno.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publicar(PlanoAlterado alteracao) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(alteracao);
+        } catch (JsonProcessingException e) {
+            log.warn("Evento de plano do aluno {} não pôde ser serializado", alteracao.getAlunoId(), e);
+            return;
+        }
+
+        synchronized (historico) {
+            long sequencia = ultimaSequencia + 1;
+            Set<DataWithMediaType> mensagem = SseEmitter.event()
+                    .id(String.valueOf(sequencia))
+                    .name(EVENTO_PLANO)
+                    .data(json)
+                    .build();
+            historico[posicao(sequencia)] = new Evento(sequencia, mensagem);
+            ultimaSequencia = sequencia;
+        }
+
+        assinantes.forEach(this::agendar);
+    }
+
+    public long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    public int getAssinantes() {
+        return assinantes.size();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        envio.shutdownNow();
+        assinantes.forEach(assinante -> assinante.emitter.complete());
+        assinantes.clear();
+    }
+
+    private void agendarHeartbeat() {
+        for (Assinante assinante : assinantes) {
+            assinante.heartbeat = true;
+            agendar(assinante);
+        }
+    }
+
+    /**
+     * Coloca o assinante na fila de envio, se ele ainda não estiver lá
+     */
+    private void agendar(Assinante assinante) {
+        if (assinante.agendado.compareAndSet(false, true)) {
+            try {
+                envio.execute(() -> drenar(assinante));
+            } catch (RejectedExecutionException e) {
+                assinante.agendado.set(false);
+            }
+        }
+    }
+
+    private void drenar(Assinante assinante) {
+        try {
+            enviarPendentes(assinante);
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou; o Spring encerra o emitter
+            assinantes.remove(assinante);
+            log.debug("Assinante de eventos de plano desconectado: {}", e.getMessage());
+            return;
+        } finally {
+            assinante.agendado.set(false);
+        }
+
+        // Evento publicado enquanto este assinante estava sendo atendido
+        if (assinantes.contains(assinante) && (assinante.enviado < ultimaSequencia || assinante.heartbeat)) {
+            agendar(assinante);
+        }
+    }
+
+    private void enviarPendentes(Assinante assinante) throws IOException {
+        if (assinante.reiniciar) {
+            assinante.reiniciar = false;
+            assinante.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(assinante.enviado))
+                    .name(EVENTO_REINICIO)
+                    .data("Eventos anteriores não estão mais disponíveis; consulte GET /api/alunos"));
+        }
+
+        long ultima = ultimaSequencia;
+        while (assinante.enviado < ultima) {
+            long proxima = assinante.enviado + 1;
+            Evento evento = historico[posicao(proxima)];
+            if (evento == null || evento.sequencia() != proxima) {
+                // Ficou mais de um buffer atrás: desconecta; ao reconectar recebe "reinicio"
+                assinantes.remove(assinante);
+                assinante.emitter.complete();
+                log.debug("Assinante de eventos de plano descartado por atraso (evento {})", proxima);
+                return;
+            }
+            assinante.emitter.send(evento.mensagem());
+            assinante.enviado = proxima;
+        }
+
+        if (assinante.heartbeat) {
+            assinante.heartbeat = false;
+            assinante.emitter.send(HEARTBEAT);
+        }
+    }
+
+    private int posicao(long sequencia) {
+        return (int) (sequencia % historico.length);
+    }
+
+    private record Evento(long sequencia, Set<DataWithMediaType> mensagem) {
+    }
+
+    private static final class Assinante {
+        private final SseEmitter emitter;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+
+        /**
+         * enviado e reiniciar só mudam na thread que está drenando o assinante (agendado = true);
+         * heartbeat também é ligado pelo agendador
+         */
+        private volatile long enviado;
+        private volatile boolean reiniciar;
+        private volatile boolean heartbeat;
+
+        private Assinante(SseEmitter emitter, long enviado, boolean reiniciar) {
+            this.emitter = emitter;
+            this.enviado = enviado;
+            this.reiniciar = reiniciar;
+        }
+    }
+}
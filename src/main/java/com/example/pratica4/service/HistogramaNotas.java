@@ -0,0 +1,159 @@
+package com.example.pratica4.service;
+
+import java.util.Arrays;
+
+/**
+ * Distribuição de notas (0.0 a 10.0) resumida em 1001 contadores de 0.01 ponto (usada por EstatisticasNotas).
+ *
+ * - Tamanho fixo, qualquer que seja a quantidade de notas: quantis e percentis percorrem
+ *   no máximo 1001 posições, sem ordenar nada
+ * - Erro máximo de 0.005 ponto (exato para notas com até duas casas decimais)
+ * - Somável (histogramas de cursos diferentes se juntam somando os contadores) e, ao contrário
+ *   de t-digest/KLL, permite remover uma nota, o que cobre nota corrigida e aluno excluído
+ *
+ * Não é thread-safe: quem usa controla o acesso.
+ */
+public class HistogramaNotas {
+
+    static final int POSICOES = 1001;
+
+    private final long[] contagens;
+    private long total;
+    private long somaCentesimos;
+
+    public HistogramaNotas() {
+        this(new long[POSICOES]);
+    }
+
+    private HistogramaNotas(long[] contagens) {
+        this.contagens = contagens;
+        for (int posicao = 0; posicao < POSICOES; posicao++) {
+            total += contagens[posicao];
+            somaCentesimos += contagens[posicao] * posicao;
+        }
+    }
+
+    /**
+     * Histograma a partir dos contadores (ex: lidos do checkpoint)
+     * @throws IllegalArgumentException se não forem 1001 contadores não negativos
+     */
+    public static HistogramaNotas deContagens(long[] contagens) {
+        if (contagens.length != POSICOES || Arrays.stream(contagens).anyMatch(contagem -> contagem < 0)) {
+            throw new IllegalArgumentException("Histograma de notas deve ter " + POSICOES + " contadores não negativos");
+        }
+        return new HistogramaNotas(contagens.clone());
+    }
+
+    public void adicionar(double nota, long quantidade) {
+        int posicao = posicao(nota);
+        contagens[posicao] += quantidade;
+        total += quantidade;
+        somaCentesimos += quantidade * posicao;
+    }
+
+    public void adicionar(double nota) {
+        adicionar(nota, 1);
+    }
+
+    /**
+     * Remove uma ocorrência da nota (ignorado se não houver nenhuma)
+     */
+    public void remover(double nota) {
+        int posicao = posicao(nota);
+        if (contagens[posicao] > 0) {
+            contagens[posicao]--;
+            total--;
+            somaCentesimos -= posicao;
+        }
+    }
+
+    /**
+     * Acrescenta as notas de outro histograma a este
+     */
+    public HistogramaNotas somar(HistogramaNotas outro) {
+        for (int posicao = 0; posicao < POSICOES; posicao++) {
+            contagens[posicao] += outro.contagens[posicao];
+        }
+        total += outro.total;
+        somaCentesimos += outro.somaCentesimos;
+        return this;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Média das notas (null se vazio)
+     */
+    public Double media() {
+        return total == 0 ? null : somaCentesimos / 100.0 / total;
+    }
+
+    /**
+     * Menor nota n tal que pelo menos a fração q das notas é <= n (null se vazio)
+     * @param q fração entre 0.0 e 1.0 (ex: 0.9 para o p90)
+     */
+    public Double quantil(double q) {
+        if (q < 0.0 || q > 1.0) {
+            throw new IllegalArgumentException("Quantil deve estar entre 0.0 e 1.0");
+        }
+        if (total == 0) {
+            return null;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(q * total));
+        long acumulado = 0;
+        for (int posicao = 0; posicao < POSICOES; posicao++) {
+            acumulado += contagens[posicao];
+            if (acumulado >= alvo) {
+                return nota(posicao);
+            }
+        }
+        return nota(POSICOES - 1);
+    }
+
+    /**
+     * Percentil da nota (0 a 100): notas abaixo dela mais metade das iguais, sobre o total
+     * (null se vazio)
+     */
+    public Double percentil(double nota) {
+        if (total == 0) {
+            return null;
+        }
+        int alvo = posicao(nota);
+        long abaixo = 0;
+        for (int posicao = 0; posicao < alvo; posicao++) {
+            abaixo += contagens[posicao];
+        }
+        return (abaixo + contagens[alvo] / 2.0) * 100.0 / total;
+    }
+
+    /**
+     * Quantidade de notas por faixa de um ponto: [0, 1), [1, 2) ... [9, 10] (10 inclusive na última)
+     */
+    public long[] distribuicao() {
+        long[] faixas = new long[10];
+        for (int posicao = 0; posicao < POSICOES; posicao++) {
+            faixas[Math.min(posicao / 100, 9)] += contagens[posicao];
+        }
+        return faixas;
+    }
+
+    /**
+     * Cópia dos contadores (para o checkpoint)
+     */
+    public long[] contagens() {
+        return contagens.clone();
+    }
+
+    private static int posicao(double nota) {
+        if (!(nota >= 0.0 && nota <= 10.0)) {
+            throw new IllegalArgumentException("Nota deve estar entre 0.0 e 10.0: " + nota);
+        }
+        return (int) Math.round(nota * 100);
+    }
+
+    private static double nota(int posicao) {
+        return posicao / 100.0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.dto.BuscaAlunosDTO;
+import com.example.pratica4.dto.IndiceNomesDTO;
+import com.example.pratica4.repository.AlunoNome;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.shard.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Índice em memória dos nomes dos alunos para busca enquanto se digita (GET /api/alunos/busca).
+ *
+ * - TrieNomes com cada nome normalizado (sem acentos e maiúsculas), a partir de cada palavra
+ * - Mapa ID -> nome original para responder sem consultar o banco e para retirar o nome antigo
+ *   da trie quando o aluno é renomeado ou excluído
+ * - O AlunoService informa criação, alteração e exclusão; as mudanças entram depois do commit
+ * - Na subida da aplicação o índice é montado de uma consulta só com ID e nome (reconstruir)
+ *
+ * Alterações feitas fora do AlunoService (ex: perfil reactive) só aparecem após reconstruir().
+ */
+@Slf4j
+@Service
+public class IndiceNomes {
+
+    private final AlunoRepository alunoRepository;
+    private final Shards shards;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TrieNomes trie = new TrieNomes();
+    private Map<Long, String> nomes = new HashMap<>();
+
+    public IndiceNomes(AlunoRepository alunoRepository, Shards shards) {
+        this.alunoRepository = alunoRepository;
+        this.shards = shards;
+    }
+
+    /**
+     * Remonta o índice a partir do banco (de todos os shards)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        TrieNomes novaTrie = new TrieNomes();
+        Map<Long, String> novosNomes = new HashMap<>();
+        for (AlunoNome aluno : shards.emTodos(alunoRepository::findAllNomes)) {
+            novosNomes.put(aluno.getId(), aluno.getNome());
+            novaTrie.adicionar(aluno.getNome(), aluno.getId());
+        }
+        escrever(() -> {
+            trie = novaTrie;
+            nomes = novosNomes;
+        });
+        log.info("Índice de nomes montado com {} alunos em {} ms", novosNomes.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Indexa (ou reindexa, se o nome mudou) o aluno depois do commit da transação atual
+     */
+    public void registrar(Long alunoId, String nome) {
+        Transacoes.depoisDoCommit(() -> escrever(() -> {
+            String anterior = nomes.put(alunoId, nome);
+            if (anterior != null) {
+                trie.remover(anterior, alunoId);
+            }
+            trie.adicionar(nome, alunoId);
+        }));
+    }
+
+    /**
+     * Retira o aluno do índice depois do commit da transação atual
+     */
+    public void remover(Long alunoId) {
+        Transacoes.depoisDoCommit(() -> escrever(() -> {
+            String anterior = nomes.remove(alunoId);
+            if (anterior != null) {
+                trie.remover(anterior, alunoId);
+            }
+        }));
+    }
+
+    /**
+     * Alunos cujo nome tem uma palavra começando pelo texto, em ordem alfabética
+     * @throws IllegalArgumentException se o texto não tiver letras ou números
+     */
+    public BuscaAlunosDTO buscar(String texto, int limite) {
+        if (TrieNomes.normalizar(texto).isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma letra para buscar (q)");
+        }
+        return ler(() -> BuscaAlunosDTO.builder()
+                .q(texto)
+                .alunos(trie.buscar(texto, limite).stream()
+                        .map(id -> new BuscaAlunosDTO.Item(id, nomes.get(id)))
+                        .collect(Collectors.toList()))
+                .build());
+    }
+
+    /**
+     * Tamanho e memória estimada do índice (percorre a trie inteira; não usar por requisição de busca)
+     */
+    public IndiceNomesDTO estatisticas() {
+        return ler(() -> {
+            TrieNomes.Estatisticas estatisticas = trie.estatisticas();
+            // Por entrada do HashMap: nó (32) + Long (16) + String (24 + byte[]) + posição na tabela (4)
+            long memoriaNomes = 0;
+            for (String nome : nomes.values()) {
+                memoriaNomes += 32 + 16 + 24 + ((16 + nome.length() + 7) & ~7L) + 4;
+            }
+            return IndiceNomesDTO.builder()
+                    .alunos(nomes.size())
+                    .chaves(estatisticas.chaves())
+                    .nos(estatisticas.nos())
+                    .memoriaTrieBytes(estatisticas.bytesEstimados())
+                    .memoriaNomesBytes(memoriaNomes)
+                    .memoriaTotalBytes(estatisticas.bytesEstimados() + memoriaNomes)
+                    .build();
+        });
+    }
+
+    private <R> R ler(Supplier<R> leitura) {
+        lock.readLock().lock();
+        try {
+            return leitura.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void escrever(Runnable escrita) {
+        lock.writeLock().lock();
+        try {
+            escrita.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
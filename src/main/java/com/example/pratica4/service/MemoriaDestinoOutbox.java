@@ -0,0 +1,32 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.EventoOutbox;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Destino em memória: guarda os eventos entregues (para testes e desenvolvimento).
+ * Ativado com pratica4.outbox.destino=memoria.
+ */
+@Component
+@ConditionalOnProperty(name = "pratica4.outbox.destino", havingValue = "memoria")
+public class MemoriaDestinoOutbox implements DestinoOutbox {
+
+    private final List<EventoOutbox> entregues = new ArrayList<>();
+
+    @Override
+    public synchronized void entregar(List<EventoOutbox> eventos) {
+        entregues.addAll(eventos);
+    }
+
+    public synchronized List<EventoOutbox> getEntregues() {
+        return new ArrayList<>(entregues);
+    }
+
+    public synchronized void limpar() {
+        entregues.clear();
+    }
+}
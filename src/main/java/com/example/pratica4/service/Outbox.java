@@ -0,0 +1,79 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.EventoOutbox;
+import com.example.pratica4.model.PlanoAlterado;
+import com.example.pratica4.model.TipoEventoOutbox;
+import com.example.pratica4.repository.EventoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Grava os eventos de domínio na tabela de outbox, na transação da alteração.
+ *
+ * Os métodos exigem uma transação em andamento (Propagation.MANDATORY): o evento e a
+ * alteração são confirmados ou desfeitos juntos, sem escrita dupla banco + mensageria.
+ * A entrega é feita depois pelo DespachanteOutbox.
+ */
+@Service
+@RequiredArgsConstructor
+public class Outbox {
+
+    private final EventoOutboxRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void alunoCriado(Aluno aluno) {
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("alunoId", aluno.getId());
+        dados.put("nome", aluno.getNome());
+        dados.put("plano", aluno.getPlano());
+        dados.put("dataCadastro", aluno.getDataCadastro());
+        registrar(TipoEventoOutbox.ALUNO_CRIADO, aluno.getId(), dados);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void cursoConcluido(Long alunoId, Curso curso) {
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("alunoId", alunoId);
+        dados.put("cursoId", curso.getId());
+        dados.put("media", curso.getMedia());
+        dados.put("aprovado", curso.isAprovado());
+        registrar(TipoEventoOutbox.CURSO_CONCLUIDO, alunoId, dados);
+    }
+
+    /**
+     * Mudança de plano publicada pelo Aluno no save(); gravada antes do commit da mesma transação
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void planoAlterado(PlanoAlterado alteracao) {
+        registrar(TipoEventoOutbox.PLANO_ALTERADO, alteracao.getAlunoId(), alteracao);
+    }
+
+    private void registrar(TipoEventoOutbox tipo, Long alunoId, Object dados) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(dados);
+        } catch (JsonProcessingException e) {
+            // Desfaz a alteração junto: um evento perdido seria pior que o erro
+            throw new IllegalStateException("Evento " + tipo + " não pôde ser serializado", e);
+        }
+        repository.save(EventoOutbox.builder()
+                .tipo(tipo)
+                .alunoId(alunoId)
+                .payload(payload)
+                .criadoEm(LocalDateTime.now())
+                .build());
+    }
+}
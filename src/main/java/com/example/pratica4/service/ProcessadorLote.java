@@ -0,0 +1,331 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.LoteDTO;
+import com.example.pratica4.dto.OperacaoLoteDTO;
+import com.example.pratica4.dto.ResultadoLoteDTO;
+import com.example.pratica4.dto.ResultadoOperacaoDTO;
+import com.example.pratica4.exception.VersaoDivergenteException;
+import com.example.pratica4.model.Aluno;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Executa as operações de POST /api/batch em ordem, chamando os mesmos métodos do AlunoService
+ * usados pelas rotas individuais.
+ *
+ * Todas as operações do lote compartilham o mesmo EntityManager (contexto de persistência):
+ * um aluno lido por uma operação é reaproveitado pelas seguintes em vez de ser consultado de novo.
+ *
+ * - transacional=true: uma única transação; a primeira falha desfaz tudo e as operações
+ *   restantes recebem 424
+ * - transacional=false: uma transação por operação; falhas não afetam as demais, exceto as
+ *   que dependem (via alunoRef) de uma operação que falhou
+ */
+@Slf4j
+@Service
+public class ProcessadorLote {
+
+    private static final int FALHA_DEPENDENCIA = HttpStatus.FAILED_DEPENDENCY.value();
+    private static final String MENSAGEM_CONFLITO =
+            "O aluno foi alterado por outra requisição. Recarregue e tente novamente.";
+
+    private final AlunoService alunoService;
+    private final Validator validator;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transacao;
+    private final int maximoOperacoes;
+
+    public ProcessadorLote(AlunoService alunoService, Validator validator,
+                           EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager,
+                           @Value("${pratica4.lote.maximo-operacoes:100}") int maximoOperacoes) {
+        this.alunoService = alunoService;
+        this.validator = validator;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.maximoOperacoes = maximoOperacoes;
+    }
+
+    /**
+     * Executa o lote
+     * @return um resultado por operação, na ordem recebida
+     * @throws IllegalArgumentException se o lote estiver vazio ou exceder o máximo de operações
+     */
+    public ResultadoLoteDTO executar(LoteDTO lote) {
+        List<OperacaoLoteDTO> operacoes = lote.getOperacoes();
+        if (operacoes == null || operacoes.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve ter ao menos uma operação");
+        }
+        if (operacoes.size() > maximoOperacoes) {
+            throw new IllegalArgumentException("O lote excede o máximo de " + maximoOperacoes + " operações");
+        }
+
+        boolean vincularContexto = !TransactionSynchronizationManager.hasResource(entityManagerFactory);
+        EntityManager entityManager = null;
+        if (vincularContexto) {
+            entityManager = entityManagerFactory.createEntityManager();
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        }
+        try {
+            List<ResultadoOperacaoDTO> resultados = lote.isTransacional()
+                    ? executarTransacional(operacoes)
+                    : executarIndependentes(operacoes);
+            return resumir(lote.isTransacional(), resultados);
+        } finally {
+            if (vincularContexto) {
+                TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+                entityManager.close();
+            }
+        }
+    }
+
+    private List<ResultadoOperacaoDTO> executarIndependentes(List<OperacaoLoteDTO> operacoes) {
+        List<ResultadoOperacaoDTO> resultados = new ArrayList<>();
+        Map<String, Long> referencias = new HashMap<>();
+
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoLoteDTO operacao = operacoes.get(i);
+            int indice = i;
+            try {
+                resultados.add(transacao.execute(status -> {
+                    ResultadoOperacaoDTO resultado = executarOperacao(indice, operacao, referencias);
+                    if (resultado.getStatus() >= 400) {
+                        status.setRollbackOnly();
+                    }
+                    return resultado;
+                }));
+            } catch (OptimisticLockingFailureException e) {
+                referencias.remove(operacao.getRef());
+                resultados.add(falha(indice, operacao, HttpStatus.CONFLICT.value(), MENSAGEM_CONFLITO));
+            }
+        }
+        return resultados;
+    }
+
+    private List<ResultadoOperacaoDTO> executarTransacional(List<OperacaoLoteDTO> operacoes) {
+        List<ResultadoOperacaoDTO> resultados = new ArrayList<>();
+        Map<String, Long> referencias = new HashMap<>();
+
+        Integer falhou;
+        try {
+            falhou = transacao.execute(status -> {
+                for (int i = 0; i < operacoes.size(); i++) {
+                    ResultadoOperacaoDTO resultado = executarOperacao(i, operacoes.get(i), referencias);
+                    resultados.add(resultado);
+                    if (resultado.getStatus() >= 400) {
+                        status.setRollbackOnly();
+                        return i;
+                    }
+                }
+                return null;
+            });
+        } catch (OptimisticLockingFailureException e) {
+            // Conflito detectado só no commit: nenhuma operação foi confirmada
+            falhou = resultados.size() - 1;
+            resultados.set(falhou, falha(falhou, operacoes.get(falhou), HttpStatus.CONFLICT.value(), MENSAGEM_CONFLITO));
+        }
+
+        if (falhou == null) {
+            return resultados;
+        }
+        for (int i = 0; i < falhou; i++) {
+            resultados.set(i, falha(i, operacoes.get(i), FALHA_DEPENDENCIA,
+                    "Desfeita: a operação " + falhou + " falhou"));
+        }
+        for (int i = falhou + 1; i < operacoes.size(); i++) {
+            resultados.add(falha(i, operacoes.get(i), FALHA_DEPENDENCIA,
+                    "Não executada: a operação " + falhou + " falhou"));
+        }
+        return resultados;
+    }
+
+    /**
+     * Executa uma operação e converte exceções no status que a rota individual retornaria
+     */
+    private ResultadoOperacaoDTO executarOperacao(int indice, OperacaoLoteDTO operacao, Map<String, Long> referencias) {
+        try {
+            validar(operacao);
+            ResultadoOperacaoDTO resultado = despachar(indice, operacao, referencias);
+            if (operacao.getRef() != null && resultado.getCorpo() != null) {
+                referencias.put(operacao.getRef(), resultado.getCorpo().getId());
+            }
+            return resultado;
+        } catch (OperacaoDependenteException e) {
+            return falha(indice, operacao, FALHA_DEPENDENCIA, e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return falha(indice, operacao, HttpStatus.NOT_FOUND.value(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return falha(indice, operacao, HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        } catch (VersaoDivergenteException e) {
+            return falha(indice, operacao, HttpStatus.PRECONDITION_FAILED.value(), e.getMessage());
+        } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+            return falha(indice, operacao, HttpStatus.CONFLICT.value(), MENSAGEM_CONFLITO);
+        } catch (RuntimeException e) {
+            log.error("Erro inesperado na operação {} do lote", indice, e);
+            return falha(indice, operacao, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    "Erro interno ao executar a operação");
+        }
+    }
+
+    private ResultadoOperacaoDTO despachar(int indice, OperacaoLoteDTO operacao, Map<String, Long> referencias) {
+        switch (operacao.getTipo()) {
+            case CRIAR_ALUNO:
+                return sucesso(indice, operacao, HttpStatus.CREATED,
+                        alunoService.criarAluno(operacao.getAluno().toEntity()));
+            case BUSCAR_ALUNO:
+                return sucesso(indice, operacao, HttpStatus.OK,
+                        alunoService.buscarPorId(alunoId(operacao, referencias)));
+            case ATUALIZAR_ALUNO: {
+                Long alunoId = alunoId(operacao, referencias);
+                Aluno alunoAtualizado = operacao.getAluno().toEntity();
+                return sucesso(indice, operacao, HttpStatus.OK, operacao.getVersao() == null
+                        ? alunoService.atualizarAluno(alunoId, alunoAtualizado)
+                        : alunoService.atualizarAluno(alunoId, alunoAtualizado, operacao.getVersao()));
+            }
+            case DELETAR_ALUNO:
+                alunoService.deletarAluno(alunoId(operacao, referencias));
+                descarregar();
+                return ResultadoOperacaoDTO.builder()
+                        .indice(indice)
+                        .ref(operacao.getRef())
+                        .status(HttpStatus.NO_CONTENT.value())
+                        .build();
+            case ADICIONAR_CURSO:
+                return sucesso(indice, operacao, HttpStatus.OK,
+                        alunoService.adicionarCurso(alunoId(operacao, referencias), operacao.getCurso().toEntity()));
+            case CONCLUIR_CURSO: {
+                Long alunoId = alunoId(operacao, referencias);
+                double media = operacao.getNota().getMedia();
+                return sucesso(indice, operacao, HttpStatus.OK, operacao.getVersao() == null
+                        ? alunoService.concluirCurso(alunoId, operacao.getCursoId(), media)
+                        : alunoService.concluirCurso(alunoId, operacao.getCursoId(), media, operacao.getVersao()));
+            }
+            default:
+                throw new IllegalArgumentException("Tipo de operação não suportado: " + operacao.getTipo());
+        }
+    }
+
+    /**
+     * Confere os campos exigidos pelo tipo e aplica a Bean Validation dos DTOs aninhados
+     */
+    private void validar(OperacaoLoteDTO operacao) {
+        if (operacao.getTipo() == null) {
+            throw new IllegalArgumentException("Tipo da operação é obrigatório");
+        }
+        switch (operacao.getTipo()) {
+            case CRIAR_ALUNO:
+            case ATUALIZAR_ALUNO:
+                exigir(operacao.getAluno(), "aluno");
+                break;
+            case ADICIONAR_CURSO:
+                exigir(operacao.getCurso(), "curso");
+                break;
+            case CONCLUIR_CURSO:
+                exigir(operacao.getCursoId(), "cursoId");
+                exigir(operacao.getNota(), "nota");
+                break;
+            default:
+                break;
+        }
+        if (operacao.getTipo() != OperacaoLoteDTO.Tipo.CRIAR_ALUNO
+                && operacao.getAlunoId() == null && operacao.getAlunoRef() == null) {
+            throw new IllegalArgumentException("Informe alunoId ou alunoRef na operação " + operacao.getTipo());
+        }
+    }
+
+    private void exigir(Object valor, String campo) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Campo " + campo + " é obrigatório");
+        }
+        Set<ConstraintViolation<Object>> violacoes = validator.validate(valor);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.stream()
+                    .map(v -> campo + "." + v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private Long alunoId(OperacaoLoteDTO operacao, Map<String, Long> referencias) {
+        if (operacao.getAlunoRef() == null) {
+            return operacao.getAlunoId();
+        }
+        Long alunoId = referencias.get(operacao.getAlunoRef());
+        if (alunoId == null) {
+            throw new OperacaoDependenteException("A operação referenciada '" + operacao.getAlunoRef()
+                    + "' não existe ou não foi executada com sucesso");
+        }
+        return alunoId;
+    }
+
+    /**
+     * Grava as alterações da operação antes de montar o resultado: a versão (ETag) já sai
+     * incrementada e um erro de banco é atribuído à operação que o causou
+     */
+    private void descarregar() {
+        EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory).flush();
+    }
+
+    private ResultadoOperacaoDTO sucesso(int indice, OperacaoLoteDTO operacao, HttpStatus status, Aluno aluno) {
+        descarregar();
+        ResultadoOperacaoDTO resultado = ResultadoOperacaoDTO.builder()
+                .indice(indice)
+                .ref(operacao.getRef())
+                .status(status.value())
+                .versao(aluno.getVersao())
+                .corpo(AlunoDTO.fromEntity(aluno))
+                .build();
+        // Conclusões de curso incrementam a versão só no commit (OPTIMISTIC_FORCE_INCREMENT)
+        Transacoes.depoisDoCommit(() -> resultado.setVersao(aluno.getVersao()));
+        return resultado;
+    }
+
+    private ResultadoOperacaoDTO falha(int indice, OperacaoLoteDTO operacao, int status, String erro) {
+        return ResultadoOperacaoDTO.builder()
+                .indice(indice)
+                .ref(operacao.getRef())
+                .status(status)
+                .erro(erro)
+                .build();
+    }
+
+    private ResultadoLoteDTO resumir(boolean transacional, List<ResultadoOperacaoDTO> resultados) {
+        int sucessos = (int) resultados.stream().filter(r -> r.getStatus() < 400).count();
+        return ResultadoLoteDTO.builder()
+                .transacional(transacional)
+                .sucessos(sucessos)
+                .falhas(resultados.size() - sucessos)
+                .resultados(resultados)
+                .build();
+    }
+
+    /**
+     * A operação depende (via alunoRef) de outra que não produziu um aluno
+     */
+    private static class OperacaoDependenteException extends RuntimeException {
+        OperacaoDependenteException(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.NotaPendente;
+import com.example.pratica4.model.SituacaoNota;
+import com.example.pratica4.repository.FilaNotasArquivo;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Modo assíncrono de conclusão de curso: enfileira a nota e a aplica depois.
+ *
+ * - enviar(): valida, grava a nota na FilaNotasArquivo (durável) e entrega a um consumidor
+ * - Cada aluno é sempre atendido pelo mesmo consumidor (alunoId % consumidores), então as
+ *   notas de um aluno são aplicadas em ordem e nunca em paralelo
+ * - O consumidor junta as notas disponíveis em micro-lotes por aluno e aplica cada lote
+ *   em uma transação (AlunoService.aplicarNotas); só depois do commit a nota é marcada
+ *   como APLICADA no arquivo
+ *
+ * Semântica "pelo menos uma vez": se a aplicação cair entre o commit e a marcação, a nota
+ * volta como PENDENTE na próxima inicialização e é aplicada de novo (concluir com a mesma
+ * média é idempotente). Falhas temporárias (ex: banco indisponível) são repetidas com
+ * espera crescente; aluno ou curso inexistente marca a nota como FALHOU.
+ */
+@Slf4j
+@Service
+@Profile("!reactive")
+public class ProcessadorNotas {
+
+    private static final int MAXIMO_MENSAGENS_FALHA = 1000;
+
+    private final AlunoService alunoService;
+    private final FilaNotasArquivo fila;
+    private final int tamanhoLote;
+    private final int maximoTentativas;
+    private final long esperaInicialMillis;
+    private final List<BlockingQueue<NotaPendente>> filasConsumidores = new ArrayList<>();
+    private final List<Thread> consumidores = new ArrayList<>();
+    private final Map<Long, String> mensagensFalha = Collections.synchronizedMap(
+            new LinkedHashMap<Long, String>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, String> maisAntiga) {
+                    return size() > MAXIMO_MENSAGENS_FALHA;
+                }
+            });
+
+    private volatile boolean ativo = true;
+
+    public ProcessadorNotas(AlunoService alunoService, FilaNotasArquivo fila,
+                            @Value("${pratica4.notas.consumidores:2}") int quantidadeConsumidores,
+                            @Value("${pratica4.notas.lote:50}") int tamanhoLote,
+                            @Value("${pratica4.notas.tentativas:5}") int maximoTentativas,
+                            @Value("${pratica4.notas.espera-inicial-ms:200}") long esperaInicialMillis) {
+        this.alunoService = alunoService;
+        this.fila = fila;
+        this.tamanhoLote = tamanhoLote;
+        this.maximoTentativas = maximoTentativas;
+        this.esperaInicialMillis = esperaInicialMillis;
+
+        for (int i = 0; i < quantidadeConsumidores; i++) {
+            BlockingQueue<NotaPendente> filaConsumidor = new LinkedBlockingQueue<>();
+            filasConsumidores.add(filaConsumidor);
+            Thread consumidor = new Thread(() -> consumir(filaConsumidor), "notas-consumidor-" + i);
+            consumidor.setDaemon(true);
+            consumidores.add(consumidor);
+        }
+    }
+
+    /**
+     * Inicia os consumidores quando a aplicação está pronta, reenfileirando as notas
+     * que ficaram pendentes no arquivo (recuperação após queda)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        List<NotaPendente> recuperadas = fila.retirarRecuperadas();
+        if (!recuperadas.isEmpty()) {
+            log.info("Fila de notas: {} notas pendentes recuperadas do arquivo", recuperadas.size());
+        }
+        recuperadas.forEach(this::distribuir);
+        consumidores.forEach(Thread::start);
+    }
+
+    /**
+     * Registra uma nota para aplicação assíncrona
+     * @return nota PENDENTE com a sequência para consulta da situação
+     * @throws EntityNotFoundException se o curso não pertencer ao aluno
+     * @throws IllegalArgumentException se a média for inválida
+     * @throws com.example.pratica4.exception.SobrecargaException se a fila estiver cheia
+     */
+    public NotaPendente enviar(Long alunoId, Long cursoId, double media) {
+        if (media < 0.0 || media > 10.0) {
+            throw new IllegalArgumentException("Média deve estar entre 0.0 e 10.0");
+        }
+        alunoService.verificarCursoDoAluno(alunoId, cursoId);
+
+        NotaPendente nota = fila.acrescentar(alunoId, cursoId, media);
+        distribuir(nota);
+        return nota;
+    }
+
+    /**
+     * Situação atual de uma nota enviada
+     * @throws EntityNotFoundException se a sequência não existir ou já tiver sido descartada da fila
+     */
+    public NotaPendente consultar(long sequencia) {
+        return fila.buscar(sequencia)
+                .orElseThrow(() -> new EntityNotFoundException("Nota não encontrada na fila: " + sequencia));
+    }
+
+    /**
+     * Motivo da falha de uma nota (mantido em memória para as falhas mais recentes)
+     */
+    public Optional<String> motivoFalha(long sequencia) {
+        return Optional.ofNullable(mensagensFalha.get(sequencia));
+    }
+
+    public int getPendentes() {
+        return fila.getPendentes();
+    }
+
+    public long getUltimaSequencia() {
+        return fila.getUltimaSequencia();
+    }
+
+    public int getCapacidade() {
+        return fila.getCapacidade();
+    }
+
+    @PreDestroy
+    public void parar() {
+        ativo = false;
+        consumidores.forEach(Thread::interrupt);
+        for (Thread consumidor : consumidores) {
+            try {
+                consumidor.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void distribuir(NotaPendente nota) {
+        int indice = (int) Math.floorMod(nota.getAlunoId(), (long) filasConsumidores.size());
+        filasConsumidores.get(indice).add(nota);
+    }
+
+    private void consumir(BlockingQueue<NotaPendente> filaConsumidor) {
+        while (ativo) {
+            try {
+                List<NotaPendente> lote = new ArrayList<>();
+                lote.add(filaConsumidor.take());
+                filaConsumidor.drainTo(lote, tamanhoLote - 1);
+                processar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Agrupa o micro-lote por aluno e aplica cada grupo em uma transação
+     */
+    void processar(List<NotaPendente> lote) throws InterruptedException {
+        Map<Long, List<NotaPendente>> porAluno = new LinkedHashMap<>();
+        for (NotaPendente nota : lote) {
+            porAluno.computeIfAbsent(nota.getAlunoId(), id -> new ArrayList<>()).add(nota);
+        }
+        for (Map.Entry<Long, List<NotaPendente>> grupo : porAluno.entrySet()) {
+            aplicar(grupo.getKey(), grupo.getValue());
+        }
+    }
+
+    /**
+     * Aplica as notas de um aluno; falhas temporárias são repetidas no próprio consumidor
+     * (com espera crescente) para não inverter a ordem das notas do aluno
+     */
+    private void aplicar(Long alunoId, List<NotaPendente> notas) throws InterruptedException {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                List<NotaPendente> ignoradas = alunoService.aplicarNotas(alunoId, notas);
+                for (NotaPendente nota : notas) {
+                    if (ignoradas.contains(nota)) {
+                        falhar(nota, "Curso com ID " + nota.getCursoId() + " não encontrado para o aluno " + alunoId);
+                    } else {
+                        fila.marcar(nota.getSequencia(), SituacaoNota.APLICADA);
+                    }
+                }
+                return;
+            } catch (EntityNotFoundException e) {
+                notas.forEach(nota -> falhar(nota, e.getMessage()));
+                return;
+            } catch (RuntimeException e) {
+                if (tentativa >= maximoTentativas) {
+                    notas.forEach(nota -> falhar(nota, "Falha após " + maximoTentativas + " tentativas: " + e.getMessage()));
+                    return;
+                }
+                long espera = esperaInicialMillis << (tentativa - 1);
+                log.warn("Notas do aluno {} não aplicadas (tentativa {}), nova tentativa em {} ms: {}",
+                        alunoId, tentativa, espera, e.getMessage());
+                Thread.sleep(espera);
+            }
+        }
+    }
+
+    private void falhar(NotaPendente nota, String motivo) {
+        log.warn("Nota {} marcada como FALHOU: {}", nota.getSequencia(), motivo);
+        mensagensFalha.put(nota.getSequencia(), motivo);
+        fila.marcar(nota.getSequencia(), SituacaoNota.FALHOU);
+    }
+}
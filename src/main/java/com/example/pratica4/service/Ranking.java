@@ -0,0 +1,292 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.dto.RankingDTO;
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.PoliticaPlanos;
+import com.example.pratica4.repository.AlunoPontuacao;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.shard.Shards;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Ranking dos alunos em memória (GET /api/ranking).
+ *
+ * - Uma ArvoreEstatistica por critério: os n primeiros e a posição de um aluno saem em
+ *   O(log n), sem ordenar a base a cada consulta
+ * - O AlunoService informa cada aluno alterado (registrar/remover); a entrada é calculada na
+ *   hora, mas só entra nas árvores depois do commit (alteração desfeita não aparece)
+ * - Na subida da aplicação as árvores são montadas de uma consulta agregada (reconstruir)
+ *
+ * Alterações feitas fora do AlunoService (ex: perfil reactive) só aparecem após reconstruir().
+ */
+@Slf4j
+@Service
+public class Ranking {
+
+    private static final long SEGUNDOS_POR_DIA = 86_400;
+
+    /**
+     * Critérios de classificação; o desempate final é sempre o ID do aluno
+     */
+    public enum Criterio {
+        /** Mais cursos aprovados (desempate: maior média) */
+        APROVADOS(Comparator.comparingLong(Entrada::getCursosAprovados).reversed()
+                .thenComparing(Entrada::getMedia, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Entrada::getAlunoId)),
+        /** Maior média dos cursos concluídos (desempate: mais aprovados); só quem concluiu algum */
+        MEDIA(Comparator.comparing(Entrada::getMedia, Comparator.reverseOrder())
+                .thenComparing(Comparator.comparingLong(Entrada::getCursosAprovados).reversed())
+                .thenComparing(Entrada::getAlunoId)),
+        /** Menor tempo entre o cadastro e a chegada ao Premium; só quem já chegou */
+        PREMIUM(Comparator.comparingLong(Entrada::getSegundosAtePremium)
+                .thenComparing(Entrada::getAlunoId));
+
+        private final Comparator<Entrada> ordem;
+
+        Criterio(Comparator<Entrada> ordem) {
+            this.ordem = ordem;
+        }
+
+        /**
+         * Critério pelo nome usado na API (aprovados, media, premium)
+         * @throws IllegalArgumentException se o nome não for um critério
+         */
+        public static Criterio de(String nome) {
+            for (Criterio criterio : values()) {
+                if (criterio.getParametro().equalsIgnoreCase(nome)) {
+                    return criterio;
+                }
+            }
+            throw new IllegalArgumentException("Critério de ranking inválido: " + nome
+                    + " (use aprovados, media ou premium)");
+        }
+
+        public String getParametro() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        private boolean classifica(Entrada entrada) {
+            return switch (this) {
+                case APROVADOS -> true;
+                case MEDIA -> entrada.media != null;
+                case PREMIUM -> entrada.segundosAtePremium != null;
+            };
+        }
+    }
+
+    /**
+     * Dados de um aluno no ranking (imutável; as árvores comparam por valor)
+     */
+    @Getter
+    @EqualsAndHashCode
+    public static final class Entrada {
+        private final Long alunoId;
+        private final String nome;
+        private final long cursosAprovados;
+        private final Double media;
+        private final Long segundosAtePremium;
+
+        Entrada(Long alunoId, String nome, long cursosAprovados, Double media,
+                LocalDate dataCadastro, LocalDateTime premiumEm) {
+            this.alunoId = alunoId;
+            this.nome = nome;
+            this.cursosAprovados = cursosAprovados;
+            this.media = media;
+            this.segundosAtePremium = premiumEm == null ? null : Math.max(0, Duration.between(
+                    dataCadastro != null ? dataCadastro.atStartOfDay() : premiumEm, premiumEm).getSeconds());
+        }
+
+        static Entrada de(Aluno aluno) {
+            OptionalDouble media = aluno.getCursos().stream()
+                    .filter(Curso::isConcluido)
+                    .mapToDouble(Curso::getMedia)
+                    .average();
+            return new Entrada(aluno.getId(), aluno.getNome(), aluno.contarAprovados(PoliticaPlanos.atual()),
+                    media.isPresent() ? media.getAsDouble() : null, aluno.getDataCadastro(), aluno.getPremiumEm());
+        }
+
+        static Entrada de(AlunoPontuacao pontuacao) {
+            return new Entrada(pontuacao.getId(), pontuacao.getNome(), pontuacao.getCursosAprovados(),
+                    pontuacao.getMedia(), pontuacao.getDataCadastro(), pontuacao.getPremiumEm());
+        }
+    }
+
+    private final AlunoRepository alunoRepository;
+    private final Shards shards;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Entrada> entradas = new HashMap<>();
+    private Map<Criterio, ArvoreEstatistica<Entrada>> arvores = novasArvores();
+
+    public Ranking(AlunoRepository alunoRepository, Shards shards) {
+        this.alunoRepository = alunoRepository;
+        this.shards = shards;
+    }
+
+    /**
+     * Remonta todas as árvores a partir do banco (de todos os shards)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        Map<Long, Entrada> novasEntradas = new HashMap<>();
+        Map<Criterio, ArvoreEstatistica<Entrada>> novas = novasArvores();
+        for (AlunoPontuacao pontuacao : shards.emTodos(alunoRepository::findAllPontuacoes)) {
+            Entrada entrada = Entrada.de(pontuacao);
+            novasEntradas.put(entrada.alunoId, entrada);
+            indexar(novas, entrada);
+        }
+        escrever(() -> {
+            entradas = novasEntradas;
+            arvores = novas;
+        });
+        log.info("Ranking montado com {} alunos em {} ms", novasEntradas.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Atualiza o aluno no ranking depois do commit da transação atual (ou já, sem transação)
+     * Deve ser chamado com o aluno já salvo (com ID) e com os cursos acessíveis.
+     */
+    public void registrar(Aluno aluno) {
+        Entrada entrada = Entrada.de(aluno);
+        Transacoes.depoisDoCommit(() -> aplicar(entrada));
+    }
+
+    /**
+     * Retira o aluno do ranking depois do commit da transação atual (ou já, sem transação)
+     */
+    public void remover(Long alunoId) {
+        Transacoes.depoisDoCommit(() -> escrever(() -> {
+            Entrada anterior = entradas.remove(alunoId);
+            if (anterior != null) {
+                desindexar(arvores, anterior);
+            }
+        }));
+    }
+
+    /**
+     * Os primeiros alunos pelo critério
+     * @param limite quantidade máxima de alunos
+     */
+    public RankingDTO listar(Criterio criterio, int limite) {
+        return ler(() -> {
+            ArvoreEstatistica<Entrada> arvore = arvores.get(criterio);
+            List<Entrada> primeiros = arvore.primeiros(limite);
+            int[] posicao = {0};
+            return RankingDTO.builder()
+                    .criterio(criterio.getParametro())
+                    .total(arvore.tamanho())
+                    .alunos(primeiros.stream()
+                            .map(entrada -> posicao(entrada, ++posicao[0]))
+                            .collect(Collectors.toList()))
+                    .build();
+        });
+    }
+
+    /**
+     * Posição de um aluno pelo critério (posicao null se ele não se classifica no critério)
+     * @throws AlunoNaoEncontradoException se o aluno não está no ranking
+     */
+    public RankingDTO.Posicao posicao(Criterio criterio, Long alunoId) {
+        return ler(() -> {
+            Entrada entrada = entradas.get(alunoId);
+            if (entrada == null) {
+                throw new AlunoNaoEncontradoException(alunoId);
+            }
+            int indice = arvores.get(criterio).posicao(entrada);
+            return posicao(entrada, indice < 0 ? null : indice + 1);
+        });
+    }
+
+    /**
+     * Quantidade de alunos no ranking
+     */
+    public int tamanho() {
+        return ler(() -> entradas.size());
+    }
+
+    private void aplicar(Entrada entrada) {
+        escrever(() -> {
+            Entrada anterior = entradas.put(entrada.alunoId, entrada);
+            if (anterior != null) {
+                desindexar(arvores, anterior);
+            }
+            indexar(arvores, entrada);
+        });
+    }
+
+    private static void indexar(Map<Criterio, ArvoreEstatistica<Entrada>> arvores, Entrada entrada) {
+        arvores.forEach((criterio, arvore) -> {
+            if (criterio.classifica(entrada)) {
+                arvore.adicionar(entrada);
+            }
+        });
+    }
+
+    private static void desindexar(Map<Criterio, ArvoreEstatistica<Entrada>> arvores, Entrada entrada) {
+        arvores.forEach((criterio, arvore) -> {
+            if (criterio.classifica(entrada)) {
+                arvore.remover(entrada);
+            }
+        });
+    }
+
+    private static Map<Criterio, ArvoreEstatistica<Entrada>> novasArvores() {
+        Map<Criterio, ArvoreEstatistica<Entrada>> arvores = new EnumMap<>(Criterio.class);
+        for (Criterio criterio : Criterio.values()) {
+            arvores.put(criterio, new ArvoreEstatistica<>(criterio.ordem));
+        }
+        return arvores;
+    }
+
+    private static RankingDTO.Posicao posicao(Entrada entrada, Integer posicao) {
+        return RankingDTO.Posicao.builder()
+                .posicao(posicao)
+                .alunoId(entrada.alunoId)
+                .nome(entrada.nome)
+                .cursosAprovados(entrada.cursosAprovados)
+                .media(entrada.media)
+                .diasAtePremium(entrada.segundosAtePremium == null ? null : entrada.segundosAtePremium / SEGUNDOS_POR_DIA)
+                .build();
+    }
+
+    private <R> R ler(Supplier<R> leitura) {
+        lock.readLock().lock();
+        try {
+            return leitura.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void escrever(Runnable escrita) {
+        lock.writeLock().lock();
+        try {
+            escrita.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.dto.ResultadoSimulacaoDTO;
+import com.example.pratica4.dto.SimulacaoDTO;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
+import com.example.pratica4.shard.Shards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Simulação de mudanças na política de planos sobre toda a base (POST /api/simulacoes).
+ *
+ * - As notas são lidas numa única consulta em streaming (alunos LEFT JOIN cursos concluídos,
+ *   em ordem de aluno) para um SnapshotNotas colunar, reaproveitado por validade-ms
+ * - A avaliação divide os alunos entre as threads de um ForkJoinPool próprio; cada aluno custa
+ *   uma busca binária nas suas médias e uma consulta à tabela da política candidata
+ * - Nada é gravado: a política em vigor e os planos dos alunos não mudam
+ */
+@Slf4j
+@Service
+@Profile("!reactive")
+public class SimuladorPlanos {
+
+    static final String CONSULTA_NOTAS = "SELECT a.id, a.plano, c.media FROM alunos a "
+            + "LEFT JOIN cursos c ON c.aluno_id = a.id AND c.concluido = true ORDER BY a.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Shards shards;
+    private final Duration validade;
+    private final int tamanhoTarefa;
+    private final ForkJoinPool pool;
+
+    private SnapshotNotas snapshot;
+
+    public SimuladorPlanos(DataSource dataSource, Shards shards,
+                           @Value("${pratica4.simulacoes.validade-ms:60000}") long validadeMillis,
+                           @Value("${pratica4.simulacoes.paralelismo:0}") int paralelismo,
+                           @Value("${pratica4.simulacoes.tamanho-tarefa:8192}") int tamanhoTarefa,
+                           @Value("${pratica4.simulacoes.fetch-size:10000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.shards = shards;
+        this.validade = Duration.ofMillis(validadeMillis);
+        this.tamanhoTarefa = tamanhoTarefa;
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Compara a política candidata com a atual para todos os alunos
+     * @throws IllegalArgumentException se a política candidata for inválida
+     */
+    public ResultadoSimulacaoDTO simular(SimulacaoDTO simulacao) {
+        PoliticaPlanos atual = PoliticaPlanos.atual();
+        PoliticaPlanos candidata = candidata(simulacao, atual);
+        SnapshotNotas notas = snapshot();
+
+        long inicio = System.nanoTime();
+        SnapshotNotas.Contagem contagem = notas.simular(atual, candidata, pool, tamanhoTarefa);
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        Map<Plano, Integer> inicioFaixa = inicioFaixas(atual, candidata);
+        List<ResultadoSimulacaoDTO.Transicao> transicoes = new ArrayList<>();
+        long upgrades = 0;
+        long downgrades = 0;
+        long inalterados = 0;
+        for (Plano de : Plano.values()) {
+            for (Plano para : Plano.values()) {
+                long alunos = contagem.transicoes(de, para);
+                if (alunos == 0) {
+                    continue;
+                }
+                transicoes.add(new ResultadoSimulacaoDTO.Transicao(de, para, alunos));
+                int comparacao = Integer.compare(inicioFaixa.get(para), inicioFaixa.get(de));
+                if (comparacao > 0) {
+                    upgrades += alunos;
+                } else if (comparacao < 0) {
+                    downgrades += alunos;
+                } else {
+                    inalterados += alunos;
+                }
+            }
+        }
+
+        log.debug("Simulação de {} alunos avaliada em {} ms", notas.getAlunos(), duracaoMs);
+        return ResultadoSimulacaoDTO.builder()
+                .alunos(notas.getAlunos())
+                .mediaAprovacao(candidata.getMediaAprovacao())
+                .faixas(candidata.getFaixas().stream()
+                        .map(faixa -> new SimulacaoDTO.Faixa(faixa.plano(), faixa.cursos(), faixa.beneficiosPremium()))
+                        .collect(Collectors.toList()))
+                .upgrades(upgrades)
+                .downgrades(downgrades)
+                .inalterados(inalterados)
+                .transicoes(transicoes)
+                .histogramaAtual(Arrays.stream(contagem.getHistogramaAtual()).boxed().collect(Collectors.toList()))
+                .histogramaSimulado(Arrays.stream(contagem.getHistogramaSimulado()).boxed().collect(Collectors.toList()))
+                .snapshotGeradoEm(notas.getGeradoEm())
+                .duracaoMs(duracaoMs)
+                .build();
+    }
+
+    /**
+     * Snapshot das notas, relido do banco quando passa da validade
+     */
+    public synchronized SnapshotNotas snapshot() {
+        if (snapshot == null || snapshot.getGeradoEm().plus(validade).isBefore(LocalDateTime.now())) {
+            long inicio = System.nanoTime();
+            snapshot = carregar();
+            log.info("Snapshot de notas carregado: {} alunos, {} cursos concluídos em {} ms", snapshot.getAlunos(),
+                    snapshot.getCursosConcluidos(), (System.nanoTime() - inicio) / 1_000_000);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Descarta o snapshot; a próxima simulação relê o banco
+     */
+    public synchronized void descartarSnapshot() {
+        snapshot = null;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdownNow();
+    }
+
+    private SnapshotNotas carregar() {
+        SnapshotNotas.Construtor construtor = SnapshotNotas.construtor();
+        long[] alunoAnterior = {Long.MIN_VALUE};
+        // Um shard depois do outro: cada consulta traz alunos inteiros, em ordem de ID
+        shards.emCada(() -> jdbcTemplate.query(CONSULTA_NOTAS, linha -> {
+            long alunoId = linha.getLong(1);
+            if (alunoId != alunoAnterior[0]) {
+                construtor.novoAluno(Plano.valueOf(linha.getString(2)));
+                alunoAnterior[0] = alunoId;
+            }
+            double media = linha.getDouble(3);
+            if (!linha.wasNull()) {
+                construtor.cursoConcluido(media);
+            }
+        }));
+        return construtor.build();
+    }
+
+    private static PoliticaPlanos candidata(SimulacaoDTO simulacao, PoliticaPlanos atual) {
+        PoliticaPlanos.Builder builder = PoliticaPlanos.builder()
+                .mediaAprovacao(simulacao.getMediaAprovacao() != null
+                        ? simulacao.getMediaAprovacao() : atual.getMediaAprovacao())
+                // Mensagens não entram na simulação
+                .mensagem(0, "");
+        if (simulacao.getFaixas() == null || simulacao.getFaixas().isEmpty()) {
+            atual.getFaixas().forEach(faixa -> builder.faixa(faixa.plano(), faixa.cursos(), faixa.beneficiosPremium()));
+        } else {
+            simulacao.getFaixas().forEach(faixa -> builder.faixa(faixa.getPlano(), faixa.getCursos(), faixa.isBeneficiosPremium()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Início da faixa de cada plano, para classificar upgrade/downgrade: pela política
+     * candidata, ou pela atual se o plano não estiver na candidata (0 se em nenhuma)
+     */
+    private static Map<Plano, Integer> inicioFaixas(PoliticaPlanos atual, PoliticaPlanos candidata) {
+        Map<Plano, Integer> inicio = new EnumMap<>(Plano.class);
+        for (Plano plano : Plano.values()) {
+            inicio.put(plano, 0);
+        }
+        atual.getFaixas().forEach(faixa -> inicio.put(faixa.plano(), faixa.cursos()));
+        candidata.getFaixas().forEach(faixa -> inicio.put(faixa.plano(), faixa.cursos()));
+        return inicio;
+    }
+}
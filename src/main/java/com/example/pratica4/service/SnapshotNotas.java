@@ -0,0 +1,218 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Cópia colunar, em memória, das notas de todos os alunos (usada por SimuladorPlanos).
+ *
+ * Em vez de um objeto por aluno/curso, arrays primitivos:
+ * - planos[i]: plano gravado do aluno i (ordinal de Plano)
+ * - medias[inicio[i] .. inicio[i + 1]): médias dos cursos concluídos do aluno i, em ordem
+ *   crescente, então os aprovados para qualquer média de corte saem de uma busca binária
+ *
+ * Imutável depois de construída; pode ser lida por várias threads ao mesmo tempo.
+ */
+public class SnapshotNotas {
+
+    private static final Plano[] PLANOS = Plano.values();
+
+    private final int alunos;
+    private final byte[] planos;
+    private final int[] inicio;
+    private final double[] medias;
+
+    @Getter
+    private final LocalDateTime geradoEm;
+
+    private SnapshotNotas(int alunos, byte[] planos, int[] inicio, double[] medias, LocalDateTime geradoEm) {
+        this.alunos = alunos;
+        this.planos = planos;
+        this.inicio = inicio;
+        this.medias = medias;
+        this.geradoEm = geradoEm;
+    }
+
+    public static Construtor construtor() {
+        return new Construtor();
+    }
+
+    public int getAlunos() {
+        return alunos;
+    }
+
+    public int getCursosConcluidos() {
+        return inicio[alunos];
+    }
+
+    public Plano plano(int aluno) {
+        return PLANOS[planos[aluno]];
+    }
+
+    /**
+     * Cursos concluídos do aluno com média >= corte
+     */
+    public int aprovados(int aluno, double corte) {
+        int de = inicio[aluno];
+        int ate = inicio[aluno + 1];
+        // Primeira posição com média >= corte (medias do aluno em ordem crescente)
+        int baixo = de;
+        int alto = ate;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (medias[meio] < corte) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return ate - baixo;
+    }
+
+    /**
+     * Avalia todos os alunos pela política atual e pela candidata, em paralelo
+     * @param tamanhoTarefa quantidade de alunos a partir da qual uma tarefa é dividida em duas
+     */
+    public Contagem simular(PoliticaPlanos atual, PoliticaPlanos candidata, ForkJoinPool pool, int tamanhoTarefa) {
+        int ultimaFaixa = Math.max(ultimoInicio(atual), ultimoInicio(candidata));
+        return pool.invoke(new Avaliacao(atual, candidata, ultimaFaixa + 1, Math.max(1, tamanhoTarefa), 0, alunos));
+    }
+
+    private static int ultimoInicio(PoliticaPlanos politica) {
+        return politica.getFaixas().get(politica.getFaixas().size() - 1).cursos();
+    }
+
+    /**
+     * Resultado de simular(): contagens somadas de todas as tarefas
+     *
+     * transicoes[de * Plano.values().length + para] = alunos com plano gravado "de" que
+     * ficariam em "para". Nos histogramas, a posição n conta os alunos com n cursos aprovados
+     * e a última posição acumula os que têm essa quantidade ou mais.
+     */
+    @Getter
+    public static final class Contagem {
+        private final long[] transicoes;
+        private final long[] histogramaAtual;
+        private final long[] histogramaSimulado;
+
+        private Contagem(int posicoesHistograma) {
+            this.transicoes = new long[PLANOS.length * PLANOS.length];
+            this.histogramaAtual = new long[posicoesHistograma];
+            this.histogramaSimulado = new long[posicoesHistograma];
+        }
+
+        public long transicoes(Plano de, Plano para) {
+            return transicoes[de.ordinal() * PLANOS.length + para.ordinal()];
+        }
+
+        private Contagem somar(Contagem outra) {
+            for (int i = 0; i < transicoes.length; i++) {
+                transicoes[i] += outra.transicoes[i];
+            }
+            for (int i = 0; i < histogramaAtual.length; i++) {
+                histogramaAtual[i] += outra.histogramaAtual[i];
+                histogramaSimulado[i] += outra.histogramaSimulado[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Divide o intervalo de alunos ao meio até tamanhoTarefa e soma as contagens das metades
+     */
+    private final class Avaliacao extends RecursiveTask<Contagem> {
+        private final PoliticaPlanos atual;
+        private final PoliticaPlanos candidata;
+        private final int posicoesHistograma;
+        private final int tamanhoTarefa;
+        private final int de;
+        private final int ate;
+
+        private Avaliacao(PoliticaPlanos atual, PoliticaPlanos candidata, int posicoesHistograma,
+                          int tamanhoTarefa, int de, int ate) {
+            this.atual = atual;
+            this.candidata = candidata;
+            this.posicoesHistograma = posicoesHistograma;
+            this.tamanhoTarefa = tamanhoTarefa;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected Contagem compute() {
+            if (ate - de > tamanhoTarefa) {
+                int meio = (de + ate) >>> 1;
+                Avaliacao esquerda = new Avaliacao(atual, candidata, posicoesHistograma, tamanhoTarefa, de, meio);
+                esquerda.fork();
+                Contagem direita = new Avaliacao(atual, candidata, posicoesHistograma, tamanhoTarefa, meio, ate).compute();
+                return direita.somar(esquerda.join());
+            }
+
+            Contagem contagem = new Contagem(posicoesHistograma);
+            double corteAtual = atual.getMediaAprovacao();
+            double corteCandidato = candidata.getMediaAprovacao();
+            int ultima = posicoesHistograma - 1;
+            for (int aluno = de; aluno < ate; aluno++) {
+                int aprovadosAtual = aprovados(aluno, corteAtual);
+                int aprovadosSimulado = corteCandidato == corteAtual ? aprovadosAtual : aprovados(aluno, corteCandidato);
+                Plano para = candidata.avaliar(aprovadosSimulado).getPlano();
+                contagem.transicoes[planos[aluno] * PLANOS.length + para.ordinal()]++;
+                contagem.histogramaAtual[Math.min(aprovadosAtual, ultima)]++;
+                contagem.histogramaSimulado[Math.min(aprovadosSimulado, ultima)]++;
+            }
+            return contagem;
+        }
+    }
+
+    /**
+     * Monta o snapshot aluno a aluno: novoAluno(plano) seguido das médias dos seus cursos concluídos
+     */
+    public static final class Construtor {
+        private int alunos;
+        private byte[] planos = new byte[1024];
+        private int[] inicio = new int[1025];
+        private double[] medias = new double[4096];
+        private int cursos;
+
+        private Construtor() {
+        }
+
+        public Construtor novoAluno(Plano plano) {
+            if (alunos == planos.length) {
+                planos = Arrays.copyOf(planos, planos.length * 2);
+                inicio = Arrays.copyOf(inicio, planos.length + 1);
+            }
+            planos[alunos] = (byte) plano.ordinal();
+            inicio[alunos] = cursos;
+            alunos++;
+            inicio[alunos] = cursos;
+            return this;
+        }
+
+        public Construtor cursoConcluido(double media) {
+            if (alunos == 0) {
+                throw new IllegalStateException("Curso informado antes do primeiro aluno");
+            }
+            if (cursos == medias.length) {
+                medias = Arrays.copyOf(medias, medias.length * 2);
+            }
+            medias[cursos++] = media;
+            inicio[alunos] = cursos;
+            return this;
+        }
+
+        public SnapshotNotas build() {
+            for (int aluno = 0; aluno < alunos; aluno++) {
+                Arrays.sort(medias, inicio[aluno], inicio[aluno + 1]);
+            }
+            return new SnapshotNotas(alunos, Arrays.copyOf(planos, alunos), Arrays.copyOf(inicio, alunos + 1),
+                    Arrays.copyOf(medias, cursos), LocalDateTime.now());
+        }
+    }
+}
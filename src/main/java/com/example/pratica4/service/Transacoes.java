@@ -0,0 +1,30 @@
+package com.example.pratica4.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilitários de transação para os índices em memória (Ranking, EstatisticasNotas).
+ */
+final class Transacoes {
+
+    private Transacoes() {
+    }
+
+    /**
+     * Executa a ação depois do commit da transação atual (nada, se ela for desfeita),
+     * ou imediatamente se não houver transação
+     */
+    static void depoisDoCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
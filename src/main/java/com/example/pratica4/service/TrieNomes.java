@@ -0,0 +1,306 @@
+package com.example.pratica4.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Trie comprimida (radix tree) de nomes para busca por prefixo (usada por IndiceNomes).
+ *
+ * - Cada aresta guarda um trecho de texto, não um caractere: cadeias sem bifurcação viram um
+ *   único nó, então o número de nós fica próximo do número de chaves distintas
+ * - Filhos num array ordenado pelo primeiro caractere (busca binária), sem mapas por nó
+ * - Um nome é indexado a partir do início de cada palavra ("maria da silva", "da silva" e
+ *   "silva"), então a busca encontra também pelo sobrenome
+ * - buscar() desce pelo prefixo e percorre a subárvore em ordem alfabética só até juntar
+ *   o limite de IDs: o custo depende do tamanho do prefixo e do limite, não da base
+ *
+ * Chaves normalizadas por normalizar(): sem acentos, minúsculas e espaços simples.
+ * Não é thread-safe: quem usa controla o acesso (o IndiceNomes usa um ReadWriteLock).
+ */
+public class TrieNomes {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final No[] SEM_FILHOS = new No[0];
+
+    private final No raiz = new No("");
+    private int chaves;
+
+    /**
+     * Nome sem acentos, em minúsculas e com espaços simples (vazio se não houver letras)
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Indexa o ID pelo nome (a partir de cada palavra)
+     */
+    public void adicionar(String nome, long id) {
+        for (String chave : chaves(nome)) {
+            adicionarChave(chave, id);
+        }
+    }
+
+    /**
+     * Retira o ID indexado pelo nome (o mesmo nome passado em adicionar)
+     */
+    public void remover(String nome, long id) {
+        for (String chave : chaves(nome)) {
+            removerChave(chave, id);
+        }
+    }
+
+    /**
+     * IDs cujo nome tem uma palavra começando pelo prefixo, em ordem alfabética da chave e sem
+     * repetição, até o limite
+     */
+    public List<Long> buscar(String prefixo, int limite) {
+        String chave = normalizar(prefixo);
+        Set<Long> encontrados = new LinkedHashSet<>();
+        if (chave.isEmpty() || limite < 1) {
+            return new ArrayList<>(encontrados);
+        }
+        No no = raiz;
+        int posicao = 0;
+        while (posicao < chave.length()) {
+            int indice = no.indiceFilho(chave.charAt(posicao));
+            if (indice < 0) {
+                return new ArrayList<>(encontrados);
+            }
+            No filho = no.filhos[indice];
+            int comum = prefixoComum(filho.rotulo, chave, posicao);
+            if (comum < filho.rotulo.length() && posicao + comum < chave.length()) {
+                return new ArrayList<>(encontrados);
+            }
+            no = filho;
+            posicao += comum;
+        }
+        coletar(no, limite, encontrados);
+        return new ArrayList<>(encontrados);
+    }
+
+    /**
+     * Quantidade de pares (chave, ID) indexados
+     */
+    public int getChaves() {
+        return chaves;
+    }
+
+    /**
+     * Conta os nós e estima a memória ocupada (JVM 64 bits com compressed oops); percorre a trie inteira
+     */
+    public Estatisticas estatisticas() {
+        long[] nos = {0};
+        long[] bytes = {0};
+        List<No> pendentes = new ArrayList<>(List.of(raiz));
+        while (!pendentes.isEmpty()) {
+            No no = pendentes.remove(pendentes.size() - 1);
+            nos[0]++;
+            // Nó (cabeçalho + 4 campos) + String do rótulo (objeto + byte[] Latin-1)
+            bytes[0] += 32 + 24 + alinhar(16 + no.rotulo.length());
+            if (no.filhos.length > 0) {
+                bytes[0] += alinhar(16 + 4L * no.filhos.length);
+            }
+            if (no.ids != null) {
+                bytes[0] += alinhar(16 + 8L * no.ids.length);
+            }
+            pendentes.addAll(Arrays.asList(no.filhos));
+        }
+        return new Estatisticas(nos[0], chaves, bytes[0]);
+    }
+
+    private void adicionarChave(String chave, long id) {
+        No no = raiz;
+        int posicao = 0;
+        while (posicao < chave.length()) {
+            int indice = no.indiceFilho(chave.charAt(posicao));
+            if (indice < 0) {
+                No folha = new No(chave.substring(posicao));
+                no.inserirFilho(-indice - 1, folha);
+                no = folha;
+                break;
+            }
+            No filho = no.filhos[indice];
+            int comum = prefixoComum(filho.rotulo, chave, posicao);
+            if (comum < filho.rotulo.length()) {
+                // A chave diverge (ou termina) no meio da aresta: divide o nó
+                No meio = new No(filho.rotulo.substring(0, comum));
+                filho.rotulo = filho.rotulo.substring(comum);
+                meio.filhos = new No[]{filho};
+                no.filhos[indice] = meio;
+                filho = meio;
+            }
+            no = filho;
+            posicao += comum;
+        }
+        if (no.adicionarId(id)) {
+            chaves++;
+        }
+    }
+
+    private void removerChave(String chave, long id) {
+        List<No> caminho = new ArrayList<>();
+        No no = raiz;
+        int posicao = 0;
+        while (posicao < chave.length()) {
+            int indice = no.indiceFilho(chave.charAt(posicao));
+            if (indice < 0) {
+                return;
+            }
+            No filho = no.filhos[indice];
+            if (!chave.startsWith(filho.rotulo, posicao)) {
+                return;
+            }
+            caminho.add(no);
+            no = filho;
+            posicao += filho.rotulo.length();
+        }
+        if (!no.removerId(id)) {
+            return;
+        }
+        chaves--;
+
+        // Poda: nó sem IDs e sem filhos sai; sem IDs e com um filho é fundido com ele
+        for (int i = caminho.size() - 1; i >= 0 && no.quantidadeIds == 0; i--) {
+            No pai = caminho.get(i);
+            int indice = pai.indiceFilho(no.rotulo.charAt(0));
+            if (no.filhos.length == 0) {
+                pai.removerFilho(indice);
+            } else if (no.filhos.length == 1) {
+                No unico = no.filhos[0];
+                unico.rotulo = no.rotulo + unico.rotulo;
+                pai.filhos[indice] = unico;
+            }
+            if (pai == raiz || pai.filhos.length > 1) {
+                break;
+            }
+            no = pai;
+        }
+    }
+
+    private static void coletar(No no, int limite, Set<Long> encontrados) {
+        for (int i = 0; i < no.quantidadeIds && encontrados.size() < limite; i++) {
+            encontrados.add(no.ids[i]);
+        }
+        for (int i = 0; i < no.filhos.length && encontrados.size() < limite; i++) {
+            coletar(no.filhos[i], limite, encontrados);
+        }
+    }
+
+    private static List<String> chaves(String nome) {
+        String normalizado = normalizar(nome);
+        List<String> chaves = new ArrayList<>();
+        if (normalizado.isEmpty()) {
+            return chaves;
+        }
+        chaves.add(normalizado);
+        for (int i = normalizado.indexOf(' '); i >= 0; i = normalizado.indexOf(' ', i + 1)) {
+            chaves.add(normalizado.substring(i + 1));
+        }
+        return chaves;
+    }
+
+    private static int prefixoComum(String rotulo, String chave, int posicao) {
+        int maximo = Math.min(rotulo.length(), chave.length() - posicao);
+        int comum = 0;
+        while (comum < maximo && rotulo.charAt(comum) == chave.charAt(posicao + comum)) {
+            comum++;
+        }
+        return comum;
+    }
+
+    private static long alinhar(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Tamanho do índice; bytesEstimados cobre só a trie (nós, rótulos e arrays)
+     */
+    public record Estatisticas(long nos, long chaves, long bytesEstimados) {
+    }
+
+    private static final class No {
+        private String rotulo;
+        private No[] filhos = SEM_FILHOS;
+        private long[] ids;
+        private int quantidadeIds;
+
+        private No(String rotulo) {
+            this.rotulo = rotulo;
+        }
+
+        /**
+         * Índice do filho cujo rótulo começa pelo caractere, ou -(ponto de inserção) - 1
+         */
+        private int indiceFilho(char caractere) {
+            int baixo = 0;
+            int alto = filhos.length - 1;
+            while (baixo <= alto) {
+                int meio = (baixo + alto) >>> 1;
+                char atual = filhos[meio].rotulo.charAt(0);
+                if (atual < caractere) {
+                    baixo = meio + 1;
+                } else if (atual > caractere) {
+                    alto = meio - 1;
+                } else {
+                    return meio;
+                }
+            }
+            return -baixo - 1;
+        }
+
+        private void inserirFilho(int indice, No filho) {
+            No[] novos = new No[filhos.length + 1];
+            System.arraycopy(filhos, 0, novos, 0, indice);
+            novos[indice] = filho;
+            System.arraycopy(filhos, indice, novos, indice + 1, filhos.length - indice);
+            filhos = novos;
+        }
+
+        private void removerFilho(int indice) {
+            No[] novos = new No[filhos.length - 1];
+            System.arraycopy(filhos, 0, novos, 0, indice);
+            System.arraycopy(filhos, indice + 1, novos, indice, filhos.length - indice - 1);
+            filhos = novos.length == 0 ? SEM_FILHOS : novos;
+        }
+
+        private boolean adicionarId(long id) {
+            for (int i = 0; i < quantidadeIds; i++) {
+                if (ids[i] == id) {
+                    return false;
+                }
+            }
+            if (ids == null) {
+                ids = new long[1];
+            } else if (quantidadeIds == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[quantidadeIds++] = id;
+            return true;
+        }
+
+        private boolean removerId(long id) {
+            for (int i = 0; i < quantidadeIds; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--quantidadeIds];
+                    if (quantidadeIds == 0) {
+                        ids = null;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.pratica4.shard;
+
+import com.example.pratica4.exception.CadastroDuplicadoException;
+import com.example.pratica4.model.Aluno;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Unicidade de CPF e Email entre shards (profile sharding).
+ *
+ * As constraints unique de alunos só valem dentro de um shard, e a consulta em todos os shards
+ * antes do INSERT não impede que dois cadastros simultâneos com o mesmo CPF, mandados pelo
+ * rodízio a shards diferentes, passem juntos. Cada aluno novo reserva "CPF:123.456.789-09" e
+ * "Email:endereco" na tabela cadastros_unicos do shard 0, cuja chave primária decide quem chegou
+ * primeiro:
+ *
+ * - A reserva roda numa transação própria no shard 0 (a do aluno está presa ao shard dele) e
+ *   é desfeita se a transação do aluno for desfeita depois
+ * - A exclusão do aluno libera as reservas depois do commit
+ * - Se o processo cair entre o commit da reserva e o do aluno, a reserva fica órfã (aluno_id
+ *   sem aluno) e o CPF continua bloqueado até ser removida
+ *
+ * Com um shard só as constraints de alunos bastam e nada é feito aqui.
+ */
+@Component
+public class CadastrosUnicos {
+
+    /**
+     * Shard que guarda as reservas
+     */
+    static final int SHARD = 0;
+
+    private final Shards shards;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate novaTransacao;
+
+    public CadastrosUnicos(Shards shards, DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.shards = shards;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Apaga e cria a tabela de reservas no banco (shard) atual
+     * Chamado pelo ShardingConfig no shard 0 quando recriar-schema=true; em produção a tabela
+     * vem das migrações.
+     */
+    static void recriarTabela(JdbcTemplate jdbc) {
+        jdbc.execute("DROP TABLE IF EXISTS cadastros_unicos");
+        jdbc.execute("CREATE TABLE cadastros_unicos (chave VARCHAR(320) PRIMARY KEY, aluno_id BIGINT NOT NULL)");
+        jdbc.execute("CREATE INDEX idx_cadastros_unicos_aluno ON cadastros_unicos (aluno_id)");
+    }
+
+    /**
+     * Reserva o CPF e o Email do aluno recém-gravado (já com ID)
+     * Deve ser chamado na transação que grava o aluno, depois do INSERT.
+     * @throws CadastroDuplicadoException se o CPF ou o Email já estiver reservado por outro aluno
+     */
+    public void reservar(Aluno aluno) {
+        if (shards.getQuantidade() == 1) {
+            return;
+        }
+        shards.noShard(SHARD, () -> novaTransacao.execute(status -> {
+            if (aluno.getCpf() != null) {
+                inserir("CPF", aluno.getCpf(), aluno.getId());
+            }
+            if (aluno.getEmail() != null) {
+                inserir("Email", aluno.getEmail(), aluno.getId());
+            }
+            return null;
+        }));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        remover(aluno.getId());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Libera o CPF e o Email do aluno excluído, depois do commit da exclusão
+     * (imediatamente, se não houver transação)
+     */
+    public void liberar(Long alunoId) {
+        if (shards.getQuantidade() == 1) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remover(alunoId);
+                }
+            });
+        } else {
+            remover(alunoId);
+        }
+    }
+
+    private void inserir(String campo, Object valor, Long alunoId) {
+        try {
+            jdbc.update("INSERT INTO cadastros_unicos (chave, aluno_id) VALUES (?, ?)", campo + ":" + valor, alunoId);
+        } catch (DuplicateKeyException e) {
+            throw new CadastroDuplicadoException(campo, valor);
+        }
+    }
+
+    private void remover(Long alunoId) {
+        shards.noShard(SHARD, () -> novaTransacao.execute(status ->
+                jdbc.update("DELETE FROM cadastros_unicos WHERE aluno_id = ?", alunoId)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.pratica4.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource que entrega conexões do shard definido em ShardAtual (shard 0 se nenhum).
+ *
+ * Fica atrás de um LazyConnectionDataSourceProxy (ver ShardingConfig): a conexão física só é
+ * pedida no primeiro comando SQL, então o shard pode ser definido depois do início da transação.
+ */
+public class RoteadorShards extends AbstractRoutingDataSource {
+
+    public RoteadorShards(List<? extends DataSource> shards) {
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            destinos.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(shards.get(0));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardAtual.get();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.pratica4.shard;
+
+import com.example.pratica4.model.Aluno;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Executa os métodos @ShardDoAluno no shard do aluno (profile sharding).
+ *
+ * Roda antes do @Transactional do método. Se já houver uma transação aberta por quem chamou
+ * (ex: lote transacional), ela fica presa ao shard da primeira chamada: alunos novos vão para
+ * o mesmo shard e alunos de outro shard são recusados, já que uma transação não atravessa bancos.
+ */
+public class RoteamentoShards implements MethodInterceptor {
+
+    private static final Object CHAVE_TRANSACAO = new Object();
+
+    // Resolvido na primeira chamada: o Advisor é criado antes dos beans que o Shards usa
+    private final ObjectProvider<Shards> shards;
+
+    public RoteamentoShards(ObjectProvider<Shards> shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocacao) throws Throwable {
+        boolean emTransacao = TransactionSynchronizationManager.isSynchronizationActive();
+        Integer daTransacao = emTransacao ? (Integer) TransactionSynchronizationManager.getResource(CHAVE_TRANSACAO) : null;
+        int shard = shardDe(invocacao.getArguments()[0], daTransacao);
+
+        if (daTransacao != null && daTransacao != shard) {
+            throw new IllegalArgumentException("Alunos de shards diferentes não podem ser alterados na mesma transação");
+        }
+        if (emTransacao && daTransacao == null) {
+            TransactionSynchronizationManager.bindResource(CHAVE_TRANSACAO, shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CHAVE_TRANSACAO);
+                }
+            });
+        }
+
+        Integer anterior = ShardAtual.get();
+        ShardAtual.definir(shard);
+        try {
+            return invocacao.proceed();
+        } finally {
+            ShardAtual.definir(anterior);
+        }
+    }
+
+    private int shardDe(Object argumento, Integer daTransacao) {
+        Long alunoId = argumento instanceof Aluno aluno ? aluno.getId() : (Long) argumento;
+        if (alunoId != null) {
+            return shards.getObject().doAluno(alunoId);
+        }
+        return daTransacao != null ? daTransacao : shards.getObject().paraNovoAluno();
+    }
+}
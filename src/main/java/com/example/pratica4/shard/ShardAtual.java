@@ -0,0 +1,33 @@
+package com.example.pratica4.shard;
+
+/**
+ * Shard usado pela thread atual (lido pelo RoteadorShards ao abrir uma conexão).
+ *
+ * Definido pelo RoteamentoShards em volta dos métodos @ShardDoAluno e pelo Shards nas
+ * consultas espalhadas; sem shard definido, a conexão vai para o shard 0.
+ */
+public final class ShardAtual {
+
+    private static final ThreadLocal<Integer> ATUAL = new ThreadLocal<>();
+
+    private ShardAtual() {
+    }
+
+    /**
+     * Shard da thread atual (null se não definido)
+     */
+    public static Integer get() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Define o shard da thread atual (null remove)
+     */
+    static void definir(Integer shard) {
+        if (shard == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(shard);
+        }
+    }
+}
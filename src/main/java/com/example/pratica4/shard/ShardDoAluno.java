@@ -0,0 +1,20 @@
+package com.example.pratica4.shard;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um método cujo primeiro parâmetro identifica o aluno (Long com o ID ou o próprio Aluno):
+ * no profile sharding, o método é executado no shard desse aluno (ver RoteamentoShards).
+ *
+ * Aluno sem ID (criação) vai para o shard escolhido por Shards.paraNovoAluno().
+ * Sem o profile sharding a anotação não tem efeito.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ShardDoAluno {
+}
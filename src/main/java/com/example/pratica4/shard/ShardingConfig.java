@@ -0,0 +1,139 @@
+package com.example.pratica4.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.relational.SchemaManager;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuração do profile sharding: alunos distribuídos entre vários bancos pelo ID.
+ *
+ * - Um pool de conexões por shard (pratica4.shards.url com {shard} trocado pelo número;
+ *   usuário, senha e driver de spring.datasource), atrás de um RoteadorShards e de um
+ *   LazyConnectionDataSourceProxy: o JPA continua com um só DataSource e um só EntityManagerFactory.
+ *   Os pools não são beans, então as métricas hikaricp.* (tag pool=shard-N) são ligadas aqui
+ * - RoteamentoShards em volta dos métodos @ShardDoAluno, antes do @Transactional
+ * - recriar-schema=true: apaga e cria as tabelas em cada shard (como ddl-auto=create) e faz
+ *   as colunas IDENTITY do shard s começarem em s + 1 com incremento igual à quantidade de shards.
+ *   Em produção o schema vem das migrações, que devem criar as colunas IDENTITY do mesmo jeito.
+ *   No shard 0 também cria a tabela cadastros_unicos (ver CadastrosUnicos).
+ *
+ * Não combina com o profile reactive (o R2DBC acessaria um banco só).
+ */
+@Slf4j
+@Configuration
+@Profile("sharding")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ShardingConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${pratica4.shards.quantidade}") int quantidade,
+                                 @Value("${pratica4.shards.url}") String url,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        // Quantidade lida da propriedade: o Shards depende do TransactionManager, que depende deste DataSource
+        for (int shard = 0; shard < quantidade; shard++) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.replace("{shard}", String.valueOf(shard)))
+                    .build();
+            pool.setPoolName("shard-" + shard);
+            meterRegistry.ifAvailable(pool::setMetricRegistry);
+            pools.add(pool);
+        }
+        return new LazyConnectionDataSourceProxy(new RoteadorShards(pools));
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor roteamentoShards(ObjectProvider<Shards> shards) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(ShardDoAluno.class), new RoteamentoShards(shards));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public SmartInitializingSingleton schemaShards(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                                                   Shards shards,
+                                                   @Value("${pratica4.shards.recriar-schema:false}") boolean recriar) {
+        return () -> {
+            if (!recriar) {
+                return;
+            }
+            SchemaManager schema = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getSchemaManager();
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            for (int shard = 0; shard < shards.getQuantidade(); shard++) {
+                int alvo = shard;
+                shards.noShard(alvo, () -> {
+                    schema.dropMappedObjects(false);
+                    schema.exportMappedObjects(false);
+                    colunasIdentity(jdbc).forEach(coluna -> {
+                        jdbc.execute("ALTER TABLE " + coluna[0] + " ALTER COLUMN " + coluna[1]
+                                + " SET INCREMENT BY " + shards.getQuantidade());
+                        jdbc.execute("ALTER TABLE " + coluna[0] + " ALTER COLUMN " + coluna[1]
+                                + " RESTART WITH " + (alvo + 1));
+                    });
+                    if (alvo == CadastrosUnicos.SHARD) {
+                        CadastrosUnicos.recriarTabela(jdbc);
+                    }
+                    return null;
+                });
+            }
+            log.info("Schema recriado em {} shards", shards.getQuantidade());
+        };
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    /**
+     * Pares (tabela, coluna) das colunas IDENTITY do schema atual
+     */
+    private static List<String[]> colunasIdentity(JdbcTemplate jdbc) {
+        return jdbc.execute((ConnectionCallback<List<String[]>>) conexao -> {
+            List<String[]> colunas = new ArrayList<>();
+            DatabaseMetaData metadados = conexao.getMetaData();
+            try (ResultSet resultado = metadados.getColumns(conexao.getCatalog(), conexao.getSchema(), "%", "%")) {
+                while (resultado.next()) {
+                    if ("YES".equals(resultado.getString("IS_AUTOINCREMENT"))) {
+                        colunas.add(new String[]{resultado.getString("TABLE_NAME"), resultado.getString("COLUMN_NAME")});
+                    }
+                }
+            }
+            return colunas;
+        });
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.pratica4.shard;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Distribuição dos alunos entre os bancos (shards) e consultas que passam por todos eles.
+ *
+ * - Cada shard gera IDs começando em (shard + 1) e de quantidade em quantidade (ver
+ *   ShardingConfig): os IDs não se repetem entre shards e o shard sai do próprio ID,
+ *   (id - 1) % quantidade, sem tabela de localização
+ * - Aluno novo vai para o próximo shard em rodízio
+ * - emTodos/somar/algum executam a consulta em todos os shards em paralelo, cada um na sua
+ *   transação somente leitura, e juntam os resultados (scatter-gather)
+ *
+ * Com um shard só (padrão, sem o profile sharding) tudo é executado direto, na thread e na
+ * transação de quem chamou.
+ */
+@Component
+public class Shards {
+
+    private final int quantidade;
+    private final TransactionTemplate leitura;
+    private final ExecutorService executor;
+    private final AtomicLong proximoNovo = new AtomicLong();
+
+    public Shards(@Value("${pratica4.shards.quantidade:1}") int quantidade,
+                  PlatformTransactionManager transactionManager) {
+        if (quantidade < 1) {
+            throw new IllegalArgumentException("Quantidade de shards deve ser ao menos 1");
+        }
+        this.quantidade = quantidade;
+        if (quantidade == 1) {
+            this.leitura = null;
+            this.executor = null;
+        } else {
+            this.leitura = new TransactionTemplate(transactionManager);
+            this.leitura.setReadOnly(true);
+            AtomicInteger numero = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(quantidade, tarefa -> {
+                Thread thread = new Thread(tarefa, "shards-consulta-" + numero.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Shard onde o aluno está gravado
+     */
+    public int doAluno(Long alunoId) {
+        return (int) Math.floorMod(alunoId - 1, (long) quantidade);
+    }
+
+    /**
+     * Shard para um aluno novo (rodízio)
+     */
+    public int paraNovoAluno() {
+        return (int) (proximoNovo.getAndIncrement() % quantidade);
+    }
+
+    /**
+     * Executa a ação com as conexões da thread atual apontando para o shard
+     * Deve ser chamado fora de transação (numa transação já aberta a conexão não muda).
+     */
+    public <T> T noShard(int shard, Supplier<T> acao) {
+        if (quantidade == 1) {
+            return acao.get();
+        }
+        Integer anterior = ShardAtual.get();
+        ShardAtual.definir(shard);
+        try {
+            return acao.get();
+        } finally {
+            ShardAtual.definir(anterior);
+        }
+    }
+
+    /**
+     * Executa a ação uma vez em cada shard, em sequência, na thread atual (fora de transação)
+     * Para quem controla a própria transação ou lê em streaming.
+     */
+    public void emCada(Runnable acao) {
+        for (int shard = 0; shard < quantidade; shard++) {
+            noShard(shard, () -> {
+                acao.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Resultados da consulta em todos os shards, na ordem dos shards
+     */
+    public <T> List<T> emTodos(Supplier<? extends List<T>> consulta) {
+        if (quantidade == 1) {
+            return consulta.get();
+        }
+        List<T> todos = new ArrayList<>();
+        espalhar(consulta).forEach(todos::addAll);
+        return todos;
+    }
+
+    /**
+     * Resultados da consulta em todos os shards, ordenados (com um shard, na ordem do banco)
+     */
+    public <T> List<T> emTodos(Supplier<? extends List<T>> consulta, Comparator<? super T> ordem) {
+        if (quantidade == 1) {
+            return consulta.get();
+        }
+        List<T> todos = emTodos(consulta);
+        todos.sort(ordem);
+        return todos;
+    }
+
+    /**
+     * Soma da contagem em todos os shards
+     */
+    public long somar(LongSupplier contagem) {
+        if (quantidade == 1) {
+            return contagem.getAsLong();
+        }
+        return espalhar(contagem::getAsLong).stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Se a condição vale em algum shard (ex: CPF já cadastrado)
+     */
+    public boolean algum(BooleanSupplier condicao) {
+        if (quantidade == 1) {
+            return condicao.getAsBoolean();
+        }
+        return espalhar(condicao::getAsBoolean).contains(true);
+    }
+
+    private <T> List<T> espalhar(Supplier<T> consulta) {
+        List<Future<T>> futuros = new ArrayList<>(quantidade);
+        for (int shard = 0; shard < quantidade; shard++) {
+            int alvo = shard;
+            futuros.add(executor.submit(() -> noShard(alvo, () -> leitura.execute(status -> consulta.get()))));
+        }
+        List<T> resultados = new ArrayList<>(quantidade);
+        try {
+            for (Future<T> futuro : futuros) {
+                resultados.add(futuro.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta aos shards interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha na consulta aos shards", e.getCause());
+        } finally {
+            futuros.forEach(futuro -> futuro.cancel(true));
+        }
+        return resultados;
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.pratica4.config;
+
+import com.example.pratica4.controller.AlunoController;
+import com.example.pratica4.controller.ETags;
+import com.example.pratica4.controller.RegistroIdempotencia;
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.CreateAlunoDTO;
+import com.example.pratica4.dto.CursoDTO;
+import com.example.pratica4.dto.Versionado;
+import com.example.pratica4.exception.ErrorResponse;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.service.AlunoService;
+import com.example.pratica4.service.EventosPlano;
+import com.example.pratica4.service.IndiceNomes;
+import com.example.pratica4.service.ProcessadorNotas;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes da negociação de conteúdo com formatos binários nas rotas de AlunoController.
+ */
+@WebMvcTest(AlunoController.class)
+@Import(RegistroIdempotencia.class)
+@ActiveProfiles("test")
+@DisplayName("Testes do FormatosBinariosConfig")
+class FormatosBinariosConfigTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SchemasProtobuf schemasProtobuf;
+
+    @MockBean
+    private AlunoService alunoService;
+
+    @MockBean
+    private ProcessadorNotas processadorNotas;
+
+    @MockBean
+    private EventosPlano eventosPlano;
+
+    @MockBean
+    private IndiceNomes indiceNomes;
+
+    private final ObjectMapper cbor = new CBORMapper().findAndRegisterModules();
+    private final ObjectMapper smile = new SmileMapper().findAndRegisterModules();
+
+    private Aluno alunoTeste;
+    private AlunoDTO alunoDTO;
+
+    @BeforeEach
+    void setUp() {
+        alunoTeste = Aluno.builder()
+                .id(1L)
+                .nome("João Silva")
+                .cpf(new CPF("12345678909"))
+                .email(new Email("joao@teste.com"))
+                .plano(Plano.BASICO)
+                .dataCadastro(LocalDate.of(2025, 3, 10))
+                .beneficiosPremiumAtivos(false)
+                .build();
+        alunoTeste.adicionarCurso(new Curso(10L, "Java", 8.5, true));
+        alunoDTO = AlunoDTO.fromEntity(alunoTeste);
+        when(alunoService.buscarDTOPorId(1L)).thenReturn(new Versionado<>(alunoDTO, 0L));
+    }
+
+    @Test
+    @DisplayName("Sem Accept a resposta deve continuar em JSON")
+    void semAcceptDeveResponderJson() throws Exception {
+        mockMvc.perform(get("/api/alunos/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.nome").value("João Silva"));
+    }
+
+    @Test
+    @DisplayName("Accept: application/cbor deve responder em CBOR com os mesmos dados")
+    void deveResponderCbor() throws Exception {
+        byte[] corpo = mockMvc.perform(get("/api/alunos/1").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(alunoDTO, cbor.readValue(corpo, AlunoDTO.class));
+    }
+
+    @Test
+    @DisplayName("Respostas negociadas devem levar Vary: Accept, inclusive o 304")
+    void respostasDevemVariarPeloAccept() throws Exception {
+        when(alunoService.buscarVersao(1L)).thenReturn(0L);
+
+        mockMvc.perform(get("/api/alunos/1").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        mockMvc.perform(get("/api/alunos/1").accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, ETags.deVersao(0L)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    @DisplayName("Accept: application/x-jackson-smile deve responder em Smile")
+    void deveResponderSmile() throws Exception {
+        byte[] corpo = mockMvc.perform(get("/api/alunos/1").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(alunoDTO, smile.readValue(corpo, AlunoDTO.class));
+    }
+
+    @Test
+    @DisplayName("Accept: application/x-protobuf deve responder com o schema gerado do DTO")
+    void deveResponderProtobuf() throws Exception {
+        byte[] corpo = mockMvc.perform(get("/api/alunos/1").accept(PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        AlunoDTO lido = schemasProtobuf.getMapper().readerFor(AlunoDTO.class)
+                .with(schemasProtobuf.schemaPara(AlunoDTO.class).orElseThrow())
+                .readValue(corpo);
+        assertEquals(alunoDTO, lido);
+    }
+
+    @Test
+    @DisplayName("Lista em protobuf deve usar o envelope Lista")
+    void listaEmProtobufDeveUsarEnvelope() throws Exception {
+        when(alunoService.listarTodos()).thenReturn(List.of(alunoTeste));
+
+        byte[] corpo = mockMvc.perform(get("/api/alunos").accept(PROTOBUF))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JavaType tipo = schemasProtobuf.tipoLista(AlunoDTO.class);
+        SchemasProtobuf.Lista<AlunoDTO> lista = schemasProtobuf.getMapper().readerFor(tipo)
+                .with(schemasProtobuf.schemaPara(tipo).orElseThrow())
+                .readValue(corpo);
+        assertEquals(List.of(alunoDTO), lista.getItens());
+    }
+
+    @Test
+    @DisplayName("?fields= não tem schema protobuf e deve retornar 406")
+    void camposParciaisEmProtobufDevemRetornar406() throws Exception {
+        mockMvc.perform(get("/api/alunos/1").param("embed", "cursos").param("fields", "id,nome").accept(PROTOBUF))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    @DisplayName("?fields= deve funcionar em CBOR")
+    void camposParciaisEmCbor() throws Exception {
+        byte[] corpo = mockMvc.perform(get("/api/alunos/1").param("embed", "cursos").param("fields", "id,nome").accept(CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("João Silva", cbor.readTree(corpo).get("nome").asText());
+        assertNull(cbor.readTree(corpo).get("email"));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar corpo da requisição em CBOR")
+    void deveAceitarCorpoCbor() throws Exception {
+        when(alunoService.criarAluno(any(Aluno.class))).thenReturn(alunoTeste);
+        CreateAlunoDTO novo = new CreateAlunoDTO("João Silva", "12345678909", "joao@teste.com");
+
+        mockMvc.perform(post("/api/alunos")
+                        .contentType(CBOR)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(cbor.writeValueAsBytes(novo)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.cpf").value("123.456.789-09"));
+    }
+
+    @Test
+    @DisplayName("Erros devem seguir o formato pedido")
+    void errosDevemSeguirFormatoPedido() throws Exception {
+        when(alunoService.buscarDTOPorId(99L)).thenThrow(new EntityNotFoundException("Aluno não encontrado com ID: 99"));
+
+        byte[] corpo = mockMvc.perform(get("/api/alunos/99").accept(PROTOBUF))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ErrorResponse erro = schemasProtobuf.getMapper().readerFor(ErrorResponse.class)
+                .with(schemasProtobuf.schemaPara(ErrorResponse.class).orElseThrow())
+                .readValue(corpo);
+        assertEquals(404, erro.getStatus());
+        assertEquals("Aluno não encontrado com ID: 99", erro.getMessage());
+    }
+
+    @Test
+    @DisplayName("Aluno com muitos cursos deve ficar menor em CBOR, Smile e protobuf do que em JSON")
+    void formatosBinariosDevemSerMenores() throws Exception {
+        for (int i = 0; i < 300; i++) {
+            alunoDTO.getCursos().add(new CursoDTO((long) i, "Curso " + i, 7.5, true, true));
+        }
+
+        int json = tamanho(MediaType.APPLICATION_JSON);
+        assertTrue(tamanho(CBOR) < json);
+        assertTrue(tamanho(SMILE) < json);
+        assertTrue(tamanho(PROTOBUF) < json / 2);
+    }
+
+    private int tamanho(MediaType formato) throws Exception {
+        return mockMvc.perform(get("/api/alunos/1").accept(formato))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.pratica4.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do LimiteAdaptativo")
+class LimiteAdaptativoTest {
+
+    private static final long DEZ_MS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    @DisplayName("Deve rejeitar quando todas as vagas estão ocupadas")
+    void deve_rejeitar_quando_limite_atingido() {
+        LimiteAdaptativo limite = new LimiteAdaptativo("leitura", 2, 1, 10);
+
+        assertTrue(limite.tentarAdquirir());
+        assertTrue(limite.tentarAdquirir());
+        assertFalse(limite.tentarAdquirir());
+
+        assertEquals(2, limite.getEmUso());
+        assertEquals(1, limite.getRejeicoes());
+    }
+
+    @Test
+    @DisplayName("Liberar deve devolver a vaga")
+    void liberar_deve_devolver_vaga() {
+        LimiteAdaptativo limite = new LimiteAdaptativo("escrita", 1, 1, 10);
+
+        assertTrue(limite.tentarAdquirir());
+        limite.liberar(DEZ_MS, 1);
+
+        assertEquals(0, limite.getEmUso());
+        assertTrue(limite.tentarAdquirir());
+    }
+
+    @Test
+    @DisplayName("Latência muito acima da média deve reduzir o limite para perto da fila, sem passar do mínimo")
+    void latencia_alta_deve_reduzir_limite() {
+        LimiteAdaptativo limite = new LimiteAdaptativo("leitura", 20, 3, 50);
+        amostras(limite, 20, DEZ_MS, 20);
+
+        amostras(limite, 100, DEZ_MS * 50, 20);
+
+        assertTrue(limite.getLimite() < 10, "limite atual: " + limite.getLimite());
+        assertTrue(limite.getLimite() >= 3);
+    }
+
+    @Test
+    @DisplayName("Latência estável com o limite em uso deve aumentar o limite até o máximo")
+    void latencia_estavel_sob_carga_deve_aumentar_limite() {
+        LimiteAdaptativo limite = new LimiteAdaptativo("leitura", 10, 1, 30);
+
+        amostras(limite, 200, DEZ_MS, 30);
+
+        assertEquals(30, limite.getLimite());
+    }
+
+    @Test
+    @DisplayName("Sem carga o limite não deve crescer")
+    void sem_carga_limite_nao_deve_crescer() {
+        LimiteAdaptativo limite = new LimiteAdaptativo("leitura", 10, 1, 30);
+
+        amostras(limite, 200, DEZ_MS, 1);
+
+        assertEquals(10, limite.getLimite());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar configuração inválida")
+    void deve_rejeitar_configuracao_invalida() {
+        assertThrows(IllegalArgumentException.class, () -> new LimiteAdaptativo("x", 5, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new LimiteAdaptativo("x", 5, 6, 10));
+        assertThrows(IllegalArgumentException.class, () -> new LimiteAdaptativo("x", 5, 1, 4));
+    }
+
+    private static void amostras(LimiteAdaptativo limite, int quantidade, long latencia, int emUso) {
+        for (int i = 0; i < quantidade; i++) {
+            assertTrue(limite.tentarAdquirir());
+            limite.liberar(latencia, emUso);
+        }
+    }
+}
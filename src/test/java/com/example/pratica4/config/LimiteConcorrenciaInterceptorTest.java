@@ -0,0 +1,64 @@
+package com.example.pratica4.config;
+
+import com.example.pratica4.exception.SobrecargaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do LimiteConcorrenciaInterceptor")
+class LimiteConcorrenciaInterceptorTest {
+
+    private LimiteAdaptativo leitura;
+    private LimiteAdaptativo escrita;
+    private LimiteConcorrenciaInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        leitura = new LimiteAdaptativo("leitura", 1, 1, 10);
+        escrita = new LimiteAdaptativo("escrita", 1, 1, 10);
+        interceptor = new LimiteConcorrenciaInterceptor(leitura, escrita, 2);
+    }
+
+    @Test
+    @DisplayName("GET deve ocupar o limite de leitura e liberar ao concluir")
+    void get_deve_usar_limite_de_leitura() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/alunos");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        assertEquals(1, leitura.getEmUso());
+        assertEquals(0, escrita.getEmUso());
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        assertEquals(0, leitura.getEmUso());
+    }
+
+    @Test
+    @DisplayName("Escrita acima do limite deve lançar SobrecargaException sem afetar leituras")
+    void escrita_acima_do_limite_deve_ser_rejeitada() {
+        interceptor.preHandle(new MockHttpServletRequest("POST", "/api/alunos"), new MockHttpServletResponse(), new Object());
+
+        SobrecargaException ex = assertThrows(SobrecargaException.class, () -> interceptor.preHandle(
+                new MockHttpServletRequest("PUT", "/api/alunos/1"), new MockHttpServletResponse(), new Object()));
+
+        assertEquals(2, ex.getRetryAfterSegundos());
+        assertEquals(1, escrita.getRejeicoes());
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/alunos/1"),
+                new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    @DisplayName("afterCompletion sem vaga não deve liberar nada")
+    void after_completion_sem_vaga_nao_deve_liberar() {
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/alunos"), new MockHttpServletResponse(), new Object());
+
+        interceptor.afterCompletion(new MockHttpServletRequest("GET", "/api/alunos"),
+                new MockHttpServletResponse(), new Object(), null);
+
+        assertEquals(1, leitura.getEmUso());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.pratica4.config;
+
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.service.AlunoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes de integração das métricas e dos grupos de saúde do Actuator (aplicação completa, H2)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@DisplayName("Testes das métricas (MetricasConfig e Actuator)")
+class MetricasConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long alunoId;
+
+    @AfterEach
+    void tearDown() {
+        PoliticaPlanos.definir(PoliticaPlanos.padrao());
+        if (alunoId != null) {
+            alunoService.deletarAluno(alunoId);
+        }
+    }
+
+    @Test
+    @DisplayName("Mudanças de plano e notas confirmadas devem aparecer nos contadores de domínio")
+    void contadoresDeDominioDevemSeguirAsAlteracoes() {
+        PoliticaPlanos.definir(PoliticaPlanos.builder()
+                .faixa(Plano.BASICO, 0, false)
+                .faixa(Plano.PREMIUM, 1, true)
+                .mensagensPadrao()
+                .build());
+        double upgrades = contador("upgrade");
+        double downgrades = contador("downgrade");
+        double notas = meterRegistry.get("pratica4.notas.registradas").functionCounter().count();
+
+        Aluno aluno = criarAluno();
+        Long cursoId = aluno.getCursos().get(0).getId();
+        alunoService.concluirCurso(alunoId, cursoId, 9.0);
+        alunoService.concluirCurso(alunoId, cursoId, 5.0);
+
+        assertEquals(upgrades + 1, contador("upgrade"));
+        assertEquals(downgrades + 1, contador("downgrade"));
+        assertEquals(notas + 2, meterRegistry.get("pratica4.notas.registradas").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("/actuator/prometheus deve expor rotas, repositórios, Hibernate, Hikari e domínio")
+    void prometheusDeveExporTodasAsMetricas() throws Exception {
+        criarAluno();
+        mockMvc.perform(get("/api/alunos/{id}", alunoId)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/alunos/{id}\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("repository=\"AlunoRepository\"")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString("hibernate_collections_fetches_total")))
+                .andExpect(content().string(containsString("hibernate_flushes_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("pratica4_planos_alteracoes_total{")))
+                .andExpect(content().string(containsString("pratica4_notas_registradas_total")));
+    }
+
+    @Test
+    @DisplayName("Grupos liveness e readiness devem responder UP")
+    void gruposDeSaudeDevemResponderUp() throws Exception {
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    private double contador(String tipo) {
+        return meterRegistry.get("pratica4.planos.alteracoes").tag("tipo", tipo).functionCounter().count();
+    }
+
+    private Aluno criarAluno() {
+        Aluno aluno = Aluno.builder()
+                .nome("Aluno Métricas")
+                .cpf(new CPF("52998224725"))
+                .email(new Email("metricas@teste.com"))
+                .build();
+        aluno.adicionarCurso(new Curso("Curso Métricas"));
+        Aluno salvo = alunoService.criarAluno(aluno);
+        alunoId = salvo.getId();
+        return salvo;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.pratica4.config;
+
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do PoliticaPlanosConfig")
+class PoliticaPlanosConfigTest {
+
+    @TempDir
+    Path pasta;
+
+    @AfterEach
+    void tearDown() {
+        PoliticaPlanos.definir(PoliticaPlanos.padrao());
+    }
+
+    @Test
+    @DisplayName("Deve compilar a política das propriedades da aplicação")
+    void deveCompilarDasPropriedades() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("pratica4.politica.media-aprovacao", "6.5")
+                .withProperty("pratica4.politica.faixas[0].plano", "BASICO")
+                .withProperty("pratica4.politica.faixas[0].cursos", "0")
+                .withProperty("pratica4.politica.faixas[1].plano", "INTERMEDIARIO")
+                .withProperty("pratica4.politica.faixas[1].cursos", "4")
+                .withProperty("pratica4.politica.faixas[2].plano", "PREMIUM")
+                .withProperty("pratica4.politica.faixas[2].cursos", "8")
+                .withProperty("pratica4.politica.faixas[2].beneficios-premium", "true");
+
+        new PoliticaPlanosConfig(environment, "", 1000);
+
+        PoliticaPlanos politica = PoliticaPlanos.atual();
+        assertEquals(6.5, politica.getMediaAprovacao());
+        assertEquals(Plano.INTERMEDIARIO, politica.avaliar(5).getPlano());
+        assertTrue(politica.avaliar(8).isBeneficiosPremium());
+        // Mensagens ausentes: as padrão
+        assertEquals("Continue estudando! Faltam 4 cursos para o Intermediário.", politica.avaliar(0).getMensagem());
+    }
+
+    @Test
+    @DisplayName("Sem propriedades deve usar a política padrão")
+    void semPropriedadesDeveUsarPadrao() {
+        new PoliticaPlanosConfig(new MockEnvironment(), "", 1000);
+
+        assertEquals(7.0, PoliticaPlanos.atual().getMediaAprovacao());
+        assertEquals(Plano.PREMIUM, PoliticaPlanos.atual().avaliar(12).getPlano());
+    }
+
+    @Test
+    @DisplayName("Configuração inválida deve impedir a inicialização")
+    void configuracaoInvalidaDeveFalhar() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("pratica4.politica.faixas[0].plano", "PREMIUM")
+                .withProperty("pratica4.politica.faixas[0].cursos", "3");
+
+        assertThrows(IllegalArgumentException.class, () -> new PoliticaPlanosConfig(environment, "", 1000));
+    }
+
+    @Test
+    @DisplayName("Arquivo alterado deve ser recarregado; arquivo inválido deve manter a política anterior")
+    void deveRecarregarArquivoAlterado() throws Exception {
+        Path arquivo = pasta.resolve("politica.properties");
+        escrever(arquivo, "pratica4.politica.media-aprovacao=8.0\n", 1);
+        PoliticaPlanosConfig config = new PoliticaPlanosConfig(new MockEnvironment(), arquivo.toString(), 1000);
+        assertEquals(8.0, PoliticaPlanos.atual().getMediaAprovacao());
+        assertFalse(config.recarregar());
+
+        escrever(arquivo, "pratica4.politica.media-aprovacao=5.0\n"
+                + "pratica4.politica.mensagens[0].cursos=0\n"
+                + "pratica4.politica.mensagens[0].texto=Faltam {restantes} cursos, você consegue!\n", 2);
+        assertTrue(config.recarregar());
+        assertEquals(5.0, PoliticaPlanos.atual().getMediaAprovacao());
+        assertEquals("Faltam 12 cursos, você consegue!", PoliticaPlanos.atual().avaliar(0).getMensagem());
+
+        PoliticaPlanos valida = PoliticaPlanos.atual();
+        escrever(arquivo, "pratica4.politica.media-aprovacao=11\n", 3);
+        assertFalse(config.recarregar());
+        assertSame(valida, PoliticaPlanos.atual());
+    }
+
+    private static void escrever(Path arquivo, String conteudo, int versao) throws Exception {
+        Files.writeString(arquivo, conteudo, StandardCharsets.UTF_8);
+        // Data de modificação explícita: escritas seguidas podem cair no mesmo instante
+        Files.setLastModifiedTime(arquivo, FileTime.from(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(versao)));
+    }
+}
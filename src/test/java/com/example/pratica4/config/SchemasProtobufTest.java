@@ -0,0 +1,113 @@
+package com.example.pratica4.config;
+
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.CursoDTO;
+import com.example.pratica4.dto.ProgressoDTO;
+import com.example.pratica4.exception.ErrorResponse;
+import com.example.pratica4.model.Plano;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para SchemasProtobuf.
+ */
+@DisplayName("Testes do SchemasProtobuf")
+class SchemasProtobufTest {
+
+    private final SchemasProtobuf schemas = new SchemasProtobuf(
+            Jackson2ObjectMapperBuilder.json().featuresToDisable(
+                    com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    private final ObjectMapper mapper = schemas.getMapper();
+
+    @Test
+    @DisplayName("Deve gerar schema do AlunoDTO com cursos aninhados e enum de plano")
+    void deveGerarSchemaDoAluno() {
+        String proto = schemas.schemaPara(AlunoDTO.class).orElseThrow().getSource().toString();
+
+        assertTrue(proto.contains("message AlunoDTO"));
+        assertTrue(proto.contains("repeated CursoDTO cursos"));
+        assertTrue(proto.contains("enum Plano"));
+        assertTrue(proto.contains("optional string dataCadastro"));
+    }
+
+    @Test
+    @DisplayName("Deve ler e escrever AlunoDTO sem perder dados")
+    void deveConverterAluno() throws Exception {
+        AlunoDTO aluno = AlunoDTO.builder()
+                .id(1L).nome("João Silva").cpf("123.456.789-09").email("joao@teste.com")
+                .plano(Plano.PREMIUM).dataCadastro(LocalDate.of(2025, 3, 10))
+                .beneficiosPremiumAtivos(true).quantidadeCursosAprovados(1)
+                .cursos(List.of(new CursoDTO(10L, "Java", 8.5, true, true)))
+                .build();
+        ProtobufSchema schema = schemas.schemaPara(AlunoDTO.class).orElseThrow();
+
+        byte[] bytes = mapper.writer(schema).writeValueAsBytes(aluno);
+        AlunoDTO lido = mapper.readerFor(AlunoDTO.class).with(schema).readValue(bytes);
+
+        assertEquals(aluno, lido);
+        assertTrue(bytes.length < new ObjectMapper().findAndRegisterModules().writeValueAsBytes(aluno).length);
+    }
+
+    @Test
+    @DisplayName("Campos de ProgressoDTO devem ter nomes ASCII no schema")
+    void progressoDeveUsarNomesAscii() throws Exception {
+        ProtobufSchema schema = schemas.schemaPara(ProgressoDTO.class).orElseThrow();
+        ProgressoDTO progresso = ProgressoDTO.builder().nomeAluno("João").planoAtual(Plano.BASICO)
+                .cursosAprovados(12).cursosNecessarios(12).elegívelParaUpgrade(true).build();
+
+        assertTrue(schema.getSource().toString().contains("optional bool elegivelParaUpgrade"));
+        assertEquals(progresso, mapper.readerFor(ProgressoDTO.class).with(schema)
+                .readValue(mapper.writer(schema).writeValueAsBytes(progresso)));
+    }
+
+    @Test
+    @DisplayName("ErrorResponse deve enviar details como lista de campo/mensagem")
+    void errorResponseDeveConverterDetalhes() throws Exception {
+        Map<String, String> detalhes = new LinkedHashMap<>();
+        detalhes.put("cpf", "CPF deve conter exatamente 11 dígitos numéricos");
+        detalhes.put("email", "Formato de e-mail inválido");
+        ErrorResponse erro = ErrorResponse.builder().timestamp(LocalDateTime.of(2025, 3, 10, 12, 0))
+                .status(400).error("Erro de validação").message("Dados inválidos").details(detalhes).build();
+        ProtobufSchema schema = schemas.schemaPara(ErrorResponse.class).orElseThrow();
+
+        ErrorResponse lido = mapper.readerFor(ErrorResponse.class).with(schema)
+                .readValue(mapper.writer(schema).writeValueAsBytes(erro));
+
+        assertTrue(schema.getSource().toString().contains("repeated Detalhe details"));
+        assertEquals(erro, lido);
+    }
+
+    @Test
+    @DisplayName("Listas devem usar o envelope com itens repetidos")
+    void listasDevemUsarEnvelope() throws Exception {
+        JavaType tipo = schemas.tipoLista(CursoDTO.class);
+        ProtobufSchema schema = schemas.schemaPara(tipo).orElseThrow();
+        List<CursoDTO> cursos = List.of(new CursoDTO(1L, "Java", 8.0, true, true), new CursoDTO(2L, "SQL", 0, false, false));
+
+        SchemasProtobuf.Lista<CursoDTO> lida = mapper.readerFor(tipo).with(schema)
+                .readValue(mapper.writerFor(tipo).with(schema).writeValueAsBytes(new SchemasProtobuf.Lista<>(cursos)));
+
+        assertTrue(schema.getSource().toString().contains("repeated CursoDTO itens = 1"));
+        assertEquals(cursos, lida.getItens());
+    }
+
+    @Test
+    @DisplayName("Mapas e tipos do JDK não devem ter schema")
+    void mapasNaoDevemTerSchema() {
+        assertTrue(schemas.schemaPara(Map.class).isEmpty());
+        assertTrue(schemas.schemaPara(String.class).isEmpty());
+        assertTrue(schemas.schemaPara(List.class).isEmpty());
+    }
+}
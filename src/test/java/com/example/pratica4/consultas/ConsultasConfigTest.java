@@ -0,0 +1,155 @@
+package com.example.pratica4.consultas;
+
+import com.example.pratica4.exception.OrcamentoConsultasExcedidoException;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.service.AlunoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes de integração do orçamento de consultas (aplicação completa, H2, modo falhar):
+ * as rotas principais devem caber no orçamento configurado em application.properties
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "pratica4.consultas.modo=falhar")
+@DisplayName("Testes do orçamento de consultas (ConsultasConfig)")
+class ConsultasConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private OrcamentoConsultas orcamento;
+
+    private Map<String, Integer> orcamentosOriginais;
+    private final List<Long> alunoIds = new ArrayList<>();
+    private Long alunoId;
+
+    @BeforeEach
+    void setUp() {
+        orcamentosOriginais = orcamento.getOrcamentos();
+        // Três alunos com cursos: uma consulta de cursos por aluno chegaria a "repeticoes" (N+1)
+        String[] cpfs = {"11144477735", "39053344705", "52998224725"};
+        for (int i = 0; i < cpfs.length; i++) {
+            Aluno aluno = Aluno.builder()
+                    .nome("Aluno Consultas " + i)
+                    .cpf(new CPF(cpfs[i]))
+                    .email(new Email("consultas" + i + "@teste.com"))
+                    .build();
+            Long id = alunoService.criarAluno(aluno).getId();
+            for (String curso : new String[]{"Java", "SQL", "Git"}) {
+                alunoService.adicionarCurso(id, new Curso(curso));
+            }
+            alunoIds.add(id);
+        }
+        alunoId = alunoIds.get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orcamento.setOrcamentos(orcamentosOriginais);
+        alunoIds.forEach(alunoService::deletarAluno);
+    }
+
+    @Test
+    @DisplayName("Orçamentos por rota devem ser lidos com espaços e chaves no nome")
+    void orcamentosPorRotaDevemSerLidos() {
+        assertEquals(OrcamentoConsultas.Modo.FALHAR, orcamento.getModo());
+        assertEquals(2, orcamento.limite("GET /api/alunos/{id}"));
+    }
+
+    @Test
+    @DisplayName("Rotas principais de leitura devem caber no orçamento")
+    void rotasPrincipaisDevemCaberNoOrcamento() throws Exception {
+        ContagemConsultas contagem = medir(get("/api/alunos/{id}", alunoId), status().isOk());
+        assertTrue(contagem.getTotal() <= orcamento.limite("GET /api/alunos/{id}"), contagem.toString());
+
+        ContagemConsultas listagem = medir(get("/api/alunos"), status().isOk());
+        assertTrue(listagem.getTotal() <= orcamento.limite("GET /api/alunos"), listagem.toString());
+        assertTrue(listagem.selectsRepetidos(orcamento.getRepeticoes()).isEmpty(), listagem.toString());
+
+        mockMvc.perform(get("/api/alunos/{id}/progresso", alunoId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/alunos/{id}/cursos", alunoId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/ranking")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Criação de aluno deve caber no orçamento")
+    void criacaoDeAlunoDeveCaberNoOrcamento() throws Exception {
+        ContagemConsultas contagem = medir(post("/api/alunos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"Aluno Novo\",\"cpf\":\"98765432100\",\"email\":\"novo@teste.com\"}"),
+                status().isCreated());
+        alunoIds.add(alunoService.listarResumos().stream()
+                .filter(resumo -> "Aluno Novo".equals(resumo.getNome()))
+                .findFirst().orElseThrow().getId());
+
+        assertTrue(contagem.getTotal() <= orcamento.limite("POST /api/alunos"), contagem.toString());
+    }
+
+    @Test
+    @DisplayName("Método de service acima do orçamento deve falhar")
+    void metodoAcimaDoOrcamentoDeveFalhar() {
+        Map<String, Integer> orcamentos = new HashMap<>(orcamentosOriginais);
+        orcamentos.put("AlunoService.buscarPorId", 0);
+        orcamento.setOrcamentos(orcamentos);
+
+        OrcamentoConsultasExcedidoException excecao = assertThrows(OrcamentoConsultasExcedidoException.class,
+                () -> alunoService.buscarPorId(alunoId));
+        assertTrue(excecao.getMessage().startsWith("AlunoService.buscarPorId: "), excecao.getMessage());
+    }
+
+    @Test
+    @DisplayName("Rota acima do orçamento deve falhar")
+    void rotaAcimaDoOrcamentoDeveFalhar() {
+        Map<String, Integer> orcamentos = new HashMap<>(orcamentosOriginais);
+        orcamentos.put("GET /api/alunos/{id}/cursos", 0);
+        orcamento.setOrcamentos(orcamentos);
+
+        Exception excecao = assertThrows(Exception.class,
+                () -> mockMvc.perform(get("/api/alunos/{id}/cursos", alunoId)));
+        assertTrue(excecao instanceof OrcamentoConsultasExcedidoException
+                || excecao.getCause() instanceof OrcamentoConsultasExcedidoException, excecao.toString());
+    }
+
+    private ContagemConsultas medir(RequestBuilder requisicao, ResultMatcher esperado) {
+        return ContadorConsultas.medir(() -> {
+            try {
+                mockMvc.perform(requisicao).andExpect(esperado);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.pratica4.consultas;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes unitários do ContadorConsultas (forma dos comandos e contagens aninhadas)
+ */
+@DisplayName("Testes do ContadorConsultas")
+class ContadorConsultasTest {
+
+    @Test
+    @DisplayName("Comandos que só diferem nos valores devem ter a mesma forma")
+    void comandosComValoresDiferentesDevemTerAMesmaForma() {
+        assertEquals("select * from aluno where id=? and nome=?",
+                ContadorConsultas.forma("SELECT *  FROM aluno\n WHERE id=42 AND nome='D''Ávila'"));
+        assertEquals(ContadorConsultas.forma("select c from curso c where c.aluno_id in (?, ?, ?)"),
+                ContadorConsultas.forma("select c from curso c where c.aluno_id in (?)"));
+        assertEquals("select a1_0.id from aluno a1_0", ContadorConsultas.forma("select a1_0.id from aluno a1_0"));
+    }
+
+    @Test
+    @DisplayName("Comando deve contar em todas as contagens abertas e só nelas")
+    void comandoDeveContarEmTodasAsContagensAbertas() {
+        ContadorConsultas.registrar("select 1");
+        ContagemConsultas externa = ContadorConsultas.medir(() -> {
+            ContadorConsultas.registrar("select * from aluno where id = 1");
+            ContagemConsultas interna = ContadorConsultas.medir(() ->
+                    ContadorConsultas.registrar("select * from aluno where id = 2"));
+            assertEquals(1, interna.getTotal());
+        });
+        ContadorConsultas.registrar("select 2");
+
+        assertEquals(2, externa.getTotal());
+        assertEquals(Map.of("select * from aluno where id = ?", 2), externa.getPorForma());
+    }
+
+    @Test
+    @DisplayName("Só SELECTs repetidos devem contar como N+1")
+    void soSelectsRepetidosDevemContarComoNMais1() {
+        ContadorConsultas.Medida<String> medida = ContadorConsultas.medir(() -> {
+            for (int id = 1; id <= 3; id++) {
+                ContadorConsultas.registrar("select * from curso where aluno_id = " + id);
+                ContadorConsultas.registrar("insert into curso (nome) values ('Curso " + id + "')");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", medida.resultado());
+        assertEquals(6, medida.contagem().getTotal());
+        assertEquals(Map.of("select * from curso where aluno_id = ?", 3), medida.contagem().selectsRepetidos(3));
+        assertTrue(medida.contagem().selectsRepetidos(4).isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.pratica4.consultas;
+
+import com.example.pratica4.exception.OrcamentoConsultasExcedidoException;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testes unitários do FiltroConsultas (resposta retida até a verificação do orçamento)
+ */
+@DisplayName("Testes do FiltroConsultas")
+class FiltroConsultasTest {
+
+    private OrcamentoConsultas orcamento;
+    private FiltroConsultas filtro;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    // Simula o controller: duas consultas e a resposta escrita e enviada (flush)
+    private final FilterChain controller = (req, res) -> {
+        ContadorConsultas.registrar("select * from aluno");
+        ContadorConsultas.registrar("select * from curso");
+        res.getWriter().write("{\"id\":1}");
+        res.flushBuffer();
+    };
+
+    @BeforeEach
+    void setUp() {
+        orcamento = new OrcamentoConsultas();
+        orcamento.setModo(OrcamentoConsultas.Modo.FALHAR);
+        filtro = new FiltroConsultas(orcamento, Set.of("/api/alunos/eventos"));
+        request = new MockHttpServletRequest("GET", "/api/alunos/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/alunos/{id}");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Resposta dentro do orçamento deve ser enviada inteira")
+    void respostaDentroDoOrcamentoDeveSerEnviada() throws Exception {
+        filtro.doFilter(request, response, controller);
+
+        assertEquals("{\"id\":1}", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Orçamento estourado deve falhar antes de a resposta ser enviada")
+    void orcamentoEstouradoDeveFalharAntesDoEnvio() throws Exception {
+        orcamento.setOrcamentos(Map.of("GET /api/alunos/{id}", 1));
+
+        assertThrows(OrcamentoConsultasExcedidoException.class, () -> filtro.doFilter(request, response, controller));
+        assertFalse(response.isCommitted());
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Stream SSE não deve ser retido nem verificado")
+    void streamSseNaoDeveSerRetido() throws Exception {
+        orcamento.setOrcamentos(Map.of("GET /api/alunos/eventos", 0));
+        request.setRequestURI("/api/alunos/eventos");
+
+        filtro.doFilter(request, response, controller);
+
+        assertEquals("{\"id\":1}", response.getContentAsString());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.pratica4.consultas;
+
+import com.example.pratica4.exception.OrcamentoConsultasExcedidoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes unitários do OrcamentoConsultas (limites por escopo, N+1 e modos)
+ */
+@DisplayName("Testes do OrcamentoConsultas")
+class OrcamentoConsultasTest {
+
+    private OrcamentoConsultas orcamento;
+
+    @BeforeEach
+    void setUp() {
+        orcamento = new OrcamentoConsultas();
+        orcamento.setOrcamentoPadrao(3);
+        orcamento.setOrcamentos(Map.of("GET /api/alunos/{id}", 1));
+    }
+
+    @Test
+    @DisplayName("Escopo sem orçamento próprio deve usar o padrão")
+    void escopoSemOrcamentoDeveUsarOPadrao() {
+        assertEquals(1, orcamento.limite("GET /api/alunos/{id}"));
+        assertEquals(3, orcamento.limite("AlunoService.listarTodos"));
+    }
+
+    @Test
+    @DisplayName("Deve apontar orçamento estourado e N+1")
+    void deveApontarOrcamentoEstouradoENMais1() {
+        ContagemConsultas contagem = contar("select * from aluno where id = 1",
+                "select * from curso where aluno_id = 1", "select * from curso where aluno_id = 2",
+                "select * from curso where aluno_id = 3");
+
+        assertEquals(2, orcamento.problemas("AlunoService.listarTodos", contagem).size());
+        assertTrue(orcamento.problemas("AlunoService.listarTodos", contagem).get(0).startsWith("4 comandos SQL"));
+        assertTrue(orcamento.problemas("AlunoService.listarTodos", contagem).get(1)
+                .startsWith("N+1 provável, 3x: select * from curso"));
+        assertTrue(orcamento.problemas("AlunoService.listarTodos", contar("select 1")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Modo LOG deve só avisar e modo FALHAR deve lançar exceção")
+    void modosDevemAvisarOuFalhar() {
+        ContagemConsultas contagem = contar("select * from aluno", "select * from curso");
+
+        assertDoesNotThrow(() -> orcamento.verificar("GET /api/alunos/{id}", contagem));
+        orcamento.setModo(OrcamentoConsultas.Modo.FALHAR);
+        OrcamentoConsultasExcedidoException excecao = assertThrows(OrcamentoConsultasExcedidoException.class,
+                () -> orcamento.verificar("GET /api/alunos/{id}", contagem));
+        assertEquals("GET /api/alunos/{id}: 2 comandos SQL (orçamento 1)", excecao.getMessage());
+        assertDoesNotThrow(() -> orcamento.verificar("AlunoService.listarTodos", contagem));
+    }
+
+    private static ContagemConsultas contar(String... comandos) {
+        ContagemConsultas contagem = new ContagemConsultas();
+        for (String comando : comandos) {
+            contagem.registrar(ContadorConsultas.forma(comando));
+        }
+        return contagem;
+    }
+}
@@ -1,11 +1,26 @@
 package com.example.pratica4.controller;
 
+import com.example.pratica4.dto.ConsultaCursos;
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.BuscaAlunosDTO;
+import com.example.pratica4.dto.CursoDTO;
+import com.example.pratica4.dto.PaginaCursosDTO;
+import com.example.pratica4.dto.ProgressoDTO;
+import com.example.pratica4.dto.Versionado;
+import com.example.pratica4.exception.VersaoDivergenteException;
 import com.example.pratica4.model.Aluno;
 import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.NotaPendente;
 import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
+import com.example.pratica4.model.SituacaoNota;
 import com.example.pratica4.model.valueobject.CPF;
 import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.repository.AlunoResumo;
 import com.example.pratica4.service.AlunoService;
+import com.example.pratica4.service.EventosPlano;
+import com.example.pratica4.service.IndiceNomes;
+import com.example.pratica4.service.ProcessadorNotas;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,17 +29,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +62,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * MockMvc - Simula requisições HTTP sem subir o servidor
  */
 @WebMvcTest(AlunoController.class)
+@Import(RegistroIdempotencia.class)
 @ActiveProfiles("test")
 @DisplayName("Testes do AlunoController")
 class AlunoControllerTest {
@@ -50,6 +76,15 @@ class AlunoControllerTest {
     @MockBean
     private AlunoService alunoService;
 
+    @MockBean
+    private ProcessadorNotas processadorNotas;
+
+    @MockBean
+    private EventosPlano eventosPlano;
+
+    @MockBean
+    private IndiceNomes indiceNomes;
+
     private Aluno alunoTeste;
 
     @BeforeEach
@@ -57,7 +92,7 @@ class AlunoControllerTest {
         alunoTeste = Aluno.builder()
                 .id(1L)
                 .nome("João Silva")
-                .cpf(new CPF("12345678901"))
+                .cpf(new CPF("12345678909"))
                 .email(new Email("joao@teste.com"))
                 .plano(Plano.BASICO)
                 .dataCadastro(LocalDate.now())
@@ -70,7 +105,7 @@ class AlunoControllerTest {
     void deveCriarAlunoComSucesso() throws Exception {
         Map<String, String> requestBody = new HashMap<>();
         requestBody.put("nome", "João Silva");
-        requestBody.put("cpf", "12345678901");
+        requestBody.put("cpf", "12345678909");
         requestBody.put("email", "joao@teste.com");
 
         when(alunoService.criarAluno(any(Aluno.class))).thenReturn(alunoTeste);
@@ -81,7 +116,7 @@ class AlunoControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.nome").value("João Silva"))
-                .andExpect(jsonPath("$.cpf").value("123.456.789-01"))
+                .andExpect(jsonPath("$.cpf").value("123.456.789-09"))
                 .andExpect(jsonPath("$.email").value("joao@teste.com"))
                 .andExpect(jsonPath("$.plano").value("BASICO"));
     }
@@ -106,7 +141,7 @@ class AlunoControllerTest {
         Aluno aluno2 = Aluno.builder()
                 .id(2L)
                 .nome("Maria Santos")
-                .cpf(new CPF("98765432109"))
+                .cpf(new CPF("52998224725"))
                 .email(new Email("maria@teste.com"))
                 .plano(Plano.PREMIUM)
                 .dataCadastro(LocalDate.now())
@@ -125,7 +160,7 @@ class AlunoControllerTest {
     @Test
     @DisplayName("GET /api/alunos/{id} - Deve buscar aluno por ID")
     void deveBuscarAlunoPorId() throws Exception {
-        when(alunoService.buscarPorId(1L)).thenReturn(alunoTeste);
+        when(alunoService.buscarDTOPorId(1L)).thenReturn(versionado(alunoTeste));
 
         mockMvc.perform(get("/api/alunos/1"))
                 .andExpect(status().isOk())
@@ -136,7 +171,7 @@ class AlunoControllerTest {
     @Test
     @DisplayName("GET /api/alunos/{id} - Deve retornar 404 quando aluno não existe")
     void deveRetornar404QuandoAlunoNaoExiste() throws Exception {
-        when(alunoService.buscarPorId(999L))
+        when(alunoService.buscarDTOPorId(999L))
                 .thenThrow(new EntityNotFoundException("Aluno não encontrado com ID: 999"));
 
         mockMvc.perform(get("/api/alunos/999"))
@@ -144,12 +179,61 @@ class AlunoControllerTest {
                 .andExpect(jsonPath("$.message").value("Aluno não encontrado com ID: 999"));
     }
 
+    @Test
+    @DisplayName("GET /api/alunos/eventos - Deve abrir o stream SSE repassando Last-Event-ID")
+    void deveAbrirStreamDeEventos() throws Exception {
+        when(eventosPlano.assinar(41L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/alunos/eventos")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "41"))
+                .andExpect(request().asyncStarted());
+
+        verify(eventosPlano).assinar(41L);
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/eventos - Last-Event-ID inválido deve ser tratado como evento perdido")
+    void lastEventIdInvalidoDeveSerTratadoComoPerdido() throws Exception {
+        when(eventosPlano.assinar(any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/alunos/eventos").header("Last-Event-ID", "abc"))
+                .andExpect(request().asyncStarted());
+
+        verify(eventosPlano).assinar(-1L);
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/busca - Deve retornar os alunos do índice de nomes")
+    void deveBuscarPorNome() throws Exception {
+        when(indiceNomes.buscar("jo", 5)).thenReturn(new BuscaAlunosDTO("jo",
+                List.of(new BuscaAlunosDTO.Item(2L, "Joana Souza"), new BuscaAlunosDTO.Item(1L, "João Silva"))));
+
+        mockMvc.perform(get("/api/alunos/busca").param("q", "jo").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alunos.length()").value(2))
+                .andExpect(jsonPath("$.alunos[0].id").value(2))
+                .andExpect(jsonPath("$.alunos[1].nome").value("João Silva"));
+
+        verify(alunoService, never()).listarTodos();
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/busca - Limite fora de 1 a 50 deve retornar 400")
+    void buscaComLimiteInvalidoDeveRetornar400() throws Exception {
+        mockMvc.perform(get("/api/alunos/busca").param("q", "jo").param("limit", "51"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+
+        verify(indiceNomes, never()).buscar(anyString(), anyInt());
+    }
+
     @Test
     @DisplayName("PUT /api/alunos/{id} - Deve atualizar aluno")
     void deveAtualizarAluno() throws Exception {
         Map<String, String> requestBody = new HashMap<>();
         requestBody.put("nome", "João Silva Junior");
-        requestBody.put("cpf", "12345678901");
+        requestBody.put("cpf", "12345678909");
         requestBody.put("email", "joao@teste.com");
 
         alunoTeste.setNome("João Silva Junior");
@@ -238,7 +322,7 @@ class AlunoControllerTest {
             alunoTeste.adicionarCurso(curso);
         }
 
-        when(alunoService.buscarPorId(1L)).thenReturn(alunoTeste);
+        when(alunoService.buscarProgresso(1L)).thenReturn(progresso(alunoTeste));
 
         mockMvc.perform(get("/api/alunos/1/progresso"))
                 .andExpect(status().isOk())
@@ -269,7 +353,7 @@ class AlunoControllerTest {
         alunoTeste.setPlano(Plano.PREMIUM);
         alunoTeste.setBeneficiosPremiumAtivos(true);
 
-        when(alunoService.buscarPorId(1L)).thenReturn(alunoTeste);
+        when(alunoService.buscarProgresso(1L)).thenReturn(progresso(alunoTeste));
 
         mockMvc.perform(get("/api/alunos/1/progresso"))
                 .andExpect(status().isOk())
@@ -279,4 +363,304 @@ class AlunoControllerTest {
                 .andExpect(jsonPath("$.percentualProgresso").value(100.0))
                 .andExpect(jsonPath("$.elegívelParaUpgrade").value(true));
     }
+
+    @Test
+    @DisplayName("GET /api/alunos/{id} - Deve retornar ETag com a versão do aluno")
+    void deveRetornarETagComVersao() throws Exception {
+        alunoTeste.setVersao(3L);
+        when(alunoService.buscarDTOPorId(1L)).thenReturn(versionado(alunoTeste));
+
+        mockMvc.perform(get("/api/alunos/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.deVersao(3L)));
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/{id} - Deve retornar 304 sem carregar o aluno quando o ETag corresponde")
+    void deveRetornar304QuandoETagCorresponde() throws Exception {
+        when(alunoService.buscarVersao(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/alunos/1").header("If-None-Match", ETags.deVersao(3L)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETags.deVersao(3L)))
+                .andExpect(content().string(""));
+
+        verify(alunoService, never()).buscarDTOPorId(1L);
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/{id} - Deve retornar 200 quando o ETag está desatualizado")
+    void deveRetornar200QuandoETagDesatualizado() throws Exception {
+        alunoTeste.setVersao(4L);
+        when(alunoService.buscarVersao(1L)).thenReturn(4L);
+        when(alunoService.buscarDTOPorId(1L)).thenReturn(versionado(alunoTeste));
+
+        mockMvc.perform(get("/api/alunos/1").header("If-None-Match", ETags.deVersao(3L)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.deVersao(4L)))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/{id}/progresso - Deve retornar 200 quando a política mudou desde o ETag")
+    void deveRetornar200NoProgressoAposTrocaDePolitica() throws Exception {
+        String etagAnterior = ETags.deVersao(5L);
+        alunoTeste.setVersao(5L);
+        when(alunoService.buscarVersao(1L)).thenReturn(5L);
+        when(alunoService.buscarProgresso(1L)).thenReturn(progresso(alunoTeste));
+
+        try {
+            PoliticaPlanos.definir(PoliticaPlanos.builder()
+                    .mediaAprovacao(6.0)
+                    .faixasPadrao()
+                    .mensagensPadrao()
+                    .build());
+
+            mockMvc.perform(get("/api/alunos/1/progresso").header("If-None-Match", etagAnterior))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", ETags.deVersao(5L)));
+        } finally {
+            PoliticaPlanos.definir(PoliticaPlanos.padrao());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/{id}/progresso - Deve retornar 304 quando o ETag corresponde")
+    void deveRetornar304NoProgresso() throws Exception {
+        when(alunoService.buscarVersao(1L)).thenReturn(5L);
+
+        mockMvc.perform(get("/api/alunos/1/progresso").header("If-None-Match", "W/" + ETags.deVersao(5L)))
+                .andExpect(status().isNotModified());
+
+        verify(alunoService, never()).buscarProgresso(1L);
+    }
+
+    @Test
+    @DisplayName("PUT /api/alunos/{id} - Deve usar If-Match como versão esperada")
+    void deveAtualizarComIfMatch() throws Exception {
+        Map<String, String> requestBody = new HashMap<>();
+        requestBody.put("nome", "João Silva Junior");
+        requestBody.put("cpf", "12345678909");
+        requestBody.put("email", "joao@teste.com");
+
+        alunoTeste.setVersao(8L);
+        when(alunoService.atualizarAluno(eq(1L), any(Aluno.class), eq(7L))).thenReturn(alunoTeste);
+
+        mockMvc.perform(put("/api/alunos/1")
+                        .header("If-Match", "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestBody)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.deVersao(8L)));
+    }
+
+    @Test
+    @DisplayName("PUT /api/alunos/{alunoId}/cursos/{cursoId}/concluir - Deve retornar 412 com versão desatualizada")
+    void deveRetornar412ComVersaoDesatualizada() throws Exception {
+        Map<String, Double> requestBody = new HashMap<>();
+        requestBody.put("media", 8.5);
+
+        when(alunoService.concluirCurso(1L, 1L, 8.5, 2L))
+                .thenThrow(new VersaoDivergenteException(1L, 2L, 3L));
+
+        mockMvc.perform(put("/api/alunos/1/cursos/1/concluir")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestBody)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos?fields= - Deve retornar só os campos pedidos sem carregar cursos")
+    void deveListarComCamposSelecionados() throws Exception {
+        AlunoResumo resumo = mock(AlunoResumo.class);
+        when(resumo.getId()).thenReturn(1L);
+        when(resumo.getNome()).thenReturn("João Silva");
+        when(resumo.getPlano()).thenReturn(Plano.BASICO);
+        when(alunoService.listarResumos()).thenReturn(List.of(resumo));
+
+        mockMvc.perform(get("/api/alunos").param("fields", "id,nome,plano"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$[0].plano").value("BASICO"))
+                .andExpect(jsonPath("$[0].cpf").doesNotExist())
+                .andExpect(jsonPath("$[0].cursos").doesNotExist());
+
+        verify(alunoService, never()).listarTodos();
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos?embed=cursos - Deve carregar alunos com cursos")
+    void deveListarComCursosIncorporados() throws Exception {
+        alunoTeste.adicionarCurso(Curso.builder().id(1L).nome("Java").media(8.0).concluido(true).build());
+        when(alunoService.listarTodos()).thenReturn(List.of(alunoTeste));
+
+        mockMvc.perform(get("/api/alunos").param("fields", "id").param("embed", "cursos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].nome").doesNotExist())
+                .andExpect(jsonPath("$[0].cursos[0].nome").value("Java"));
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/{id}?fields= - Deve usar a consulta resumida")
+    void deveBuscarResumoComCamposSelecionados() throws Exception {
+        AlunoResumo resumo = mock(AlunoResumo.class);
+        when(resumo.getId()).thenReturn(1L);
+        when(resumo.getCpf()).thenReturn("12345678909");
+        when(resumo.getVersao()).thenReturn(2L);
+        when(resumo.getQuantidadeCursosAprovados()).thenReturn(4L);
+        when(alunoService.buscarResumoPorId(1L)).thenReturn(resumo);
+
+        mockMvc.perform(get("/api/alunos/1").param("fields", "id,cpf,quantidadeCursosAprovados"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.deVersao(2L)))
+                .andExpect(jsonPath("$.cpf").value("123.456.789-09"))
+                .andExpect(jsonPath("$.quantidadeCursosAprovados").value(4))
+                .andExpect(jsonPath("$.nome").doesNotExist());
+
+        verify(alunoService, never()).buscarDTOPorId(1L);
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos?fields= - Deve retornar 400 para campo desconhecido")
+    void deveRetornar400ParaCampoDesconhecido() throws Exception {
+        mockMvc.perform(get("/api/alunos").param("fields", "id,senha"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Campo desconhecido em fields: senha"));
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/{id}/cursos - Deve retornar página de cursos com cursor")
+    void deveListarCursosPaginados() throws Exception {
+        PaginaCursosDTO pagina = PaginaCursosDTO.builder()
+                .cursos(List.of(CursoDTO.builder().id(10L).nome("Java").media(8.0).concluido(true).aprovado(true).build()))
+                .proximoCursor("abc")
+                .possuiMais(true)
+                .build();
+        when(alunoService.listarCursos(eq(1L), any(ConsultaCursos.class))).thenReturn(pagina);
+
+        mockMvc.perform(get("/api/alunos/1/cursos")
+                        .param("aprovado", "true")
+                        .param("prefixo", "Ja")
+                        .param("ordenarPor", "nome")
+                        .param("direcao", "desc")
+                        .param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cursos[0].nome").value("Java"))
+                .andExpect(jsonPath("$.proximoCursor").value("abc"))
+                .andExpect(jsonPath("$.possuiMais").value(true));
+
+        verify(alunoService).listarCursos(eq(1L), argThat(c ->
+                c.getAprovado() && "Ja".equals(c.getPrefixo()) && "nome".equals(c.getOrdenarPor())
+                        && c.isDecrescente() && c.getLimite() == 1));
+        verify(alunoService, never()).buscarDTOPorId(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/{id}/cursos - Deve retornar 400 para limite acima do máximo")
+    void deveRetornar400ParaLimiteInvalido() throws Exception {
+        mockMvc.perform(get("/api/alunos/1/cursos").param("limite", "500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Limite deve estar entre 1 e 100"));
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/{id}/cursos - Deve retornar 404 para aluno inexistente")
+    void deveRetornar404AoListarCursosDeAlunoInexistente() throws Exception {
+        when(alunoService.listarCursos(eq(999L), any(ConsultaCursos.class)))
+                .thenThrow(new EntityNotFoundException("Aluno não encontrado com ID: 999"));
+
+        mockMvc.perform(get("/api/alunos/999/cursos"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /api/alunos/{id}/cursos - Repetição com a mesma Idempotency-Key não deve chamar o service")
+    void deveRepetirRespostaParaMesmaIdempotencyKey() throws Exception {
+        Map<String, String> requestBody = Map.of("nome", "Java");
+        when(alunoService.adicionarCurso(eq(1L), any(Curso.class))).thenReturn(alunoTeste);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/alunos/1/cursos")
+                            .header("Idempotency-Key", "curso-java-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requestBody)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(1));
+        }
+
+        mockMvc.perform(post("/api/alunos/1/cursos")
+                        .header("Idempotency-Key", "curso-java-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestBody)))
+                .andExpect(header().string("Idempotency-Replayed", "true"));
+
+        verify(alunoService, times(1)).adicionarCurso(eq(1L), any(Curso.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/alunos - Idempotency-Key reutilizada com outro corpo deve retornar 422")
+    void deveRetornar422ParaIdempotencyKeyComOutroCorpo() throws Exception {
+        when(alunoService.criarAluno(any(Aluno.class))).thenReturn(alunoTeste);
+        Map<String, String> primeiro = Map.of("nome", "João Silva", "cpf", "12345678909", "email", "joao@teste.com");
+        Map<String, String> segundo = Map.of("nome", "Maria Souza", "cpf", "98765432100", "email", "maria@teste.com");
+
+        mockMvc.perform(post("/api/alunos")
+                        .header("Idempotency-Key", "cadastro-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(primeiro)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/alunos")
+                        .header("Idempotency-Key", "cadastro-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(segundo)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error").value("Chave de idempotência reutilizada"));
+
+        verify(alunoService, times(1)).criarAluno(any(Aluno.class));
+    }
+
+    @Test
+    @DisplayName("PUT /api/alunos/{alunoId}/cursos/{cursoId}/concluir - Prefer: respond-async deve enfileirar e retornar 202")
+    void deveEnfileirarNotaComRespondAsync() throws Exception {
+        when(processadorNotas.enviar(1L, 10L, 8.5)).thenReturn(NotaPendente.builder()
+                .sequencia(42L).alunoId(1L).cursoId(10L).media(8.5).situacao(SituacaoNota.PENDENTE).build());
+
+        mockMvc.perform(put("/api/alunos/1/cursos/10/concluir")
+                        .header("Prefer", "respond-async, wait=0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"media\": 8.5}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/notas/42"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.sequencia").value(42))
+                .andExpect(jsonPath("$.situacao").value("PENDENTE"));
+
+        verify(alunoService, never()).concluirCurso(any(Long.class), any(Long.class), any(Double.class));
+    }
+
+    @Test
+    @DisplayName("PUT /api/alunos/{alunoId}/cursos/{cursoId}/concluir - Modo assíncrono não aceita If-Match")
+    void deveRejeitarIfMatchNoModoAssincrono() throws Exception {
+        mockMvc.perform(put("/api/alunos/1/cursos/10/concluir")
+                        .header("Prefer", "respond-async")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"media\": 8.5}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("If-Match não é aceito no modo assíncrono"));
+
+        verify(processadorNotas, never()).enviar(any(), any(), any(Double.class));
+    }
+
+    private static Versionado<AlunoDTO> versionado(Aluno aluno) {
+        return new Versionado<>(AlunoDTO.fromEntity(aluno), aluno.getVersao());
+    }
+
+    private static Versionado<ProgressoDTO> progresso(Aluno aluno) {
+        return new Versionado<>(ProgressoDTO.fromAluno(aluno), aluno.getVersao());
+    }
 }
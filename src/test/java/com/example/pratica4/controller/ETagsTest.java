@@ -0,0 +1,62 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do utilitário ETags")
+class ETagsTest {
+
+    @Test
+    @DisplayName("Deve gerar ETag forte a partir da versão e da política")
+    void deve_gerar_etag_forte() {
+        PoliticaPlanos padrao = PoliticaPlanos.padrao();
+        assertEquals("\"7-" + padrao.getImpressao() + "\"", ETags.deVersao(7L, padrao));
+        assertEquals(ETags.deVersao(7L, padrao), ETags.deVersao(7L));
+        assertNull(ETags.deVersao(null));
+    }
+
+    @Test
+    @DisplayName("Outra política deve gerar outro ETag para a mesma versão")
+    void outra_politica_deve_gerar_outro_etag() {
+        PoliticaPlanos outra = PoliticaPlanos.builder()
+                .mediaAprovacao(6.0)
+                .faixa(Plano.BASICO, 0, false)
+                .faixa(Plano.PREMIUM, 12, true)
+                .mensagensPadrao()
+                .build();
+
+        assertNotEquals(ETags.deVersao(7L, PoliticaPlanos.padrao()), ETags.deVersao(7L, outra));
+        assertFalse(ETags.correspondeIfNoneMatch(ETags.deVersao(7L, PoliticaPlanos.padrao()), ETags.deVersao(7L, outra)));
+    }
+
+    @Test
+    @DisplayName("If-None-Match deve aceitar lista, ETag fraco e curinga")
+    void if_none_match_deve_aceitar_lista_fraco_e_curinga() {
+        assertTrue(ETags.correspondeIfNoneMatch("\"7\"", "\"7\""));
+        assertTrue(ETags.correspondeIfNoneMatch("\"5\", W/\"7\"", "\"7\""));
+        assertTrue(ETags.correspondeIfNoneMatch("*", "\"7\""));
+        assertFalse(ETags.correspondeIfNoneMatch("\"6\"", "\"7\""));
+        assertFalse(ETags.correspondeIfNoneMatch(null, "\"7\""));
+    }
+
+    @Test
+    @DisplayName("If-Match deve extrair a versão de um ETag forte")
+    void if_match_deve_extrair_versao() {
+        assertEquals(7L, ETags.versaoDeIfMatch("\"7\""));
+        assertEquals(7L, ETags.versaoDeIfMatch(ETags.deVersao(7L)));
+        assertNull(ETags.versaoDeIfMatch(null));
+        assertNull(ETags.versaoDeIfMatch("*"));
+    }
+
+    @Test
+    @DisplayName("If-Match deve rejeitar ETag fraco ou malformado")
+    void if_match_deve_rejeitar_etag_invalido() {
+        assertThrows(IllegalArgumentException.class, () -> ETags.versaoDeIfMatch("W/\"7\""));
+        assertThrows(IllegalArgumentException.class, () -> ETags.versaoDeIfMatch("\"abc\""));
+        assertThrows(IllegalArgumentException.class, () -> ETags.versaoDeIfMatch("7"));
+    }
+}
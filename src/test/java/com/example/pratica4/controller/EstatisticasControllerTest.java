@@ -0,0 +1,70 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.dto.EstatisticasNotasDTO;
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.service.EstatisticasNotas;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do EstatisticasController (camada web, com o EstatisticasNotas simulado).
+ */
+@WebMvcTest(EstatisticasController.class)
+@ActiveProfiles("test")
+@DisplayName("Testes do EstatisticasController")
+class EstatisticasControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EstatisticasNotas estatisticasNotas;
+
+    @Test
+    @DisplayName("GET /api/estatisticas/notas - Deve retornar os percentis do curso e do aluno")
+    void deveRetornarPercentis() throws Exception {
+        when(estatisticasNotas.consultar("Java", 3L)).thenReturn(EstatisticasNotasDTO.builder()
+                .curso("Java").total(40).p10(5.5).p50(7.5).p90(9.5)
+                .distribuicao(List.of(0L, 0L, 0L, 0L, 0L, 4L, 10L, 12L, 10L, 4L))
+                .alunoId(3L).notaAluno(8.0).percentilAluno(62.5)
+                .build());
+
+        mockMvc.perform(get("/api/estatisticas/notas").param("curso", "Java").param("alunoId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.p50").value(7.5))
+                .andExpect(jsonPath("$.distribuicao[7]").value(12))
+                .andExpect(jsonPath("$.percentilAluno").value(62.5));
+    }
+
+    @Test
+    @DisplayName("GET /api/estatisticas/notas - Sem curso deve consultar a distribuição global")
+    void semCursoDeveConsultarGlobal() throws Exception {
+        when(estatisticasNotas.consultar(null, null)).thenReturn(EstatisticasNotasDTO.builder().total(0).build());
+
+        mockMvc.perform(get("/api/estatisticas/notas").param("curso", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(0));
+
+        verify(estatisticasNotas).consultar(null, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/estatisticas/notas - Aluno inexistente deve retornar 404")
+    void alunoInexistenteDeveRetornar404() throws Exception {
+        when(estatisticasNotas.consultar(null, 9L)).thenThrow(new AlunoNaoEncontradoException(9L));
+
+        mockMvc.perform(get("/api/estatisticas/notas").param("alunoId", "9"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.dto.LoteDTO;
+import com.example.pratica4.dto.ResultadoLoteDTO;
+import com.example.pratica4.dto.ResultadoOperacaoDTO;
+import com.example.pratica4.service.ProcessadorLote;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do LoteController (camada web, com o ProcessadorLote simulado).
+ */
+@WebMvcTest(LoteController.class)
+@Import(RegistroIdempotencia.class)
+@ActiveProfiles("test")
+@DisplayName("Testes do LoteController")
+class LoteControllerTest {
+
+    private static final String LOTE = "{\"transacional\": true, \"operacoes\": ["
+            + "{\"tipo\": \"CRIAR_ALUNO\", \"ref\": \"novo\", "
+            + "\"aluno\": {\"nome\": \"João\", \"cpf\": \"12345678909\", \"email\": \"joao@teste.com\"}},"
+            + "{\"tipo\": \"ADICIONAR_CURSO\", \"alunoRef\": \"novo\", \"curso\": {\"nome\": \"Java\"}}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProcessadorLote processadorLote;
+
+    @Test
+    @DisplayName("POST /api/batch - Deve retornar o status de cada operação")
+    void deveRetornarStatusDeCadaOperacao() throws Exception {
+        when(processadorLote.executar(any(LoteDTO.class))).thenReturn(ResultadoLoteDTO.builder()
+                .transacional(true)
+                .sucessos(1)
+                .falhas(1)
+                .resultados(List.of(
+                        ResultadoOperacaoDTO.builder().indice(0).ref("novo").status(201).versao(0L).build(),
+                        ResultadoOperacaoDTO.builder().indice(1).status(404).erro("Aluno não encontrado").build()))
+                .build());
+
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LOTE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transacional").value(true))
+                .andExpect(jsonPath("$.resultados[0].status").value(201))
+                .andExpect(jsonPath("$.resultados[0].ref").value("novo"))
+                .andExpect(jsonPath("$.resultados[0].erro").doesNotExist())
+                .andExpect(jsonPath("$.resultados[1].status").value(404))
+                .andExpect(jsonPath("$.resultados[1].erro").value("Aluno não encontrado"));
+
+        verify(processadorLote).executar(argThat(lote -> lote.isTransacional()
+                && lote.getOperacoes().size() == 2
+                && "novo".equals(lote.getOperacoes().get(1).getAlunoRef())
+                && "Java".equals(lote.getOperacoes().get(1).getCurso().getNome())));
+    }
+
+    @Test
+    @DisplayName("POST /api/batch - Lote vazio deve retornar 400")
+    void loteVazioDeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operacoes\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verify(processadorLote, never()).executar(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/batch - Repetição com a mesma Idempotency-Key não deve executar de novo")
+    void repeticaoComMesmaChaveNaoDeveExecutarDeNovo() throws Exception {
+        when(processadorLote.executar(any(LoteDTO.class))).thenReturn(ResultadoLoteDTO.builder()
+                .resultados(List.of()).build());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/batch")
+                            .header(RegistroIdempotencia.CABECALHO, "lote-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(LOTE))
+                    .andExpect(status().isOk());
+        }
+
+        verify(processadorLote, times(1)).executar(any(LoteDTO.class));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.model.NotaPendente;
+import com.example.pratica4.model.SituacaoNota;
+import com.example.pratica4.service.ProcessadorNotas;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes do NotaController (camada web, com o ProcessadorNotas simulado).
+ */
+@WebMvcTest(NotaController.class)
+@DisplayName("Testes do NotaController")
+class NotaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProcessadorNotas processadorNotas;
+
+    @Test
+    @DisplayName("GET /api/notas/{sequencia} - Deve retornar a situação e o motivo da falha")
+    void deveRetornarSituacaoDaNota() throws Exception {
+        when(processadorNotas.consultar(7L)).thenReturn(NotaPendente.builder()
+                .sequencia(7L).alunoId(1L).cursoId(99L).media(8.0).situacao(SituacaoNota.FALHOU).build());
+        when(processadorNotas.motivoFalha(7L)).thenReturn(Optional.of("Curso com ID 99 não encontrado para o aluno 1"));
+
+        mockMvc.perform(get("/api/notas/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sequencia").value(7))
+                .andExpect(jsonPath("$.situacao").value("FALHOU"))
+                .andExpect(jsonPath("$.mensagem").value("Curso com ID 99 não encontrado para o aluno 1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/notas/{sequencia} - Sequência inexistente deve retornar 404")
+    void sequenciaInexistenteDeveRetornar404() throws Exception {
+        when(processadorNotas.consultar(42L)).thenThrow(new EntityNotFoundException("Nota não encontrada na fila: 42"));
+
+        mockMvc.perform(get("/api/notas/42"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Nota não encontrada na fila: 42"));
+    }
+
+    @Test
+    @DisplayName("GET /api/notas/fila - Deve retornar o estado da fila")
+    void deveRetornarEstadoDaFila() throws Exception {
+        when(processadorNotas.getPendentes()).thenReturn(3);
+        when(processadorNotas.getUltimaSequencia()).thenReturn(10L);
+        when(processadorNotas.getCapacidade()).thenReturn(1024);
+
+        mockMvc.perform(get("/api/notas/fila"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pendentes").value(3))
+                .andExpect(jsonPath("$.ultimaSequencia").value(10))
+                .andExpect(jsonPath("$.capacidade").value(1024));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.dto.RankingDTO;
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.service.Ranking;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do RankingController (camada web, com o Ranking simulado).
+ */
+@WebMvcTest(RankingController.class)
+@ActiveProfiles("test")
+@DisplayName("Testes do RankingController")
+class RankingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private Ranking ranking;
+
+    @Test
+    @DisplayName("GET /api/ranking - Deve listar os primeiros pelo critério")
+    void deveListarPrimeiros() throws Exception {
+        when(ranking.listar(Ranking.Criterio.MEDIA, 5)).thenReturn(RankingDTO.builder()
+                .criterio("media")
+                .total(2)
+                .alunos(List.of(RankingDTO.Posicao.builder().posicao(1).alunoId(7L).nome("Ana").media(9.5).build()))
+                .build());
+
+        mockMvc.perform(get("/api/ranking").param("by", "media").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criterio").value("media"))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.alunos[0].posicao").value(1))
+                .andExpect(jsonPath("$.alunos[0].alunoId").value(7));
+    }
+
+    @Test
+    @DisplayName("GET /api/ranking - Critério ou limite inválido deve retornar 400")
+    void parametrosInvalidosDevemRetornar400() throws Exception {
+        mockMvc.perform(get("/api/ranking").param("by", "idade"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+        mockMvc.perform(get("/api/ranking").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(ranking, never()).listar(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/ranking/{alunoId} - Deve retornar a posição ou 404")
+    void deveRetornarPosicaoDoAluno() throws Exception {
+        when(ranking.posicao(Ranking.Criterio.APROVADOS, 3L)).thenReturn(RankingDTO.Posicao.builder()
+                .posicao(42).alunoId(3L).cursosAprovados(5).build());
+        when(ranking.posicao(Ranking.Criterio.PREMIUM, 9L)).thenThrow(new AlunoNaoEncontradoException(9L));
+
+        mockMvc.perform(get("/api/ranking/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posicao").value(42))
+                .andExpect(jsonPath("$.cursosAprovados").value(5));
+        mockMvc.perform(get("/api/ranking/9").param("by", "premium"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.exception.ChaveIdempotenciaReutilizadaException;
+import com.example.pratica4.exception.SobrecargaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para RegistroIdempotencia.
+ */
+@DisplayName("Testes do RegistroIdempotencia")
+class RegistroIdempotenciaTest {
+
+    private RelogioAjustavel relogio;
+    private RegistroIdempotencia registro;
+    private AtomicInteger execucoes;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioAjustavel();
+        registro = new RegistroIdempotencia(Duration.ofMinutes(10), 2, Duration.ofSeconds(5), relogio);
+        execucoes = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Sem chave deve executar sempre, sem registrar")
+    void semChaveDeveExecutarSempre() {
+        registro.executar(null, "POST /x", "a", this::executar);
+        registro.executar(null, "POST /x", "a", this::executar);
+
+        assertEquals(2, execucoes.get());
+        assertEquals(0, registro.tamanho());
+    }
+
+    @Test
+    @DisplayName("Repetição deve devolver a primeira resposta marcada como repetida")
+    void repeticaoDeveDevolverPrimeiraResposta() {
+        ResponseEntity<String> primeira = registro.executar("k1", "POST /x", "a", this::executar);
+        ResponseEntity<String> repetida = registro.executar("k1", "POST /x", "a", this::executar);
+
+        assertEquals(1, execucoes.get());
+        assertEquals(HttpStatus.CREATED, repetida.getStatusCode());
+        assertEquals(primeira.getBody(), repetida.getBody());
+        assertEquals("true", repetida.getHeaders().getFirst(RegistroIdempotencia.CABECALHO_REPETICAO));
+        assertNull(primeira.getHeaders().getFirst(RegistroIdempotencia.CABECALHO_REPETICAO));
+    }
+
+    @Test
+    @DisplayName("Mesma chave em outra operação deve executar de novo")
+    void mesmaChaveEmOutraOperacaoDeveExecutar() {
+        registro.executar("k1", "POST /x", "a", this::executar);
+        registro.executar("k1", "POST /y", "a", this::executar);
+
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Mesma chave com outro corpo deve ser rejeitada")
+    void mesmaChaveComOutroCorpoDeveSerRejeitada() {
+        registro.executar("k1", "POST /x", "a", this::executar);
+
+        assertThrows(ChaveIdempotenciaReutilizadaException.class,
+                () -> registro.executar("k1", "POST /x", "b", this::executar));
+    }
+
+    @Test
+    @DisplayName("Corpo diferente com o mesmo hashCode deve ser rejeitado")
+    void corpoComMesmoHashCodeDeveSerRejeitado() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        registro.executar("k1", "POST /x", "Aa", this::executar);
+
+        assertThrows(ChaveIdempotenciaReutilizadaException.class,
+                () -> registro.executar("k1", "POST /x", "BB", this::executar));
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Chave vazia ou longa demais deve ser rejeitada")
+    void chaveInvalidaDeveSerRejeitada() {
+        assertThrows(IllegalArgumentException.class,
+                () -> registro.executar(" ", "POST /x", "a", this::executar));
+        assertThrows(IllegalArgumentException.class,
+                () -> registro.executar("k".repeat(256), "POST /x", "a", this::executar));
+    }
+
+    @Test
+    @DisplayName("Falha não deve ser guardada: a chave pode ser usada de novo")
+    void falhaNaoDeveSerGuardada() {
+        assertThrows(IllegalStateException.class, () -> registro.executar("k1", "POST /x", "a", () -> {
+            throw new IllegalStateException("falhou");
+        }));
+
+        registro.executar("k1", "POST /x", "a", this::executar);
+
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Resposta deve expirar após o TTL")
+    void respostaDeveExpirarAposTtl() {
+        registro.executar("k1", "POST /x", "a", this::executar);
+        relogio.avancar(Duration.ofMinutes(11));
+        registro.executar("k1", "POST /x", "a", this::executar);
+
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Registro cheio deve descartar a chave mais antiga")
+    void registroCheioDeveDescartarMaisAntiga() {
+        registro.executar("k1", "POST /x", "a", this::executar);
+        registro.executar("k2", "POST /x", "a", this::executar);
+        registro.executar("k3", "POST /x", "a", this::executar);
+
+        assertEquals(2, registro.tamanho());
+        registro.executar("k3", "POST /x", "a", this::executar);
+        assertEquals(3, execucoes.get());
+        registro.executar("k1", "POST /x", "a", this::executar);
+        assertEquals(4, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Repetições concorrentes devem aguardar a execução em andamento")
+    void repeticoesConcorrentesDevemAguardarExecucao() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<String>> primeira = executor.submit(() ->
+                    registro.executar("k1", "POST /x", "a", () -> {
+                        iniciou.countDown();
+                        aguardar(liberar);
+                        return executar();
+                    }));
+            assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+            Future<ResponseEntity<String>> repetida = executor.submit(() ->
+                    registro.executar("k1", "POST /x", "a", this::executar));
+            Thread.sleep(50);
+            assertFalse(repetida.isDone());
+
+            liberar.countDown();
+
+            assertEquals(primeira.get(5, TimeUnit.SECONDS).getBody(), repetida.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(1, execucoes.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Registro cheio não deve descartar chave em execução")
+    void registroCheioNaoDeveDescartarChaveEmExecucao() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<String>> primeira = executor.submit(() ->
+                    registro.executar("k1", "POST /x", "a", () -> {
+                        iniciou.countDown();
+                        aguardar(liberar);
+                        return executar();
+                    }));
+            assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+            registro.executar("k2", "POST /x", "a", this::executar);
+            registro.executar("k3", "POST /x", "a", this::executar);
+
+            // k2 (concluída) saiu; k1 continua registrada enquanto executa
+            assertEquals(2, registro.tamanho());
+            Future<ResponseEntity<String>> repetida = executor.submit(() ->
+                    registro.executar("k1", "POST /x", "a", this::executar));
+            liberar.countDown();
+
+            assertEquals(primeira.get(5, TimeUnit.SECONDS).getBody(), repetida.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(3, execucoes.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Repetição deve desistir com 503 se a primeira execução demorar demais")
+    void repeticaoDeveDesistirSePrimeiraDemorar() throws Exception {
+        registro = new RegistroIdempotencia(Duration.ofMinutes(10), 2, Duration.ofMillis(50), relogio);
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResponseEntity<String>> primeira = executor.submit(() ->
+                    registro.executar("k1", "POST /x", "a", () -> {
+                        iniciou.countDown();
+                        aguardar(liberar);
+                        return executar();
+                    }));
+            assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+            SobrecargaException excecao = assertThrows(SobrecargaException.class,
+                    () -> registro.executar("k1", "POST /x", "a", this::executar));
+            assertEquals(1, excecao.getRetryAfterSegundos());
+
+            liberar.countDown();
+            primeira.get(5, TimeUnit.SECONDS);
+            assertEquals(1, execucoes.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<String> executar() {
+        return ResponseEntity.status(HttpStatus.CREATED).body("resposta " + execucoes.incrementAndGet());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RelogioAjustavel extends Clock {
+        private Instant agora = Instant.parse("2024-01-01T00:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.pratica4.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do SchemaController.
+ */
+@WebMvcTest(SchemaController.class)
+@ActiveProfiles("test")
+@DisplayName("Testes do SchemaController")
+class SchemaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("GET /api/schemas - Deve listar os tipos com schema")
+    void deveListarTipos() throws Exception {
+        mockMvc.perform(get("/api/schemas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(hasItems("AlunoDTO", "CursoDTO", "ProgressoDTO", "ErrorResponse")));
+    }
+
+    @Test
+    @DisplayName("GET /api/schemas/{tipo}.proto - Deve retornar o schema gerado")
+    void deveRetornarSchema() throws Exception {
+        mockMvc.perform(get("/api/schemas/ProgressoDTO.proto"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(content().string(containsString("message ProgressoDTO")))
+                .andExpect(content().string(containsString("optional bool elegivelParaUpgrade")));
+    }
+
+    @Test
+    @DisplayName("GET /api/schemas/{tipo}.proto?lista=true - Deve retornar o envelope de lista")
+    void deveRetornarEnvelopeDeLista() throws Exception {
+        mockMvc.perform(get("/api/schemas/AlunoDTO.proto").param("lista", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("repeated AlunoDTO itens = 1")));
+    }
+
+    @Test
+    @DisplayName("GET /api/schemas/{tipo}.proto - Tipo desconhecido deve retornar 404")
+    void tipoDesconhecidoDeveRetornar404() throws Exception {
+        mockMvc.perform(get("/api/schemas/Aluno.proto").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.pratica4.controller;
+
+import com.example.pratica4.dto.ResultadoSimulacaoDTO;
+import com.example.pratica4.dto.SimulacaoDTO;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.service.SimuladorPlanos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do SimulacaoController (camada web, com o SimuladorPlanos simulado).
+ */
+@WebMvcTest(SimulacaoController.class)
+@ActiveProfiles("test")
+@DisplayName("Testes do SimulacaoController")
+class SimulacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SimuladorPlanos simuladorPlanos;
+
+    @Test
+    @DisplayName("POST /api/simulacoes - Deve retornar transições e histogramas")
+    void deveRetornarResultado() throws Exception {
+        when(simuladorPlanos.simular(any(SimulacaoDTO.class))).thenReturn(ResultadoSimulacaoDTO.builder()
+                .alunos(3)
+                .mediaAprovacao(6.5)
+                .upgrades(1)
+                .inalterados(2)
+                .transicoes(List.of(new ResultadoSimulacaoDTO.Transicao(Plano.BASICO, Plano.PREMIUM, 1)))
+                .histogramaAtual(List.of(1L, 2L))
+                .histogramaSimulado(List.of(0L, 3L))
+                .build());
+
+        mockMvc.perform(post("/api/simulacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mediaAprovacao\": 6.5, \"faixas\": [{\"plano\": \"BASICO\", \"cursos\": 0},"
+                                + "{\"plano\": \"PREMIUM\", \"cursos\": 10, \"beneficiosPremium\": true}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upgrades").value(1))
+                .andExpect(jsonPath("$.transicoes[0].de").value("BASICO"))
+                .andExpect(jsonPath("$.transicoes[0].para").value("PREMIUM"))
+                .andExpect(jsonPath("$.histogramaSimulado[1]").value(3));
+
+        verify(simuladorPlanos).simular(argThat(simulacao -> simulacao.getMediaAprovacao() == 6.5
+                && simulacao.getFaixas().get(1).getCursos() == 10
+                && simulacao.getFaixas().get(1).isBeneficiosPremium()));
+    }
+
+    @Test
+    @DisplayName("POST /api/simulacoes - Média fora de 0 a 10 deve retornar 400")
+    void mediaInvalidaDeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/simulacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mediaAprovacao\": 11}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(simuladorPlanos);
+    }
+
+    @Test
+    @DisplayName("POST /api/simulacoes - Política inválida deve retornar 400")
+    void politicaInvalidaDeveRetornar400() throws Exception {
+        when(simuladorPlanos.simular(any(SimulacaoDTO.class)))
+                .thenThrow(new IllegalArgumentException("A primeira faixa deve começar em 0 cursos aprovados"));
+
+        mockMvc.perform(post("/api/simulacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"faixas\": [{\"plano\": \"PREMIUM\", \"cursos\": 5}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A primeira faixa deve começar em 0 cursos aprovados"));
+    }
+}
@@ -5,6 +5,7 @@ import com.example.pratica4.model.Curso;
 import com.example.pratica4.model.Plano;
 import com.example.pratica4.model.valueobject.CPF;
 import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.repository.AlunoResumo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @DisplayName("Testes do AlunoDTO")
 class AlunoDTOTest {
@@ -26,7 +29,7 @@ class AlunoDTOTest {
         aluno = Aluno.builder()
                 .id(1L)
                 .nome("João Silva")
-                .cpf(new CPF("12345678901"))
+                .cpf(new CPF("12345678909"))
                 .email(new Email("joao@teste.com"))
                 .plano(Plano.BASICO)
                 .dataCadastro(LocalDate.of(2024, 1, 1))
@@ -36,7 +39,7 @@ class AlunoDTOTest {
         alunoDTO = AlunoDTO.builder()
                 .id(1L)
                 .nome("João Silva")
-                .cpf("123.456.789-01")
+                .cpf("123.456.789-09")
                 .email("joao@teste.com")
                 .plano(Plano.BASICO)
                 .dataCadastro(LocalDate.of(2024, 1, 1))
@@ -59,7 +62,7 @@ class AlunoDTOTest {
         AlunoDTO dto = new AlunoDTO(
                 1L,
                 "Maria",
-                "12345678901",
+                "12345678909",
                 "maria@teste.com",
                 Plano.PREMIUM,
                 LocalDate.now(),
@@ -79,7 +82,7 @@ class AlunoDTOTest {
         AlunoDTO dto = AlunoDTO.builder()
                 .id(10L)
                 .nome("Pedro")
-                .cpf("98765432109")
+                .cpf("52998224725")
                 .email("pedro@teste.com")
                 .plano(Plano.PREMIUM)
                 .dataCadastro(LocalDate.of(2023, 1, 1))
@@ -90,7 +93,7 @@ class AlunoDTOTest {
 
         assertEquals(10L, dto.getId());
         assertEquals("Pedro", dto.getNome());
-        assertEquals("98765432109", dto.getCpf());
+        assertEquals("52998224725", dto.getCpf());
         assertEquals("pedro@teste.com", dto.getEmail());
         assertEquals(Plano.PREMIUM, dto.getPlano());
         assertTrue(dto.isBeneficiosPremiumAtivos());
@@ -105,7 +108,7 @@ class AlunoDTOTest {
         assertNotNull(resultado);
         assertEquals(aluno.getId(), resultado.getId());
         assertEquals(aluno.getNome(), resultado.getNome());
-        assertEquals("123.456.789-01", resultado.getCpf()); // Formatado
+        assertEquals("123.456.789-09", resultado.getCpf()); // Formatado
         assertEquals("joao@teste.com", resultado.getEmail());
         assertEquals(aluno.getPlano(), resultado.getPlano());
         assertEquals(aluno.getDataCadastro(), resultado.getDataCadastro());
@@ -205,7 +208,7 @@ class AlunoDTOTest {
     void getters_e_setters_devem_funcionar() {
         alunoDTO.setId(100L);
         alunoDTO.setNome("Novo Nome");
-        alunoDTO.setCpf("11111111111");
+        alunoDTO.setCpf("11144477735");
         alunoDTO.setEmail("novo@email.com");
         alunoDTO.setPlano(Plano.PREMIUM);
         alunoDTO.setDataCadastro(LocalDate.of(2025, 1, 1));
@@ -215,7 +218,7 @@ class AlunoDTOTest {
 
         assertEquals(100L, alunoDTO.getId());
         assertEquals("Novo Nome", alunoDTO.getNome());
-        assertEquals("11111111111", alunoDTO.getCpf());
+        assertEquals("11144477735", alunoDTO.getCpf());
         assertEquals("novo@email.com", alunoDTO.getEmail());
         assertEquals(Plano.PREMIUM, alunoDTO.getPlano());
         assertEquals(LocalDate.of(2025, 1, 1), alunoDTO.getDataCadastro());
@@ -230,7 +233,7 @@ class AlunoDTOTest {
         AlunoDTO dto1 = AlunoDTO.builder()
                 .id(1L)
                 .nome("João")
-                .cpf("12345678901")
+                .cpf("12345678909")
                 .email("joao@teste.com")
                 .plano(Plano.BASICO)
                 .build();
@@ -238,7 +241,7 @@ class AlunoDTOTest {
         AlunoDTO dto2 = AlunoDTO.builder()
                 .id(1L)
                 .nome("João")
-                .cpf("12345678901")
+                .cpf("12345678909")
                 .email("joao@teste.com")
                 .plano(Plano.BASICO)
                 .build();
@@ -254,4 +257,26 @@ class AlunoDTOTest {
         assertNotNull(toString);
         assertTrue(toString.contains("João Silva"));
     }
+
+    @Test
+    @DisplayName("Deve converter projeção resumida em DTO sem cursos")
+    void deveConverterResumoEmDTO() {
+        AlunoResumo resumo = mock(AlunoResumo.class);
+        when(resumo.getId()).thenReturn(1L);
+        when(resumo.getNome()).thenReturn("João Silva");
+        when(resumo.getCpf()).thenReturn("12345678909");
+        when(resumo.getEmail()).thenReturn("joao@teste.com");
+        when(resumo.getPlano()).thenReturn(Plano.PREMIUM);
+        when(resumo.isBeneficiosPremiumAtivos()).thenReturn(true);
+        when(resumo.getQuantidadeCursosAprovados()).thenReturn(12L);
+
+        AlunoDTO dto = AlunoDTO.fromResumo(resumo);
+
+        assertEquals("123.456.789-09", dto.getCpf());
+        assertEquals(Plano.PREMIUM, dto.getPlano());
+        assertTrue(dto.isBeneficiosPremiumAtivos());
+        assertEquals(12, dto.getQuantidadeCursosAprovados());
+        assertNull(dto.getCursos());
+        assertNull(AlunoDTO.fromResumo(null));
+    }
 }
@@ -0,0 +1,59 @@
+package com.example.pratica4.dto;
+
+import com.example.pratica4.model.Plano;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da seleção de campos CamposAluno")
+class CamposAlunoTest {
+
+    private final AlunoDTO aluno = AlunoDTO.builder()
+            .id(1L)
+            .nome("João Silva")
+            .cpf("123.456.789-09")
+            .plano(Plano.BASICO)
+            .quantidadeCursosAprovados(3)
+            .cursos(List.of(CursoDTO.builder().id(10L).nome("Java").build()))
+            .build();
+
+    @Test
+    @DisplayName("Sem fields deve retornar todos os campos exceto cursos")
+    void sem_fields_deve_retornar_campos_escalares() {
+        CamposAluno campos = CamposAluno.de(null, null);
+
+        Map<String, Object> representacao = campos.aplicar(aluno);
+
+        assertFalse(campos.incluiCursos());
+        assertEquals(CamposAluno.CAMPOS.size() - 1, representacao.size());
+        assertFalse(representacao.containsKey("cursos"));
+    }
+
+    @Test
+    @DisplayName("Deve manter só os campos pedidos, na ordem do DTO")
+    void deve_manter_so_campos_pedidos() {
+        Map<String, Object> representacao = CamposAluno.de("plano, id", null).aplicar(aluno);
+
+        assertEquals(List.of("id", "plano"), List.copyOf(representacao.keySet()));
+        assertEquals(Plano.BASICO, representacao.get("plano"));
+    }
+
+    @Test
+    @DisplayName("embed=cursos ou fields=cursos devem incluir a lista de cursos")
+    void embed_ou_fields_devem_incluir_cursos() {
+        assertTrue(CamposAluno.de("id", "cursos").incluiCursos());
+        assertTrue(CamposAluno.de("id,cursos", null).incluiCursos());
+        assertEquals(aluno.getCursos(), CamposAluno.de("id", "cursos").aplicar(aluno).get("cursos"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar campo ou recurso desconhecido")
+    void deve_rejeitar_campo_desconhecido() {
+        assertThrows(IllegalArgumentException.class, () -> CamposAluno.de("senha", null));
+        assertThrows(IllegalArgumentException.class, () -> CamposAluno.de(null, "matriculas"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.pratica4.dto;
+
+import com.example.pratica4.model.Curso;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para ConsultaCursos.
+ */
+@DisplayName("Testes do ConsultaCursos")
+class ConsultaCursosTest {
+
+    @Test
+    @DisplayName("Consulta padrão deve ordenar por ID crescente com limite 20 e sem cursor")
+    void consultaPadraoDeveUsarValoresPadrao() {
+        ConsultaCursos consulta = ConsultaCursos.padrao();
+
+        assertEquals("id", consulta.getOrdenarPor());
+        assertFalse(consulta.isDecrescente());
+        assertEquals(ConsultaCursos.LIMITE_PADRAO, consulta.getLimite());
+        assertFalse(consulta.possuiCursor());
+        assertNull(consulta.getConcluido());
+        assertNull(consulta.getAprovado());
+        assertNull(consulta.getPrefixo());
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), consulta.ordenacao());
+    }
+
+    @Test
+    @DisplayName("Deve usar o ID como desempate na mesma direção da ordenação")
+    void deveUsarIdComoDesempate() {
+        ConsultaCursos consulta = ConsultaCursos.de(true, false, "  Ja ", "media", "DESC", null, 5);
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "media").and(Sort.by(Sort.Direction.DESC, "id")),
+                consulta.ordenacao());
+        assertTrue(consulta.isDecrescente());
+        assertEquals(5, consulta.getLimite());
+        assertEquals("Ja", consulta.getPrefixo());
+        assertTrue(consulta.getConcluido());
+        assertFalse(consulta.getAprovado());
+    }
+
+    @Test
+    @DisplayName("Cursor gerado deve ser lido de volta com o mesmo valor e ID")
+    void cursorDeveSerLidoDeVolta() {
+        Curso curso = new Curso(42L, "Java | Spring", 8.5, true);
+
+        String porNome = ConsultaCursos.de(null, null, null, "nome", null, null, null).cursorApos(curso);
+        ConsultaCursos seguinteNome = ConsultaCursos.de(null, null, null, "nome", null, porNome, null);
+        String porMedia = ConsultaCursos.de(null, null, null, "media", null, null, null).cursorApos(curso);
+        ConsultaCursos seguinteMedia = ConsultaCursos.de(null, null, null, "media", null, porMedia, null);
+
+        assertTrue(seguinteNome.possuiCursor());
+        assertEquals(42L, seguinteNome.getCursorId());
+        assertEquals("Java | Spring", seguinteNome.getCursorValor());
+        assertEquals("8.5", seguinteMedia.getCursorValor());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ordenação, direção e limite inválidos")
+    void deveRejeitarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ConsultaCursos.de(null, null, null, "cpf", null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConsultaCursos.de(null, null, null, null, "lado", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConsultaCursos.de(null, null, null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConsultaCursos.de(null, null, null, null, null, null, ConsultaCursos.LIMITE_MAXIMO + 1));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor malformado ou gerado para outra ordenação")
+    void deveRejeitarCursorInvalido() {
+        String cursorPorNome = ConsultaCursos.de(null, null, null, "nome", null, null, null)
+                .cursorApos(new Curso(1L, "Java", 0.0, false));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ConsultaCursos.de(null, null, null, null, null, "***", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConsultaCursos.de(null, null, null, "media", null, cursorPorNome, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConsultaCursos.de(null, null, null, "id", null, "aWR8eHw", null));
+    }
+}
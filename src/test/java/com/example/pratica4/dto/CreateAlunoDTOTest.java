@@ -27,7 +27,7 @@ class CreateAlunoDTOTest {
 
         createAlunoDTO = CreateAlunoDTO.builder()
                 .nome("João Silva")
-                .cpf("12345678901")
+                .cpf("12345678909")
                 .email("joao@teste.com")
                 .build();
     }
@@ -42,10 +42,10 @@ class CreateAlunoDTOTest {
     @Test
     @DisplayName("Construtor AllArgs deve funcionar")
     void construtor_all_args_deve_funcionar() {
-        CreateAlunoDTO dto = new CreateAlunoDTO("Maria", "98765432109", "maria@teste.com");
+        CreateAlunoDTO dto = new CreateAlunoDTO("Maria", "52998224725", "maria@teste.com");
 
         assertEquals("Maria", dto.getNome());
-        assertEquals("98765432109", dto.getCpf());
+        assertEquals("52998224725", dto.getCpf());
         assertEquals("maria@teste.com", dto.getEmail());
     }
 
@@ -54,12 +54,12 @@ class CreateAlunoDTOTest {
     void builder_deve_criar_dto_corretamente() {
         CreateAlunoDTO dto = CreateAlunoDTO.builder()
                 .nome("Pedro Santos")
-                .cpf("11111111111")
+                .cpf("11144477735")
                 .email("pedro@teste.com")
                 .build();
 
         assertEquals("Pedro Santos", dto.getNome());
-        assertEquals("11111111111", dto.getCpf());
+        assertEquals("11144477735", dto.getCpf());
         assertEquals("pedro@teste.com", dto.getEmail());
     }
 
@@ -110,6 +110,23 @@ class CreateAlunoDTOTest {
         assertFalse(violations.isEmpty());
     }
 
+    @Test
+    @DisplayName("Deve rejeitar CPF com dígitos verificadores errados")
+    void deve_rejeitar_cpf_com_digitos_verificadores_errados() {
+        createAlunoDTO.setCpf("12345678901");
+        Set<ConstraintViolation<CreateAlunoDTO>> violations = validator.validate(createAlunoDTO);
+        assertEquals(1, violations.size());
+        assertEquals("CPF inválido: dígitos verificadores não conferem", violations.iterator().next().getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar email sem domínio de topo")
+    void deve_rejeitar_email_sem_dominio_de_topo() {
+        createAlunoDTO.setEmail("joao@teste");
+        Set<ConstraintViolation<CreateAlunoDTO>> violations = validator.validate(createAlunoDTO);
+        assertFalse(violations.isEmpty());
+    }
+
     @Test
     @DisplayName("Deve rejeitar email inválido")
     void deve_rejeitar_email_invalido() {
@@ -152,11 +169,11 @@ class CreateAlunoDTOTest {
     @DisplayName("Getters e Setters devem funcionar")
     void getters_e_setters_devem_funcionar() {
         createAlunoDTO.setNome("Novo Nome");
-        createAlunoDTO.setCpf("11111111111");
+        createAlunoDTO.setCpf("11144477735");
         createAlunoDTO.setEmail("novo@email.com");
 
         assertEquals("Novo Nome", createAlunoDTO.getNome());
-        assertEquals("11111111111", createAlunoDTO.getCpf());
+        assertEquals("11144477735", createAlunoDTO.getCpf());
         assertEquals("novo@email.com", createAlunoDTO.getEmail());
     }
 
@@ -165,13 +182,13 @@ class CreateAlunoDTOTest {
     void equals_e_hashcode_devem_funcionar() {
         CreateAlunoDTO dto1 = CreateAlunoDTO.builder()
                 .nome("João")
-                .cpf("12345678901")
+                .cpf("12345678909")
                 .email("joao@teste.com")
                 .build();
 
         CreateAlunoDTO dto2 = CreateAlunoDTO.builder()
                 .nome("João")
-                .cpf("12345678901")
+                .cpf("12345678909")
                 .email("joao@teste.com")
                 .build();
 
@@ -0,0 +1,137 @@
+package com.example.pratica4.dto;
+
+import com.example.pratica4.config.SchemasProtobuf;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes dos serializadores diretos de Aluno e Curso: o JSON deve ser igual ao de AlunoDTO.
+ */
+@DisplayName("Testes do EntidadesJson")
+class EntidadesJsonTest {
+
+    private final ObjectMapper mapper = construtor().build();
+
+    private Aluno aluno;
+
+    @BeforeEach
+    void setUp() {
+        aluno = Aluno.builder()
+                .id(1L)
+                .nome("João \"Jota\" Silva")
+                .cpf(new CPF("12345678909"))
+                .email(new Email("joao@teste.com"))
+                .plano(Plano.PREMIUM)
+                .dataCadastro(LocalDate.of(2025, 3, 9))
+                .beneficiosPremiumAtivos(true)
+                .build();
+        aluno.adicionarCurso(new Curso(10L, "Java", 8.5, true));
+        aluno.adicionarCurso(new Curso(11L, "SQL", 6.0, true));
+        aluno.adicionarCurso(new Curso(12L, "Go", 0.0, false));
+    }
+
+    @Test
+    @DisplayName("Aluno com cursos deve gerar o mesmo JSON de AlunoDTO.fromEntity")
+    void deveGerarMesmoJsonDoDTO() throws Exception {
+        assertMesmoJson(mapper, aluno);
+    }
+
+    @Test
+    @DisplayName("Médias com mais de uma casa decimal ou fora de 0..10 devem sair como no DTO")
+    void mediasForaDoTextoProntoDevemSairComoNoDTO() throws Exception {
+        aluno.adicionarCurso(new Curso(13L, "Rust", 7.25, true));
+        aluno.adicionarCurso(new Curso(14L, "C", 10.0, true));
+        aluno.adicionarCurso(new Curso(15L, "Kotlin", 0.3, true));
+        aluno.adicionarCurso(new Curso(16L, "Scala", 11.5, true));
+        aluno.adicionarCurso(new Curso(17L, "Lua", -1.0, true));
+
+        assertMesmoJson(mapper, aluno);
+    }
+
+    @Test
+    @DisplayName("Em CBOR o aluno deve ser lido como o mesmo AlunoDTO")
+    void cborDeveGerarMesmoDTO() throws Exception {
+        ObjectMapper cbor = construtor().factory(new CBORFactory()).build();
+
+        assertEquals(AlunoDTO.fromEntity(aluno), cbor.readValue(cbor.writeValueAsBytes(aluno), AlunoDTO.class));
+    }
+
+    @Test
+    @DisplayName("Campos nulos devem ser escritos como null, como no DTO")
+    void camposNulosDevemSerNull() throws Exception {
+        Aluno vazio = new Aluno();
+        vazio.setPlano(null);
+        vazio.setDataCadastro(null);
+        vazio.adicionarCurso(new Curso((String) null));
+
+        assertMesmoJson(mapper, vazio);
+    }
+
+    @Test
+    @DisplayName("CPF fora do tamanho esperado deve sair sem formatação")
+    void cpfInvalidoDeveSairSemFormatacao() throws Exception {
+        aluno.setCpf(new CPF("123"));
+
+        assertMesmoJson(mapper, aluno);
+        assertEquals("123", mapper.readTree(mapper.writeValueAsString(aluno)).get("cpf").asText());
+    }
+
+    @Test
+    @DisplayName("Com datas como timestamp, dataCadastro deve seguir a configuração do mapper")
+    void datasComoTimestampDevemSeguirConfiguracao() throws Exception {
+        ObjectMapper comTimestamps = construtor()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+        assertMesmoJson(comTimestamps, aluno);
+    }
+
+    @Test
+    @DisplayName("Lista de alunos deve gerar o mesmo JSON da lista de DTOs")
+    void listaDeveGerarMesmoJson() throws Exception {
+        assertEquals(mapper.writeValueAsString(List.of(AlunoDTO.fromEntity(aluno))),
+                mapper.writeValueAsString(List.of(aluno)));
+    }
+
+    @Test
+    @DisplayName("Em protobuf o aluno deve usar os campos de AlunoDTO")
+    void protobufDeveUsarCamposDoDTO() throws Exception {
+        SchemasProtobuf schemas = new SchemasProtobuf(construtor());
+        ProtobufSchema schema = schemas.schemaPara(Aluno.class).orElseThrow();
+
+        byte[] bytes = schemas.getMapper().writer(schema).writeValueAsBytes(aluno);
+        AlunoDTO lido = schemas.getMapper().readerFor(AlunoDTO.class).with(schema).readValue(bytes);
+
+        assertTrue(schema.getSource().toString().contains("message Aluno {"));
+        assertEquals(AlunoDTO.fromEntity(aluno), lido);
+    }
+
+    private static void assertMesmoJson(ObjectMapper mapper, Aluno aluno) throws Exception {
+        assertEquals(mapper.writeValueAsString(AlunoDTO.fromEntity(aluno)), mapper.writeValueAsString(aluno));
+    }
+
+    private static Jackson2ObjectMapperBuilder construtor() {
+        SimpleModule modulo = new SimpleModule()
+                .addSerializer(new EntidadesJson.AlunoSerializer())
+                .addSerializer(new EntidadesJson.CursoSerializer());
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(modulo);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.pratica4.dto;
+
+import com.example.pratica4.model.Curso;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para PaginaCursosDTO.
+ */
+@DisplayName("Testes do PaginaCursosDTO")
+class PaginaCursosDTOTest {
+
+    @Test
+    @DisplayName("Deve descartar o curso excedente e gerar o cursor da próxima página")
+    void deveDescartarExcedenteEGerarCursor() {
+        ConsultaCursos consulta = ConsultaCursos.de(null, null, null, null, null, null, 2);
+        List<Curso> cursos = List.of(
+                new Curso(1L, "Java", 8.0, true),
+                new Curso(2L, "Python", 0.0, false),
+                new Curso(3L, "Go", 0.0, false));
+
+        PaginaCursosDTO pagina = PaginaCursosDTO.de(cursos, consulta);
+
+        assertEquals(2, pagina.getCursos().size());
+        assertTrue(pagina.getCursos().get(0).isAprovado());
+        assertTrue(pagina.isPossuiMais());
+        assertEquals(2L, ConsultaCursos.de(null, null, null, null, null, pagina.getProximoCursor(), 2).getCursorId());
+    }
+
+    @Test
+    @DisplayName("Última página não deve ter cursor")
+    void ultimaPaginaNaoDeveTerCursor() {
+        ConsultaCursos consulta = ConsultaCursos.de(null, null, null, null, null, null, 2);
+
+        PaginaCursosDTO pagina = PaginaCursosDTO.de(List.of(new Curso(1L, "Java", 8.0, true)), consulta);
+
+        assertEquals(1, pagina.getCursos().size());
+        assertFalse(pagina.isPossuiMais());
+        assertNull(pagina.getProximoCursor());
+    }
+}
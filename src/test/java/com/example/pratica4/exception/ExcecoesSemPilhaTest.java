@@ -0,0 +1,56 @@
+package com.example.pratica4.exception;
+
+import com.example.pratica4.model.valueobject.CPF;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das exceções de domínio sem pilha (não encontrado e cadastro duplicado).
+ */
+@DisplayName("Testes das exceções sem pilha")
+class ExcecoesSemPilhaTest {
+
+    @Test
+    @DisplayName("AlunoNaoEncontradoException deve manter a mensagem e não capturar a pilha")
+    void alunoNaoEncontradoDeveSerSemPilha() {
+        AlunoNaoEncontradoException ex = new AlunoNaoEncontradoException(999L);
+
+        assertInstanceOf(EntityNotFoundException.class, ex);
+        assertEquals("Aluno não encontrado com ID: 999", ex.getMessage());
+        assertEquals(999L, ex.getAlunoId());
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("CursoNaoEncontradoException deve manter a mensagem e não capturar a pilha")
+    void cursoNaoEncontradoDeveSerSemPilha() {
+        CursoNaoEncontradoException ex = new CursoNaoEncontradoException(5L, 1L);
+
+        assertInstanceOf(EntityNotFoundException.class, ex);
+        assertEquals("Curso com ID 5 não encontrado para o aluno 1", ex.getMessage());
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("CadastroDuplicadoException deve usar o toString do valor e não capturar a pilha")
+    void cadastroDuplicadoDeveSerSemPilha() {
+        CadastroDuplicadoException ex = new CadastroDuplicadoException("CPF", new CPF("12345678909"));
+
+        assertInstanceOf(IllegalArgumentException.class, ex);
+        assertEquals("CPF já cadastrado: 123.456.789-09", ex.getMessage());
+        assertEquals("CPF", ex.getCampo());
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Exceção sem pilha ainda deve aceitar exceções suprimidas")
+    void deveAceitarSuprimidas() {
+        AlunoNaoEncontradoException ex = new AlunoNaoEncontradoException(1L);
+        ex.addSuppressed(new IllegalStateException("rollback"));
+
+        assertEquals(1, ex.getSuppressed().length);
+    }
+}
@@ -4,10 +4,13 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.util.List;
@@ -45,7 +48,7 @@ class GlobalExceptionHandlerTest {
     @Test
     @DisplayName("Deve tratar IllegalArgumentException retornando 400")
     void deve_tratar_illegal_argument_exception() {
-        IllegalArgumentException exception = new IllegalArgumentException("CPF já cadastrado: 12345678901");
+        IllegalArgumentException exception = new IllegalArgumentException("CPF já cadastrado: 12345678909");
 
         ResponseEntity<ErrorResponse> response = exceptionHandler.handleIllegalArgument(exception);
 
@@ -54,10 +57,32 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody());
         assertEquals(400, response.getBody().getStatus());
         assertEquals("Argumento inválido", response.getBody().getError());
-        assertEquals("CPF já cadastrado: 12345678901", response.getBody().getMessage());
+        assertEquals("CPF já cadastrado: 12345678909", response.getBody().getMessage());
         assertNotNull(response.getBody().getTimestamp());
     }
 
+    @Test
+    @DisplayName("Deve tratar AlunoNaoEncontradoException como EntityNotFoundException")
+    void deve_tratar_aluno_nao_encontrado() {
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleEntityNotFound(new AlunoNaoEncontradoException(999L));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(404, response.getBody().getStatus());
+        assertEquals("Recurso não encontrado", response.getBody().getError());
+        assertEquals("Aluno não encontrado com ID: 999", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve tratar CadastroDuplicadoException como IllegalArgumentException")
+    void deve_tratar_cadastro_duplicado() {
+        ResponseEntity<ErrorResponse> response =
+                exceptionHandler.handleIllegalArgument(new CadastroDuplicadoException("Email", "joao@teste.com"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Argumento inválido", response.getBody().getError());
+        assertEquals("Email já cadastrado: joao@teste.com", response.getBody().getMessage());
+    }
+
     @Test
     @DisplayName("Deve tratar MethodArgumentNotValidException com erros de validação")
     void deve_tratar_method_argument_not_valid_exception() {
@@ -183,4 +208,70 @@ class GlobalExceptionHandlerTest {
 
         assertNull(response.getBody().getDetails());
     }
+
+    @Test
+    @DisplayName("Deve tratar VersaoDivergenteException retornando 412")
+    void deve_tratar_versao_divergente_exception() {
+        VersaoDivergenteException exception = new VersaoDivergenteException(1L, 2L, 3L);
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleVersaoDivergente(exception);
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(412, response.getBody().getStatus());
+        assertEquals("Aluno 1 foi alterado: versão esperada 2, versão atual 3", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve tratar ChaveIdempotenciaReutilizadaException retornando 422")
+    void deve_tratar_chave_idempotencia_reutilizada_exception() {
+        ChaveIdempotenciaReutilizadaException exception = new ChaveIdempotenciaReutilizadaException("abc");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleChaveIdempotenciaReutilizada(exception);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(422, response.getBody().getStatus());
+        assertEquals("Idempotency-Key abc já foi usada com outro corpo de requisição", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve tratar SobrecargaException retornando 503 com Retry-After")
+    void deve_tratar_sobrecarga_exception() {
+        SobrecargaException exception = new SobrecargaException("escrita", 20, 3);
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleSobrecarga(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertEquals(503, response.getBody().getStatus());
+        assertEquals("Servidor sobrecarregado: limite de 20 requisições simultâneas de escrita atingido. "
+                + "Tente novamente em 3s.", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve tratar OptimisticLockingFailureException retornando 409")
+    void deve_tratar_optimistic_locking_failure_exception() {
+        OptimisticLockingFailureException exception = new OptimisticLockingFailureException("Row was updated");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleOptimisticLocking(exception);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(409, response.getBody().getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve tratar HttpMediaTypeNotAcceptableException retornando 406")
+    void deve_tratar_formato_nao_aceitavel() {
+        HttpMediaTypeNotAcceptableException exception =
+                new HttpMediaTypeNotAcceptableException(List.of(MediaType.APPLICATION_JSON));
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleFormatoNaoAceitavel(exception);
+
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+        assertEquals(406, response.getBody().getStatus());
+        assertEquals("Formato não aceitável", response.getBody().getError());
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.pratica4.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do ModeloErro")
+class ModeloErroTest {
+
+    @Test
+    @DisplayName("NAO_ENCONTRADO deve gerar 404 com o título de recurso não encontrado")
+    void naoEncontradoDeveGerar404() {
+        ErrorResponse resposta = ModeloErro.NAO_ENCONTRADO.resposta("Aluno não encontrado com ID: 1");
+
+        assertEquals(HttpStatus.NOT_FOUND, ModeloErro.NAO_ENCONTRADO.getStatus());
+        assertEquals(404, resposta.getStatus());
+        assertEquals("Recurso não encontrado", resposta.getError());
+        assertEquals("Aluno não encontrado com ID: 1", resposta.getMessage());
+        assertNull(resposta.getDetails());
+    }
+
+    @Test
+    @DisplayName("ARGUMENTO_INVALIDO deve gerar 400 com o título de argumento inválido")
+    void argumentoInvalidoDeveGerar400() {
+        ErrorResponse resposta = ModeloErro.ARGUMENTO_INVALIDO.resposta("ID inválido: abc");
+
+        assertEquals(400, resposta.getStatus());
+        assertEquals("Argumento inválido", resposta.getError());
+    }
+
+    @Test
+    @DisplayName("Cada resposta deve ser uma instância nova")
+    void respostasNaoDevemSerCompartilhadas() {
+        ErrorResponse primeira = ModeloErro.NAO_ENCONTRADO.resposta("a");
+        ErrorResponse segunda = ModeloErro.NAO_ENCONTRADO.resposta("b");
+
+        assertNotSame(primeira, segunda);
+        assertEquals("a", primeira.getMessage());
+    }
+
+    @Test
+    @DisplayName("Timestamp deve ser a hora atual com precisão de milissegundos")
+    void timestampDeveSerAtual() {
+        LocalDateTime antes = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime carimbo = ModeloErro.agora();
+        LocalDateTime depois = LocalDateTime.now();
+
+        assertFalse(carimbo.isBefore(antes));
+        assertFalse(carimbo.isAfter(depois));
+        assertEquals(0, carimbo.getNano() % 1_000_000);
+    }
+}
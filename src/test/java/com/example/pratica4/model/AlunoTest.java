@@ -2,6 +2,7 @@ package com.example.pratica4.model;
 
 import com.example.pratica4.model.valueobject.CPF;
 import com.example.pratica4.model.valueobject.Email;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -135,7 +136,7 @@ class AlunoTest {
         Aluno alunoBuilder = Aluno.builder()
                 .id(10L)
                 .nome("Maria Silva")
-                .cpf(new CPF("98765432109"))
+                .cpf(new CPF("52998224725"))
                 .email(new Email("maria@teste.com"))
                 .plano(Plano.PREMIUM)
                 .dataCadastro(LocalDate.of(2023, 1, 1))
@@ -144,7 +145,7 @@ class AlunoTest {
 
         assertEquals(10L, alunoBuilder.getId());
         assertEquals("Maria Silva", alunoBuilder.getNome());
-        assertEquals("98765432109", alunoBuilder.getCpf().getNumero());
+        assertEquals("52998224725", alunoBuilder.getCpf().getNumero());
         assertEquals("maria@teste.com", alunoBuilder.getEmail().getEndereco());
         assertEquals(Plano.PREMIUM, alunoBuilder.getPlano());
         assertEquals(LocalDate.of(2023, 1, 1), alunoBuilder.getDataCadastro());
@@ -166,7 +167,7 @@ class AlunoTest {
         Aluno alunoCompleto = new Aluno(
                 1L,
                 "João Silva",
-                new CPF("12345678901"),
+                new CPF("12345678909"),
                 new Email("joao@teste.com"),
                 Plano.BASICO,
                 LocalDate.now(),
@@ -197,7 +198,7 @@ class AlunoTest {
         aluno.setNome("Novo Nome");
         aluno.setPlano(Plano.PREMIUM);
         aluno.setBeneficiosPremiumAtivos(true);
-        aluno.setCpf(new CPF("11111111111"));
+        aluno.setCpf(new CPF("11144477735"));
         aluno.setEmail(new Email("novo@email.com"));
         aluno.setDataCadastro(LocalDate.of(2024, 1, 1));
 
@@ -205,7 +206,7 @@ class AlunoTest {
         assertEquals("Novo Nome", aluno.getNome());
         assertEquals(Plano.PREMIUM, aluno.getPlano());
         assertTrue(aluno.isBeneficiosPremiumAtivos());
-        assertEquals("11111111111", aluno.getCpf().getNumero());
+        assertEquals("11144477735", aluno.getCpf().getNumero());
         assertEquals("novo@email.com", aluno.getEmail().getEndereco());
         assertEquals(LocalDate.of(2024, 1, 1), aluno.getDataCadastro());
     }
@@ -216,14 +217,14 @@ class AlunoTest {
         Aluno aluno1 = Aluno.builder()
                 .id(1L)
                 .nome("João")
-                .cpf(new CPF("12345678901"))
+                .cpf(new CPF("12345678909"))
                 .email(new Email("joao@teste.com"))
                 .build();
 
         Aluno aluno2 = Aluno.builder()
                 .id(1L)
                 .nome("João")
-                .cpf(new CPF("12345678901"))
+                .cpf(new CPF("12345678909"))
                 .email(new Email("joao@teste.com"))
                 .build();
 
@@ -240,6 +241,78 @@ class AlunoTest {
     }
 
     // Helper methods to reduce duplication and make intent explicit
+    @Test
+    @DisplayName("Upgrade deve registrar uma mudança de plano para publicação")
+    void upgrade_deve_registrar_mudanca_de_plano() {
+        aluno.setId(7L);
+        adicionarCursosAprovados(12, MEDIA_APROVACAO);
+
+        aluno.atualizarPlano();
+        aluno.atualizarPlano();
+
+        assertEquals(1, aluno.alteracoesPlano().size());
+        PlanoAlterado alteracao = aluno.alteracoesPlano().get(0);
+        assertEquals(7L, alteracao.getAlunoId());
+        assertEquals(Plano.BASICO, alteracao.getPlanoAnterior());
+        assertEquals(Plano.PREMIUM, alteracao.getPlanoAtual());
+        assertTrue(alteracao.isBeneficiosPremiumAtivos());
+    }
+
+    @Test
+    @DisplayName("Sem mudança de plano não deve registrar evento")
+    void sem_mudanca_de_plano_nao_deve_registrar_evento() {
+        adicionarCursosAprovados(11, MEDIA_APROVACAO);
+
+        aluno.atualizarPlano();
+
+        assertTrue(aluno.alteracoesPlano().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Mudanças publicadas devem ser removidas e não entrar no equals")
+    void mudancas_publicadas_devem_ser_removidas() {
+        adicionarCursosAprovados(12, MEDIA_APROVACAO);
+        Aluno copia = Aluno.builder().nome(aluno.getNome()).cpf(aluno.getCpf()).email(aluno.getEmail())
+                .dataCadastro(aluno.getDataCadastro()).cursos(aluno.getCursos()).build();
+
+        aluno.atualizarPlano();
+        copia.setPlano(Plano.PREMIUM);
+        copia.setBeneficiosPremiumAtivos(true);
+        copia.setPremiumEm(aluno.getPremiumEm());
+        assertEquals(copia, aluno);
+
+        aluno.limparAlteracoesPlano();
+        assertTrue(aluno.alteracoesPlano().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Plano deve seguir as faixas e a média da política em vigor")
+    void planoDeveSeguirPoliticaEmVigor() {
+        PoliticaPlanos.definir(PoliticaPlanos.builder()
+                .mediaAprovacao(6.0)
+                .faixa(Plano.BASICO, 0, false)
+                .faixa(Plano.INTERMEDIARIO, 3, false)
+                .faixa(Plano.PREMIUM, 5, true)
+                .mensagensPadrao()
+                .build());
+        adicionarCursosAprovados(3, 6.5);
+
+        aluno.atualizarPlano();
+        assertEquals(Plano.INTERMEDIARIO, aluno.getPlano());
+        assertFalse(aluno.isBeneficiosPremiumAtivos());
+
+        adicionarCursosAprovados(2, 6.0);
+        aluno.atualizarPlano();
+        assertEquals(Plano.PREMIUM, aluno.getPlano());
+        assertTrue(aluno.isBeneficiosPremiumAtivos());
+        assertEquals(2, aluno.alteracoesPlano().size());
+    }
+
+    @AfterEach
+    void restaurarPolitica() {
+        PoliticaPlanos.definir(PoliticaPlanos.padrao());
+    }
+
     private void adicionarCursosAprovados(int quantidade, double media) {
         for (int i = 0; i < quantidade; i++) {
             aluno.adicionarCurso(criarCursoConcluido(media, "Aprovado " + (i + 1)));
@@ -37,10 +37,12 @@ class PlanoTest {
     }
 
     @Test
-    @DisplayName("Deve ter exatamente 2 valores")
-    void deve_ter_exatamente_dois_valores() {
+    @DisplayName("Deve ter exatamente 3 valores (INTERMEDIARIO acrescentado no fim)")
+    void deve_ter_exatamente_tres_valores() {
         Plano[] valores = Plano.values();
-        assertEquals(2, valores.length);
+        assertEquals(3, valores.length);
+        assertEquals(Plano.INTERMEDIARIO, valores[2]);
+        assertEquals("Intermediário", Plano.INTERMEDIARIO.getNome());
     }
 
     @Test
@@ -127,6 +129,7 @@ class PlanoTest {
         String resultado = switch (plano) {
             case BASICO -> "É básico";
             case PREMIUM -> "É premium";
+            case INTERMEDIARIO -> "É intermediário";
         };
 
         assertEquals("É básico", resultado);
@@ -0,0 +1,103 @@
+package com.example.pratica4.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da PoliticaPlanos")
+class PoliticaPlanosTest {
+
+    @Test
+    @DisplayName("Política padrão deve reproduzir a regra de 7.0 e 12 cursos")
+    void politicaPadraoDeveReproduzirRegraOriginal() {
+        PoliticaPlanos politica = PoliticaPlanos.padrao();
+
+        assertTrue(politica.isAprovado(true, 7.0));
+        assertFalse(politica.isAprovado(true, 6.99));
+        assertFalse(politica.isAprovado(false, 10.0));
+
+        for (int aprovados = 0; aprovados < 12; aprovados++) {
+            PoliticaPlanos.Nivel nivel = politica.avaliar(aprovados);
+            assertEquals(Plano.BASICO, nivel.getPlano());
+            assertFalse(nivel.isBeneficiosPremium());
+            assertEquals(Plano.PREMIUM, nivel.getProximoPlano());
+            assertEquals(12, nivel.getCursosNecessarios());
+            assertEquals(12 - aprovados, nivel.getCursosRestantes());
+        }
+        PoliticaPlanos.Nivel premium = politica.avaliar(12);
+        assertEquals(Plano.PREMIUM, premium.getPlano());
+        assertTrue(premium.isBeneficiosPremium());
+        assertTrue(premium.isUltimaFaixa());
+        assertEquals(0, premium.getCursosRestantes());
+    }
+
+    @Test
+    @DisplayName("Mensagens padrão devem mudar em 6, 10 e 12 cursos aprovados")
+    void mensagensPadraoDevemMudarNasFaixas() {
+        PoliticaPlanos politica = PoliticaPlanos.padrao();
+
+        assertEquals("Continue estudando! Faltam 7 cursos para o Premium.", politica.avaliar(5).getMensagem());
+        assertEquals("Continue assim! Você já completou metade do caminho!", politica.avaliar(6).getMensagem());
+        assertEquals("Você está quase lá! Faltam apenas 1 cursos!", politica.avaliar(11).getMensagem());
+        assertEquals("Parabéns! Você atingiu o plano Premium!", politica.avaliar(12).getMensagem());
+    }
+
+    @Test
+    @DisplayName("Acima da última faixa deve reutilizar o último nível da tabela")
+    void acimaDaUltimaFaixaDeveUsarUltimoNivel() {
+        PoliticaPlanos politica = PoliticaPlanos.padrao();
+
+        assertSame(politica.avaliar(12), politica.avaliar(500));
+        assertSame(politica.avaliar(12), politica.avaliar(Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> politica.avaliar(-1));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar N faixas, informadas em qualquer ordem")
+    void deveAceitarVariasFaixas() {
+        PoliticaPlanos politica = PoliticaPlanos.builder()
+                .mediaAprovacao(6.0)
+                .faixa(Plano.PREMIUM, 8, true)
+                .faixa(Plano.BASICO, 0, false)
+                .faixa(Plano.INTERMEDIARIO, 4, false)
+                .mensagem(0, "Faltam {restantes} para o {proximo} (você é {plano})")
+                .build();
+
+        assertEquals(Plano.BASICO, politica.avaliar(3).getPlano());
+        assertEquals("Faltam 1 para o Intermediário (você é Básico)", politica.avaliar(3).getMensagem());
+        assertEquals(Plano.INTERMEDIARIO, politica.avaliar(4).getPlano());
+        assertEquals(8, politica.avaliar(4).getCursosNecessarios());
+        assertEquals("Faltam 4 para o Premium (você é Intermediário)", politica.avaliar(4).getMensagem());
+        assertEquals(Plano.PREMIUM, politica.avaliar(9).getPlano());
+        assertTrue(politica.isAprovado(true, 6.0));
+    }
+
+    @Test
+    @DisplayName("Impressão deve depender só do conteúdo da política")
+    void impressaoDeveDependerDoConteudo() {
+        assertEquals(PoliticaPlanos.padrao().getImpressao(), PoliticaPlanos.padrao().getImpressao());
+        assertNotEquals(PoliticaPlanos.padrao().getImpressao(), PoliticaPlanos.builder()
+                .mediaAprovacao(6.0).faixasPadrao().mensagensPadrao().build().getImpressao());
+        assertNotEquals(PoliticaPlanos.padrao().getImpressao(), PoliticaPlanos.builder()
+                .faixasPadrao().mensagensPadrao().mensagem(0, "Outra mensagem").build().getImpressao());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar políticas inválidas")
+    void deveRejeitarPoliticasInvalidas() {
+        assertThrows(IllegalArgumentException.class, () -> PoliticaPlanos.builder()
+                .mensagensPadrao().build());
+        assertThrows(IllegalArgumentException.class, () -> PoliticaPlanos.builder()
+                .faixa(Plano.BASICO, 1, false).mensagensPadrao().build());
+        assertThrows(IllegalArgumentException.class, () -> PoliticaPlanos.builder()
+                .faixa(Plano.BASICO, 0, false).faixa(Plano.BASICO, 5, true).mensagensPadrao().build());
+        assertThrows(IllegalArgumentException.class, () -> PoliticaPlanos.builder()
+                .faixa(Plano.BASICO, 0, false).faixa(Plano.PREMIUM, 0, true).mensagensPadrao().build());
+        assertThrows(IllegalArgumentException.class, () -> PoliticaPlanos.builder()
+                .faixasPadrao().mensagem(1, "sem mensagem para 0").build());
+        assertThrows(IllegalArgumentException.class, () -> PoliticaPlanos.builder()
+                .mediaAprovacao(10.5).faixasPadrao().mensagensPadrao().build());
+        assertThrows(IllegalArgumentException.class, () -> PoliticaPlanos.definir(null));
+    }
+}
@@ -17,7 +17,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *
  * Testa:
  * - Validação de formato (11 dígitos numéricos)
- * - Formatação (123.456.789-01)
+ * - Formatação (123.456.789-09)
  * - Comportamento com valores válidos e inválidos
  */
 @DisplayName("Testes da classe CPF")
@@ -34,21 +34,21 @@ class CPFTest {
     @Test
     @DisplayName("Deve criar CPF válido com 11 dígitos")
     void deveCriarCpfValido() {
-        CPF cpf = new CPF("12345678901");
+        CPF cpf = new CPF("12345678909");
 
         Set<ConstraintViolation<CPF>> violations = validator.validate(cpf);
 
         assertTrue(violations.isEmpty(), "CPF válido não deve ter violações");
-        assertEquals("12345678901", cpf.getNumero());
+        assertEquals("12345678909", cpf.getNumero());
     }
 
     @Test
     @DisplayName("Deve formatar CPF corretamente")
     void deveFormatarCpfCorretamente() {
-        CPF cpf = new CPF("12345678901");
+        CPF cpf = new CPF("12345678909");
 
-        assertEquals("123.456.789-01", cpf.getFormatado());
-        assertEquals("123.456.789-01", cpf.toString());
+        assertEquals("123.456.789-09", cpf.getFormatado());
+        assertEquals("123.456.789-09", cpf.toString());
     }
 
     @Test
@@ -63,7 +63,7 @@ class CPFTest {
     @Test
     @DisplayName("Deve rejeitar CPF com mais de 11 dígitos")
     void deveRejeitarCpfComMaisDe11Digitos() {
-        CPF cpf = new CPF("123456789012"); // 12 dígitos
+        CPF cpf = new CPF("123456789092"); // 12 dígitos
         Set<ConstraintViolation<CPF>> violations = validator.validate(cpf);
 
         assertFalse(violations.isEmpty(), "CPF com 12 dígitos deve ser inválido");
@@ -81,7 +81,7 @@ class CPFTest {
     @Test
     @DisplayName("Deve rejeitar CPF com caracteres especiais")
     void deveRejeitarCpfComCaracteresEspeciais() {
-        CPF cpf = new CPF("123.456.789-01"); // Formatado (não aceito no padrão)
+        CPF cpf = new CPF("123.456.789-09"); // Formatado (não aceito no padrão)
         Set<ConstraintViolation<CPF>> violations = validator.validate(cpf);
 
         assertFalse(violations.isEmpty(),
@@ -121,8 +121,8 @@ class CPFTest {
     @Test
     @DisplayName("CPFs iguais devem ser considerados iguais")
     void cpfsIguaisDevemSerIguais() {
-        CPF cpf1 = new CPF("12345678901");
-        CPF cpf2 = new CPF("12345678901");
+        CPF cpf1 = new CPF("12345678909");
+        CPF cpf2 = new CPF("12345678909");
 
         assertEquals(cpf1, cpf2);
         assertEquals(cpf1.hashCode(), cpf2.hashCode());
@@ -131,8 +131,8 @@ class CPFTest {
     @Test
     @DisplayName("CPFs diferentes devem ser considerados diferentes")
     void cpfsDiferentesDevemSerDiferentes() {
-        CPF cpf1 = new CPF("12345678901");
-        CPF cpf2 = new CPF("98765432109");
+        CPF cpf1 = new CPF("12345678909");
+        CPF cpf2 = new CPF("52998224725");
 
         assertNotEquals(cpf1, cpf2);
     }
@@ -148,20 +148,20 @@ class CPFTest {
     @DisplayName("Setter deve funcionar corretamente")
     void setterDeveFuncionarCorretamente() {
         CPF cpf = new CPF();
-        cpf.setNumero("12345678901");
+        cpf.setNumero("12345678909");
 
-        assertEquals("12345678901", cpf.getNumero());
-        assertEquals("123.456.789-01", cpf.getFormatado());
+        assertEquals("12345678909", cpf.getNumero());
+        assertEquals("123.456.789-09", cpf.getFormatado());
     }
 
     @Test
     @DisplayName("Deve aceitar CPFs válidos conhecidos")
     void deveAceitarCpfsValidosConhecidos() {
         String[] cpfsValidos = {
-            "11111111111",
-            "00000000000",
-            "12345678901",
-            "98765432109"
+            "11144477735",
+            "00000000191",
+            "12345678909",
+            "52998224725"
         };
 
         for (String cpfStr : cpfsValidos) {
@@ -169,7 +169,43 @@ class CPFTest {
             Set<ConstraintViolation<CPF>> violations = validator.validate(cpf);
 
             assertTrue(violations.isEmpty(),
-                "CPF '" + cpfStr + "' deveria ser válido (formato)");
+                "CPF '" + cpfStr + "' deveria ser válido");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar CPF com dígitos verificadores errados")
+    void deveRejeitarCpfComDigitosVerificadoresErrados() {
+        CPF cpf = new CPF("12345678901");
+        Set<ConstraintViolation<CPF>> violations = validator.validate(cpf);
+
+        assertEquals(1, violations.size());
+        assertEquals("CPF inválido: dígitos verificadores não conferem", violations.iterator().next().getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar CPF com todos os dígitos iguais")
+    void deveRejeitarCpfComDigitosRepetidos() {
+        for (char digito = '0'; digito <= '9'; digito++) {
+            CPF cpf = new CPF(String.valueOf(digito).repeat(11));
+
+            assertFalse(validator.validate(cpf).isEmpty(), "CPF " + cpf.getNumero() + " deve ser inválido");
         }
     }
+
+    @Test
+    @DisplayName("CPF com formato errado deve manter a mensagem de formato")
+    void formatoErradoDeveManterMensagem() {
+        Set<ConstraintViolation<CPF>> violations = validator.validate(new CPF("1234567890a"));
+
+        assertEquals("CPF deve conter exatamente 11 dígitos numéricos", violations.iterator().next().getMessage());
+    }
+
+    @Test
+    @DisplayName("formatar deve funcionar sem instância")
+    void formatarEstatico() {
+        assertEquals("529.982.247-25", CPF.formatar("52998224725"));
+        assertEquals("123", CPF.formatar("123"));
+        assertNull(CPF.formatar(null));
+    }
 }
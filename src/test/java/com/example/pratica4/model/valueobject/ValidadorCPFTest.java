@@ -0,0 +1,81 @@
+package com.example.pratica4.model.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para ValidadorCPF.
+ */
+@DisplayName("Testes do ValidadorCPF")
+class ValidadorCPFTest {
+
+    @Test
+    @DisplayName("Deve aceitar CPFs com dígitos verificadores corretos")
+    void deveAceitarCpfsValidos() {
+        assertTrue(ValidadorCPF.isValido("12345678909"));
+        assertTrue(ValidadorCPF.isValido("52998224725"));
+        assertTrue(ValidadorCPF.isValido("98765432100"));
+        assertTrue(ValidadorCPF.isValido("00000000191"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar quando só o segundo dígito verificador está errado")
+    void deveRejeitarSegundoDigitoErrado() {
+        assertTrue(ValidadorCPF.temFormato("12345678908"));
+        assertFalse(ValidadorCPF.isValido("12345678908"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar formato inválido e nulo")
+    void deveRejeitarFormatoInvalido() {
+        assertFalse(ValidadorCPF.isValido(null));
+        assertFalse(ValidadorCPF.isValido(""));
+        assertFalse(ValidadorCPF.isValido("1234567890"));
+        assertFalse(ValidadorCPF.isValido("123456789090"));
+        assertFalse(ValidadorCPF.isValido("123.456.789-09"));
+        assertFalse(ValidadorCPF.isValido("1234567890/"));
+        assertFalse(ValidadorCPF.isValido("1234567890:"));
+    }
+
+    @Test
+    @DisplayName("Nulo deve ser aceito pela anotação (obrigatoriedade fica com @NotBlank)")
+    void nuloDeveSerAceitoPelaAnotacao() {
+        assertTrue(new ValidadorCPF().isValid(null, null));
+    }
+
+    @Test
+    @DisplayName("Deve concordar com o cálculo do módulo 11 para CPFs aleatórios")
+    void deveConcordarComCalculoDeReferencia() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder base = new StringBuilder();
+            for (int j = 0; j < 9; j++) {
+                base.append(random.nextInt(10));
+            }
+            String valido = comDigitos(base.toString());
+            String invalido = valido.substring(0, 10) + (char) ('0' + (valido.charAt(10) - '0' + 1) % 10);
+
+            boolean repetido = valido.chars().distinct().count() == 1;
+            assertEquals(!repetido, ValidadorCPF.isValido(valido), valido);
+            assertFalse(ValidadorCPF.isValido(invalido), invalido);
+        }
+    }
+
+    private static String comDigitos(String base) {
+        int soma = 0;
+        for (int i = 0; i < 9; i++) {
+            soma += (base.charAt(i) - '0') * (10 - i);
+        }
+        int dv1 = (soma * 10) % 11 % 10;
+        soma = 0;
+        String comDv1 = base + dv1;
+        for (int i = 0; i < 10; i++) {
+            soma += (comDv1.charAt(i) - '0') * (11 - i);
+        }
+        return comDv1 + (soma * 10) % 11 % 10;
+    }
+}
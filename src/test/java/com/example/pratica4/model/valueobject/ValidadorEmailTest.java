@@ -0,0 +1,62 @@
+package com.example.pratica4.model.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para ValidadorEmail.
+ */
+@DisplayName("Testes do ValidadorEmail")
+class ValidadorEmailTest {
+
+    /**
+     * Regex que o validador substitui
+     */
+    private static final Pattern REGEX = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    @Test
+    @DisplayName("Deve aceitar e-mails válidos")
+    void deveAceitarEmailsValidos() {
+        assertTrue(ValidadorEmail.isValido("usuario@exemplo.com"));
+        assertTrue(ValidadorEmail.isValido("nome.sobrenome+tag@sub.dominio.com.br"));
+        assertTrue(ValidadorEmail.isValido("a_b-c@x-y.io"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar e-mails inválidos")
+    void deveRejeitarEmailsInvalidos() {
+        assertFalse(ValidadorEmail.isValido(null));
+        assertFalse(ValidadorEmail.isValido(""));
+        assertFalse(ValidadorEmail.isValido("email-invalido"));
+        assertFalse(ValidadorEmail.isValido("@exemplo.com"));
+        assertFalse(ValidadorEmail.isValido("usuario@"));
+        assertFalse(ValidadorEmail.isValido("usuario@exemplo"));
+        assertFalse(ValidadorEmail.isValido("usuario@.com"));
+        assertFalse(ValidadorEmail.isValido("usuario@exemplo.c"));
+        assertFalse(ValidadorEmail.isValido("usuario@exemplo.c0m"));
+        assertFalse(ValidadorEmail.isValido("usu@rio@exemplo.com"));
+        assertFalse(ValidadorEmail.isValido("usuario@exem_plo.com"));
+        assertFalse(ValidadorEmail.isValido("usuário@exemplo.com"));
+    }
+
+    @Test
+    @DisplayName("Deve dar o mesmo resultado da regex para textos aleatórios")
+    void deveConcordarComRegex() {
+        String alfabeto = "aZ09+_.-@x.";
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            char[] texto = new char[1 + random.nextInt(12)];
+            for (int j = 0; j < texto.length; j++) {
+                texto[j] = alfabeto.charAt(random.nextInt(alfabeto.length()));
+            }
+            String email = new String(texto);
+
+            assertEquals(REGEX.matcher(email).matches(), ValidadorEmail.isValido(email), email);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.pratica4.reactive;
+
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.BuscaAlunosDTO;
+import com.example.pratica4.dto.CursoDTO;
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.reactive.repository.AlunoReactiveRepository;
+import com.example.pratica4.service.EstatisticasNotas;
+import com.example.pratica4.service.IndiceNomes;
+import com.example.pratica4.service.Ranking;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testes de integração do profile reactive (WebFlux + R2DBC).
+ *
+ * Sobe a aplicação com Netty e usa o WebTestClient contra as rotas funcionais.
+ * JDBC e R2DBC apontam para o mesmo banco H2 em memória.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:reactivedb;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb;DB_CLOSE_DELAY=-1"
+        })
+@ActiveProfiles({"test", "reactive"})
+@DisplayName("Testes das rotas reativas de Aluno")
+class AlunoRouterTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private AlunoReactiveRepository alunoRepository;
+
+    @Autowired
+    private Ranking ranking;
+
+    @Autowired
+    private IndiceNomes indiceNomes;
+
+    @Autowired
+    private EstatisticasNotas estatisticasNotas;
+
+    private Long criarAluno(String nome, String cpf, String email) {
+        AlunoDTO criado = webTestClient.post().uri("/api/alunos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("nome", nome, "cpf", cpf, "email", email))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(AlunoDTO.class)
+                .returnResult()
+                .getResponseBody();
+        return criado.getId();
+    }
+
+    @Test
+    @DisplayName("POST e GET /api/alunos/{id} - Deve criar e buscar aluno")
+    void deveCriarEBuscarAluno() {
+        Long id = criarAluno("Ana Reativa", "11122233396", "ana@reativo.com");
+
+        webTestClient.get().uri("/api/alunos/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nome").isEqualTo("Ana Reativa")
+                .jsonPath("$.cpf").isEqualTo("111.222.333-96")
+                .jsonPath("$.plano").isEqualTo("BASICO")
+                .jsonPath("$.cursos.length()").isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("POST /api/alunos - Deve retornar 400 com dados inválidos")
+    void deveRetornar400ComDadosInvalidos() {
+        webTestClient.post().uri("/api/alunos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("nome", "", "cpf", "123", "email", "invalido"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Erro de validação")
+                .jsonPath("$.details.cpf").exists();
+    }
+
+    @Test
+    @DisplayName("POST /api/alunos - Deve retornar 400 com CPF duplicado")
+    void deveRetornar400ComCpfDuplicado() {
+        criarAluno("Bruno", "55566677720", "bruno@reativo.com");
+
+        webTestClient.post().uri("/api/alunos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("nome", "Outro", "cpf", "55566677720", "email", "outro@reativo.com"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("CPF já cadastrado: 555.666.777-20");
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos/{id} - Deve retornar 404 quando aluno não existe")
+    void deveRetornar404QuandoAlunoNaoExiste() {
+        webTestClient.get().uri("/api/alunos/99999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Aluno não encontrado com ID: 99999");
+    }
+
+    @Test
+    @DisplayName("Deve fazer upgrade para PREMIUM após 12 cursos aprovados")
+    void deveFazerUpgradeAposDozeCursosAprovados() {
+        Long id = criarAluno("Carla", "99988877714", "carla@reativo.com");
+
+        for (int i = 0; i < 12; i++) {
+            AlunoDTO aluno = webTestClient.post().uri("/api/alunos/{id}/cursos", id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("nome", "Curso " + i))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(AlunoDTO.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            Long cursoId = aluno.getCursos().get(i).getId();
+            webTestClient.put().uri("/api/alunos/{alunoId}/cursos/{cursoId}/concluir", id, cursoId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("media", 8.0))
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        webTestClient.get().uri("/api/alunos/{id}/progresso", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.planoAtual").isEqualTo("PREMIUM")
+                .jsonPath("$.cursosAprovados").isEqualTo(12)
+                .jsonPath("$.elegívelParaUpgrade").isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("PUT /api/alunos/{alunoId}/cursos/{cursoId}/concluir - Deve retornar 404 para curso de outro aluno")
+    void deveRetornar404ParaCursoInexistente() {
+        Long id = criarAluno("Diego", "12312312387", "diego@reativo.com");
+
+        webTestClient.put().uri("/api/alunos/{alunoId}/cursos/{cursoId}/concluir", id, 99999)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("media", 8.0))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("PUT e DELETE /api/alunos/{id} - Deve atualizar e remover aluno")
+    void deveAtualizarERemoverAluno() {
+        Long id = criarAluno("Eva", "32132132178", "eva@reativo.com");
+
+        webTestClient.put().uri("/api/alunos/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("nome", "Eva Maria", "cpf", "32132132178", "email", "eva@reativo.com"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nome").isEqualTo("Eva Maria");
+
+        webTestClient.delete().uri("/api/alunos/{id}", id)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/alunos/{id}", id)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos - Deve transmitir alunos em NDJSON")
+    void deveTransmitirAlunosEmNdjson() {
+        criarAluno("Fabio", "45645645600", "fabio@reativo.com");
+
+        Flux<AlunoDTO> alunos = webTestClient.get().uri("/api/alunos")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(AlunoDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(alunos.filter(aluno -> "Fabio".equals(aluno.getNome())))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("GET /api/alunos - Deve transmitir cada aluno com os próprios cursos")
+    void deveTransmitirAlunosComOsPropriosCursos() {
+        Long gabi = criarAluno("Gabi", "78978978932", "gabi@reativo.com");
+        Long hugo = criarAluno("Hugo", "14714714708", "hugo@reativo.com");
+        for (String curso : List.of("Java", "SQL")) {
+            adicionarCurso(gabi, curso);
+        }
+        adicionarCurso(hugo, "Git");
+
+        Flux<AlunoDTO> alunos = webTestClient.get().uri("/api/alunos")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(AlunoDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(alunos.filter(aluno -> aluno.getId().equals(gabi) || aluno.getId().equals(hugo)))
+                .assertNext(aluno -> assertEquals(List.of("Java", "SQL"), nomesDosCursos(aluno)))
+                .assertNext(aluno -> assertEquals(List.of("Git"), nomesDosCursos(aluno)))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Escritas reativas devem atualizar atualizadoEm, ranking, índice de nomes e estatísticas de notas")
+    void escritasDevemAtualizarIndicesEmMemoria() {
+        Long id = criarAluno("Iris Reativa", "25825825819", "iris@reativo.com");
+        assertNotNull(alunoRepository.findById(id).block().getAtualizadoEm());
+        assertEquals(List.of(id), indiceNomes.buscar("iris reativa", 10).getAlunos().stream()
+                .map(BuscaAlunosDTO.Item::getId).toList());
+
+        adicionarCurso(id, "Topologia Reativa");
+        Long cursoId = webTestClient.get().uri("/api/alunos/{id}", id)
+                .exchange()
+                .expectBody(AlunoDTO.class)
+                .returnResult()
+                .getResponseBody()
+                .getCursos().get(0).getId();
+        webTestClient.put().uri("/api/alunos/{alunoId}/cursos/{cursoId}/concluir", id, cursoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("media", 9.0))
+                .exchange()
+                .expectStatus().isOk();
+
+        assertEquals(1, ranking.posicao(Ranking.Criterio.APROVADOS, id).getCursosAprovados());
+        assertEquals(1, estatisticasNotas.consultar("Topologia Reativa", null).getTotal());
+
+        webTestClient.delete().uri("/api/alunos/{id}", id)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertThrows(AlunoNaoEncontradoException.class, () -> ranking.posicao(Ranking.Criterio.APROVADOS, id));
+        assertEquals(0, estatisticasNotas.consultar("Topologia Reativa", null).getTotal());
+        assertEquals(List.of(), indiceNomes.buscar("iris reativa", 10).getAlunos());
+    }
+
+    private void adicionarCurso(Long alunoId, String nome) {
+        webTestClient.post().uri("/api/alunos/{id}/cursos", alunoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("nome", nome))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private static List<String> nomesDosCursos(AlunoDTO aluno) {
+        return aluno.getCursos().stream().map(CursoDTO::getNome).toList();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.pratica4.reactive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do ReactiveConfig: JDBC e R2DBC no mesmo banco.
+ */
+@DisplayName("Testes do ReactiveConfig")
+class ReactiveConfigTest {
+
+    @Test
+    @DisplayName("Deve aceitar JDBC e R2DBC no mesmo H2 em memória, com ou sem parâmetros")
+    void deveAceitarMesmoBancoH2() {
+        assertDoesNotThrow(() -> ReactiveConfig.verificarMesmoBanco(
+                "jdbc:h2:mem:pratica4_dev", "r2dbc:h2:mem:///pratica4_dev;DB_CLOSE_DELAY=-1"));
+        assertDoesNotThrow(() -> ReactiveConfig.verificarMesmoBanco(
+                "jdbc:h2:mem:reactivedb;DB_CLOSE_DELAY=-1", "r2dbc:h2:mem:///reactivedb;DB_CLOSE_DELAY=-1"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar JDBC em outro banco que não o do R2DBC")
+    void deveRecusarBancosDiferentes() {
+        IllegalStateException postgres = assertThrows(IllegalStateException.class, () -> ReactiveConfig.verificarMesmoBanco(
+                "jdbc:postgresql://localhost:5432/pratica4_prod", "r2dbc:h2:mem:///pratica4_dev;DB_CLOSE_DELAY=-1"));
+        assertTrue(postgres.getMessage().contains("jdbc:postgresql"));
+        assertThrows(IllegalStateException.class, () -> ReactiveConfig.verificarMesmoBanco(
+                "jdbc:h2:mem:testdb", "r2dbc:h2:mem:///pratica4_dev;DB_CLOSE_DELAY=-1"));
+    }
+}
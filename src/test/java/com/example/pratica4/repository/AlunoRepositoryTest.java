@@ -1,8 +1,12 @@
 package com.example.pratica4.repository;
 
+import com.example.pratica4.consultas.ConsultasConfig;
+import com.example.pratica4.consultas.ContadorConsultas;
+import com.example.pratica4.consultas.ContagemConsultas;
 import com.example.pratica4.model.Aluno;
 import com.example.pratica4.model.Curso;
 import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
 import com.example.pratica4.model.valueobject.CPF;
 import com.example.pratica4.model.valueobject.Email;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +14,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -25,8 +32,10 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Usa banco H2 em memória
  * - Faz rollback automático após cada teste
  * - Não carrega toda a aplicação (mais rápido)
+ * - ConsultasConfig importada para contar o SQL das consultas (ContadorConsultas.medir)
  */
 @DataJpaTest
+@Import(ConsultasConfig.class)
 @ActiveProfiles("test")
 @DisplayName("Testes do AlunoRepository")
 class AlunoRepositoryTest {
@@ -34,6 +43,9 @@ class AlunoRepositoryTest {
     @Autowired
     private AlunoRepository alunoRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Aluno alunoTeste;
 
     @BeforeEach
@@ -44,7 +56,7 @@ class AlunoRepositoryTest {
         // Cria aluno de teste
         alunoTeste = Aluno.builder()
                 .nome("João Silva")
-                .cpf(new CPF("12345678901"))
+                .cpf(new CPF("12345678909"))
                 .email(new Email("joao@teste.com"))
                 .plano(Plano.BASICO)
                 .dataCadastro(LocalDate.now())
@@ -59,7 +71,7 @@ class AlunoRepositoryTest {
 
         assertNotNull(alunoSalvo.getId());
         assertEquals("João Silva", alunoSalvo.getNome());
-        assertEquals("12345678901", alunoSalvo.getCpf().getNumero());
+        assertEquals("12345678909", alunoSalvo.getCpf().getNumero());
         assertEquals("joao@teste.com", alunoSalvo.getEmail().getEndereco());
     }
 
@@ -87,7 +99,7 @@ class AlunoRepositoryTest {
     void deveBuscarAlunoPorCpf() {
         alunoRepository.save(alunoTeste);
 
-        Optional<Aluno> resultado = alunoRepository.findByCpf(new CPF("12345678901"));
+        Optional<Aluno> resultado = alunoRepository.findByCpf(new CPF("12345678909"));
 
         assertTrue(resultado.isPresent());
         assertEquals("João Silva", resultado.get().getNome());
@@ -109,7 +121,7 @@ class AlunoRepositoryTest {
     void deveVerificarSeCpfExiste() {
         alunoRepository.save(alunoTeste);
 
-        boolean existe = alunoRepository.existsByCpf(new CPF("12345678901"));
+        boolean existe = alunoRepository.existsByCpf(new CPF("12345678909"));
         boolean naoExiste = alunoRepository.existsByCpf(new CPF("99999999999"));
 
         assertTrue(existe);
@@ -136,7 +148,7 @@ class AlunoRepositoryTest {
 
         Aluno alunoPremium = Aluno.builder()
                 .nome("Maria Santos")
-                .cpf(new CPF("98765432109"))
+                .cpf(new CPF("52998224725"))
                 .email(new Email("maria@teste.com"))
                 .plano(Plano.PREMIUM)
                 .dataCadastro(LocalDate.now())
@@ -160,7 +172,7 @@ class AlunoRepositoryTest {
 
         Aluno alunoComBeneficios = Aluno.builder()
                 .nome("Carlos Premium")
-                .cpf(new CPF("11111111111"))
+                .cpf(new CPF("11144477735"))
                 .email(new Email("carlos@teste.com"))
                 .plano(Plano.PREMIUM)
                 .dataCadastro(LocalDate.now())
@@ -181,7 +193,7 @@ class AlunoRepositoryTest {
 
         Aluno outroAluno = Aluno.builder()
                 .nome("Pedro Oliveira")
-                .cpf(new CPF("22222222222"))
+                .cpf(new CPF("22233344405"))
                 .email(new Email("pedro@teste.com"))
                 .plano(Plano.BASICO)
                 .dataCadastro(LocalDate.now())
@@ -255,4 +267,169 @@ class AlunoRepositoryTest {
         assertEquals("João Silva Junior", alunoAtualizado.getNome());
         assertEquals(Plano.PREMIUM, alunoAtualizado.getPlano());
     }
+
+    @Test
+    @DisplayName("Deve buscar apenas a versão do aluno")
+    void deveBuscarVersaoDoAluno() {
+        Aluno alunoSalvo = alunoRepository.saveAndFlush(alunoTeste);
+
+        Optional<Long> versao = alunoRepository.findVersaoById(alunoSalvo.getId());
+
+        assertTrue(versao.isPresent());
+        assertEquals(alunoSalvo.getVersao(), versao.get());
+        assertFalse(alunoRepository.findVersaoById(999L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a versão quando só os cursos do agregado mudam")
+    void deveIncrementarVersaoQuandoAgregadoAlterado() {
+        alunoTeste.adicionarCurso(new Curso("Java"));
+        Long id = alunoRepository.saveAndFlush(alunoTeste).getId();
+        Long versaoInicial = alunoTeste.getVersao();
+        entityManager.clear();
+
+        Aluno aluno = alunoRepository.findParaAlterarById(id).orElseThrow();
+        aluno.getCursos().get(0).concluir(8.0);
+        // OPTIMISTIC_FORCE_INCREMENT incrementa a versão no commit, não no flush
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        try {
+            assertEquals(versaoInicial + 1, alunoRepository.findVersaoById(id).orElseThrow());
+        } finally {
+            alunoRepository.deleteById(id);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve buscar alunos próximos do upgrade contando só os cursos aprovados")
+    void deveBuscarAlunosProximosDoUpgrade() {
+        for (int i = 0; i < 10; i++) {
+            alunoTeste.adicionarCurso(Curso.builder().nome("Curso " + i).media(i < 9 ? 8.0 : 5.0).concluido(true).build());
+        }
+        alunoRepository.saveAndFlush(alunoTeste);
+
+        // 9 aprovados: a 3 cursos do PREMIUM na política padrão
+        assertTrue(alunoRepository.findAlunosProximosDoUpgrade().isEmpty());
+
+        try {
+            PoliticaPlanos.definir(PoliticaPlanos.builder()
+                    .mediaAprovacao(5.0)
+                    .faixasPadrao()
+                    .mensagensPadrao()
+                    .build());
+            assertEquals(List.of(alunoTeste), alunoRepository.findAlunosProximosDoUpgrade());
+        } finally {
+            PoliticaPlanos.definir(PoliticaPlanos.padrao());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve listar resumos com a quantidade de cursos aprovados calculada no banco")
+    void deveListarResumosComQuantidadeDeAprovados() {
+        alunoTeste.adicionarCurso(Curso.builder().nome("Java").media(8.0).concluido(true).build());
+        alunoTeste.adicionarCurso(Curso.builder().nome("SQL").media(6.0).concluido(true).build());
+        alunoTeste.adicionarCurso(Curso.builder().nome("Git").media(9.0).concluido(false).build());
+        alunoRepository.save(alunoTeste);
+
+        List<AlunoResumo> resumos = alunoRepository.findAllResumos();
+
+        assertEquals(1, resumos.size());
+        AlunoResumo resumo = resumos.get(0);
+        assertEquals("João Silva", resumo.getNome());
+        assertEquals("12345678909", resumo.getCpf());
+        assertEquals("joao@teste.com", resumo.getEmail());
+        assertEquals(Plano.BASICO, resumo.getPlano());
+        assertEquals(1, resumo.getQuantidadeCursosAprovados());
+    }
+
+    @Test
+    @DisplayName("Deve buscar resumo por ID e retornar zero aprovados para aluno sem cursos")
+    void deveBuscarResumoPorId() {
+        Aluno alunoSalvo = alunoRepository.save(alunoTeste);
+
+        Optional<AlunoResumo> resumo = alunoRepository.findResumoById(alunoSalvo.getId());
+
+        assertTrue(resumo.isPresent());
+        assertEquals(alunoSalvo.getId(), resumo.get().getId());
+        assertEquals(0, resumo.get().getQuantidadeCursosAprovados());
+        assertFalse(alunoRepository.findResumoById(999L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Deve listar alunos com cursos carregados sem duplicar alunos")
+    void deveListarAlunosComCursos() {
+        alunoTeste.adicionarCurso(Curso.builder().nome("Java").media(8.0).concluido(true).build());
+        alunoTeste.adicionarCurso(Curso.builder().nome("SQL").media(6.0).concluido(true).build());
+        alunoRepository.save(alunoTeste);
+
+        List<Aluno> alunos = alunoRepository.findAllComCursos();
+
+        assertEquals(1, alunos.size());
+        assertEquals(2, alunos.get(0).getCursos().size());
+    }
+
+    @Test
+    @DisplayName("Deve buscar aluno por ID com cursos carregados")
+    void deveBuscarAlunoComCursosPorId() {
+        alunoTeste.adicionarCurso(Curso.builder().nome("Java").media(8.0).concluido(true).build());
+        Aluno alunoSalvo = alunoRepository.save(alunoTeste);
+
+        Optional<Aluno> aluno = alunoRepository.findComCursosById(alunoSalvo.getId());
+
+        assertTrue(aluno.isPresent());
+        assertEquals(1, aluno.get().getCursos().size());
+        assertFalse(alunoRepository.findComCursosById(999L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Deve listar alunos com cursos numa consulta só, qualquer que seja a quantidade de alunos")
+    void deveListarAlunosComCursosNumaConsultaSo() {
+        salvarAlunosComCursos();
+
+        ContadorConsultas.Medida<List<Aluno>> medida = ContadorConsultas.medir(() -> {
+            List<Aluno> alunos = alunoRepository.findAllComCursos();
+            alunos.forEach(aluno -> aluno.getCursos().size());
+            return alunos;
+        });
+
+        assertEquals(3, medida.resultado().size());
+        assertEquals(1, medida.contagem().getTotal());
+        assertTrue(medida.contagem().selectsRepetidos(2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve acusar N+1 ao carregar os cursos lazy de cada aluno")
+    void deveAcusarNMais1AoCarregarCursosLazy() {
+        salvarAlunosComCursos();
+
+        ContagemConsultas contagem = ContadorConsultas.medir(() ->
+                alunoRepository.findAll().forEach(aluno -> aluno.getCursos().size()));
+
+        assertEquals(4, contagem.getTotal());
+        assertEquals(1, contagem.selectsRepetidos(3).size());
+        assertEquals(3, contagem.selectsRepetidos(3).values().iterator().next());
+    }
+
+    /**
+     * Três alunos com dois cursos cada, gravados e fora do contexto de persistência
+     */
+    private void salvarAlunosComCursos() {
+        String[] cpfs = {"52998224725", "11144477735", "39053344705"};
+        for (int i = 0; i < cpfs.length; i++) {
+            Aluno aluno = Aluno.builder()
+                    .nome("Aluno " + i)
+                    .cpf(new CPF(cpfs[i]))
+                    .email(new Email("aluno" + i + "@teste.com"))
+                    .plano(Plano.BASICO)
+                    .dataCadastro(LocalDate.now())
+                    .beneficiosPremiumAtivos(false)
+                    .build();
+            aluno.adicionarCurso(Curso.builder().nome("Java").media(8.0).concluido(true).build());
+            aluno.adicionarCurso(Curso.builder().nome("SQL").media(6.0).concluido(true).build());
+            alunoRepository.save(aluno);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
 }
@@ -0,0 +1,107 @@
+package com.example.pratica4.repository;
+
+import com.example.pratica4.dto.ConsultaCursos;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.shard.Shards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do ColunasLegadas: linhas gravadas antes das colunas novas (como após o ddl-auto=update).
+ *
+ * As colunas voltam a aceitar NULL só durante o teste; DDL no H2 confirma a transação,
+ * então o teste roda sem a transação do @DataJpaTest e limpa o que gravou.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(Shards.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do ColunasLegadas")
+class ColunasLegadasTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Shards shards;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("ALTER TABLE alunos ALTER COLUMN versao SET NULL");
+    }
+
+    @AfterEach
+    void tearDown() {
+        alunoRepository.deleteAll();
+        jdbc.execute("ALTER TABLE alunos ALTER COLUMN versao SET NOT NULL");
+    }
+
+    @Test
+    @DisplayName("Aluno gravado sem versão deve carregar com versão 0 depois do preenchimento")
+    void deveAtribuirVersaoZeroAAlunosLegados() {
+        jdbc.update("INSERT INTO alunos (nome, cpf, email, plano, data_cadastro, beneficios_premium_ativos, versao) "
+                + "VALUES ('Legado', '52998224725', 'legado@teste.com', 'BASICO', CURRENT_DATE, false, NULL)");
+        Long id = jdbc.queryForObject("SELECT id FROM alunos WHERE cpf = '52998224725'", Long.class);
+        assertNull(alunoRepository.findById(id).orElseThrow().getVersao());
+
+        new ColunasLegadas(dataSource, shards).afterSingletonsInstantiated();
+
+        Aluno aluno = alunoRepository.findById(id).orElseThrow();
+        assertEquals(0L, aluno.getVersao());
+        aluno.setNome("Legado Atualizado");
+        assertEquals(1L, alunoRepository.save(aluno).getVersao());
+        assertEquals(1L, alunoRepository.count());
+    }
+
+    @Test
+    @DisplayName("Curso gravado sem nome de busca deve voltar ao filtro por prefixo depois do preenchimento")
+    void devePreencherNomeDeBuscaDeCursosLegados() {
+        Aluno aluno = alunoRepository.save(Aluno.builder()
+                .nome("Aluno")
+                .cpf(new CPF("52998224725"))
+                .email(new Email("aluno@teste.com"))
+                .plano(Plano.BASICO)
+                .dataCadastro(LocalDate.now())
+                .build());
+        for (int i = 0; i <= ColunasLegadas.LOTE; i++) {
+            jdbc.update("INSERT INTO cursos (nome, media, concluido, aluno_id) VALUES (?, 0, false, ?)",
+                    "Ética " + i, aluno.getId());
+        }
+        ConsultaCursos consulta = ConsultaCursos.de(null, null, "éTICA 100", null, null, null, null);
+        assertTrue(cursoRepository.findAll(CursoSpecifications.de(aluno.getId(), consulta)).isEmpty());
+
+        new ColunasLegadas(dataSource, shards).afterSingletonsInstantiated();
+
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM cursos WHERE nome_busca IS NULL", Integer.class));
+        assertEquals(List.of("Ética 100", "Ética 1000"), cursoRepository.findAll(CursoSpecifications.de(aluno.getId(), consulta))
+                .stream().map(Curso::getNome).sorted().toList());
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.pratica4.repository;
 
+import com.example.pratica4.dto.ConsultaCursos;
+import com.example.pratica4.model.Aluno;
 import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.PoliticaPlanos;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,11 +32,22 @@ class CursoRepositoryTest {
     @Autowired
     private CursoRepository cursoRepository;
 
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         cursoRepository.deleteAll();
     }
 
+    @AfterEach
+    void tearDown() {
+        PoliticaPlanos.definir(PoliticaPlanos.padrao());
+    }
+
     @Test
     @DisplayName("Deve salvar curso com sucesso")
     void deveSalvarCursoComSucesso() {
@@ -157,6 +176,23 @@ class CursoRepositoryTest {
         assertEquals(2, count);
     }
 
+    @Test
+    @DisplayName("Consultas de aprovação devem seguir a média da política em vigor, como Curso.isAprovado")
+    void consultasDevemSeguirPoliticaEmVigor() {
+        cursoRepository.save(Curso.builder().nome("Nota 6").concluido(true).media(6.0).build());
+        cursoRepository.save(Curso.builder().nome("Nota 8").concluido(true).media(8.0).build());
+        cursoRepository.save(Curso.builder().nome("Nota 9").concluido(true).media(9.0).build());
+
+        PoliticaPlanos.definir(PoliticaPlanos.builder().mediaAprovacao(8.5).faixasPadrao().mensagensPadrao().build());
+
+        List<Curso> aprovados = cursoRepository.findCursosAprovados();
+        assertEquals(List.of("Nota 9"), aprovados.stream().map(Curso::getNome).collect(Collectors.toList()));
+        assertEquals(1, cursoRepository.countCursosAprovados());
+        assertEquals(2, cursoRepository.findCursosReprovados().size());
+        assertEquals(cursoRepository.findAll().stream().filter(Curso::isAprovado).count(),
+                cursoRepository.countCursosAprovados());
+    }
+
     @Test
     @DisplayName("Deve deletar curso")
     void deveDeletarCurso() {
@@ -216,4 +252,129 @@ class CursoRepositoryTest {
 
         assertEquals(2, cursoRepository.count());
     }
+
+    @Test
+    @DisplayName("Deve filtrar cursos por aluno sem incluir cursos de outros alunos")
+    void deveFiltrarCursosPorAluno() {
+        Long alunoId = salvarAlunoComCursos("12345678909", "joao@teste.com", "Java", "Python");
+        salvarAlunoComCursos("98765432100", "maria@teste.com", "Go");
+
+        List<Curso> cursos = buscar(alunoId, ConsultaCursos.padrao());
+
+        assertEquals(List.of("Java", "Python"), nomes(cursos));
+        assertTrue(cursos.stream().allMatch(c -> alunoId.equals(c.getAlunoId())));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar cursos por concluído, aprovado e prefixo do nome")
+    void deveFiltrarCursosPorConcluidoAprovadoEPrefixo() {
+        Long alunoId = salvarAlunoComCursos("12345678909", "joao@teste.com",
+                "Java Básico", "Java Avançado", "Python", "Java_Web");
+        Aluno aluno = alunoRepository.findById(alunoId).orElseThrow();
+        aluno.getCursos().get(0).concluir(9.0);
+        aluno.getCursos().get(1).concluir(5.0);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of("Java Básico", "Java Avançado"),
+                nomes(buscar(alunoId, ConsultaCursos.de(true, null, null, null, null, null, null))));
+        assertEquals(List.of("Java Básico"),
+                nomes(buscar(alunoId, ConsultaCursos.de(null, true, null, null, null, null, null))));
+        assertEquals(List.of("Java Avançado", "Python", "Java_Web"),
+                nomes(buscar(alunoId, ConsultaCursos.de(null, false, null, null, null, null, null))));
+        assertEquals(List.of("Java Básico", "Java Avançado", "Java_Web"),
+                nomes(buscar(alunoId, ConsultaCursos.de(null, null, "jAVA", null, null, null, null))));
+        assertEquals(List.of("Java_Web"),
+                nomes(buscar(alunoId, ConsultaCursos.de(null, null, "Java_", null, null, null, null))));
+    }
+
+    @Test
+    @DisplayName("Deve manter o nome de busca atualizado quando o curso é renomeado")
+    void deveAtualizarNomeDeBuscaAoRenomear() {
+        Long alunoId = salvarAlunoComCursos("12345678909", "joao@teste.com", "Java");
+        Aluno aluno = alunoRepository.findById(alunoId).orElseThrow();
+        assertEquals("java", aluno.getCursos().get(0).getNomeBusca());
+        aluno.getCursos().get(0).setNome("Kotlin");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of("Kotlin"), nomes(buscar(alunoId, ConsultaCursos.de(null, null, "KOT", null, null, null, null))));
+        assertTrue(buscar(alunoId, ConsultaCursos.de(null, null, "jav", null, null, null, null)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve paginar cursos por cursor sem repetir nem pular cursos")
+    void devePaginarCursosPorCursor() {
+        Long alunoId = salvarAlunoComCursos("12345678909", "joao@teste.com", "C", "A", "B", "A", "D");
+
+        ConsultaCursos primeira = ConsultaCursos.de(null, null, null, "nome", "desc", null, 2);
+        List<Curso> pagina1 = buscar(alunoId, primeira).subList(0, 2);
+        String cursor = primeira.cursorApos(pagina1.get(1));
+
+        ConsultaCursos segunda = ConsultaCursos.de(null, null, null, "nome", "desc", cursor, 2);
+        List<Curso> pagina2 = buscar(alunoId, segunda).subList(0, 2);
+        String cursor2 = segunda.cursorApos(pagina2.get(1));
+
+        List<Curso> pagina3 = buscar(alunoId, ConsultaCursos.de(null, null, null, "nome", "desc", cursor2, 2));
+
+        assertEquals(List.of("D", "C"), nomes(pagina1));
+        assertEquals(List.of("B", "A"), nomes(pagina2));
+        assertEquals(List.of("A"), nomes(pagina3));
+        assertTrue(pagina2.get(1).getId() > pagina3.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Deve paginar cursos ordenados por média")
+    void devePaginarCursosOrdenadosPorMedia() {
+        Long alunoId = salvarAlunoComCursos("12345678909", "joao@teste.com", "A", "B", "C");
+        Aluno aluno = alunoRepository.findById(alunoId).orElseThrow();
+        aluno.getCursos().get(0).concluir(8.0);
+        aluno.getCursos().get(1).concluir(6.5);
+        aluno.getCursos().get(2).concluir(8.0);
+        entityManager.flush();
+        entityManager.clear();
+
+        ConsultaCursos primeira = ConsultaCursos.de(null, null, null, "media", null, null, 2);
+        List<Curso> pagina1 = buscar(alunoId, primeira);
+        String cursor = primeira.cursorApos(pagina1.get(1));
+        List<Curso> pagina2 = buscar(alunoId, ConsultaCursos.de(null, null, null, "media", null, cursor, 2));
+
+        assertEquals(List.of("B", "A", "C"), nomes(pagina1));
+        assertEquals(List.of("C"), nomes(pagina2));
+    }
+
+    @Test
+    @DisplayName("Deve verificar se o curso pertence ao aluno")
+    void deveVerificarSeCursoPertenceAoAluno() {
+        Long alunoId = salvarAlunoComCursos("12345678909", "joao@teste.com", "Java");
+        Long outroAlunoId = salvarAlunoComCursos("98765432100", "maria@teste.com", "Go");
+        Long cursoId = buscar(alunoId, ConsultaCursos.padrao()).get(0).getId();
+
+        assertTrue(cursoRepository.existsByIdAndAlunoId(cursoId, alunoId));
+        assertFalse(cursoRepository.existsByIdAndAlunoId(cursoId, outroAlunoId));
+    }
+
+    private Long salvarAlunoComCursos(String cpf, String email, String... nomesCursos) {
+        Aluno aluno = Aluno.builder()
+                .nome("Aluno " + cpf)
+                .cpf(new CPF(cpf))
+                .email(new Email(email))
+                .build();
+        for (String nome : nomesCursos) {
+            aluno.adicionarCurso(new Curso(nome));
+        }
+        Long id = alunoRepository.save(aluno).getId();
+        entityManager.flush();
+        entityManager.clear();
+        return id;
+    }
+
+    private List<Curso> buscar(Long alunoId, ConsultaCursos consulta) {
+        return cursoRepository.findBy(CursoSpecifications.de(alunoId, consulta),
+                q -> q.sortBy(consulta.ordenacao()).limit(consulta.getLimite() + 1).all());
+    }
+
+    private List<String> nomes(List<Curso> cursos) {
+        return cursos.stream().map(Curso::getNome).collect(Collectors.toList());
+    }
 }
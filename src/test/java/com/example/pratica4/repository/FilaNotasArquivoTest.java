@@ -0,0 +1,178 @@
+package com.example.pratica4.repository;
+
+import com.example.pratica4.exception.SobrecargaException;
+import com.example.pratica4.model.NotaPendente;
+import com.example.pratica4.model.SituacaoNota;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para FilaNotasArquivo.
+ */
+@DisplayName("Testes da FilaNotasArquivo")
+class FilaNotasArquivoTest {
+
+    @TempDir
+    Path diretorio;
+
+    private FilaNotasArquivo fila;
+
+    @AfterEach
+    void tearDown() {
+        if (fila != null) {
+            fila.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve acrescentar notas como PENDENTE com sequências crescentes")
+    void deveAcrescentarNotas() {
+        fila = abrir(4);
+
+        NotaPendente primeira = fila.acrescentar(1L, 10L, 8.5);
+        NotaPendente segunda = fila.acrescentar(2L, 20L, 6.0);
+
+        assertEquals(1L, primeira.getSequencia());
+        assertEquals(2L, segunda.getSequencia());
+        assertEquals(SituacaoNota.PENDENTE, primeira.getSituacao());
+        assertEquals(10L, primeira.getCursoId());
+        assertEquals(8.5, primeira.getMedia());
+        assertEquals(2, fila.getPendentes());
+        assertEquals(2L, fila.getUltimaSequencia());
+    }
+
+    @Test
+    @DisplayName("Deve marcar a situação e encontrar a nota pela sequência")
+    void deveMarcarEBuscar() {
+        fila = abrir(4);
+        fila.acrescentar(1L, 10L, 8.5);
+
+        assertTrue(fila.marcar(1L, SituacaoNota.APLICADA));
+
+        assertEquals(SituacaoNota.APLICADA, fila.buscar(1L).orElseThrow().getSituacao());
+        assertEquals(0, fila.getPendentes());
+        assertTrue(fila.buscar(2L).isEmpty());
+        assertFalse(fila.marcar(2L, SituacaoNota.APLICADA));
+    }
+
+    @Test
+    @DisplayName("Deve recusar nota quando o próximo registro ainda está pendente")
+    void deveRecusarQuandoCheia() {
+        fila = abrir(2);
+        fila.acrescentar(1L, 10L, 8.0);
+        fila.acrescentar(1L, 11L, 7.0);
+
+        SobrecargaException erro = assertThrows(SobrecargaException.class,
+                () -> fila.acrescentar(1L, 12L, 9.0));
+        assertEquals(1, erro.getRetryAfterSegundos());
+
+        fila.marcar(1L, SituacaoNota.APLICADA);
+        NotaPendente terceira = fila.acrescentar(1L, 12L, 9.0);
+
+        assertEquals(3L, terceira.getSequencia());
+        assertTrue(fila.buscar(1L).isEmpty());
+        assertEquals(SituacaoNota.PENDENTE, fila.buscar(2L).orElseThrow().getSituacao());
+    }
+
+    @Test
+    @DisplayName("Deve recuperar as notas pendentes ao reabrir o arquivo")
+    void deveRecuperarPendentesAoReabrir() {
+        fila = abrir(4);
+        fila.acrescentar(1L, 10L, 8.0);
+        fila.acrescentar(2L, 20L, 5.0);
+        fila.acrescentar(3L, 30L, 9.0);
+        fila.marcar(2L, SituacaoNota.APLICADA);
+        fila.close();
+
+        fila = abrir(4);
+        List<NotaPendente> recuperadas = fila.retirarRecuperadas();
+
+        assertEquals(List.of(1L, 3L), recuperadas.stream().map(NotaPendente::getSequencia).toList());
+        assertEquals(2, fila.getPendentes());
+        assertEquals(3L, fila.getUltimaSequencia());
+        assertTrue(fila.retirarRecuperadas().isEmpty());
+        assertEquals(4L, fila.acrescentar(4L, 40L, 7.0).getSequencia());
+    }
+
+    @Test
+    @DisplayName("Deve continuar a sequência depois de dar a volta no arquivo")
+    void deveContinuarSequenciaAposDarAVolta() {
+        fila = abrir(2);
+        for (int i = 0; i < 5; i++) {
+            NotaPendente nota = fila.acrescentar(1L, 10L, 8.0);
+            fila.marcar(nota.getSequencia(), SituacaoNota.APLICADA);
+        }
+        fila.close();
+
+        fila = abrir(2);
+
+        assertEquals(5L, fila.getUltimaSequencia());
+        assertEquals(6L, fila.acrescentar(1L, 10L, 8.0).getSequencia());
+        assertEquals(SituacaoNota.APLICADA, fila.buscar(5L).orElseThrow().getSituacao());
+    }
+
+    @Test
+    @DisplayName("Deve reorganizar o arquivo que já deu a volta quando a capacidade aumenta")
+    void deveReorganizarArquivoAoAumentarCapacidade() {
+        fila = abrir(4);
+        for (int i = 1; i <= 4; i++) {
+            fila.acrescentar((long) i, 10L, 8.0);
+        }
+        fila.marcar(1L, SituacaoNota.APLICADA);
+        fila.marcar(2L, SituacaoNota.APLICADA);
+        fila.acrescentar(5L, 10L, 8.0);
+        fila.acrescentar(6L, 10L, 8.0);
+        fila.close();
+
+        fila = abrir(8);
+
+        assertEquals(List.of(3L, 4L, 5L, 6L),
+                fila.retirarRecuperadas().stream().map(NotaPendente::getSequencia).toList());
+        assertTrue(fila.marcar(5L, SituacaoNota.APLICADA));
+        assertEquals(SituacaoNota.APLICADA, fila.buscar(5L).orElseThrow().getSituacao());
+        assertEquals(SituacaoNota.PENDENTE, fila.buscar(4L).orElseThrow().getSituacao());
+        for (long sequencia = 7; sequencia <= 10; sequencia++) {
+            assertEquals(sequencia, fila.acrescentar(1L, 10L, 8.0).getSequencia());
+        }
+        // A sequência 11 ocuparia o registro da 3, ainda pendente
+        assertThrows(SobrecargaException.class, () -> fila.acrescentar(1L, 10L, 8.0));
+        assertTrue(fila.marcar(3L, SituacaoNota.APLICADA));
+        assertEquals(11L, fila.acrescentar(1L, 10L, 8.0).getSequencia());
+        fila.close();
+
+        fila = abrir(8);
+        assertEquals(List.of(4L, 6L, 7L, 8L, 9L, 10L, 11L),
+                fila.retirarRecuperadas().stream().map(NotaPendente::getSequencia).toList());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar registro com CRC inválido (gravação interrompida)")
+    void deveIgnorarRegistroCorrompido() throws Exception {
+        fila = abrir(4);
+        fila.acrescentar(1L, 10L, 8.0);
+        fila.acrescentar(2L, 20L, 5.0);
+        fila.close();
+
+        try (RandomAccessFile arquivo = new RandomAccessFile(diretorio.resolve("notas.fila").toFile(), "rw")) {
+            arquivo.seek(FilaNotasArquivo.TAMANHO_REGISTRO + 20);
+            arquivo.write(0x7F);
+        }
+
+        fila = abrir(4);
+
+        assertEquals(List.of(1L), fila.retirarRecuperadas().stream().map(NotaPendente::getSequencia).toList());
+        assertTrue(fila.buscar(2L).isEmpty());
+    }
+
+    private FilaNotasArquivo abrir(int capacidade) {
+        return new FilaNotasArquivo(diretorio.resolve("notas.fila").toString(), capacidade, false);
+    }
+}
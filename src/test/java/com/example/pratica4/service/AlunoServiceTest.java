@@ -1,11 +1,22 @@
 package com.example.pratica4.service;
 
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.dto.ConsultaCursos;
+import com.example.pratica4.dto.PaginaCursosDTO;
+import com.example.pratica4.dto.ProgressoDTO;
+import com.example.pratica4.dto.Versionado;
+import com.example.pratica4.exception.VersaoDivergenteException;
 import com.example.pratica4.model.Aluno;
 import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.NotaPendente;
 import com.example.pratica4.model.Plano;
 import com.example.pratica4.model.valueobject.CPF;
 import com.example.pratica4.model.valueobject.Email;
 import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.repository.AlunoResumo;
+import com.example.pratica4.repository.CursoRepository;
+import com.example.pratica4.shard.CadastrosUnicos;
+import com.example.pratica4.shard.Shards;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,12 +24,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,6 +61,27 @@ class AlunoServiceTest {
     @Mock
     private AlunoRepository alunoRepository;
 
+    @Mock
+    private CursoRepository cursoRepository;
+
+    @Mock
+    private Outbox outbox;
+
+    @Mock
+    private Ranking ranking;
+
+    @Mock
+    private EstatisticasNotas estatisticasNotas;
+
+    @Mock
+    private IndiceNomes indiceNomes;
+
+    @Spy
+    private Shards shards = new Shards(1, null);
+
+    @Mock
+    private CadastrosUnicos cadastrosUnicos;
+
     @InjectMocks
     private AlunoService alunoService;
 
@@ -53,7 +92,7 @@ class AlunoServiceTest {
         alunoTeste = Aluno.builder()
                 .id(1L)
                 .nome("João Silva")
-                .cpf(new CPF("12345678901"))
+                .cpf(new CPF("12345678909"))
                 .email(new Email("joao@teste.com"))
                 .plano(Plano.BASICO)
                 .dataCadastro(LocalDate.now())
@@ -74,6 +113,8 @@ class AlunoServiceTest {
         assertNotNull(resultado);
         assertEquals("João Silva", resultado.getNome());
         verify(alunoRepository, times(1)).save(alunoTeste);
+        verify(outbox).alunoCriado(alunoTeste);
+        verify(ranking).registrar(alunoTeste);
     }
 
     @Test
@@ -128,6 +169,7 @@ class AlunoServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("Aluno não encontrado"));
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
@@ -136,17 +178,18 @@ class AlunoServiceTest {
         Aluno aluno2 = Aluno.builder()
                 .id(2L)
                 .nome("Maria Santos")
-                .cpf(new CPF("98765432109"))
+                .cpf(new CPF("52998224725"))
                 .email(new Email("maria@teste.com"))
                 .plano(Plano.PREMIUM)
                 .build();
 
-        when(alunoRepository.findAll()).thenReturn(Arrays.asList(alunoTeste, aluno2));
+        when(alunoRepository.findAllComCursos()).thenReturn(Arrays.asList(alunoTeste, aluno2));
 
         List<Aluno> resultado = alunoService.listarTodos();
 
         assertEquals(2, resultado.size());
-        verify(alunoRepository, times(1)).findAll();
+        verify(alunoRepository, times(1)).findAllComCursos();
+        verify(alunoRepository, never()).findAll();
     }
 
     @Test
@@ -173,6 +216,7 @@ class AlunoServiceTest {
         alunoService.deletarAluno(1L);
 
         verify(alunoRepository, times(1)).deleteById(1L);
+        verify(ranking).remover(1L);
     }
 
     @Test
@@ -227,7 +271,7 @@ class AlunoServiceTest {
 
         alunoTeste.adicionarCurso(curso);
 
-        when(alunoRepository.findById(1L)).thenReturn(Optional.of(alunoTeste));
+        when(alunoRepository.findParaAlterarById(1L)).thenReturn(Optional.of(alunoTeste));
         when(alunoRepository.save(any(Aluno.class))).thenReturn(alunoTeste);
 
         Aluno resultado = alunoService.concluirCurso(1L, 1L, 7.5);
@@ -240,7 +284,7 @@ class AlunoServiceTest {
     @Test
     @DisplayName("Deve lançar exceção ao concluir curso inexistente")
     void deveLancarExcecaoAoConcluirCursoInexistente() {
-        when(alunoRepository.findById(1L)).thenReturn(Optional.of(alunoTeste));
+        when(alunoRepository.findParaAlterarById(1L)).thenReturn(Optional.of(alunoTeste));
 
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
@@ -337,4 +381,217 @@ class AlunoServiceTest {
         assertEquals(Plano.BASICO, resultado.getPlano());
         assertFalse(resultado.isBeneficiosPremiumAtivos());
     }
+
+    @Test
+    @DisplayName("Deve buscar apenas a versão do aluno")
+    void deveBuscarVersaoDoAluno() {
+        when(alunoRepository.findVersaoById(1L)).thenReturn(Optional.of(4L));
+
+        assertEquals(4L, alunoService.buscarVersao(1L));
+        verify(alunoRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar versão de aluno inexistente")
+    void deveLancarExcecaoAoBuscarVersaoDeAlunoInexistente() {
+        when(alunoRepository.findVersaoById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> alunoService.buscarVersao(999L));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar aluno quando a versão esperada confere")
+    void deveAtualizarAlunoComVersaoEsperada() {
+        alunoTeste.setVersao(2L);
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(alunoTeste));
+        when(alunoRepository.save(any(Aluno.class))).thenReturn(alunoTeste);
+
+        Aluno atualizado = Aluno.builder().nome("Novo Nome").build();
+        Aluno resultado = alunoService.atualizarAluno(1L, atualizado, 2L);
+
+        assertEquals("Novo Nome", resultado.getNome());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar atualização quando a versão esperada está desatualizada")
+    void deveRejeitarAtualizacaoComVersaoDesatualizada() {
+        alunoTeste.setVersao(3L);
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(alunoTeste));
+
+        Aluno atualizado = Aluno.builder().nome("Novo Nome").build();
+
+        assertThrows(VersaoDivergenteException.class, () -> alunoService.atualizarAluno(1L, atualizado, 2L));
+        verify(alunoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve marcar alteração ao concluir curso (incrementa a versão)")
+    void deveMarcarAlteracaoAoConcluirCurso() {
+        Curso curso = Curso.builder().id(10L).nome("Java").build();
+        alunoTeste.adicionarCurso(curso);
+        alunoTeste.setVersao(1L);
+        when(alunoRepository.findParaAlterarById(1L)).thenReturn(Optional.of(alunoTeste));
+        when(alunoRepository.save(any(Aluno.class))).thenReturn(alunoTeste);
+
+        alunoService.concluirCurso(1L, 10L, 8.0, 1L);
+
+        // A versão sobe no commit pelo OPTIMISTIC_FORCE_INCREMENT da leitura
+        verify(alunoRepository, atLeastOnce()).findParaAlterarById(1L);
+        verify(alunoRepository, never()).findById(any());
+        assertTrue(curso.isConcluido());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar conclusão de curso com versão desatualizada")
+    void deveRejeitarConclusaoComVersaoDesatualizada() {
+        alunoTeste.setVersao(5L);
+        when(alunoRepository.findParaAlterarById(1L)).thenReturn(Optional.of(alunoTeste));
+
+        assertThrows(VersaoDivergenteException.class, () -> alunoService.concluirCurso(1L, 10L, 8.0, 4L));
+    }
+
+    @Test
+    @DisplayName("Deve listar e buscar resumos sem carregar o agregado")
+    void deveListarEBuscarResumos() {
+        AlunoResumo resumo = mock(AlunoResumo.class);
+        when(alunoRepository.findAllResumos()).thenReturn(List.of(resumo));
+        when(alunoRepository.findResumoById(1L)).thenReturn(Optional.of(resumo));
+
+        assertEquals(1, alunoService.listarResumos().size());
+        assertSame(resumo, alunoService.buscarResumoPorId(1L));
+        verify(alunoRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar resumo de aluno inexistente")
+    void deveLancarExcecaoAoBuscarResumoInexistente() {
+        when(alunoRepository.findResumoById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> alunoService.buscarResumoPorId(999L));
+    }
+
+    @Test
+    @DisplayName("Deve listar página de cursos consultando só a tabela de cursos")
+    void deveListarPaginaDeCursos() {
+        ConsultaCursos consulta = ConsultaCursos.de(null, null, null, null, null, null, 1);
+        when(alunoRepository.existsById(1L)).thenReturn(true);
+        doReturn(List.of(new Curso(10L, "Java", 8.0, true), new Curso(11L, "Python", 0.0, false)))
+                .when(cursoRepository).findBy(any(Specification.class), any());
+
+        PaginaCursosDTO pagina = alunoService.listarCursos(1L, consulta);
+
+        assertEquals(1, pagina.getCursos().size());
+        assertEquals("Java", pagina.getCursos().get(0).getNome());
+        assertTrue(pagina.isPossuiMais());
+        assertNotNull(pagina.getProximoCursor());
+        verify(alunoRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao listar cursos de aluno inexistente")
+    void deveLancarExcecaoAoListarCursosDeAlunoInexistente() {
+        when(alunoRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> alunoService.listarCursos(999L, ConsultaCursos.padrao()));
+        verify(cursoRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar DTO e progresso com a versão usando a consulta com JOIN FETCH")
+    void deveBuscarDTOEProgressoComVersao() {
+        alunoTeste.setVersao(4L);
+        when(alunoRepository.findComCursosById(1L)).thenReturn(Optional.of(alunoTeste));
+
+        Versionado<AlunoDTO> aluno = alunoService.buscarDTOPorId(1L);
+        Versionado<ProgressoDTO> progresso = alunoService.buscarProgresso(1L);
+
+        assertEquals("João Silva", aluno.getConteudo().getNome());
+        assertEquals(4L, aluno.getVersao());
+        assertEquals("João Silva", progresso.getConteudo().getNomeAluno());
+        assertEquals(4L, progresso.getVersao());
+        verify(alunoRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar DTO ou progresso de aluno inexistente")
+    void deveLancarExcecaoAoBuscarDTOInexistente() {
+        when(alunoRepository.findComCursosById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> alunoService.buscarDTOPorId(999L));
+        assertThrows(EntityNotFoundException.class, () -> alunoService.buscarProgresso(999L));
+    }
+
+    @Test
+    @DisplayName("Leituras simultâneas do mesmo aluno devem compartilhar uma única consulta")
+    void leiturasSimultaneasDevemCompartilharConsulta() throws Exception {
+        CountDownLatch consultando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(alunoRepository.findComCursosById(1L)).thenAnswer(invocation -> {
+            consultando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return Optional.of(alunoTeste);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Versionado<AlunoDTO>> primeira = executor.submit(() -> alunoService.buscarDTOPorId(1L));
+            assertTrue(consultando.await(5, TimeUnit.SECONDS));
+            List<Future<Versionado<AlunoDTO>>> demais = List.of(
+                    executor.submit(() -> alunoService.buscarDTOPorId(1L)),
+                    executor.submit(() -> alunoService.buscarDTOPorId(1L)),
+                    executor.submit(() -> alunoService.buscarDTOPorId(1L)));
+            Thread.sleep(50);
+            liberar.countDown();
+
+            Versionado<AlunoDTO> resultado = primeira.get(5, TimeUnit.SECONDS);
+            for (Future<Versionado<AlunoDTO>> outra : demais) {
+                assertSame(resultado, outra.get(5, TimeUnit.SECONDS));
+            }
+            verify(alunoRepository, times(1)).findComCursosById(1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aplicar lote de notas em uma única gravação e ignorar cursos de outro aluno")
+    void deveAplicarLoteDeNotas() {
+        Curso java = Curso.builder().id(10L).nome("Java").build();
+        Curso sql = Curso.builder().id(11L).nome("SQL").build();
+        alunoTeste.adicionarCurso(java);
+        alunoTeste.adicionarCurso(sql);
+        when(alunoRepository.findParaAlterarById(1L)).thenReturn(Optional.of(alunoTeste));
+        NotaPendente notaJava = NotaPendente.builder().sequencia(1L).alunoId(1L).cursoId(10L).media(8.0).build();
+        NotaPendente notaSql = NotaPendente.builder().sequencia(2L).alunoId(1L).cursoId(11L).media(6.0).build();
+        NotaPendente notaOutroCurso = NotaPendente.builder().sequencia(3L).alunoId(1L).cursoId(99L).media(9.0).build();
+
+        List<NotaPendente> ignoradas = alunoService.aplicarNotas(1L, List.of(notaJava, notaSql, notaOutroCurso));
+
+        assertEquals(List.of(notaOutroCurso), ignoradas);
+        assertTrue(java.isAprovado());
+        assertTrue(sql.isConcluido());
+        assertFalse(sql.isAprovado());
+        verify(alunoRepository, times(1)).save(alunoTeste);
+    }
+
+    @Test
+    @DisplayName("Não deve salvar quando nenhuma nota do lote pôde ser aplicada")
+    void naoDeveSalvarLoteSemNotasAplicadas() {
+        when(alunoRepository.findParaAlterarById(1L)).thenReturn(Optional.of(alunoTeste));
+        NotaPendente nota = NotaPendente.builder().sequencia(1L).alunoId(1L).cursoId(99L).media(9.0).build();
+
+        assertEquals(List.of(nota), alunoService.aplicarNotas(1L, List.of(nota)));
+        verify(alunoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve validar que o curso pertence ao aluno")
+    void deveValidarCursoDoAluno() {
+        when(cursoRepository.existsByIdAndAlunoId(10L, 1L)).thenReturn(true);
+        when(cursoRepository.existsByIdAndAlunoId(99L, 1L)).thenReturn(false);
+
+        assertDoesNotThrow(() -> alunoService.verificarCursoDoAluno(1L, 10L));
+        assertThrows(EntityNotFoundException.class, () -> alunoService.verificarCursoDoAluno(1L, 99L));
+    }
 }
@@ -0,0 +1,47 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.EventoOutbox;
+import com.example.pratica4.model.TipoEventoOutbox;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do ArquivoDestinoOutbox")
+class ArquivoDestinoOutboxTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    @DisplayName("Deve acrescentar uma linha JSON por evento, com o payload como objeto")
+    void deveAcrescentarUmaLinhaPorEvento() throws Exception {
+        Path arquivo = pasta.resolve("saida/outbox.jsonl");
+        ArquivoDestinoOutbox destino = new ArquivoDestinoOutbox(objectMapper, arquivo.toString(), false);
+
+        destino.entregar(List.of(evento(1L, "{\"alunoId\":7}"), evento(2L, "{\"alunoId\":8}")));
+        destino.entregar(List.of(evento(3L, "{\"alunoId\":9,\"media\":8.5}")));
+
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertEquals(3, linhas.size());
+        JsonNode ultima = objectMapper.readTree(linhas.get(2));
+        assertEquals(3L, ultima.get("id").asLong());
+        assertEquals("CURSO_CONCLUIDO", ultima.get("tipo").asText());
+        assertEquals(8.5, ultima.get("payload").get("media").asDouble());
+        assertTrue(linhas.stream().noneMatch(linha -> linha.startsWith(" ")));
+    }
+
+    private static EventoOutbox evento(Long id, String payload) {
+        return new EventoOutbox(id, TipoEventoOutbox.CURSO_CONCLUIDO, 7L, payload, LocalDateTime.of(2025, 3, 10, 12, 0));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.pratica4.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da ArvoreEstatistica")
+class ArvoreEstatisticaTest {
+
+    @Test
+    @DisplayName("Posição e primeiros devem seguir a ordem do comparador")
+    void deveSeguirOrdemDoComparador() {
+        ArvoreEstatistica<Integer> arvore = new ArvoreEstatistica<>(Comparator.reverseOrder());
+        for (int valor : new int[]{5, 1, 9, 3, 7}) {
+            assertTrue(arvore.adicionar(valor));
+        }
+
+        assertFalse(arvore.adicionar(7));
+        assertEquals(5, arvore.tamanho());
+        assertEquals(List.of(9, 7, 5), arvore.primeiros(3));
+        assertEquals(List.of(9, 7, 5, 3, 1), arvore.primeiros(10));
+        assertEquals(0, arvore.posicao(9));
+        assertEquals(4, arvore.posicao(1));
+        assertEquals(-1, arvore.posicao(4));
+    }
+
+    @Test
+    @DisplayName("Inserções e remoções aleatórias devem manter as posições de uma lista ordenada")
+    void deveConcordarComListaOrdenada() {
+        ArvoreEstatistica<Integer> arvore = new ArvoreEstatistica<>(Comparator.naturalOrder());
+        TreeSet<Integer> referencia = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int operacao = 0; operacao < 20_000; operacao++) {
+            int valor = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(referencia.remove(valor), arvore.remover(valor));
+            } else {
+                assertEquals(referencia.add(valor), arvore.adicionar(valor));
+            }
+        }
+
+        List<Integer> ordenada = new ArrayList<>(referencia);
+        assertEquals(ordenada.size(), arvore.tamanho());
+        assertEquals(ordenada, arvore.primeiros(Integer.MAX_VALUE));
+        for (int valor = 0; valor < 2_000; valor++) {
+            assertEquals(referencia.contains(valor) ? ordenada.indexOf(valor) : -1, arvore.posicao(valor));
+        }
+    }
+
+    @Test
+    @DisplayName("Remover elemento ausente não deve alterar a árvore")
+    void removerAusenteNaoDeveAlterar() {
+        ArvoreEstatistica<Integer> arvore = new ArvoreEstatistica<>(Comparator.naturalOrder());
+        arvore.adicionar(1);
+
+        assertFalse(arvore.remover(2));
+        assertEquals(1, arvore.tamanho());
+        assertTrue(arvore.remover(1));
+        assertEquals(0, arvore.tamanho());
+        assertTrue(arvore.primeiros(5).isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.pratica4.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para CargasEmAndamento.
+ */
+@DisplayName("Testes do CargasEmAndamento")
+class CargasEmAndamentoTest {
+
+    private final CargasEmAndamento<Long, String> cargas = new CargasEmAndamento<>();
+    private final AtomicInteger execucoes = new AtomicInteger();
+
+    @Test
+    @DisplayName("Chamadas sequenciais devem carregar de novo (não é cache)")
+    void chamadasSequenciaisDevemCarregarDeNovo() {
+        assertEquals("valor 1", cargas.carregar(1L, this::carregar));
+        assertEquals("valor 2", cargas.carregar(1L, this::carregar));
+        assertEquals(0, cargas.emExecucao());
+    }
+
+    @Test
+    @DisplayName("Chamadas simultâneas para a mesma chave devem compartilhar a carga e a falha")
+    void chamadasSimultaneasDevemCompartilharFalha() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> primeira = executor.submit(() -> cargas.carregar(1L, () -> {
+                execucoes.incrementAndGet();
+                iniciou.countDown();
+                aguardar(liberar);
+                throw new EntityNotFoundException("Aluno não encontrado com ID: 1");
+            }));
+            assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+            Future<String> segunda = executor.submit(() -> cargas.carregar(1L, this::carregar));
+            Thread.sleep(50);
+            assertEquals(1, cargas.emExecucao());
+            liberar.countDown();
+
+            Exception erroPrimeira = assertThrows(Exception.class, () -> primeira.get(5, TimeUnit.SECONDS));
+            Exception erroSegunda = assertThrows(Exception.class, () -> segunda.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(EntityNotFoundException.class, erroPrimeira.getCause());
+            assertSame(erroPrimeira.getCause(), erroSegunda.getCause());
+            assertEquals(1, execucoes.get());
+            assertEquals(0, cargas.emExecucao());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Chaves diferentes não devem compartilhar a carga")
+    void chavesDiferentesNaoDevemCompartilhar() {
+        cargas.carregar(1L, this::carregar);
+        cargas.carregar(2L, this::carregar);
+
+        assertEquals(2, execucoes.get());
+    }
+
+    private String carregar() {
+        return "valor " + execucoes.incrementAndGet();
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
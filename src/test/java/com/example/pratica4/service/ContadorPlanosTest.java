@@ -0,0 +1,68 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PlanoAlterado;
+import com.example.pratica4.model.PoliticaPlanos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do ContadorPlanos
+ */
+@DisplayName("Testes do ContadorPlanos")
+class ContadorPlanosTest {
+
+    private final ContadorPlanos contador = new ContadorPlanos();
+
+    @AfterEach
+    void restaurarPolitica() {
+        PoliticaPlanos.definir(PoliticaPlanos.padrao());
+    }
+
+    @Test
+    @DisplayName("Subida e descida de plano devem ser contadas como upgrade e downgrade")
+    void deveContarUpgradesEDowngrades() {
+        contador.registrar(alteracao(Plano.BASICO, Plano.PREMIUM));
+        contador.registrar(alteracao(Plano.BASICO, Plano.PREMIUM));
+        contador.registrar(alteracao(Plano.PREMIUM, Plano.BASICO));
+
+        assertEquals(2, contador.getUpgrades());
+        assertEquals(1, contador.getDowngrades());
+    }
+
+    @Test
+    @DisplayName("Direção deve seguir a ordem das faixas da política, não a do enum")
+    void direcaoDeveSeguirFaixasDaPolitica() {
+        PoliticaPlanos.definir(PoliticaPlanos.builder()
+                .faixa(Plano.BASICO, 0, false)
+                .faixa(Plano.INTERMEDIARIO, 3, false)
+                .faixa(Plano.PREMIUM, 5, true)
+                .mensagensPadrao()
+                .build());
+
+        contador.registrar(alteracao(Plano.PREMIUM, Plano.INTERMEDIARIO));
+        contador.registrar(alteracao(Plano.BASICO, Plano.INTERMEDIARIO));
+
+        assertEquals(1, contador.getUpgrades());
+        assertEquals(1, contador.getDowngrades());
+    }
+
+    @Test
+    @DisplayName("Plano fora das faixas atuais deve ficar abaixo da primeira faixa")
+    void planoForaDasFaixasDeveFicarAbaixoDaPrimeira() {
+        contador.registrar(alteracao(Plano.INTERMEDIARIO, Plano.BASICO));
+        contador.registrar(alteracao(Plano.PREMIUM, Plano.INTERMEDIARIO));
+
+        assertEquals(1, contador.getUpgrades());
+        assertEquals(1, contador.getDowngrades());
+    }
+
+    private static PlanoAlterado alteracao(Plano anterior, Plano atual) {
+        return new PlanoAlterado(1L, anterior, atual, atual == Plano.PREMIUM, LocalDateTime.now());
+    }
+}
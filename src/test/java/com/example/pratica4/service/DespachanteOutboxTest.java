@@ -0,0 +1,163 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.EventoOutbox;
+import com.example.pratica4.model.TipoEventoOutbox;
+import com.example.pratica4.repository.EventoOutboxRepository;
+import com.example.pratica4.shard.Shards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do DespachanteOutbox (banco H2, transações reais).
+ *
+ * As threads de despacho não são iniciadas (despachantes=0): cada teste chama despacharLote.
+ * O destino é o MemoriaDestinoOutbox, que pode ser trocado por um que falha ou bloqueia.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({MemoriaDestinoOutbox.class, Shards.class})
+@TestPropertySource(properties = "pratica4.outbox.destino=memoria")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do DespachanteOutbox")
+class DespachanteOutboxTest {
+
+    private static final int LOTE = 3;
+
+    @Autowired
+    private EventoOutboxRepository repository;
+
+    @Autowired
+    private MemoriaDestinoOutbox memoria;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Shards shards;
+
+    @BeforeEach
+    void setUp() {
+        memoria.limpar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve entregar em lotes, em ordem de id, e remover os eventos entregues")
+    void deveEntregarEmLotesEmOrdem() {
+        gravarEventos(5);
+        DespachanteOutbox despachante = despachante(memoria);
+
+        assertEquals(3, despachante.despacharLote());
+        assertEquals(2, despachante.despacharLote());
+        assertEquals(0, despachante.despacharLote());
+
+        List<Long> ids = memoria.getEntregues().stream().map(EventoOutbox::getId).collect(Collectors.toList());
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+        assertEquals(5, ids.size());
+        assertEquals(0, repository.count());
+        assertEquals(5, despachante.getEntregues());
+        assertEquals(3, despachante.getLotes());
+    }
+
+    @Test
+    @DisplayName("Falha no destino deve manter o lote na outbox para nova tentativa")
+    void falhaNoDestinoDeveManterLote() {
+        gravarEventos(2);
+        DespachanteOutbox despachante = despachante(eventos -> {
+            throw new IllegalStateException("destino fora do ar");
+        });
+
+        assertThrows(IllegalStateException.class, despachante::despacharLote);
+
+        assertEquals(2, repository.count());
+        assertEquals(1, despachante.getFalhas());
+        assertEquals(0, despachante.getEntregues());
+    }
+
+    @Test
+    @DisplayName("Atraso deve medir o tempo desde a criação do evento mais antigo do lote")
+    void atrasoDeveMedirEventoMaisAntigo() {
+        repository.save(evento(LocalDateTime.now().minusSeconds(30)));
+        DespachanteOutbox despachante = despachante(memoria);
+
+        despachante.despacharLote();
+
+        assertTrue(despachante.getAtrasoSegundos() >= 30.0);
+    }
+
+    @Test
+    @DisplayName("Despachantes em paralelo devem reservar lotes diferentes sem esperar (SKIP LOCKED)")
+    void despachantesParalelosDevemPularLinhasReservadas() throws Exception {
+        gravarEventos(2 * LOTE);
+        CountDownLatch reservado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        DespachanteOutbox lento = despachante(eventos -> {
+            memoria.entregar(eventos);
+            reservado.countDown();
+            liberar.await(10, TimeUnit.SECONDS);
+        });
+        DespachanteOutbox rapido = despachante(memoria);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> primeiro = executor.submit(lento::despacharLote);
+            assertTrue(reservado.await(10, TimeUnit.SECONDS));
+
+            // O primeiro lote continua travado pela outra transação: este pega o seguinte
+            assertEquals(LOTE, rapido.despacharLote());
+            assertEquals(0, rapido.despacharLote());
+
+            liberar.countDown();
+            assertEquals(LOTE, primeiro.get(10, TimeUnit.SECONDS));
+        } finally {
+            liberar.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals(2 * LOTE, memoria.getEntregues().stream().map(EventoOutbox::getId).distinct().count());
+        assertEquals(0, repository.count());
+    }
+
+    private DespachanteOutbox despachante(DestinoOutbox destino) {
+        return new DespachanteOutbox(repository, destino, transactionManager, shards, 0, LOTE, 10, 100);
+    }
+
+    private void gravarEventos(int quantidade) {
+        LongStream.range(0, quantidade).forEach(i -> repository.save(evento(LocalDateTime.now())));
+    }
+
+    private static EventoOutbox evento(LocalDateTime criadoEm) {
+        return EventoOutbox.builder()
+                .tipo(TipoEventoOutbox.ALUNO_CRIADO)
+                .alunoId(1L)
+                .payload("{\"alunoId\":1}")
+                .criadoEm(criadoEm)
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.dto.EstatisticasNotasDTO;
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.repository.CursoRepository;
+import com.example.pratica4.repository.EventoOutboxRepository;
+import com.example.pratica4.shard.CadastrosUnicos;
+import com.example.pratica4.shard.Shards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do EstatisticasNotas (banco H2, transações reais).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AlunoService.class, Outbox.class, Ranking.class, EstatisticasNotas.class, IndiceNomes.class, Shards.class, CadastrosUnicos.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do EstatisticasNotas")
+class EstatisticasNotasTest {
+
+    @Autowired
+    private EstatisticasNotas estatisticasNotas;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EventoOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Shards shards;
+
+    @AfterEach
+    void tearDown() {
+        alunoRepository.deleteAll();
+        outboxRepository.deleteAll();
+        estatisticasNotas.reconstruir();
+    }
+
+    @Test
+    @DisplayName("Reconstruir deve montar os percentis por curso e globais do banco")
+    void reconstruirDeveMontarPercentis() {
+        Long primeiro = salvar(1, List.of(6.0, 9.0), List.of("Java", "Python"));
+        salvar(2, List.of(8.0, 7.0), List.of("Java", "Python"));
+        salvar(3, List.of(10.0), List.of("Java"));
+
+        estatisticasNotas.reconstruir();
+
+        EstatisticasNotasDTO java = estatisticasNotas.consultar("Java", primeiro);
+        assertEquals(3, java.getTotal());
+        assertEquals(6.0, java.getP10());
+        assertEquals(8.0, java.getP50());
+        assertEquals(10.0, java.getP90());
+        assertEquals(8.0, java.getMedia(), 1e-9);
+        assertEquals(6.0, java.getNotaAluno());
+        assertEquals(100.0 / 6, java.getPercentilAluno(), 1e-9);
+
+        EstatisticasNotasDTO global = estatisticasNotas.consultar(null, primeiro);
+        assertEquals(5, global.getTotal());
+        assertEquals(7.5, global.getNotaAluno(), 1e-9);
+        assertEquals(List.of(0L, 0L, 0L, 0L, 0L, 0L, 1L, 1L, 1L, 2L), global.getDistribuicao());
+
+        assertEquals(0, estatisticasNotas.consultar("Go", null).getTotal());
+        assertNull(estatisticasNotas.consultar("Go", null).getP50());
+        assertThrows(AlunoNaoEncontradoException.class, () -> estatisticasNotas.consultar(null, -1L));
+    }
+
+    @Test
+    @DisplayName("Conclusões, correções de nota e exclusões do AlunoService devem atualizar os histogramas")
+    void alteracoesDoServiceDevemAtualizarHistogramas() {
+        Aluno aluno = alunoService.criarAluno(novoAluno(1, "Java", "Python"));
+        Long java = aluno.getCursos().get(0).getId();
+
+        alunoService.concluirCurso(aluno.getId(), java, 6.0);
+        alunoService.concluirCurso(aluno.getId(), aluno.getCursos().get(1).getId(), 9.0);
+        alunoService.concluirCurso(aluno.getId(), java, 8.5);
+
+        EstatisticasNotasDTO porJava = estatisticasNotas.consultar("Java", null);
+        assertEquals(1, porJava.getTotal());
+        assertEquals(8.5, porJava.getP50());
+        assertEquals(2, estatisticasNotas.consultar(null, null).getTotal());
+
+        alunoService.deletarAluno(aluno.getId());
+
+        assertEquals(0, estatisticasNotas.consultar(null, null).getTotal());
+        assertEquals(0, estatisticasNotas.consultar("Java", null).getTotal());
+    }
+
+    @Test
+    @DisplayName("Nota em transação desfeita não deve entrar nos histogramas")
+    void transacaoDesfeitaNaoDeveAlterarHistogramas() {
+        Aluno aluno = alunoService.criarAluno(novoAluno(1, "Java"));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            alunoService.concluirCurso(aluno.getId(), aluno.getCursos().get(0).getId(), 9.0);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, estatisticasNotas.consultar(null, null).getTotal());
+    }
+
+    @Test
+    @DisplayName("Checkpoint deve ser usado só enquanto corresponder ao banco")
+    void checkpointDeveSerUsadoSoSeAtual(@TempDir Path pasta) throws Exception {
+        salvar(1, List.of(7.0, 9.0), List.of("Java", "Python"));
+        String arquivo = pasta.resolve("notas.bin").toString();
+        EstatisticasNotas original = new EstatisticasNotas(cursoRepository, alunoRepository, shards, arquivo, 60_000);
+        original.reconstruir();
+        // O checkpoint só vale para alterações mais antigas que a margem de segurança
+        Thread.sleep(50);
+        cursoRepository.findAll().forEach(curso -> {
+            curso.setConcluidoEm(curso.getConcluidoEm().minusMinutes(1));
+            cursoRepository.save(curso);
+        });
+        assertTrue(original.checkpoint());
+
+        EstatisticasNotas restaurada = new EstatisticasNotas(cursoRepository, alunoRepository, shards, arquivo, 60_000);
+        assertTrue(restaurada.carregarCheckpoint());
+        assertEquals(2, restaurada.consultar(null, null).getTotal());
+        assertEquals(9.0, restaurada.consultar("Python", null).getP50());
+
+        salvar(2, List.of(5.0), List.of("Java"));
+        assertFalse(new EstatisticasNotas(cursoRepository, alunoRepository, shards, arquivo, 60_000).carregarCheckpoint());
+    }
+
+    @Test
+    @DisplayName("Checkpoints simultâneos devem ser gravados um de cada vez")
+    void checkpointsSimultaneosDevemSerSerializados(@TempDir Path pasta) throws Exception {
+        salvar(1, List.of(7.0, 9.0), List.of("Java", "Python"));
+        EstatisticasNotas estatisticas = new EstatisticasNotas(cursoRepository, alunoRepository, shards,
+                pasta.resolve("notas.bin").toString(), 60_000);
+        estatisticas.reconstruir();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> gravacoes = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                gravacoes.add(executor.submit(estatisticas::checkpoint));
+            }
+            for (Future<Boolean> gravacao : gravacoes) {
+                assertTrue(gravacao.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(Files.exists(pasta.resolve("notas.bin.tmp")));
+    }
+
+    private Long salvar(int numero, List<Double> notas, List<String> cursos) {
+        Aluno aluno = novoAluno(numero);
+        for (int i = 0; i < notas.size(); i++) {
+            Curso curso = new Curso(cursos.get(i));
+            curso.concluir(notas.get(i));
+            aluno.adicionarCurso(curso);
+        }
+        return alunoRepository.save(aluno).getId();
+    }
+
+    private static Aluno novoAluno(int numero, String... cursos) {
+        Aluno aluno = Aluno.builder()
+                .nome("Aluno " + numero)
+                .cpf(new CPF(String.format("%011d", numero)))
+                .email(new Email("aluno" + numero + "@teste.com"))
+                .build();
+        for (String curso : cursos) {
+            aluno.adicionarCurso(new Curso(curso));
+        }
+        return aluno;
+    }
+}
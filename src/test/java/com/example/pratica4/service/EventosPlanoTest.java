@@ -0,0 +1,189 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.controller.AlunoController;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PlanoAlterado;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.shard.CadastrosUnicos;
+import com.example.pratica4.shard.Shards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Testes de integração do stream de mudanças de plano (banco H2, transações reais).
+ *
+ * O teste não roda dentro de uma transação, para que o commit de cada operação dispare
+ * (ou não) a publicação. O buffer tem 4 eventos para testar o reenvio e o "reinicio".
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AlunoService.class, Outbox.class, Ranking.class, EstatisticasNotas.class, IndiceNomes.class, Shards.class, CadastrosUnicos.class, EventosPlano.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = "pratica4.eventos.buffer=4")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do EventosPlano")
+class EventosPlanoTest {
+
+    @Autowired
+    private EventosPlano eventosPlano;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new AlunoController(alunoService, null, null, eventosPlano, null))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        alunoRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Upgrade confirmado deve ser enviado aos assinantes")
+    void upgradeConfirmadoDeveSerEnviado() throws Exception {
+        Aluno aluno = alunoComCursos(12);
+        long inicial = eventosPlano.getUltimaSequencia();
+        MvcResult stream = assinar(null);
+
+        aluno.getCursos().forEach(curso -> alunoService.concluirCurso(aluno.getId(), curso.getId(), 8.0));
+
+        assertEquals(inicial + 1, eventosPlano.getUltimaSequencia());
+        String conteudo = aguardarConteudo(stream, "\"planoAtual\":\"PREMIUM\"");
+        assertTrue(conteudo.contains("id:" + (inicial + 1) + "\nevent:plano\n"));
+        assertTrue(conteudo.contains("\"alunoId\":" + aluno.getId()));
+        assertTrue(conteudo.contains("\"planoAnterior\":\"BASICO\""));
+    }
+
+    @Test
+    @DisplayName("Conclusão que não muda o plano não deve gerar evento")
+    void semMudancaDePlanoNaoDeveGerarEvento() {
+        Aluno aluno = alunoComCursos(2);
+        long inicial = eventosPlano.getUltimaSequencia();
+
+        alunoService.concluirCurso(aluno.getId(), aluno.getCursos().get(0).getId(), 9.0);
+
+        assertEquals(inicial, eventosPlano.getUltimaSequencia());
+    }
+
+    @Test
+    @DisplayName("Mudança de plano em transação desfeita não deve gerar evento")
+    void transacaoDesfeitaNaoDeveGerarEvento() {
+        Aluno aluno = alunoComCursos(12);
+        long inicial = eventosPlano.getUltimaSequencia();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            aluno.getCursos().forEach(curso -> alunoService.concluirCurso(aluno.getId(), curso.getId(), 8.0));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(inicial, eventosPlano.getUltimaSequencia());
+        assertEquals(Plano.BASICO, alunoService.buscarPorId(aluno.getId()).getPlano());
+    }
+
+    @Test
+    @DisplayName("Reconexão com Last-Event-ID deve reenviar só os eventos seguintes")
+    void reconexaoDeveReenviarEventosSeguintes() throws Exception {
+        long inicial = eventosPlano.getUltimaSequencia();
+        for (long alunoId = 1; alunoId <= 3; alunoId++) {
+            eventosPlano.publicar(alteracao(alunoId));
+        }
+
+        MvcResult stream = assinar(String.valueOf(inicial + 1));
+
+        String conteudo = aguardarConteudo(stream, "id:" + (inicial + 3) + "\n");
+        assertFalse(conteudo.contains("id:" + (inicial + 1) + "\n"));
+        assertTrue(conteudo.contains("id:" + (inicial + 2) + "\n"));
+        assertFalse(conteudo.contains("event:reinicio"));
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID que já saiu do buffer deve receber reinicio e depois os eventos novos")
+    void eventoForaDoBufferDeveReceberReinicio() throws Exception {
+        long inicial = eventosPlano.getUltimaSequencia();
+        for (long alunoId = 1; alunoId <= 6; alunoId++) {
+            eventosPlano.publicar(alteracao(alunoId));
+        }
+
+        MvcResult stream = assinar(String.valueOf(inicial + 1));
+        eventosPlano.publicar(alteracao(7L));
+
+        String conteudo = aguardarConteudo(stream, "id:" + (inicial + 7) + "\n");
+        assertTrue(conteudo.startsWith("id:" + (inicial + 6) + "\nevent:reinicio\n"));
+        assertFalse(conteudo.contains("id:" + (inicial + 5) + "\n"));
+    }
+
+    private MvcResult assinar(String lastEventId) throws Exception {
+        var requisicao = get("/api/alunos/eventos");
+        if (lastEventId != null) {
+            requisicao.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(requisicao).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static String aguardarConteudo(MvcResult stream, String esperado) throws Exception {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String conteudo = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        while (!conteudo.contains(esperado) && System.nanoTime() < limite) {
+            Thread.sleep(10);
+            conteudo = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertTrue(conteudo.contains(esperado), conteudo);
+        return conteudo;
+    }
+
+    private Aluno alunoComCursos(int quantidade) {
+        Aluno aluno = Aluno.builder()
+                .nome("João Silva")
+                .cpf(new CPF("12345678909"))
+                .email(new Email("joao@teste.com"))
+                .build();
+        for (int i = 0; i < quantidade; i++) {
+            aluno.adicionarCurso(new Curso("Curso " + i));
+        }
+        return alunoRepository.save(aluno);
+    }
+
+    private static PlanoAlterado alteracao(Long alunoId) {
+        return new PlanoAlterado(alunoId, Plano.BASICO, Plano.PREMIUM, true, LocalDateTime.now());
+    }
+}
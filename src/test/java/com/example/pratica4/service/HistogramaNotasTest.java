@@ -0,0 +1,69 @@
+package com.example.pratica4.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do HistogramaNotas")
+class HistogramaNotasTest {
+
+    @Test
+    @DisplayName("Quantis devem coincidir com o cálculo exato para notas de duas casas")
+    void quantisDevemCoincidirComCalculoExato() {
+        Random random = new Random(7);
+        double[] notas = new double[10_001];
+        HistogramaNotas histograma = new HistogramaNotas();
+        for (int i = 0; i < notas.length; i++) {
+            notas[i] = random.nextInt(1001) / 100.0;
+            histograma.adicionar(notas[i]);
+        }
+        Arrays.sort(notas);
+
+        for (double q : new double[]{0.0, 0.1, 0.5, 0.9, 1.0}) {
+            int rank = Math.max(1, (int) Math.ceil(q * notas.length));
+            assertEquals(notas[rank - 1], histograma.quantil(q), 1e-9, "q=" + q);
+        }
+        assertEquals(Arrays.stream(notas).average().getAsDouble(), histograma.media(), 1e-9);
+        assertEquals(notas.length, Arrays.stream(histograma.distribuicao()).sum());
+    }
+
+    @Test
+    @DisplayName("Remover e somar devem manter total, média e percentil")
+    void removerESomarDevemManterContagens() {
+        HistogramaNotas matematica = new HistogramaNotas();
+        matematica.adicionar(6.0);
+        matematica.adicionar(8.0);
+        matematica.adicionar(8.0);
+        HistogramaNotas fisica = new HistogramaNotas();
+        fisica.adicionar(10.0);
+        fisica.remover(9.0);
+
+        HistogramaNotas global = new HistogramaNotas().somar(matematica).somar(fisica);
+        global.remover(6.0);
+
+        assertEquals(3, global.getTotal());
+        assertEquals(26.0 / 3, global.media(), 1e-9);
+        assertEquals(8.0, global.quantil(0.5));
+        assertEquals(100.0 / 3, global.percentil(8.0), 1e-9);
+        assertEquals(0.0, global.percentil(0.0));
+        assertEquals(3, matematica.getTotal());
+        assertArrayEquals(new long[]{0, 0, 0, 0, 0, 0, 0, 0, 2, 1}, global.distribuicao());
+    }
+
+    @Test
+    @DisplayName("Histograma vazio não tem quantis e nota fora de 0 a 10 é rejeitada")
+    void vazioEForaDaFaixa() {
+        HistogramaNotas histograma = new HistogramaNotas();
+
+        assertNull(histograma.quantil(0.5));
+        assertNull(histograma.media());
+        assertNull(histograma.percentil(5.0));
+        assertThrows(IllegalArgumentException.class, () -> histograma.adicionar(10.5));
+        assertThrows(IllegalArgumentException.class, () -> histograma.quantil(1.5));
+        assertThrows(IllegalArgumentException.class, () -> HistogramaNotas.deContagens(new long[3]));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.dto.BuscaAlunosDTO;
+import com.example.pratica4.dto.IndiceNomesDTO;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.repository.EventoOutboxRepository;
+import com.example.pratica4.shard.CadastrosUnicos;
+import com.example.pratica4.shard.Shards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do IndiceNomes (banco H2, transações reais).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AlunoService.class, Outbox.class, Ranking.class, EstatisticasNotas.class, IndiceNomes.class, Shards.class, CadastrosUnicos.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do IndiceNomes")
+class IndiceNomesTest {
+
+    @Autowired
+    private IndiceNomes indiceNomes;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private EventoOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // O contexto é compartilhado com outros testes que gravam alunos sem passar pelo índice
+        indiceNomes.reconstruir();
+    }
+
+    @AfterEach
+    void tearDown() {
+        alunoRepository.deleteAll();
+        outboxRepository.deleteAll();
+        indiceNomes.reconstruir();
+    }
+
+    @Test
+    @DisplayName("Reconstruir deve indexar os nomes gravados no banco")
+    void reconstruirDeveIndexarNomesDoBanco() {
+        alunoRepository.save(novoAluno(1, "Ângela Moraes"));
+        alunoRepository.save(novoAluno(2, "Angelo Souza"));
+        alunoRepository.save(novoAluno(3, "Beatriz Moraes"));
+
+        indiceNomes.reconstruir();
+
+        assertEquals(List.of("Ângela Moraes", "Angelo Souza"), nomes(indiceNomes.buscar("ANGEL", 10)));
+        assertEquals(List.of("Ângela Moraes", "Beatriz Moraes"), nomes(indiceNomes.buscar("mor", 10)));
+        IndiceNomesDTO estatisticas = indiceNomes.estatisticas();
+        assertEquals(3, estatisticas.getAlunos());
+        assertEquals(6, estatisticas.getChaves());
+        assertTrue(estatisticas.getMemoriaTotalBytes() > estatisticas.getMemoriaTrieBytes());
+    }
+
+    @Test
+    @DisplayName("Criação, renomeação e exclusão pelo AlunoService devem atualizar o índice após o commit")
+    void alteracoesDoServiceDevemAtualizarIndice() {
+        Aluno aluno = alunoService.criarAluno(novoAluno(1, "Carlos Pereira"));
+        assertEquals(List.of("Carlos Pereira"), nomes(indiceNomes.buscar("carl", 10)));
+
+        alunoService.atualizarAluno(aluno.getId(), Aluno.builder().nome("Caio Pereira").build());
+        assertTrue(indiceNomes.buscar("carl", 10).getAlunos().isEmpty());
+        assertEquals(List.of("Caio Pereira"), nomes(indiceNomes.buscar("pere", 10)));
+
+        alunoService.deletarAluno(aluno.getId());
+        assertTrue(indiceNomes.buscar("pere", 10).getAlunos().isEmpty());
+        assertEquals(0, indiceNomes.estatisticas().getAlunos());
+    }
+
+    @Test
+    @DisplayName("Criação em transação desfeita não deve entrar no índice")
+    void transacaoDesfeitaNaoDeveEntrarNoIndice() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            alunoService.criarAluno(novoAluno(1, "Daniela Prado"));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(indiceNomes.buscar("dan", 10).getAlunos().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Texto sem letras deve ser rejeitado")
+    void textoSemLetrasDeveSerRejeitado() {
+        assertThrows(IllegalArgumentException.class, () -> indiceNomes.buscar("  ", 10));
+    }
+
+    private static List<String> nomes(BuscaAlunosDTO busca) {
+        return busca.getAlunos().stream().map(BuscaAlunosDTO.Item::getNome).collect(Collectors.toList());
+    }
+
+    private static Aluno novoAluno(int numero, String nome) {
+        return Aluno.builder()
+                .nome(nome)
+                .cpf(new CPF(String.format("%011d", numero)))
+                .email(new Email("aluno" + numero + "@teste.com"))
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.EventoOutbox;
+import com.example.pratica4.model.NotaPendente;
+import com.example.pratica4.model.TipoEventoOutbox;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.repository.EventoOutboxRepository;
+import com.example.pratica4.shard.CadastrosUnicos;
+import com.example.pratica4.shard.Shards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração da gravação de eventos na outbox (banco H2, transações reais).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AlunoService.class, Outbox.class, Ranking.class, EstatisticasNotas.class, IndiceNomes.class, Shards.class, CadastrosUnicos.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes da Outbox")
+class OutboxTest {
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private EventoOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        alunoRepository.deleteAll();
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Criar aluno deve gravar ALUNO_CRIADO com os dados do aluno")
+    void criarAlunoDeveGravarEvento() {
+        Aluno aluno = alunoService.criarAluno(novoAluno(0));
+
+        List<EventoOutbox> eventos = outboxRepository.findAll();
+        assertEquals(1, eventos.size());
+        assertEquals(TipoEventoOutbox.ALUNO_CRIADO, eventos.get(0).getTipo());
+        assertEquals(aluno.getId(), eventos.get(0).getAlunoId());
+        assertTrue(eventos.get(0).getPayload().contains("\"nome\":\"João Silva\""));
+        assertNotNull(eventos.get(0).getCriadoEm());
+    }
+
+    @Test
+    @DisplayName("Concluir o 12º curso deve gravar CURSO_CONCLUIDO e PLANO_ALTERADO")
+    void upgradeDeveGravarConclusaoEMudancaDePlano() {
+        Aluno aluno = alunoService.criarAluno(novoAluno(12));
+        outboxRepository.deleteAll();
+
+        aluno.getCursos().forEach(curso -> alunoService.concluirCurso(aluno.getId(), curso.getId(), 8.0));
+
+        List<TipoEventoOutbox> tipos = outboxRepository.findAll().stream()
+                .map(EventoOutbox::getTipo).collect(Collectors.toList());
+        assertEquals(12, tipos.stream().filter(TipoEventoOutbox.CURSO_CONCLUIDO::equals).count());
+        assertEquals(1, tipos.stream().filter(TipoEventoOutbox.PLANO_ALTERADO::equals).count());
+        assertTrue(outboxRepository.findAll().stream()
+                .filter(evento -> evento.getTipo() == TipoEventoOutbox.PLANO_ALTERADO)
+                .allMatch(evento -> evento.getPayload().contains("\"planoAtual\":\"PREMIUM\"")));
+    }
+
+    @Test
+    @DisplayName("Notas aplicadas em lote devem gravar um CURSO_CONCLUIDO por nota")
+    void notasDevemGravarEventoPorNota() {
+        Aluno aluno = alunoService.criarAluno(novoAluno(3));
+        outboxRepository.deleteAll();
+        List<NotaPendente> notas = new ArrayList<>();
+        for (Curso curso : aluno.getCursos()) {
+            notas.add(NotaPendente.builder().alunoId(aluno.getId()).cursoId(curso.getId()).media(9.0).build());
+        }
+
+        alunoService.aplicarNotas(aluno.getId(), notas);
+
+        assertEquals(3, outboxRepository.count());
+    }
+
+    @Test
+    @DisplayName("Transação desfeita não deve deixar eventos na outbox")
+    void transacaoDesfeitaNaoDeveGravarEventos() {
+        Aluno aluno = alunoService.criarAluno(novoAluno(12));
+        outboxRepository.deleteAll();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            aluno.getCursos().forEach(curso -> alunoService.concluirCurso(aluno.getId(), curso.getId(), 8.0));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    @DisplayName("Gravar evento fora de uma transação deve falhar")
+    void foraDeTransacaoDeveFalhar() {
+        assertThrows(IllegalTransactionStateException.class, () -> outbox.alunoCriado(novoAluno(0)));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    private static Aluno novoAluno(int cursos) {
+        Aluno aluno = Aluno.builder()
+                .nome("João Silva")
+                .cpf(new CPF("12345678909"))
+                .email(new Email("joao@teste.com"))
+                .build();
+        for (int i = 0; i < cursos; i++) {
+            aluno.adicionarCurso(new Curso("Curso " + i));
+        }
+        return aluno;
+    }
+}
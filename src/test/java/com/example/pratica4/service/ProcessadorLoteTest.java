@@ -0,0 +1,233 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.dto.ConcluirCursoDTO;
+import com.example.pratica4.dto.CreateAlunoDTO;
+import com.example.pratica4.dto.CreateCursoDTO;
+import com.example.pratica4.dto.LoteDTO;
+import com.example.pratica4.dto.OperacaoLoteDTO;
+import com.example.pratica4.dto.ResultadoLoteDTO;
+import com.example.pratica4.dto.ResultadoOperacaoDTO;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.shard.CadastrosUnicos;
+import com.example.pratica4.shard.Shards;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.pratica4.dto.OperacaoLoteDTO.Tipo.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para ProcessadorLote (banco H2, transações reais).
+ *
+ * O teste não roda dentro de uma transação, para que cada lote controle as suas.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AlunoService.class, Outbox.class, Ranking.class, EstatisticasNotas.class, IndiceNomes.class, Shards.class, CadastrosUnicos.class, ProcessadorLote.class})
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do ProcessadorLote")
+class ProcessadorLoteTest {
+
+    @Autowired
+    private ProcessadorLote processadorLote;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        estatisticas.setStatisticsEnabled(false);
+        alunoRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve criar aluno, adicionar cursos e concluir curso usando referência ao aluno criado")
+    void deveExecutarOperacoesEmOrdemComReferencia() {
+        ResultadoLoteDTO resultado = processadorLote.executar(lote(false,
+                criar("novo", "12345678909", "joao@teste.com"),
+                adicionarCurso("novo", "Java"),
+                adicionarCurso("novo", "SQL")));
+
+        assertEquals(List.of(201, 200, 200), status(resultado));
+        assertEquals(3, resultado.getSucessos());
+        Long alunoId = resultado.getResultados().get(0).getCorpo().getId();
+        Long cursoId = resultado.getResultados().get(2).getCorpo().getCursos().get(0).getId();
+
+        ResultadoLoteDTO conclusao = processadorLote.executar(lote(false,
+                OperacaoLoteDTO.builder().tipo(CONCLUIR_CURSO).alunoId(alunoId).cursoId(cursoId)
+                        .nota(new ConcluirCursoDTO(9.0)).build()));
+
+        ResultadoOperacaoDTO concluido = conclusao.getResultados().get(0);
+        assertEquals(200, concluido.getStatus());
+        assertTrue(concluido.getCorpo().getCursos().get(0).isAprovado());
+        assertEquals(alunoRepository.findVersaoById(alunoId).orElseThrow(), concluido.getVersao());
+    }
+
+    @Test
+    @DisplayName("Operações do mesmo aluno devem carregá-lo do banco uma única vez")
+    void deveCarregarAlunoUmaVez() {
+        Long alunoId = criarAluno("12345678909", "joao@teste.com");
+        estatisticas.clear();
+
+        ResultadoLoteDTO resultado = processadorLote.executar(lote(false,
+                buscar(alunoId),
+                adicionarCurso(alunoId, "Java"),
+                adicionarCurso(alunoId, "SQL"),
+                buscar(alunoId)));
+
+        assertEquals(List.of(200, 200, 200, 200), status(resultado));
+        assertEquals(2, resultado.getResultados().get(3).getCorpo().getCursos().size());
+        assertEquals(1, estatisticas.getEntityStatistics(Aluno.class.getName()).getLoadCount());
+    }
+
+    @Test
+    @DisplayName("Sem transação única, uma falha não deve impedir as demais operações")
+    void falhaNaoDeveAfetarOperacoesIndependentes() {
+        Long alunoId = criarAluno("12345678909", "joao@teste.com");
+
+        ResultadoLoteDTO resultado = processadorLote.executar(lote(false,
+                adicionarCurso(alunoId, "Java"),
+                buscar(999L),
+                criar("dup", "12345678909", "outro@teste.com"),
+                adicionarCurso("dup", "SQL"),
+                adicionarCurso(alunoId, "Go")));
+
+        assertEquals(List.of(200, 404, 400, 424, 200), status(resultado));
+        assertEquals("CPF já cadastrado: 123.456.789-09", resultado.getResultados().get(2).getErro());
+        assertEquals(2, resultado.getSucessos());
+        assertEquals(3, resultado.getFalhas());
+        assertEquals(2, cursosDoAluno(alunoId));
+    }
+
+    @Test
+    @DisplayName("Com transação única, a primeira falha deve desfazer tudo")
+    void transacaoUnicaDeveDesfazerTudo() {
+        Long alunoId = criarAluno("12345678909", "joao@teste.com");
+
+        ResultadoLoteDTO resultado = processadorLote.executar(lote(true,
+                criar("novo", "98765432100", "maria@teste.com"),
+                adicionarCurso(alunoId, "Java"),
+                buscar(999L),
+                adicionarCurso(alunoId, "SQL")));
+
+        assertEquals(List.of(424, 424, 404, 424), status(resultado));
+        assertEquals("Desfeita: a operação 2 falhou", resultado.getResultados().get(0).getErro());
+        assertEquals("Não executada: a operação 2 falhou", resultado.getResultados().get(3).getErro());
+        assertEquals(0, resultado.getSucessos());
+        assertEquals(1, alunoRepository.count());
+        assertEquals(0, cursosDoAluno(alunoId));
+    }
+
+    @Test
+    @DisplayName("Com transação única e sem falhas, tudo deve ser confirmado")
+    void transacaoUnicaDeveConfirmarTudo() {
+        ResultadoLoteDTO resultado = processadorLote.executar(lote(true,
+                criar("novo", "12345678909", "joao@teste.com"),
+                adicionarCurso("novo", "Java")));
+
+        assertEquals(List.of(201, 200), status(resultado));
+        assertEquals(1, cursosDoAluno(resultado.getResultados().get(0).getCorpo().getId()));
+    }
+
+    @Test
+    @DisplayName("Deve validar os campos de cada operação separadamente")
+    void deveValidarCadaOperacao() {
+        ResultadoLoteDTO resultado = processadorLote.executar(lote(false,
+                OperacaoLoteDTO.builder().tipo(CRIAR_ALUNO)
+                        .aluno(new CreateAlunoDTO("", "123", "joao@teste.com")).build(),
+                OperacaoLoteDTO.builder().tipo(ADICIONAR_CURSO).curso(new CreateCursoDTO("Java")).build(),
+                OperacaoLoteDTO.builder().build()));
+
+        assertEquals(List.of(400, 400, 400), status(resultado));
+        assertEquals("aluno.cpf: CPF deve conter exatamente 11 dígitos numéricos; aluno.nome: Nome é obrigatório",
+                resultado.getResultados().get(0).getErro());
+        assertEquals("Informe alunoId ou alunoRef na operação ADICIONAR_CURSO", resultado.getResultados().get(1).getErro());
+        assertEquals("Tipo da operação é obrigatório", resultado.getResultados().get(2).getErro());
+    }
+
+    @Test
+    @DisplayName("Versão divergente deve retornar 412 na operação")
+    void versaoDivergenteDeveRetornar412() {
+        Long alunoId = criarAluno("12345678909", "joao@teste.com");
+
+        ResultadoLoteDTO resultado = processadorLote.executar(lote(false,
+                OperacaoLoteDTO.builder().tipo(ATUALIZAR_ALUNO).alunoId(alunoId).versao(99L)
+                        .aluno(new CreateAlunoDTO("João Silva", "12345678909", "joao@teste.com")).build()));
+
+        assertEquals(List.of(412), status(resultado));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote acima do máximo de operações")
+    void deveRejeitarLoteGrandeDemais() {
+        OperacaoLoteDTO[] operacoes = new OperacaoLoteDTO[101];
+        java.util.Arrays.fill(operacoes, buscar(1L));
+
+        assertThrows(IllegalArgumentException.class, () -> processadorLote.executar(lote(false, operacoes)));
+    }
+
+    private Long criarAluno(String cpf, String email) {
+        return processadorLote.executar(lote(false, criar("a", cpf, email)))
+                .getResultados().get(0).getCorpo().getId();
+    }
+
+    private int cursosDoAluno(Long alunoId) {
+        return alunoRepository.findComCursosById(alunoId).orElseThrow().getCursos().size();
+    }
+
+    private static LoteDTO lote(boolean transacional, OperacaoLoteDTO... operacoes) {
+        return new LoteDTO(transacional, List.of(operacoes));
+    }
+
+    private static OperacaoLoteDTO criar(String ref, String cpf, String email) {
+        return OperacaoLoteDTO.builder().tipo(CRIAR_ALUNO).ref(ref)
+                .aluno(new CreateAlunoDTO("João", cpf, email)).build();
+    }
+
+    private static OperacaoLoteDTO buscar(Long alunoId) {
+        return OperacaoLoteDTO.builder().tipo(BUSCAR_ALUNO).alunoId(alunoId).build();
+    }
+
+    private static OperacaoLoteDTO adicionarCurso(Long alunoId, String nome) {
+        return OperacaoLoteDTO.builder().tipo(ADICIONAR_CURSO).alunoId(alunoId).curso(new CreateCursoDTO(nome)).build();
+    }
+
+    private static OperacaoLoteDTO adicionarCurso(String alunoRef, String nome) {
+        return OperacaoLoteDTO.builder().tipo(ADICIONAR_CURSO).alunoRef(alunoRef).curso(new CreateCursoDTO(nome)).build();
+    }
+
+    private static List<Integer> status(ResultadoLoteDTO resultado) {
+        return resultado.getResultados().stream().map(ResultadoOperacaoDTO::getStatus).collect(Collectors.toList());
+    }
+}
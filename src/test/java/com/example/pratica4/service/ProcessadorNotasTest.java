@@ -0,0 +1,168 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.NotaPendente;
+import com.example.pratica4.model.SituacaoNota;
+import com.example.pratica4.repository.FilaNotasArquivo;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ProcessadorNotas.
+ *
+ * Usa uma FilaNotasArquivo real (em diretório temporário) e o AlunoService simulado;
+ * os micro-lotes são processados diretamente, sem iniciar os consumidores.
+ */
+@DisplayName("Testes do ProcessadorNotas")
+class ProcessadorNotasTest {
+
+    @TempDir
+    Path diretorio;
+
+    private AlunoService alunoService;
+    private FilaNotasArquivo fila;
+    private ProcessadorNotas processador;
+
+    @BeforeEach
+    void setUp() {
+        alunoService = mock(AlunoService.class);
+        fila = new FilaNotasArquivo(diretorio.resolve("notas.fila").toString(), 16, false);
+        processador = new ProcessadorNotas(alunoService, fila, 2, 50, 3, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processador.parar();
+        fila.close();
+    }
+
+    @Test
+    @DisplayName("Deve validar a média e o curso antes de enfileirar")
+    void deveValidarAntesDeEnfileirar() {
+        doThrow(new EntityNotFoundException("Curso com ID 99 não encontrado para o aluno 1"))
+                .when(alunoService).verificarCursoDoAluno(1L, 99L);
+
+        assertThrows(IllegalArgumentException.class, () -> processador.enviar(1L, 10L, 11.0));
+        assertThrows(EntityNotFoundException.class, () -> processador.enviar(1L, 99L, 8.0));
+        assertEquals(0, processador.getPendentes());
+
+        NotaPendente nota = processador.enviar(1L, 10L, 8.0);
+
+        assertEquals(SituacaoNota.PENDENTE, processador.consultar(nota.getSequencia()).getSituacao());
+        assertEquals(1, processador.getPendentes());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o micro-lote agrupado por aluno e marcar como APLICADA")
+    void deveAplicarLoteAgrupadoPorAluno() throws Exception {
+        NotaPendente a1 = fila.acrescentar(1L, 10L, 8.0);
+        NotaPendente b1 = fila.acrescentar(2L, 20L, 7.0);
+        NotaPendente a2 = fila.acrescentar(1L, 11L, 6.0);
+        when(alunoService.aplicarNotas(anyLong(), any())).thenReturn(List.of());
+
+        processador.processar(List.of(a1, b1, a2));
+
+        verify(alunoService).aplicarNotas(1L, List.of(a1, a2));
+        verify(alunoService).aplicarNotas(2L, List.of(b1));
+        assertEquals(SituacaoNota.APLICADA, processador.consultar(a2.getSequencia()).getSituacao());
+        assertEquals(0, processador.getPendentes());
+    }
+
+    @Test
+    @DisplayName("Deve marcar como FALHOU as notas de curso ignorado, com o motivo")
+    void deveMarcarFalhaDeCursoIgnorado() throws Exception {
+        NotaPendente valida = fila.acrescentar(1L, 10L, 8.0);
+        NotaPendente ignorada = fila.acrescentar(1L, 99L, 6.0);
+        when(alunoService.aplicarNotas(1L, List.of(valida, ignorada))).thenReturn(List.of(ignorada));
+
+        processador.processar(List.of(valida, ignorada));
+
+        assertEquals(SituacaoNota.APLICADA, processador.consultar(valida.getSequencia()).getSituacao());
+        assertEquals(SituacaoNota.FALHOU, processador.consultar(ignorada.getSequencia()).getSituacao());
+        assertEquals("Curso com ID 99 não encontrado para o aluno 1",
+                processador.motivoFalha(ignorada.getSequencia()).orElseThrow());
+        assertTrue(processador.motivoFalha(valida.getSequencia()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Aluno inexistente deve marcar FALHOU sem repetir")
+    void alunoInexistenteDeveFalharSemRepetir() throws Exception {
+        NotaPendente nota = fila.acrescentar(1L, 10L, 8.0);
+        when(alunoService.aplicarNotas(1L, List.of(nota)))
+                .thenThrow(new EntityNotFoundException("Aluno não encontrado com ID: 1"));
+
+        processador.processar(List.of(nota));
+
+        verify(alunoService, times(1)).aplicarNotas(1L, List.of(nota));
+        assertEquals(SituacaoNota.FALHOU, processador.consultar(nota.getSequencia()).getSituacao());
+    }
+
+    @Test
+    @DisplayName("Falha temporária deve ser repetida até dar certo")
+    void falhaTemporariaDeveSerRepetida() throws Exception {
+        NotaPendente nota = fila.acrescentar(1L, 10L, 8.0);
+        when(alunoService.aplicarNotas(1L, List.of(nota)))
+                .thenThrow(new DataAccessResourceFailureException("Banco indisponível"))
+                .thenReturn(List.of());
+
+        processador.processar(List.of(nota));
+
+        verify(alunoService, times(2)).aplicarNotas(1L, List.of(nota));
+        assertEquals(SituacaoNota.APLICADA, processador.consultar(nota.getSequencia()).getSituacao());
+    }
+
+    @Test
+    @DisplayName("Deve marcar FALHOU depois de esgotar as tentativas")
+    void deveFalharAposEsgotarTentativas() throws Exception {
+        NotaPendente nota = fila.acrescentar(1L, 10L, 8.0);
+        when(alunoService.aplicarNotas(1L, List.of(nota)))
+                .thenThrow(new DataAccessResourceFailureException("Banco indisponível"));
+
+        processador.processar(List.of(nota));
+
+        verify(alunoService, times(3)).aplicarNotas(1L, List.of(nota));
+        assertEquals(SituacaoNota.FALHOU, processador.consultar(nota.getSequencia()).getSituacao());
+        assertEquals("Falha após 3 tentativas: Banco indisponível",
+                processador.motivoFalha(nota.getSequencia()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Consumidores devem aplicar as notas enviadas e as recuperadas do arquivo")
+    void consumidoresDevemAplicarNotas() throws Exception {
+        NotaPendente recuperada = fila.acrescentar(3L, 30L, 9.0);
+        fila.close();
+        fila = new FilaNotasArquivo(diretorio.resolve("notas.fila").toString(), 16, false);
+        processador = new ProcessadorNotas(alunoService, fila, 2, 50, 3, 1);
+        when(alunoService.aplicarNotas(anyLong(), any())).thenReturn(List.of());
+
+        processador.iniciar();
+        NotaPendente enviada = processador.enviar(1L, 10L, 8.0);
+
+        long limite = System.currentTimeMillis() + 5000;
+        while (processador.getPendentes() > 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, processador.getPendentes());
+        assertEquals(SituacaoNota.APLICADA, processador.consultar(recuperada.getSequencia()).getSituacao());
+        assertEquals(SituacaoNota.APLICADA, processador.consultar(enviada.getSequencia()).getSituacao());
+    }
+
+    @Test
+    @DisplayName("Sequência inexistente deve lançar EntityNotFoundException")
+    void sequenciaInexistenteDeveLancarExcecao() {
+        EntityNotFoundException erro = assertThrows(EntityNotFoundException.class, () -> processador.consultar(42L));
+        assertEquals("Nota não encontrada na fila: 42", erro.getMessage());
+    }
+}
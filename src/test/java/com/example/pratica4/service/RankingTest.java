@@ -0,0 +1,171 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.dto.RankingDTO;
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.repository.EventoOutboxRepository;
+import com.example.pratica4.shard.CadastrosUnicos;
+import com.example.pratica4.shard.Shards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do Ranking (banco H2, transações reais).
+ *
+ * O teste não roda dentro de uma transação, para que o commit de cada operação do
+ * AlunoService aplique (ou não) a alteração no ranking.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AlunoService.class, Outbox.class, Ranking.class, EstatisticasNotas.class, IndiceNomes.class, Shards.class, CadastrosUnicos.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do Ranking")
+class RankingTest {
+
+    @Autowired
+    private Ranking ranking;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private EventoOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        alunoRepository.deleteAll();
+        outboxRepository.deleteAll();
+        ranking.reconstruir();
+    }
+
+    @Test
+    @DisplayName("Reconstruir deve classificar os alunos do banco em cada critério")
+    void reconstruirDeveClassificarPorCriterio() {
+        Long dez = salvar(1, 10, 8.0, null);
+        Long doze = salvar(2, 12, 7.5, LocalDateTime.now().minusDays(20));
+        Long dozeMelhorMedia = salvar(3, 12, 9.0, LocalDateTime.now().minusDays(50));
+        Long semCursos = salvar(4, 0, 0.0, null);
+
+        ranking.reconstruir();
+
+        assertEquals(List.of(dozeMelhorMedia, doze, dez, semCursos), ids(Ranking.Criterio.APROVADOS, 10));
+        assertEquals(List.of(dozeMelhorMedia, dez, doze), ids(Ranking.Criterio.MEDIA, 10));
+        assertEquals(List.of(dozeMelhorMedia, doze), ids(Ranking.Criterio.PREMIUM, 10));
+        assertEquals(List.of(dozeMelhorMedia, doze), ids(Ranking.Criterio.APROVADOS, 2));
+        assertEquals(4, ranking.listar(Ranking.Criterio.APROVADOS, 1).getTotal());
+
+        RankingDTO.Posicao posicao = ranking.posicao(Ranking.Criterio.PREMIUM, doze);
+        assertEquals(2, posicao.getPosicao());
+        assertEquals(12, posicao.getCursosAprovados());
+        assertEquals(7.5, posicao.getMedia(), 0.0001);
+        assertEquals(80, posicao.getDiasAtePremium());
+    }
+
+    @Test
+    @DisplayName("Aluno que não se classifica no critério deve ter posição nula")
+    void alunoNaoClassificadoDeveTerPosicaoNula() {
+        Long semCursos = salvar(1, 0, 0.0, null);
+        ranking.reconstruir();
+
+        assertNull(ranking.posicao(Ranking.Criterio.MEDIA, semCursos).getPosicao());
+        assertNull(ranking.posicao(Ranking.Criterio.PREMIUM, semCursos).getPosicao());
+        assertEquals(1, ranking.posicao(Ranking.Criterio.APROVADOS, semCursos).getPosicao());
+        assertThrows(AlunoNaoEncontradoException.class, () -> ranking.posicao(Ranking.Criterio.APROVADOS, -1L));
+    }
+
+    @Test
+    @DisplayName("Alterações do AlunoService devem entrar no ranking após o commit")
+    void alteracoesDoServiceDevemAtualizarRanking() {
+        Aluno lider = alunoService.criarAluno(novoAluno(1, 12));
+        Aluno outro = alunoService.criarAluno(novoAluno(2, 1));
+        alunoService.concluirCurso(outro.getId(), outro.getCursos().get(0).getId(), 9.5);
+        assertEquals(List.of(outro.getId(), lider.getId()), ids(Ranking.Criterio.APROVADOS, 10));
+
+        lider.getCursos().forEach(curso -> alunoService.concluirCurso(lider.getId(), curso.getId(), 8.0));
+
+        assertEquals(List.of(lider.getId(), outro.getId()), ids(Ranking.Criterio.APROVADOS, 10));
+        assertEquals(List.of(outro.getId(), lider.getId()), ids(Ranking.Criterio.MEDIA, 10));
+        RankingDTO.Posicao premium = ranking.posicao(Ranking.Criterio.PREMIUM, lider.getId());
+        assertEquals(1, premium.getPosicao());
+        assertEquals(0L, premium.getDiasAtePremium());
+
+        alunoService.deletarAluno(lider.getId());
+
+        assertEquals(List.of(outro.getId()), ids(Ranking.Criterio.APROVADOS, 10));
+        assertThrows(AlunoNaoEncontradoException.class, () -> ranking.posicao(Ranking.Criterio.APROVADOS, lider.getId()));
+    }
+
+    @Test
+    @DisplayName("Alteração em transação desfeita não deve mudar o ranking")
+    void transacaoDesfeitaNaoDeveMudarRanking() {
+        Aluno aluno = alunoService.criarAluno(novoAluno(1, 1));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            alunoService.concluirCurso(aluno.getId(), aluno.getCursos().get(0).getId(), 9.0);
+            status.setRollbackOnly();
+        });
+
+        RankingDTO.Posicao posicao = ranking.posicao(Ranking.Criterio.APROVADOS, aluno.getId());
+        assertEquals(0, posicao.getCursosAprovados());
+        assertNull(posicao.getMedia());
+    }
+
+    private List<Long> ids(Ranking.Criterio criterio, int limite) {
+        return ranking.listar(criterio, limite).getAlunos().stream()
+                .map(RankingDTO.Posicao::getAlunoId)
+                .collect(Collectors.toList());
+    }
+
+    private Long salvar(int numero, int concluidos, double media, LocalDateTime premiumEm) {
+        Aluno aluno = novoAluno(numero, 0);
+        aluno.setDataCadastro(LocalDate.now().minusDays(100));
+        aluno.setPremiumEm(premiumEm);
+        for (int i = 0; i < concluidos; i++) {
+            Curso curso = new Curso("Curso " + i);
+            curso.concluir(media);
+            aluno.adicionarCurso(curso);
+        }
+        return alunoRepository.save(aluno).getId();
+    }
+
+    private static Aluno novoAluno(int numero, int cursos) {
+        Aluno aluno = Aluno.builder()
+                .nome("Aluno " + numero)
+                .cpf(new CPF(String.format("%011d", numero)))
+                .email(new Email("aluno" + numero + "@teste.com"))
+                .build();
+        for (int i = 0; i < cursos; i++) {
+            aluno.adicionarCurso(new Curso("Curso " + i));
+        }
+        return aluno;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.dto.ResultadoSimulacaoDTO;
+import com.example.pratica4.dto.SimulacaoDTO;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.shard.Shards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do SimuladorPlanos (banco H2). Tarefas de 2 alunos para exercitar
+ * a divisão do fork/join mesmo com poucos alunos.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({SimuladorPlanos.class, Shards.class})
+@TestPropertySource(properties = {"pratica4.simulacoes.tamanho-tarefa=2", "pratica4.simulacoes.paralelismo=2"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do SimuladorPlanos")
+class SimuladorPlanosTest {
+
+    @Autowired
+    private SimuladorPlanos simuladorPlanos;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Aprovados com média 7.0: 12 (Premium), 10, 4 e 0 (sem cursos)
+        salvar(1, Plano.PREMIUM, 12, 8.0);
+        salvar(2, Plano.BASICO, 10, 7.5);
+        salvar(3, Plano.BASICO, 4, 6.5);
+        salvar(4, Plano.BASICO, 0, 0.0);
+        simuladorPlanos.descartarSnapshot();
+    }
+
+    @AfterEach
+    void tearDown() {
+        alunoRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Mesma política deve manter todos os planos")
+    void mesmaPoliticaDeveManterPlanos() {
+        ResultadoSimulacaoDTO resultado = simuladorPlanos.simular(new SimulacaoDTO());
+
+        assertEquals(4, resultado.getAlunos());
+        assertEquals(0, resultado.getUpgrades());
+        assertEquals(0, resultado.getDowngrades());
+        assertEquals(4, resultado.getInalterados());
+        assertEquals(resultado.getHistogramaAtual(), resultado.getHistogramaSimulado());
+        assertEquals(13, resultado.getHistogramaAtual().size());
+        assertEquals(1, resultado.getHistogramaAtual().get(10));
+        assertEquals(1, resultado.getHistogramaAtual().get(12));
+    }
+
+    @Test
+    @DisplayName("Premium a partir de 10 cursos deve gerar um upgrade")
+    void limiteMenorDeveGerarUpgrade() {
+        ResultadoSimulacaoDTO resultado = simuladorPlanos.simular(SimulacaoDTO.builder()
+                .faixas(List.of(new SimulacaoDTO.Faixa(Plano.BASICO, 0, false),
+                        new SimulacaoDTO.Faixa(Plano.PREMIUM, 10, true)))
+                .build());
+
+        assertEquals(1, resultado.getUpgrades());
+        assertEquals(0, resultado.getDowngrades());
+        assertTrue(resultado.getTransicoes().contains(new ResultadoSimulacaoDTO.Transicao(Plano.BASICO, Plano.PREMIUM, 1)));
+        // Histogramas vão até a maior faixa das duas políticas (12)
+        assertEquals(13, resultado.getHistogramaSimulado().size());
+        assertEquals(resultado.getHistogramaAtual(), resultado.getHistogramaSimulado());
+    }
+
+    @Test
+    @DisplayName("Média de aprovação maior deve gerar downgrade de quem deixa de ter 12 aprovados")
+    void mediaMaiorDeveGerarDowngrade() {
+        ResultadoSimulacaoDTO resultado = simuladorPlanos.simular(SimulacaoDTO.builder().mediaAprovacao(8.5).build());
+
+        assertEquals(8.5, resultado.getMediaAprovacao());
+        assertEquals(1, resultado.getDowngrades());
+        assertEquals(3, resultado.getInalterados());
+        assertEquals(4, resultado.getHistogramaSimulado().get(0));
+    }
+
+    @Test
+    @DisplayName("Faixa intermediária deve aparecer nas transições")
+    void faixaIntermediariaDeveAparecerNasTransicoes() {
+        ResultadoSimulacaoDTO resultado = simuladorPlanos.simular(SimulacaoDTO.builder()
+                .mediaAprovacao(6.0)
+                .faixas(List.of(new SimulacaoDTO.Faixa(Plano.BASICO, 0, false),
+                        new SimulacaoDTO.Faixa(Plano.INTERMEDIARIO, 4, false),
+                        new SimulacaoDTO.Faixa(Plano.PREMIUM, 12, true)))
+                .build());
+
+        assertEquals(2, resultado.getUpgrades());
+        assertTrue(resultado.getTransicoes().contains(
+                new ResultadoSimulacaoDTO.Transicao(Plano.BASICO, Plano.INTERMEDIARIO, 2)));
+    }
+
+    @Test
+    @DisplayName("Snapshot deve ser reaproveitado até ser descartado")
+    void snapshotDeveSerReaproveitado() {
+        SnapshotNotas primeiro = simuladorPlanos.snapshot();
+        salvar(5, Plano.BASICO, 1, 9.0);
+
+        assertSame(primeiro, simuladorPlanos.snapshot());
+        simuladorPlanos.descartarSnapshot();
+        assertEquals(5, simuladorPlanos.snapshot().getAlunos());
+    }
+
+    @Test
+    @DisplayName("Política candidata inválida deve ser rejeitada")
+    void politicaInvalidaDeveSerRejeitada() {
+        SimulacaoDTO simulacao = SimulacaoDTO.builder()
+                .faixas(List.of(new SimulacaoDTO.Faixa(Plano.PREMIUM, 5, true)))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> simuladorPlanos.simular(simulacao));
+    }
+
+    private void salvar(int numero, Plano plano, int aprovados, double media) {
+        Aluno aluno = Aluno.builder()
+                .nome("Aluno " + numero)
+                .cpf(new CPF(String.format("%011d", numero)))
+                .email(new Email("aluno" + numero + "@teste.com"))
+                .plano(plano)
+                .build();
+        for (int i = 0; i < aprovados; i++) {
+            Curso curso = new Curso("Curso " + i);
+            curso.concluir(media);
+            aluno.adicionarCurso(curso);
+        }
+        aluno.adicionarCurso(new Curso("Em andamento"));
+        alunoRepository.save(aluno);
+    }
+}
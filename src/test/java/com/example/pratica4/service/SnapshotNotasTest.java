@@ -0,0 +1,83 @@
+package com.example.pratica4.service;
+
+import com.example.pratica4.model.Plano;
+import com.example.pratica4.model.PoliticaPlanos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do SnapshotNotas")
+class SnapshotNotasTest {
+
+    @Test
+    @DisplayName("Deve contar aprovados por média de corte com as médias de cada aluno separadas")
+    void deveContarAprovadosPorCorte() {
+        SnapshotNotas snapshot = SnapshotNotas.construtor()
+                .novoAluno(Plano.BASICO).cursoConcluido(9.0).cursoConcluido(5.0).cursoConcluido(7.0)
+                .novoAluno(Plano.PREMIUM)
+                .novoAluno(Plano.BASICO).cursoConcluido(6.9)
+                .build();
+
+        assertEquals(3, snapshot.getAlunos());
+        assertEquals(4, snapshot.getCursosConcluidos());
+        assertEquals(2, snapshot.aprovados(0, 7.0));
+        assertEquals(3, snapshot.aprovados(0, 5.0));
+        assertEquals(0, snapshot.aprovados(0, 9.5));
+        assertEquals(0, snapshot.aprovados(1, 0.0));
+        assertEquals(0, snapshot.aprovados(2, 7.0));
+        assertEquals(1, snapshot.aprovados(2, 6.5));
+        assertEquals(Plano.PREMIUM, snapshot.plano(1));
+    }
+
+    @Test
+    @DisplayName("Curso antes do primeiro aluno deve falhar")
+    void cursoAntesDoAlunoDeveFalhar() {
+        assertThrows(IllegalStateException.class, () -> SnapshotNotas.construtor().cursoConcluido(7.0));
+    }
+
+    @Test
+    @DisplayName("Simulação paralela deve dar o mesmo resultado que a avaliação aluno a aluno")
+    void simulacaoParalelaDeveIgualarSequencial() {
+        Random random = new Random(42);
+        SnapshotNotas.Construtor construtor = SnapshotNotas.construtor();
+        int[] notasPorAluno = new int[5000];
+        double[][] notas = new double[notasPorAluno.length][];
+        for (int aluno = 0; aluno < notas.length; aluno++) {
+            construtor.novoAluno(aluno % 3 == 0 ? Plano.PREMIUM : Plano.BASICO);
+            notas[aluno] = new double[random.nextInt(20)];
+            for (int i = 0; i < notas[aluno].length; i++) {
+                notas[aluno][i] = random.nextInt(101) / 10.0;
+                construtor.cursoConcluido(notas[aluno][i]);
+            }
+        }
+        SnapshotNotas snapshot = construtor.build();
+        PoliticaPlanos atual = PoliticaPlanos.padrao();
+        PoliticaPlanos candidata = PoliticaPlanos.builder().mediaAprovacao(6.0)
+                .faixa(Plano.BASICO, 0, false).faixa(Plano.PREMIUM, 8, true).mensagem(0, "").build();
+
+        SnapshotNotas.Contagem contagem = snapshot.simular(atual, candidata, new ForkJoinPool(4), 64);
+
+        long[][] esperado = new long[Plano.values().length][Plano.values().length];
+        long[] histograma = new long[13];
+        for (int aluno = 0; aluno < notas.length; aluno++) {
+            int aprovados = 0;
+            for (double nota : notas[aluno]) {
+                aprovados += nota >= 6.0 ? 1 : 0;
+            }
+            Plano de = aluno % 3 == 0 ? Plano.PREMIUM : Plano.BASICO;
+            esperado[de.ordinal()][(aprovados >= 8 ? Plano.PREMIUM : Plano.BASICO).ordinal()]++;
+            histograma[Math.min(aprovados, 12)]++;
+        }
+        for (Plano de : Plano.values()) {
+            for (Plano para : Plano.values()) {
+                assertEquals(esperado[de.ordinal()][para.ordinal()], contagem.transicoes(de, para), de + " -> " + para);
+            }
+        }
+        assertArrayEquals(histograma, contagem.getHistogramaSimulado());
+        assertEquals(notas.length, java.util.Arrays.stream(contagem.getHistogramaAtual()).sum());
+    }
+}
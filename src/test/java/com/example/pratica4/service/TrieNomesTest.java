@@ -0,0 +1,86 @@
+package com.example.pratica4.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da TrieNomes")
+class TrieNomesTest {
+
+    @Test
+    @DisplayName("Busca deve ignorar acentos e maiúsculas e encontrar por qualquer palavra")
+    void buscaDeveIgnorarAcentosEMaiusculas() {
+        TrieNomes trie = new TrieNomes();
+        trie.adicionar("João da Silva", 1);
+        trie.adicionar("Joana  Souza", 2);
+        trie.adicionar("Márcia Silveira", 3);
+
+        assertEquals(List.of(2L, 1L), trie.buscar("jo", 10));
+        assertEquals(List.of(1L), trie.buscar("JOÃO", 10));
+        assertEquals(List.of(1L, 3L), trie.buscar("silv", 10));
+        assertEquals(List.of(1L), trie.buscar("da s", 10));
+        assertEquals(List.of(3L), trie.buscar("marcia", 10));
+        assertEquals(List.of(2L), trie.buscar("jo", 1));
+        assertTrue(trie.buscar("x", 10).isEmpty());
+        assertTrue(trie.buscar("joaoz", 10).isEmpty());
+        assertEquals("joana souza", TrieNomes.normalizar("  Joána\tSOUZA "));
+    }
+
+    @Test
+    @DisplayName("Inserções, renomeações e remoções aleatórias devem concordar com a busca exaustiva")
+    void deveConcordarComBuscaExaustiva() {
+        String[] palavras = {"ana", "anabela", "andre", "bruno", "bruna", "carla", "carlos", "silva", "silveira", "souza"};
+        Random random = new Random(11);
+        TrieNomes trie = new TrieNomes();
+        Map<Long, String> nomes = new HashMap<>();
+
+        for (int operacao = 0; operacao < 5_000; operacao++) {
+            long id = random.nextInt(300);
+            String anterior = nomes.remove(id);
+            if (anterior != null) {
+                trie.remover(anterior, id);
+            }
+            if (random.nextInt(4) > 0) {
+                String nome = palavras[random.nextInt(palavras.length)] + " " + palavras[random.nextInt(palavras.length)];
+                nomes.put(id, nome);
+                trie.adicionar(nome, id);
+            }
+        }
+
+        for (String prefixo : List.of("a", "an", "ana", "anab", "br", "bruna", "c", "carlos s", "s", "silv", "z")) {
+            List<Long> encontrados = trie.buscar(prefixo, Integer.MAX_VALUE);
+            assertEquals(esperado(nomes, prefixo), new HashSet<>(encontrados), prefixo);
+            assertEquals(encontrados.size(), new HashSet<>(encontrados).size(), prefixo);
+        }
+        int chaves = nomes.values().stream().mapToInt(nome -> 2).sum();
+        assertEquals(chaves, trie.getChaves());
+
+        nomes.forEach((id, nome) -> trie.remover(nome, id));
+        assertEquals(0, trie.getChaves());
+        assertEquals(1, trie.estatisticas().nos());
+    }
+
+    /**
+     * IDs com alguma palavra do nome (e o restante do nome a partir dela) começando pelo prefixo
+     */
+    private static Set<Long> esperado(Map<Long, String> nomes, String prefixo) {
+        Set<Long> esperado = new HashSet<>();
+        nomes.forEach((id, nome) -> {
+            String[] palavras = nome.split(" ");
+            for (int i = 0; i < palavras.length; i++) {
+                if (String.join(" ", List.of(palavras).subList(i, palavras.length)).startsWith(prefixo)) {
+                    esperado.add(id);
+                }
+            }
+        });
+        return esperado;
+    }
+}
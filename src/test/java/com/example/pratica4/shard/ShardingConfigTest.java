@@ -0,0 +1,259 @@
+package com.example.pratica4.shard;
+
+import com.example.pratica4.dto.AlunoDTO;
+import com.example.pratica4.exception.AlunoNaoEncontradoException;
+import com.example.pratica4.exception.CadastroDuplicadoException;
+import com.example.pratica4.model.Aluno;
+import com.example.pratica4.model.Curso;
+import com.example.pratica4.model.valueobject.CPF;
+import com.example.pratica4.model.valueobject.Email;
+import com.example.pratica4.repository.AlunoRepository;
+import com.example.pratica4.repository.AlunoResumo;
+import com.example.pratica4.repository.EventoOutboxRepository;
+import com.example.pratica4.service.AlunoService;
+import com.example.pratica4.service.EstatisticasNotas;
+import com.example.pratica4.service.IndiceNomes;
+import com.example.pratica4.service.Outbox;
+import com.example.pratica4.service.Ranking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do profile sharding: três bancos H2 em memória atrás do mesmo
+ * AlunoService.
+ *
+ * O teste não roda dentro de uma transação: cada chamada ao AlunoService abre a sua, já no
+ * shard do aluno.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "sharding"})
+@Import({ShardingConfig.class, Shards.class, CadastrosUnicos.class, AlunoService.class, Outbox.class, Ranking.class,
+        EstatisticasNotas.class, IndiceNomes.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do profile sharding")
+class ShardingConfigTest {
+
+    @Autowired
+    private Shards shards;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private EventoOutboxRepository outboxRepository;
+
+    @Autowired
+    private IndiceNomes indiceNomes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        shards.emCada(() -> {
+            alunoRepository.deleteAll();
+            outboxRepository.deleteAll();
+        });
+        indiceNomes.reconstruir();
+        shards.noShard(CadastrosUnicos.SHARD, () -> new JdbcTemplate(dataSource).update("DELETE FROM cadastros_unicos"));
+    }
+
+    @Test
+    @DisplayName("Alunos novos devem ser distribuídos entre os shards com IDs que indicam o shard")
+    void alunosNovosDevemSerDistribuidosPorShard() {
+        List<Long> ids = criar(6);
+
+        assertEquals(3, shards.getQuantidade());
+        assertEquals(6, ids.stream().distinct().count());
+        for (Long id : ids) {
+            int shard = shards.doAluno(id);
+            for (int outro = 0; outro < 3; outro++) {
+                boolean gravadoAqui = shards.noShard(outro, () -> alunoRepository.existsById(id));
+                assertEquals(outro == shard, gravadoAqui, "aluno " + id + " no shard " + outro);
+            }
+        }
+        for (int shard = 0; shard < 3; shard++) {
+            int alvo = shard;
+            long noShard = shards.noShard(alvo, alunoRepository::count);
+            assertEquals(2, noShard);
+        }
+        assertEquals(6, shards.somar(alunoRepository::count));
+    }
+
+    @Test
+    @DisplayName("Consultas e alterações por ID devem ir ao shard do aluno")
+    void operacoesPorIdDevemIrAoShardDoAluno() {
+        List<Long> ids = criar(3);
+        Long id = ids.stream().filter(cada -> shards.doAluno(cada) == 2).findFirst().orElseThrow();
+
+        AlunoDTO dto = alunoService.buscarDTOPorId(id).getConteudo();
+        alunoService.concluirCurso(id, dto.getCursos().get(0).getId(), 9.0);
+        Aluno aluno = alunoService.buscarPorId(id);
+        Aluno renomeado = Aluno.builder()
+                .nome("Renomeado")
+                .cpf(aluno.getCpf())
+                .email(aluno.getEmail())
+                .build();
+        alunoService.atualizarAluno(id, renomeado);
+
+        AlunoResumo resumo = alunoService.buscarResumoPorId(id);
+        assertEquals("Renomeado", resumo.getNome());
+        assertTrue(alunoService.buscarDTOPorId(id).getConteudo().getCursos().get(0).isConcluido());
+
+        alunoService.deletarAluno(id);
+        assertThrows(AlunoNaoEncontradoException.class, () -> alunoService.buscarPorId(id));
+        assertEquals(2, shards.somar(alunoRepository::count));
+    }
+
+    @Test
+    @DisplayName("Listagens e índices devem juntar os alunos de todos os shards em ordem de ID")
+    void listagensDevemJuntarTodosOsShards() {
+        List<Long> ids = criar(5);
+        ids.sort(null);
+
+        assertEquals(ids, alunoService.listarResumos().stream().map(AlunoResumo::getId).collect(Collectors.toList()));
+        List<Aluno> todos = alunoService.listarTodos();
+        assertEquals(ids, todos.stream().map(Aluno::getId).collect(Collectors.toList()));
+        assertTrue(todos.stream().allMatch(aluno -> aluno.getCursos().size() == 1));
+
+        indiceNomes.reconstruir();
+        assertEquals(5, indiceNomes.buscar("aluno", 10).getAlunos().size());
+    }
+
+    @Test
+    @DisplayName("CPF e email cadastrados em outro shard devem ser recusados")
+    void cpfEEmailDeOutroShardDevemSerRecusados() {
+        criar(3);
+
+        CadastroDuplicadoException cpf = assertThrows(CadastroDuplicadoException.class,
+                () -> alunoService.criarAluno(novoAluno(3, "outro3@teste.com")));
+        assertEquals("CPF", cpf.getCampo());
+        CadastroDuplicadoException email = assertThrows(CadastroDuplicadoException.class,
+                () -> alunoService.criarAluno(novoAluno(99, "aluno2@teste.com")));
+        assertEquals("Email", email.getCampo());
+        assertEquals(3, shards.somar(alunoRepository::count));
+    }
+
+    @Test
+    @DisplayName("Cadastros simultâneos com o mesmo CPF em shards diferentes devem gravar só um aluno")
+    void cadastrosSimultaneosComMesmoCpfDevemGravarUmSo() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int numero = 1; numero <= 10; numero++) {
+                CountDownLatch largada = new CountDownLatch(1);
+                List<Future<Aluno>> cadastros = new ArrayList<>();
+                for (int tentativa = 0; tentativa < 2; tentativa++) {
+                    Aluno aluno = novoAluno(numero, "aluno" + numero + "-" + tentativa + "@teste.com");
+                    cadastros.add(executor.submit(() -> {
+                        largada.await();
+                        return alunoService.criarAluno(aluno);
+                    }));
+                }
+                largada.countDown();
+
+                int gravados = 0;
+                for (Future<Aluno> cadastro : cadastros) {
+                    try {
+                        cadastro.get();
+                        gravados++;
+                    } catch (ExecutionException e) {
+                        assertInstanceOf(CadastroDuplicadoException.class, e.getCause());
+                    }
+                }
+                assertEquals(1, gravados, "CPF " + numero);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(10, shards.somar(alunoRepository::count));
+    }
+
+    @Test
+    @DisplayName("CPF e email devem ser liberados quando o cadastro é desfeito ou o aluno é excluído")
+    void cpfEEmailDevemSerLiberados() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status -> {
+            alunoService.criarAluno(novoAluno(7, "aluno7@teste.com"));
+            status.setRollbackOnly();
+        });
+        assertEquals(0, shards.somar(alunoRepository::count));
+
+        Long id = alunoService.criarAluno(novoAluno(7, "aluno7@teste.com")).getId();
+        alunoService.deletarAluno(id);
+
+        Long novo = alunoService.criarAluno(novoAluno(7, "aluno7@teste.com")).getId();
+        assertNotEquals(id, novo);
+        assertEquals(1, shards.somar(alunoRepository::count));
+    }
+
+    @Test
+    @DisplayName("Transação aberta por quem chama não deve atravessar shards")
+    void transacaoNaoDeveAtravessarShards() {
+        List<Long> ids = criar(2);
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    alunoService.buscarPorId(ids.get(0));
+                    alunoService.buscarPorId(ids.get(1));
+                }));
+        assertTrue(erro.getMessage().contains("shards diferentes"));
+
+        Long novo = new TransactionTemplate(transactionManager).execute(status -> {
+            alunoService.buscarPorId(ids.get(1));
+            return alunoService.criarAluno(novoAluno(50, "aluno50@teste.com")).getId();
+        });
+        assertEquals(shards.doAluno(ids.get(1)), shards.doAluno(novo));
+    }
+
+    private List<Long> criar(int quantidade) {
+        List<Long> ids = new ArrayList<>();
+        for (int numero = 1; numero <= quantidade; numero++) {
+            Aluno aluno = novoAluno(numero, "aluno" + numero + "@teste.com");
+            aluno.adicionarCurso(new Curso("Curso " + numero));
+            ids.add(alunoService.criarAluno(aluno).getId());
+        }
+        return ids;
+    }
+
+    private static Aluno novoAluno(int numero, String email) {
+        return Aluno.builder()
+                .nome("Aluno " + numero)
+                .cpf(new CPF(String.format("%011d", numero)))
+                .email(new Email(email))
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.pratica4.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do Shards (cálculo do shard; com um shard, execução direta)
+ * A consulta espalhada entre vários bancos é testada em ShardingConfigTest.
+ */
+@DisplayName("Testes do Shards")
+class ShardsTest {
+
+    @Test
+    @DisplayName("Shard do aluno deve sair do ID, que começa em shard + 1 e avança de quantidade em quantidade")
+    void shardDoAlunoDeveSairDoId() {
+        Shards shards = new Shards(3, null);
+        try {
+            assertEquals(0, shards.doAluno(1L));
+            assertEquals(1, shards.doAluno(2L));
+            assertEquals(2, shards.doAluno(3L));
+            assertEquals(0, shards.doAluno(4L));
+            assertEquals(2, shards.doAluno(3_000_000_000L));
+        } finally {
+            shards.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Alunos novos devem ser distribuídos em rodízio")
+    void alunosNovosDevemSerDistribuidosEmRodizio() {
+        Shards shards = new Shards(3, null);
+        try {
+            List<Integer> escolhidos = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                escolhidos.add(shards.paraNovoAluno());
+            }
+            assertEquals(List.of(0, 1, 2, 0, 1, 2, 0), escolhidos);
+        } finally {
+            shards.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Com um shard, consultas devem ser executadas direto na thread atual")
+    void umShardDeveExecutarDireto() {
+        Shards shards = new Shards(1, null);
+        Thread chamador = Thread.currentThread();
+        List<Integer> lista = new ArrayList<>(List.of(3, 1, 2));
+
+        assertSame(lista, shards.emTodos(() -> lista));
+        assertEquals(List.of(3, 1, 2), shards.emTodos(() -> lista, Comparator.naturalOrder()));
+        assertEquals(5, shards.somar(() -> 5));
+        assertTrue(shards.algum(() -> Thread.currentThread() == chamador));
+        assertEquals("ok", shards.noShard(0, () -> "ok"));
+        assertNull(ShardAtual.get());
+        assertEquals(0, shards.doAluno(42L));
+        assertEquals(0, shards.paraNovoAluno());
+    }
+
+    @Test
+    @DisplayName("Quantidade de shards menor que 1 deve ser recusada")
+    void quantidadeInvalidaDeveSerRecusada() {
+        assertThrows(IllegalArgumentException.class, () -> new Shards(0, null));
+    }
+}